@@ -65,7 +65,15 @@ public class JOPizer extends OldAppInfo implements Serializable {
 	 */
 	public static final int METHOD_MAX_SIZE = 2048;
 
+	/**
+	 * Maximum number of argument slots and of other local variable
+	 * slots of a method.
+	 */
+	public static final int METHOD_MAX_LOCALS = 31;
+
 	public static boolean dumpMgci = false;
+	/** also write a binary image (.jopb) of the .jop file */
+	public static boolean jopBinary = false;
 
 	/** .jop output file */
 	transient PrintWriter out;
@@ -103,6 +111,7 @@ public class JOPizer extends OldAppInfo implements Serializable {
 	public static void main(String[] args) {
 
 		dumpMgci = System.getProperty("mgci", "false").equals("true");
+		jopBinary = System.getProperty("jopbin", "false").equals("true");
 
 		if (USE_RTTM) {
                     // This will be done by AppSetup
@@ -101,14 +101,14 @@ public class JopMethodInfo extends OldMethodInfo implements Serializable {
 			exclen = exctab != null ? exctab.length : 0;
 
 			// TODO: couldn't len=JOP...MAX_SIZE/4 be ok?
-			if (len >= JOPizer.METHOD_MAX_SIZE / 4 || mreallocals > 31
-					|| margs > 31) {
+			if (len >= JOPizer.METHOD_MAX_SIZE / 4 || mreallocals > JOPizer.METHOD_MAX_LOCALS
+					|| margs > JOPizer.METHOD_MAX_LOCALS) {
 				// we interprete clinit on JOP - no size restriction
 				if (!m.getName().equals("<clinit>")) {
 					System.err.println("len(max:"
 							+ (JOPizer.METHOD_MAX_SIZE / 4) + ")=" + len
-							+ "mreallocals(max:31)=" + mreallocals
-							+ " margs(max:31)=" + margs);
+							+ "mreallocals(max:" + JOPizer.METHOD_MAX_LOCALS + ")=" + mreallocals
+							+ " margs(max:" + JOPizer.METHOD_MAX_LOCALS + ")=" + margs);
 					System.err.println("wrong size: "
 							+ getCli().clazz.getClassName() + "." + methodId);
 					throw new Error();
@@ -30,6 +30,8 @@ package com.jopdesign.build;
 import java.io.*;
 import java.util.*;
 
+import com.jopdesign.tools.JopImage;
+
 
 /**
  * @author Falvius, Martin
@@ -91,6 +93,16 @@ public class JopWriter {
 
 		out.close();
 
+		if (JOPizer.jopBinary) {
+			try {
+				String binFile = JopImage.writeBinary(jz.outFile);
+				System.out.println("Binary image "+binFile);
+			} catch (IOException e) {
+				System.out.println("Error writing binary image: "+e.getMessage());
+				System.exit(-1);
+			}
+		}
+
 	}
 
 	private int dumpByteCode() {
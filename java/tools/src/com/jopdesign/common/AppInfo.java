@@ -66,6 +66,11 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * The AppInfo class loads, creates and holds ClassInfos, handles all the loading related stuff,
@@ -93,6 +98,8 @@ public final class AppInfo {
     private boolean loadLibraries;
 
     private boolean exitOnMissingClass;
+    // number of threads used by loadClasses
+    private int loadThreads;
 
     private final Set<String> hwObjectClasses;
     private final Set<String> libraryClasses;
@@ -127,6 +134,7 @@ public final class AppInfo {
         loadNatives = true;
         loadLibraries = true;
         exitOnMissingClass = false;
+        loadThreads = 1;
 
         classes = new HashMap<String, ClassInfo>();
         roots = new HashSet<MemberInfo>();
@@ -147,6 +155,10 @@ public final class AppInfo {
         eventHandlers.add(handler);
     }
 
+    public void removeEventHandler(AppEventHandler handler) {
+        eventHandlers.remove(handler);
+    }
+
     public boolean hasEventHandler(AppEventHandler handler) {
         return eventHandlers.contains(handler);
     }
@@ -299,6 +311,72 @@ public final class AppInfo {
         return performLoadClass(className, required);
     }
 
+    /**
+     * Load several classes at once. The class files are read and parsed in parallel, using
+     * {@link #getLoadThreads()} threads, the new classes are then registered in the given order.
+     * <p>
+     * For every class name, the result is the same as the result of {@link #loadClass(String)}.
+     * To update the class hierarchy relations of the ClassInfos, you need to call
+     * {@link #reloadClassHierarchy()} after all classes have been loaded.
+     * </p>
+     *
+     * @param classNames the fully qualified names of the classes to load.
+     * @return the classInfos for the class names, in the same order, containing null for excluded classes.
+     */
+    public List<ClassInfo> loadClasses(List<String> classNames) {
+        List<ClassInfo> loaded = new ArrayList<ClassInfo>(classNames.size());
+        if (loadThreads == 1 || classNames.size() < 2) {
+            for (String className : classNames) {
+                loaded.add(loadClass(className));
+            }
+            return loaded;
+        }
+
+        Map<String,Future<ClassInfo>> parsed = new HashMap<String, Future<ClassInfo>>(classNames.size());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(loadThreads, classNames.size()));
+        try {
+            // ClassInfos are created without touching AppInfo, so this can be done by the workers
+            for (final String className : classNames) {
+                if (classes.containsKey(className) || parsed.containsKey(className) || isExcluded(className)) {
+                    continue;
+                }
+                parsed.put(className, executor.submit(new Callable<ClassInfo>() {
+                    @Override
+                    public ClassInfo call() throws IOException {
+                        return tryLoadClass(className);
+                    }
+                }));
+            }
+
+            for (String className : classNames) {
+                Future<ClassInfo> result = parsed.remove(className);
+                if (result == null) {
+                    loaded.add(classes.get(className));
+                    continue;
+                }
+                ClassInfo cls = null;
+                try {
+                    cls = result.get();
+                    registerClass(className, cls);
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                    if (cause instanceof Error) throw (Error) cause;
+                    if (!ignoreMissingClasses) {
+                        handleClassLoadFailure("Class '"+className+"' could not be loaded: " +
+                                cause.getMessage(), (Exception) cause);
+                    }
+                } catch (InterruptedException e) {
+                    throw new AppInfoError("Interrupted while loading class "+className, e);
+                }
+                loaded.add(cls);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return loaded;
+    }
+
     /**
      * Check if a class exists. Returns true even if it is not loaded or if the class is excluded.
      *
@@ -1223,6 +1301,19 @@ public final class AppInfo {
         return ignoreMissingClasses;
     }
 
+    /**
+     * Set the number of threads used to read and parse class files in {@link #loadClasses(List)}.
+     *
+     * @param loadThreads the number of threads, or 0 to use one thread per available processor.
+     */
+    public void setLoadThreads(int loadThreads) {
+        this.loadThreads = loadThreads > 0 ? loadThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    public int getLoadThreads() {
+        return loadThreads;
+    }
+
     public boolean doLoadLibraries() {
         return loadLibraries;
     }
@@ -1347,11 +1438,7 @@ public final class AppInfo {
         try {
             cls = tryLoadClass(className);
 
-            classes.put(className, cls);
-
-            for (AppEventHandler mgr : eventHandlers) {
-                mgr.onCreateClass(cls,true);
-            }
+            registerClass(className, cls);
         } catch (IOException e) {
             if ( required || !ignoreMissingClasses) {
                 throw new ClassInfoNotFoundException("Class '"+className+"' could not be loaded: " +
@@ -1363,6 +1450,21 @@ public final class AppInfo {
         return cls;
     }
 
+    /**
+     * Add a loaded class to AppInfo and notify the event handlers.
+     * This is the only place where loaded classes are registered.
+     *
+     * @param className the name of the new class
+     * @param cls the new class
+     */
+    private void registerClass(String className, ClassInfo cls) {
+        classes.put(className, cls);
+
+        for (AppEventHandler mgr : eventHandlers) {
+            mgr.onCreateClass(cls,true);
+        }
+    }
+
     private ClassInfo tryLoadClass(String className) throws IOException {
 
         loadLogger.debug("Loading class "+className);
@@ -287,6 +287,8 @@ public class AppSetup {
 
         if (setupAppInfo) {
             config.addOption(Config.CLASSPATH);
+            config.addOption(Config.CLASSPATH_INDEX);
+            config.addOption(Config.LOAD_THREADS);
             config.addOption(Config.ROOTS);
             config.addOption(Config.CALLSTRING_LENGTH);
             config.addOption(Config.MAIN_METHOD_NAME);
@@ -476,7 +478,9 @@ public class AppSetup {
 
         CustomAttribute.registerDefaultReader();
 
-        appInfo.setClassPath(new ClassPath(config.getOption(Config.CLASSPATH)));
+        appInfo.setClassPath(new ClassPath(config.getOption(Config.CLASSPATH),
+                                           config.getOption(Config.CLASSPATH_INDEX)));
+        appInfo.setLoadThreads(config.getOption(Config.LOAD_THREADS).intValue());
         appInfo.setExitOnMissingClass(!config.getOption(Config.VERBOSE));
 
         // handle class loading options if set
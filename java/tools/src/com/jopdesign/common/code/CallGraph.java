@@ -233,6 +233,7 @@ public class CallGraph {
     private class GraphUpdateListener implements GraphListener<ExecutionContext, ContextEdge> {
         @Override
         public void edgeAdded(GraphEdgeChangeEvent<ExecutionContext, ContextEdge> e) {
+            compactGraph = null;
             if (mergedCallGraph != null) {
                 addMergedGraphEdge(e.getEdge());
             }
@@ -242,6 +243,7 @@ public class CallGraph {
 
         @Override
         public void edgeRemoved(GraphEdgeChangeEvent<ExecutionContext, ContextEdge> e) {
+            compactGraph = null;
             if (mergedCallGraph != null) {
                 removeMergedGraphEdge(e.getEdge());
             }
@@ -249,12 +251,14 @@ public class CallGraph {
 
         @Override
         public void vertexAdded(GraphVertexChangeEvent<ExecutionContext> e) {
+            compactGraph = null;
             // we always call this because we need to update mergedNodes
             onAddExecutionContext(e.getVertex());
         }
 
         @Override
         public void vertexRemoved(GraphVertexChangeEvent<ExecutionContext> e) {
+            compactGraph = null;
             // we always call this because we need to update mergedNodes
             onRemoveExecutionContext(e.getVertex());
         }
@@ -388,6 +392,7 @@ public class CallGraph {
     private Map<ExecutionContext, Integer> subgraphHeight = null;
     private ExecutionContext maxCallStackLeaf = null;
     private Map<MethodInfo,Boolean> leafNodeCache;
+    private CompactCallGraph compactGraph = null;
 
     /*---------------------------------------------------------------------------*
      * Constructor methods
@@ -664,6 +669,9 @@ public class CallGraph {
      * @return all its direct successors.
      */
     public List<ExecutionContext> getChildren(ExecutionContext node) {
+        if (compactGraph != null) {
+            return new ArrayList<ExecutionContext>(compactGraph.getChildren(node));
+        }
         Set<ContextEdge> out = callGraph.outgoingEdgesOf(node);
         List<ExecutionContext> childs = new ArrayList<ExecutionContext>(out.size());
         for (ContextEdge e : out) {
@@ -716,6 +724,25 @@ public class CallGraph {
         return methodNodes.keySet();
     }
 
+    /**
+     * Get an immutable, array-backed snapshot of this callgraph.
+     * <p>
+     * The snapshot is created on the first call and kept until the graph is modified. While it
+     * exists, the traversal methods of this callgraph ({@link #getChildren(ExecutionContext)},
+     * {@link #getReachableImplementations(MethodInfo)}, ..) use it instead of the JGraphT graph.
+     * Callgraphs which are not modified after construction should therefore create the snapshot
+     * right away.
+     * </p>
+     *
+     * @return the compact representation of the current graph.
+     */
+    public CompactCallGraph getCompactGraph() {
+        if (compactGraph == null) {
+            compactGraph = new CompactCallGraph(callGraph, rootNodes);
+        }
+        return compactGraph;
+    }
+
     /*---------------------------------------------------------------------------*
      * Modify the graph
      *---------------------------------------------------------------------------*/
@@ -959,10 +986,15 @@ public class CallGraph {
      * Get non-abstract methods, in topological order.
      *
      * Requires an acyclic callgraph.
+     * A method with several execution contexts is listed once per context, so that its
+     * last entry comes after the entries of all its invokers.
      * @param rootMethod start with this method
      * @return a list of all non-abstract reachable methods, in topological order.
      */
     public List<MethodInfo> getReachableImplementations(MethodInfo rootMethod) {
+        if (compactGraph != null) {
+            return compactGraph.getReachableImplementations(rootMethod);
+        }
         List<MethodInfo> implemented = new ArrayList<MethodInfo>();
 
         Set<MethodInfo> reachable = getReachableImplementationsSet(rootMethod);
@@ -983,6 +1015,9 @@ public class CallGraph {
      * @return a list of all reachable methods, sorted in topological order
      */
     public Set<MethodInfo> getReachableImplementationsSet(MethodInfo rootMethod) {
+        if (compactGraph != null) {
+            return compactGraph.getReachableImplementationsSet(rootMethod);
+        }
         Set<MethodInfo> implemented = new HashSet<MethodInfo>();
 
         for(ExecutionContext cgNode : methodNodes.get(rootMethod).getInstances()) {
@@ -1004,6 +1039,9 @@ public class CallGraph {
             throw new AssertionError("CallGraph#getReachableImplementations: no such node: "+
                 new ExecutionContext(rootMethod, cs));
         }
+        if (compactGraph != null) {
+            return compactGraph.getReachableImplementations(getNode(rootMethod, cs));
+        }
 
         final List<MethodInfo> implemented = new ArrayList<MethodInfo>();
         final Set<MethodInfo> visited = new HashSet<MethodInfo>();
@@ -1043,6 +1081,9 @@ public class CallGraph {
             throw new AssertionError("CallGraph#getReachableImplementations: no such node: "+
                 new ExecutionContext(rootMethod, cs));
         }
+        if (compactGraph != null) {
+            return compactGraph.getReachableImplementationsSet(getNode(rootMethod, cs));
+        }
         Set<MethodInfo> implemented = new HashSet<MethodInfo>();
 
         ExecutionContext cgNode = this.getNode(rootMethod, cs);
@@ -1146,6 +1187,9 @@ public class CallGraph {
      * @return methods possibly directly invoked from the given method
      */
     public List<ExecutionContext> getReferencedMethods(MethodInfo m) {
+        if (compactGraph != null) {
+            return compactGraph.getReferencedMethods(m);
+        }
         Set<ExecutionContext> nodes = getNodes(m);
         List<ExecutionContext> succs = new ArrayList<ExecutionContext>();
         for(ExecutionContext node : nodes) {
@@ -1161,6 +1205,9 @@ public class CallGraph {
      * @return true when the given method does not invoke any other methods
      */
     public boolean isLeafNode(ExecutionContext node) {
+        if (compactGraph != null) {
+            return compactGraph.isLeafNode(node);
+        }
         return callGraph.outDegreeOf(node) == 0;
     }
 
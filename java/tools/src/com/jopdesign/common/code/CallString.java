@@ -339,6 +339,8 @@ public class CallString implements CallStringProvider {
 	}
 
 	public static CallString fromInvokeSiteList(List<InvokeSite> invokeSiteList) {
+		// EMPTY is only equal to itself
+		if (invokeSiteList.isEmpty()) return EMPTY;
 		InvokeSite[] sites = new InvokeSite[invokeSiteList.size()];
 		invokeSiteList.toArray(sites);
 		return new CallString(Arrays.copyOf(sites, sites.length));
@@ -0,0 +1,554 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ *   see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jopdesign.common.code;
+
+import com.jopdesign.common.MethodInfo;
+import com.jopdesign.common.code.CallGraph.ContextEdge;
+import org.jgrapht.DirectedGraph;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Immutable, array-backed snapshot of a {@link CallGraph}.</p>
+ *
+ * <p>Methods and execution contexts are numbered from zero. The contexts of a method, the
+ * successors and the predecessors of a context are stored in compressed sparse row form,
+ * i.e. the ids of the neighbours of context {@code c} are stored in {@code childIds[childStart[c]]}
+ * to {@code childIds[childStart[c+1]-1]}. If the graph is acyclic, a topological order of the
+ * contexts is precomputed as well.</p>
+ *
+ * <p>The query methods have the same semantics as the corresponding methods of {@link CallGraph},
+ * but return read-only views instead of copies. In addition, the graph can be traversed
+ * directly using the integer ids.</p>
+ *
+ * @see CallGraph#getCompactGraph()
+ * @author agent (agent@local)
+ */
+public class CompactCallGraph {
+
+    private final MethodInfo[] methods;
+    private final Map<MethodInfo, Integer> methodIds;
+    private final ExecutionContext[] contexts;
+    private final Map<ExecutionContext, Integer> contextIds;
+    private final int[] contextMethod;
+
+    /* contexts of a method */
+    private final int[] instanceStart;
+    private final int[] instanceIds;
+    /* successors and predecessors of a context */
+    private final int[] childStart;
+    private final int[] childIds;
+    private final int[] parentStart;
+    private final int[] parentIds;
+
+    private final int[] rootIds;
+    /* null if the graph is cyclic */
+    private final int[] topOrder;
+
+    /**
+     * A read-only list of contexts, backed by a range of an id array
+     */
+    private class ContextList extends AbstractList<ExecutionContext> {
+        private final int[] ids;
+        private final int from;
+        private final int to;
+
+        private ContextList(int[] ids, int from, int to) {
+            this.ids = ids;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public ExecutionContext get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("Index: "+index+", Size: "+(to - from));
+            }
+            return contexts[ids[from + index]];
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+
+    /**
+     * Create a snapshot of a callgraph
+     *
+     * @param graph the context graph of the callgraph
+     * @param roots the root nodes of the callgraph
+     */
+    CompactCallGraph(DirectedGraph<ExecutionContext, ContextEdge> graph, Collection<ExecutionContext> roots) {
+        int n = graph.vertexSet().size();
+
+        contexts = new ExecutionContext[n];
+        contextIds = new HashMap<ExecutionContext, Integer>(n * 2);
+        contextMethod = new int[n];
+        methodIds = new HashMap<MethodInfo, Integer>();
+        List<MethodInfo> methodList = new ArrayList<MethodInfo>();
+
+        int id = 0;
+        for (ExecutionContext ec : graph.vertexSet()) {
+            contexts[id] = ec;
+            contextIds.put(ec, id);
+            Integer mId = methodIds.get(ec.getMethodInfo());
+            if (mId == null) {
+                mId = methodList.size();
+                methodIds.put(ec.getMethodInfo(), mId);
+                methodList.add(ec.getMethodInfo());
+            }
+            contextMethod[id] = mId;
+            id++;
+        }
+        methods = methodList.toArray(new MethodInfo[methodList.size()]);
+
+        /* contexts per method */
+        instanceStart = new int[methods.length + 1];
+        for (int c = 0; c < n; c++) {
+            instanceStart[contextMethod[c] + 1]++;
+        }
+        for (int m = 0; m < methods.length; m++) {
+            instanceStart[m + 1] += instanceStart[m];
+        }
+        instanceIds = new int[n];
+        int[] fill = Arrays.copyOf(instanceStart, methods.length);
+        for (int c = 0; c < n; c++) {
+            instanceIds[fill[contextMethod[c]]++] = c;
+        }
+
+        /* successors, in the order of the outgoing edges, and predecessors */
+        childStart = new int[n + 1];
+        parentStart = new int[n + 1];
+        int edges = 0;
+        for (int c = 0; c < n; c++) {
+            for (ContextEdge e : graph.outgoingEdgesOf(contexts[c])) {
+                parentStart[contextIds.get(e.getTarget()) + 1]++;
+                edges++;
+            }
+            childStart[c + 1] = edges;
+        }
+        for (int c = 0; c < n; c++) {
+            parentStart[c + 1] += parentStart[c];
+        }
+        childIds = new int[edges];
+        parentIds = new int[edges];
+        fill = Arrays.copyOf(parentStart, n);
+        int pos = 0;
+        for (int c = 0; c < n; c++) {
+            for (ContextEdge e : graph.outgoingEdgesOf(contexts[c])) {
+                int target = contextIds.get(e.getTarget());
+                childIds[pos++] = target;
+                parentIds[fill[target]++] = c;
+            }
+        }
+
+        List<Integer> rootList = new ArrayList<Integer>(roots.size());
+        for (ExecutionContext root : roots) {
+            Integer rootId = contextIds.get(root);
+            if (rootId != null) rootList.add(rootId);
+        }
+        rootIds = new int[rootList.size()];
+        for (int i = 0; i < rootIds.length; i++) {
+            rootIds[i] = rootList.get(i);
+        }
+
+        topOrder = computeTopologicalOrder();
+    }
+
+    /* Kahn's algorithm; returns null if there is a cycle */
+    private int[] computeTopologicalOrder() {
+        int n = contexts.length;
+        int[] order = new int[n];
+        int[] inDegree = new int[n];
+        int head = 0, tail = 0;
+        for (int c = 0; c < n; c++) {
+            inDegree[c] = parentStart[c + 1] - parentStart[c];
+            if (inDegree[c] == 0) order[tail++] = c;
+        }
+        while (head < tail) {
+            int c = order[head++];
+            for (int i = childStart[c]; i < childStart[c + 1]; i++) {
+                if (--inDegree[childIds[i]] == 0) order[tail++] = childIds[i];
+            }
+        }
+        return tail == n ? order : null;
+    }
+
+    /*---------------------------------------------------------------------------*
+     * Access by id
+     *---------------------------------------------------------------------------*/
+
+    public int getMethodCount() {
+        return methods.length;
+    }
+
+    public int getContextCount() {
+        return contexts.length;
+    }
+
+    /**
+     * @param m a method
+     * @return the id of the method, or -1 if the method is not in the callgraph
+     */
+    public int getMethodId(MethodInfo m) {
+        Integer id = methodIds.get(m);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @param context an execution context
+     * @return the id of the context, or -1 if the context is not in the callgraph
+     */
+    public int getContextId(ExecutionContext context) {
+        Integer id = contextIds.get(context);
+        return id == null ? -1 : id;
+    }
+
+    public MethodInfo getMethod(int methodId) {
+        return methods[methodId];
+    }
+
+    public ExecutionContext getContext(int contextId) {
+        return contexts[contextId];
+    }
+
+    /**
+     * @param contextId id of a context
+     * @return the id of the method of the context
+     */
+    public int getMethodIdOf(int contextId) {
+        return contextMethod[contextId];
+    }
+
+    public int getInstanceCount(int methodId) {
+        return instanceStart[methodId + 1] - instanceStart[methodId];
+    }
+
+    /**
+     * @param methodId id of a method
+     * @param i index of the context, {@code 0 <= i < getInstanceCount(methodId)}
+     * @return the id of the i-th context of the method
+     */
+    public int getInstanceId(int methodId, int i) {
+        return instanceIds[instanceStart[methodId] + i];
+    }
+
+    public int getOutDegree(int contextId) {
+        return childStart[contextId + 1] - childStart[contextId];
+    }
+
+    /**
+     * @param contextId id of a context
+     * @param i index of the successor, {@code 0 <= i < getOutDegree(contextId)}
+     * @return the id of the i-th successor of the context
+     */
+    public int getChildId(int contextId, int i) {
+        return childIds[childStart[contextId] + i];
+    }
+
+    public int getInDegree(int contextId) {
+        return parentStart[contextId + 1] - parentStart[contextId];
+    }
+
+    /**
+     * @param contextId id of a context
+     * @param i index of the predecessor, {@code 0 <= i < getInDegree(contextId)}
+     * @return the id of the i-th predecessor of the context
+     */
+    public int getParentId(int contextId, int i) {
+        return parentIds[parentStart[contextId] + i];
+    }
+
+    public boolean isAcyclic() {
+        return topOrder != null;
+    }
+
+    /**
+     * @return the ids of all contexts in topological order (a new array).
+     * @throws AssertionError if the graph is cyclic
+     */
+    public int[] getTopologicalOrder() {
+        checkAcyclic();
+        return topOrder.clone();
+    }
+
+    /*---------------------------------------------------------------------------*
+     * Query methods, see CallGraph
+     *---------------------------------------------------------------------------*/
+
+    public boolean hasMethod(MethodInfo m) {
+        return methodIds.containsKey(m);
+    }
+
+    public boolean hasNode(ExecutionContext context) {
+        return contextIds.containsKey(context);
+    }
+
+    /**
+     * @return a read-only list of all root nodes which are in the graph.
+     */
+    public List<ExecutionContext> getRootNodes() {
+        return new ContextList(rootIds, 0, rootIds.length);
+    }
+
+    /**
+     * @return a read-only list of all methods in the graph
+     */
+    public List<MethodInfo> getMethodInfos() {
+        return Collections.unmodifiableList(Arrays.asList(methods));
+    }
+
+    /**
+     * @param m the method to check.
+     * @return a read-only list of the execution contexts of this method in the callgraph.
+     * @throws AssertionError if the method has no contexts in the callgraph
+     */
+    public List<ExecutionContext> getNodes(MethodInfo m) {
+        int mId = getMethodId(m);
+        if (mId < 0) {
+            throw new AssertionError("No callgraph nodes for "+ m);
+        }
+        return new ContextList(instanceIds, instanceStart[mId], instanceStart[mId + 1]);
+    }
+
+    /**
+     * @param node the parent node.
+     * @return a read-only list of its direct successors.
+     */
+    public List<ExecutionContext> getChildren(ExecutionContext node) {
+        int c = checkedContextId(node);
+        return new ContextList(childIds, childStart[c], childStart[c + 1]);
+    }
+
+    /**
+     * @param node the child node.
+     * @return a read-only list of its direct predecessors.
+     */
+    public List<ExecutionContext> getParents(ExecutionContext node) {
+        int c = checkedContextId(node);
+        return new ContextList(parentIds, parentStart[c], parentStart[c + 1]);
+    }
+
+    /**
+     * @return a read-only list of all contexts in topological order
+     * @throws AssertionError if the graph is cyclic
+     */
+    public List<ExecutionContext> getTopDownOrder() {
+        checkAcyclic();
+        return new ContextList(topOrder, 0, topOrder.length);
+    }
+
+    /**
+     * @param m invoker method
+     * @return methods possibly directly invoked from the given method
+     */
+    public List<ExecutionContext> getReferencedMethods(MethodInfo m) {
+        int mId = getMethodId(m);
+        if (mId < 0) {
+            throw new AssertionError("No callgraph nodes for "+ m);
+        }
+        List<ExecutionContext> succs = new ArrayList<ExecutionContext>();
+        for (int i = instanceStart[mId]; i < instanceStart[mId + 1]; i++) {
+            int c = instanceIds[i];
+            for (int j = childStart[c]; j < childStart[c + 1]; j++) {
+                succs.add(contexts[childIds[j]]);
+            }
+        }
+        return succs;
+    }
+
+    public boolean isLeafNode(ExecutionContext node) {
+        return getOutDegree(checkedContextId(node)) == 0;
+    }
+
+    public boolean isLeafMethod(MethodInfo m) {
+        int mId = getMethodId(m);
+        if (mId < 0) {
+            throw new AssertionError("No callgraph nodes for "+ m);
+        }
+        for (int i = instanceStart[mId]; i < instanceStart[mId + 1]; i++) {
+            if (getOutDegree(instanceIds[i]) != 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param rootMethod start method
+     * @return all methods reachable from any context of the given method
+     */
+    public Set<MethodInfo> getReachableImplementationsSet(MethodInfo rootMethod) {
+        return toMethodSet(reachableContexts(getNodes(rootMethod)));
+    }
+
+    /**
+     * @param root the context to start at
+     * @return all methods reachable from the given context
+     */
+    public Set<MethodInfo> getReachableImplementationsSet(ExecutionContext root) {
+        return toMethodSet(reachableContexts(Collections.singletonList(root)));
+    }
+
+    /**
+     * Requires an acyclic callgraph.
+     * <p>As in {@link CallGraph#getReachableImplementations(MethodInfo)}, a method is listed once
+     * for each of its contexts, including the contexts not reachable from the given method. The
+     * last entry of a method therefore comes after the entries of all methods invoking it.</p>
+     *
+     * @param rootMethod start with this method
+     * @return the reachable methods, once for each context in topological order.
+     */
+    public List<MethodInfo> getReachableImplementations(MethodInfo rootMethod) {
+        checkAcyclic();
+        BitSet reachable = toMethodBitSet(reachableContexts(getNodes(rootMethod)));
+        List<MethodInfo> implemented = new ArrayList<MethodInfo>();
+        for (int c : topOrder) {
+            if (reachable.get(contextMethod[c])) {
+                implemented.add(methods[contextMethod[c]]);
+            }
+        }
+        return implemented;
+    }
+
+    /**
+     * @param root the context to start at
+     * @return a list of all methods reachable from the given context, in reverse DFS postorder.
+     *         The DFS visits the contexts in the same order as the JGraphT DepthFirstIterator used
+     *         by {@link CallGraph#getReachableImplementations(MethodInfo, CallString)}.
+     */
+    public List<MethodInfo> getReachableImplementations(ExecutionContext root) {
+        int rootId = checkedContextId(root);
+        BitSet seen = new BitSet(methods.length);
+        List<MethodInfo> implemented = new ArrayList<MethodInfo>();
+
+        /*
+         * Like the JGraphT iterator, the children are pushed in the order of the outgoing edges, so the
+         * last one is visited first, and a child which is on the stack but not yet visited is moved to
+         * the top when it is encountered again. A visited context stays on the stack below a FINISH
+         * marker until its descendants are done. Moved entries are replaced by MOVED instead of
+         * shifting the stack, pos holds the current stack index of each unvisited context.
+         */
+        final int FINISH = -1, MOVED = -2;
+        final byte UNSEEN = 0, ON_STACK = 1, VISITED = 2;
+        byte[] state = new byte[contexts.length];
+        int[] pos = new int[contexts.length];
+        int[] stack = new int[2 * contexts.length + childIds.length + 1];
+        int sp = 0;
+        state[rootId] = ON_STACK;
+        pos[rootId] = sp;
+        stack[sp++] = rootId;
+        while (sp > 0) {
+            int c = stack[--sp];
+            if (c == MOVED) continue;
+            if (c == FINISH) {
+                c = stack[--sp];
+                if (!seen.get(contextMethod[c])) {
+                    seen.set(contextMethod[c]);
+                    implemented.add(methods[contextMethod[c]]);
+                }
+                continue;
+            }
+            state[c] = VISITED;
+            stack[sp++] = c;
+            stack[sp++] = FINISH;
+            for (int i = childStart[c]; i < childStart[c + 1]; i++) {
+                int child = childIds[i];
+                if (state[child] == VISITED) continue;
+                if (state[child] == ON_STACK) {
+                    stack[pos[child]] = MOVED;
+                }
+                state[child] = ON_STACK;
+                pos[child] = sp;
+                stack[sp++] = child;
+            }
+        }
+        Collections.reverse(implemented);
+        return implemented;
+    }
+
+    /*---------------------------------------------------------------------------*
+     * Private methods
+     *---------------------------------------------------------------------------*/
+
+    private BitSet reachableContexts(List<ExecutionContext> roots) {
+        BitSet visited = new BitSet(contexts.length);
+        int[] stack = new int[contexts.length];
+        int sp = 0;
+        for (ExecutionContext root : roots) {
+            int c = checkedContextId(root);
+            if (!visited.get(c)) {
+                visited.set(c);
+                stack[sp++] = c;
+            }
+        }
+        while (sp > 0) {
+            int c = stack[--sp];
+            for (int i = childStart[c]; i < childStart[c + 1]; i++) {
+                int child = childIds[i];
+                if (!visited.get(child)) {
+                    visited.set(child);
+                    stack[sp++] = child;
+                }
+            }
+        }
+        return visited;
+    }
+
+    private BitSet toMethodBitSet(BitSet contextSet) {
+        BitSet methodSet = new BitSet(methods.length);
+        for (int c = contextSet.nextSetBit(0); c >= 0; c = contextSet.nextSetBit(c + 1)) {
+            methodSet.set(contextMethod[c]);
+        }
+        return methodSet;
+    }
+
+    private Set<MethodInfo> toMethodSet(BitSet contextSet) {
+        BitSet methodSet = toMethodBitSet(contextSet);
+        Set<MethodInfo> result = new HashSet<MethodInfo>(methodSet.cardinality() * 2);
+        for (int m = methodSet.nextSetBit(0); m >= 0; m = methodSet.nextSetBit(m + 1)) {
+            result.add(methods[m]);
+        }
+        return result;
+    }
+
+    private int checkedContextId(ExecutionContext context) {
+        Integer id = contextIds.get(context);
+        if (id == null) {
+            throw new AssertionError("No such callgraph node: "+context);
+        }
+        return id;
+    }
+
+    private void checkAcyclic() {
+        if (topOrder == null) {
+            throw new AssertionError("Callgraph is not acyclic");
+        }
+    }
+}
@@ -299,7 +299,7 @@ public class SuperGraph {
     /**
      * @return iterate over all CFG nodes in the supergraph
      */
-    public CFGNodeIteratorFactory allCFGNodes() {
+    public Iterable<CFGNode> allCFGNodes() {
         return new CFGNodeIteratorFactory();
     }
 
@@ -77,6 +77,12 @@ public class Config {
     public static final StringOption CLASSPATH =
             new StringOption("classpath", "classpath of the classes to load", 'c', "java/target/dist/classes");
 
+    public static final BooleanOption CLASSPATH_INDEX =
+            new BooleanOption("classpath-index", "scan the classpath once and use an index to find class files", false);
+
+    public static final IntegerOption LOAD_THREADS =
+            new IntegerOption("load-threads", "number of threads to parse class files (1: sequential), 0 for one per processor", 1);
+
     public static final StringOption MAIN_METHOD_NAME =
             new StringOption("mm", "method name of the entry method (short name or FQN)", "main");
 
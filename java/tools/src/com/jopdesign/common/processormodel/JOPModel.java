@@ -181,6 +181,10 @@ public class JOPModel implements ProcessorModel {
         else throw new AssertionError("Invalid opcode: "+context+" : "+instruction);
     }
 
+    public int getMaxLocals() {
+        return com.jopdesign.build.JOPizer.METHOD_MAX_LOCALS;
+    }
+
 
     public List<String> getJVMClasses() {
         List<String> jvmClasses = new ArrayList<String>(1);
@@ -61,6 +61,11 @@ public class JVMModel implements ProcessorModel {
         return 0;
     }
 
+    @Override
+    public int getMaxLocals() {
+        return 0;
+    }
+
     @Override
     public List<String> getJVMClasses() {
         return new ArrayList<String>(0);
@@ -81,6 +81,11 @@ public class JamuthModel implements ProcessorModel {
         else throw new AssertionError("Invalid opcode: " + context + " : " + instruction);
     }
 
+    public int getMaxLocals() {
+        // FIXME jamuth specific limits ?
+        return 0;
+    }
+
     public boolean isImplementedInJava(MethodInfo ctx, Instruction i) {
         return false;
     }
@@ -80,6 +80,14 @@ public interface ProcessorModel {
      */
     int getNumberOfBytes(MethodInfo context, Instruction instruction);
 
+    /**
+     * Get the maximum number of local variable slots of a method, not counting the slots
+     * of the parameters (including 'this').
+     *
+     * @return the maximum number of local variable slots without the parameters, or 0 if there is no limit.
+     */
+    int getMaxLocals();
+
     /**
      * Get all classes, which contain methods invoked by the JVM.
      * Used for Java implemented bytecodes, exceptions. The classes returned here
@@ -25,6 +25,7 @@ import com.jopdesign.common.ClassInfo;
 import com.jopdesign.common.logger.LogConfig;
 import org.apache.log4j.Logger;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -104,26 +105,49 @@ public class AppLoader {
         return newClasses;
     }
 
+    /**
+     * Process the queue level by level. All classes referenced by the current level which are not yet
+     * loaded are loaded at once by {@link AppInfo#loadClasses(List)}, which parses them in parallel.
+     */
     private void processQueue() {
+        AppInfo appInfo = AppInfo.getSingleton();
 
         if (logger.isInfoEnabled()) {
             logger.info("Starting transitive hull loader");
         }
 
         while (!queue.isEmpty()) {
-            ClassInfo next = queue.remove(0);
-
-            if (logger.isDebugEnabled()) {
-                logger.debug("Processing class: "+next.getClassName());
+            List<ClassInfo> current = new ArrayList<ClassInfo>(queue);
+            queue.clear();
+
+            List<String> missing = new ArrayList<String>();
+            Set<String> pending = new HashSet<String>();
+
+            for (ClassInfo next : current) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Processing class: "+next.getClassName());
+                }
+
+                int found = 0;
+                for (String name : ConstantPoolReferenceFinder.findReferencedClasses(next)) {
+                    if ( appInfo.hasClassInfo(name) ) {
+                        enqueue(appInfo.getClassInfo(name));
+                    } else if ( pending.add(name) ) {
+                        missing.add(name);
+                        found++;
+                    }
+                }
+
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Found "+found+" new classes in " +next.getClassName());
+                }
             }
 
-            int found = 0;
-            for (String name : ConstantPoolReferenceFinder.findReferencedClasses(next)) {
-                found += processClassName(name);
-            }
-
-            if (logger.isDebugEnabled()) {
-                logger.debug("Found "+found+" new classes in " +next.getClassName());
+            for (ClassInfo cls : appInfo.loadClasses(missing)) {
+                if ( cls != null ) {
+                    newClasses.add(cls);
+                    enqueue(cls);
+                }
             }
         }
 
@@ -132,27 +156,6 @@ public class AppLoader {
         }
     }
 
-    private int processClassName(String className) {
-        AppInfo appInfo = AppInfo.getSingleton();
-        int cnt = 0;
-
-        ClassInfo cls;
-        if ( appInfo.hasClassInfo(className) ) {
-            cls = appInfo.getClassInfo(className);
-        } else {
-            cls = appInfo.loadClass(className);
-            if ( cls != null ) {
-                newClasses.add(cls);
-                cnt++;
-            }
-        }
-
-        if ( cls != null ) {
-            enqueue(cls);
-        }
-        return cnt;
-    }
-
     private void enqueue(Collection<ClassInfo> roots) {
         for (ClassInfo cls : roots) {
             enqueue(cls);
@@ -22,7 +22,6 @@ package com.jopdesign.common.type;
 
 import org.apache.bcel.generic.Type;
 
-import javax.crypto.spec.IvParameterSpec;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -39,6 +38,15 @@ public class ValueTable {
         stack = new ArrayList<ValueInfo>(4);
     }
 
+    /**
+     * Create a copy of a value table. The value infos are not copied.
+     * @param table the table to copy.
+     */
+    public ValueTable(ValueTable table) {
+        locals = new ArrayList<ValueInfo>(table.locals);
+        stack = new ArrayList<ValueInfo>(table.stack);
+    }
+
     public List<ValueInfo> getLocals() {
         return locals;
     }
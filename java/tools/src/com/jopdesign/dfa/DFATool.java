@@ -33,6 +33,8 @@ import com.jopdesign.common.MemberInfo.AccessType;
 import com.jopdesign.common.MethodCode;
 import com.jopdesign.common.MethodInfo;
 import com.jopdesign.common.code.CallString;
+import com.jopdesign.common.code.CallString.CallStringSerialization;
+import com.jopdesign.common.config.BooleanOption;
 import com.jopdesign.common.config.Config;
 import com.jopdesign.common.config.Config.BadConfigurationException;
 import com.jopdesign.common.config.StringOption;
@@ -51,16 +53,19 @@ import com.jopdesign.dfa.framework.ContextMap;
 import com.jopdesign.dfa.framework.Flow;
 import com.jopdesign.dfa.framework.FlowEdge;
 import com.jopdesign.dfa.framework.Interpreter;
+import com.jopdesign.dfa.framework.SummaryCache;
 import org.apache.bcel.classfile.ConstantPool;
 import org.apache.bcel.generic.ACONST_NULL;
 import org.apache.bcel.generic.BranchInstruction;
 import org.apache.bcel.generic.ConstantPoolGen;
+import org.apache.bcel.generic.FieldInstruction;
 import org.apache.bcel.generic.GOTO;
 import org.apache.bcel.generic.ICONST;
 import org.apache.bcel.generic.INVOKESTATIC;
 import org.apache.bcel.generic.Instruction;
 import org.apache.bcel.generic.InstructionHandle;
 import org.apache.bcel.generic.InstructionList;
+import org.apache.bcel.generic.InvokeInstruction;
 import org.apache.bcel.generic.NOP;
 import org.apache.bcel.generic.ReturnInstruction;
 import org.apache.bcel.generic.Select;
@@ -76,6 +81,8 @@ import java.io.PrintStream;
 import java.io.UnsupportedEncodingException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -115,6 +122,9 @@ public class DFATool extends EmptyTool<AppEventHandler> {
     private CustomKey KEY_NOP;
 	private byte[] digest = null;
 	private File cacheDir = null; 
+	private boolean useSummaries = false;
+    private SummaryCache summaryCache = null;
+    private Map<MethodInfo, String> methodDigests = new HashMap<MethodInfo, String>();
 
     public DFATool() {
         super("head");
@@ -131,6 +141,8 @@ public class DFATool extends EmptyTool<AppEventHandler> {
     @Override
     public void registerOptions(Config config) {
     	config.addOption(OPT_DFA_CACHE_DIR);
+    	config.addOption(OPT_DFA_SUMMARIES);
+    	config.addOption(OPT_DFA_SUMMARY_DIR);
     }
 
     @Override
@@ -139,6 +151,10 @@ public class DFATool extends EmptyTool<AppEventHandler> {
     	if(setup.getConfig().getOption(OPT_DFA_CACHE_DIR) != null) {
     		this.cacheDir = new File(setup.getConfig().getOption(OPT_DFA_CACHE_DIR));
     	}
+    	this.useSummaries = setup.getConfig().getOption(OPT_DFA_SUMMARIES);
+    	if(setup.getConfig().getOption(OPT_DFA_SUMMARY_DIR) != null) {
+    		this.summaryCache = new SummaryCache(this, new File(setup.getConfig().getOption(OPT_DFA_SUMMARY_DIR)));
+    	}
     }
 
     @Override
@@ -191,6 +207,7 @@ public class DFATool extends EmptyTool<AppEventHandler> {
             }
         }
         this.digest = md.digest();
+        methodDigests.clear();
         logger.info("DFA problem has checksum: "+this.getDigestString());
     }
 
@@ -393,6 +410,8 @@ public class DFATool extends EmptyTool<AppEventHandler> {
     	}
 
     	Interpreter interpreter = new Interpreter(analysis, this);
+    	interpreter.setUseSummaries(useSummaries);
+    	interpreter.setSummaryCache(summaryCache);
 
         MethodInfo main = appInfo.getMainMethod();
         MethodInfo prologue = main.getClassInfo().getMethodInfo(prologueName + prologueSig);
@@ -405,7 +424,16 @@ public class DFATool extends EmptyTool<AppEventHandler> {
         analysis.initialize(main, context);
 
         InstructionHandle entry = prologue.getCode().getInstructionList().getStart();
+        long start = System.nanoTime();
         interpreter.interpret(context, entry, new HashMap(), true);
+        logger.info("Analysis "+analysis.getId()+": interpretation took "+(System.nanoTime()-start)/1000000+" ms");
+        if (useSummaries) {
+            logger.info("Analysis "+analysis.getId()+": reused method summaries "+interpreter.getSummariesReused()+" times");
+        }
+        if (interpreter.getSummaryCache() != null) {
+            logger.info("Analysis "+analysis.getId()+": "+summaryCache.getLoaded()+" method summaries loaded, "+
+                        summaryCache.getStored()+" stored");
+        }
 
         /* cache results if requested */
         writeCachedResults(analysis);
@@ -416,6 +444,8 @@ public class DFATool extends EmptyTool<AppEventHandler> {
     Map runLocalAnalysis(Analysis<K, V> analysis, MethodInfo start) {
 
         Interpreter<K, V> interpreter = new Interpreter<K, V>(analysis, this);
+        interpreter.setUseSummaries(useSummaries);
+        interpreter.setSummaryCache(summaryCache);
 
         if (start == null) throw new AssertionError("No such method: " + start);
         Context context = new Context();
@@ -464,6 +494,84 @@ public class DFATool extends EmptyTool<AppEventHandler> {
 
     public void setReceivers(Map<InstructionHandle, ContextMap<CallString, Set<String>>> receivers) {
         this.receivers = receivers;
+        methodDigests.clear();
+    }
+
+    public SummaryCache getSummaryCache() {
+        return summaryCache;
+    }
+
+    /**
+     * @param summaryCache the store for method summaries of analyses which support them, or null to disable them.
+     */
+    public void setSummaryCache(SummaryCache summaryCache) {
+        this.summaryCache = summaryCache;
+    }
+
+    /**
+     * Get a checksum of everything the transfer functions of an analysis depend on for a method:
+     * the code with resolved constants, and the receivers of the instructions if they are known.
+     *
+     * @param method the method to digest
+     * @return a hex string of the checksum.
+     */
+    public String getMethodDigest(MethodInfo method) {
+        String digest = methodDigests.get(method);
+        if (digest != null) return digest;
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(method.getFQMethodName()).append('\n');
+        ConstantPool cp = method.getConstantPoolGen().getConstantPool();
+        InstructionList il = method.getCode().getInstructionList(false, false);
+        for (InstructionHandle ih : il.getInstructionHandles()) {
+            Instruction instr = ih.getInstruction();
+            sb.append(ih.getPosition()).append(' ').append(instr.toString(cp));
+            ContextMap<CallString, Set<String>> r = receivers != null ? receivers.get(ih) : null;
+            if (r != null) {
+                List<String> lines = new ArrayList<String>();
+                for (Entry<CallString, Set<String>> e : r.entrySet()) {
+                    List<String> rcvs = new ArrayList<String>();
+                    for (String rcv : e.getValue()) {
+                        rcvs.add(rcv + describeReceiver(instr, rcv));
+                    }
+                    Collections.sort(rcvs);
+                    lines.add(new CallStringSerialization(e.getKey()) + " " + rcvs);
+                }
+                Collections.sort(lines);
+                sb.append(' ').append(lines);
+            }
+            sb.append('\n');
+        }
+
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA1");
+            md.update(sb.toString().getBytes("UTF-8"));
+            md.update(il.getByteCode());
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError(e);
+        }
+        digest = toHexString(md.digest());
+        methodDigests.put(method, digest);
+        return digest;
+    }
+
+    /* the resolved receivers of invokes and field accesses, as used by the loop bound analysis */
+    private String describeReceiver(Instruction instr, String rcv) {
+        if (instr instanceof InvokeInstruction) {
+            MethodInfo m = getMethod(rcv);
+            return m == null ? " -> ?" : " -> " + m.getFQMethodName() + (m.isNative() ? " native" : "");
+        }
+        if (instr instanceof FieldInstruction) {
+            String stripped = rcv;
+            if (rcv.indexOf("@") >= 0) {
+                stripped = rcv.split("@")[0] + rcv.substring(rcv.lastIndexOf("."));
+            }
+            return " " + containsField(stripped);
+        }
+        return "";
     }
 
     public LoopBounds getLoopBounds() {
@@ -546,6 +654,14 @@ public class DFATool extends EmptyTool<AppEventHandler> {
     /* Caching DFA results */
     /* ------------------- */
     
+    public static final BooleanOption OPT_DFA_SUMMARIES =
+    	new BooleanOption("dfa-summaries","Reuse the result of a method if it is invoked again " +
+    			"with the same input state", false);
+
+    public static final StringOption OPT_DFA_SUMMARY_DIR =
+    	new StringOption("dfa-summary-dir","Store method summaries in this directory and reuse them in " +
+    			"later runs if the reached methods did not change",true);
+
     public static final StringOption OPT_DFA_CACHE_DIR = 
     	new StringOption("dfa-cache-dir","If dataflow analysis results should " +
     			"be cached, specify a cache dir to store the results in",true);
@@ -588,6 +704,10 @@ public class DFATool extends EmptyTool<AppEventHandler> {
     
 	private static final char[] digits = "0123456789abcdef".toCharArray();
     private String getDigestString() {
+    	return toHexString(digest);
+    }
+
+    public static String toHexString(byte[] digest) {
     	StringBuffer sb = new StringBuffer();
     	for(byte b : digest) {
     		int v = b < 0 ? (256 + b) : b;
@@ -69,6 +69,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+/**
+ * Callstring sensitive analysis of the receiver types of invocations.
+ * <p>
+ * This analysis does not implement {@link com.jopdesign.dfa.framework.PersistentSummaries}.
+ * Its states carry the types of all fields stored so far into every invoked method, so the entry
+ * states, and with them the keys of the summaries, of all methods invoked after an edited method
+ * would change anyway. The dispatch depends on the whole class hierarchy rather than on the code of
+ * the reached methods, an invocation of a thread method interprets all other thread methods again
+ * with the joined field types, and the method digests used to validate summaries contain the results of
+ * this analysis. Its results are cached as a whole with {@code --dfa-cache-dir} instead.
+ * </p>
+ */
 public class CallStringReceiverTypes implements Analysis<CallString, Set<TypeMapping>> {
 
     private final int callStringLength;
@@ -36,6 +36,7 @@ import com.jopdesign.dfa.framework.ContextMap;
 import com.jopdesign.dfa.framework.FlowEdge;
 import com.jopdesign.dfa.framework.Interpreter;
 import com.jopdesign.dfa.framework.MethodHelper;
+import com.jopdesign.dfa.framework.PersistentSummaries;
 import com.jopdesign.dfa.framework.AnalysisResultSerialization.ResultFormatter;
 import com.jopdesign.dfa.framework.AnalysisResultSerialization.Serializer;
 import com.jopdesign.dfa.framework.FlowEdge.SerializedFlowEdge;
@@ -68,6 +69,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.PrintStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -76,8 +78,10 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
-public class LoopBounds implements Analysis<CallString, Map<Location, ValueMapping>> {
+public class LoopBounds implements Analysis<CallString, Map<Location, ValueMapping>>,
+                                   PersistentSummaries<Map<Location, ValueMapping>> {
 
     private final int callStringLength;
 
@@ -127,6 +131,7 @@ public class LoopBounds implements Analysis<CallString, Map<Location, ValueMappi
             new HashMap<InstructionHandle, ContextMap<CallString, Interval>>();
 
     public void initialize(MethodInfo sig, Context context) {
+        ValueMapping.resetScopes();
     }
 
     public ContextMap<CallString, Map<Location, ValueMapping>> join(
@@ -1885,4 +1890,104 @@ public class LoopBounds implements Analysis<CallString, Map<Location, ValueMappi
     	return this.getResult();
 	}
 
+    /* PERSISTENT SUMMARIES */
+
+    public String getStateKey(Map<Location, ValueMapping> value) {
+        // ValueMapping.toString() contains all fields
+        Map<String, String> sorted = new TreeMap<String, String>();
+        for (Map.Entry<Location, ValueMapping> e : value.entrySet()) {
+            sorted.put(e.getKey().toString(), e.getValue().toString());
+        }
+        return sorted.toString();
+    }
+
+    public boolean isEqualState(Map<Location, ValueMapping> a, Map<Location, ValueMapping> b) {
+        if (a == b) return true;
+        if (a.size() != b.size()) return false;
+        // join() keeps the mappings which did not change
+        for (Map.Entry<Location, ValueMapping> e : a.entrySet()) {
+            ValueMapping v = b.get(e.getKey());
+            if (v != e.getValue() && (v == null || !v.toString().equals(e.getValue().toString()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Serializable getGlobalState() {
+        return new int[]{ValueMapping.scope, ValueMapping.scopeCnt};
+    }
+
+    public void setGlobalState(Serializable state) {
+        int[] scope = (int[]) state;
+        ValueMapping.scope = scope[0];
+        ValueMapping.scopeCnt = scope[1];
+    }
+
+    /* WRITE (in order): bounds, arrayIndices, infeasibles, scopes, sizes */
+    public void writeResults(Map<MethodInfo, Set<CallString>> methods, ObjectOutputStream oos) throws IOException {
+        AnalysisResultSerialization.fromContextMapResult(filterResults(bounds, methods)).serialize(oos);
+        AnalysisResultSerialization.fromContextMapResult(filterResults(arrayIndices, methods)).serialize(oos);
+        AnalysisResultSerialization.fromContextMapResult(filterResults(infeasibles, methods),
+                FLOW_EDGE_SET_CONVERTER).serialize(oos);
+        AnalysisResultSerialization.fromContextMapResult(filterResults(scopes, methods)).serialize(oos);
+        AnalysisResultSerialization.fromContextMapResult(filterResults(sizes, methods)).serialize(oos);
+    }
+
+    /* READ (in order): bounds, arrayIndices, infeasibles, scopes, sizes */
+    public void readResults(AppInfo appInfo, ObjectInputStream ois)
+            throws IOException, ClassNotFoundException, MethodNotFoundException
+    {
+        Map<InstructionHandle, ContextMap<CallString, Pair<ValueMapping, ValueMapping>>> b =
+                AnalysisResultSerialization.deserializeContextMap(appInfo, ois, null);
+        Map<InstructionHandle, ContextMap<CallString, Interval>> a =
+                AnalysisResultSerialization.deserializeContextMap(appInfo, ois, null);
+        Map<InstructionHandle, ContextMap<CallString, Set<FlowEdge>>> i =
+                AnalysisResultSerialization.deserializeContextMap(appInfo, ois, FLOW_EDGE_SET_CONVERTER);
+        Map<InstructionHandle, ContextMap<CallString, Integer>> sc =
+                AnalysisResultSerialization.deserializeContextMap(appInfo, ois, null);
+        Map<InstructionHandle, ContextMap<CallString, Interval[]>> si =
+                AnalysisResultSerialization.deserializeContextMap(appInfo, ois, null);
+        mergeResults(bounds, b);
+        mergeResults(arrayIndices, a);
+        mergeResults(infeasibles, i);
+        mergeResults(scopes, sc);
+        mergeResults(sizes, si);
+    }
+
+    private static <T> Map<InstructionHandle, ContextMap<CallString, T>> filterResults(
+            Map<InstructionHandle, ContextMap<CallString, T>> results, Map<MethodInfo, Set<CallString>> methods)
+    {
+        Map<InstructionHandle, ContextMap<CallString, T>> filtered =
+                new HashMap<InstructionHandle, ContextMap<CallString, T>>();
+        for (Map.Entry<InstructionHandle, ContextMap<CallString, T>> e : results.entrySet()) {
+            Set<CallString> callStrings = methods.get(e.getValue().getContext().getMethodInfo());
+            if (callStrings == null) continue;
+            Map<CallString, T> map = new HashMap<CallString, T>();
+            for (Map.Entry<CallString, T> r : e.getValue().entrySet()) {
+                if (callStrings.contains(r.getKey())) {
+                    map.put(r.getKey(), r.getValue());
+                }
+            }
+            if (!map.isEmpty()) {
+                filtered.put(e.getKey(), new ContextMap<CallString, T>(e.getValue().getContext(), map));
+            }
+        }
+        return filtered;
+    }
+
+    /* add the loaded results, keeping the results of other callstrings */
+    private static <T> void mergeResults(Map<InstructionHandle, ContextMap<CallString, T>> results,
+                                         Map<InstructionHandle, ContextMap<CallString, T>> loaded)
+    {
+        for (Map.Entry<InstructionHandle, ContextMap<CallString, T>> e : loaded.entrySet()) {
+            ContextMap<CallString, T> old = results.get(e.getKey());
+            if (old != null) {
+                old.putAll(e.getValue());
+            } else {
+                results.put(e.getKey(), e.getValue());
+            }
+        }
+    }
+
 }
@@ -40,6 +40,16 @@ public class ValueMapping implements Serializable {
     public static int scope = 0;
     public static int scopeCnt = 0;
 
+    /**
+     * Restart the numbering of the loop scopes. The numbers are only compared within one
+     * analysis run, but they are part of the states, so they must not depend on the runs
+     * before in the same JVM.
+     */
+    public static void resetScopes() {
+        scope = 0;
+        scopeCnt = 0;
+    }
+
     public ValueMapping() {
         assigned = new Interval();
         constrained = new Interval();
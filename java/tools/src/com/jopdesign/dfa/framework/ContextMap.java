@@ -17,26 +17,60 @@
  * You should have received a copy of the GNU General Public License
  * along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
-
 package com.jopdesign.dfa.framework;
 
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
-public class ContextMap<K, V> extends HashMap<K, V> {
+/**
+ * The analysis state of a statement, a map with a context.
+ * <p>
+ * Copies share the entries with the original (copy-on-write) until either of them
+ * is modified. The entry set, key set and values of a shared map are read only.
+ * </p>
+ */
+public class ContextMap<K, V> extends AbstractMap<K, V> implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     private Context context;
 
+    private HashMap<K, V> map;
+    private boolean shared;
+
     public ContextMap(Context context, Map<K, V> map) {
-        super(map);
         this.context = context;
+        if (map instanceof ContextMap) {
+            share((ContextMap<K, V>) map);
+        } else {
+            this.map = new HashMap<K, V>(map);
+        }
     }
 
     public ContextMap(ContextMap<K, V> map) {
-        super(map);
         this.context = map.context;
+        share(map);
+    }
+
+    @SuppressWarnings({"AccessingNonPublicFieldOfAnotherObject"})
+    private void share(ContextMap<K, V> other) {
+        this.map = other.map;
+        this.shared = true;
+        other.shared = true;
+    }
+
+    /* copy the entries before the first modification of a shared map */
+    private HashMap<K, V> modifiable() {
+        if (shared) {
+            map = new HashMap<K, V>(map);
+            shared = false;
+        }
+        return map;
     }
 
     public Context getContext() {
@@ -51,4 +85,96 @@ public class ContextMap<K, V> extends HashMap<K, V> {
     public void add(Object elem) {
         put((K) elem, (V) elem);
     }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return map.containsValue(value);
+    }
+
+    @Override
+    public V get(Object key) {
+        return map.get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return modifiable().put(key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (!map.containsKey(key)) return null;
+        return modifiable().remove(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        if (m.isEmpty()) return;
+        if (map.isEmpty() && m instanceof ContextMap) {
+            share((ContextMap<K, V>) m);
+        } else {
+            modifiable().putAll(m);
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (shared) {
+            map = new HashMap<K, V>();
+            shared = false;
+        } else {
+            map.clear();
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return shared ? Collections.unmodifiableMap(map).entrySet() : map.entrySet();
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return shared ? Collections.unmodifiableSet(map.keySet()) : map.keySet();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return shared ? Collections.unmodifiableCollection(map.values()) : map.values();
+    }
+
+    @SuppressWarnings({"AccessingNonPublicFieldOfAnotherObject"})
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof ContextMap) {
+            ContextMap<?, ?> other = (ContextMap<?, ?>) o;
+            return map == other.map || map.equals(other.map);
+        }
+        return map.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return map.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return map.toString();
+    }
 }
@@ -123,19 +123,22 @@ public class FlowEdge {
 
 	public static class SerializedFlowEdge implements Serializable {
 		
-		private static final long serialVersionUID = 1L;
+		private static final long serialVersionUID = 2L;
 
 		private int type;
 		private String methodName;
 		private int headIns;
 		private int tailIns;
+		/* the stack pointer of the context is part of the edge's identity */
+		private int stackPtr;
 
 		public SerializedFlowEdge(FlowEdge e) {
 
 			this.type       = e.type;
 			this.methodName = e.getContext().getMethodInfo().getFQMethodName();
 			this.headIns    = e.head.getPosition();
-			this.tailIns    = e.head.getPosition();
+			this.tailIns    = e.tail.getPosition();
+			this.stackPtr   = e.getContext().stackPtr;
 		}
 		
 		public FlowEdge toFlowEdge(AppInfo appInfo) throws MethodNotFoundException {
@@ -144,6 +147,7 @@ public class FlowEdge {
 			InstructionList instructions = method.getCode().getInstructionList(false, false);
 			Context ctx = new Context();
 			ctx.setMethodInfo(method);
+			ctx.stackPtr = stackPtr;
 
 			return new FlowEdge(instructions.findHandle(tailIns),
 					instructions.findHandle(headIns), this.type, ctx);
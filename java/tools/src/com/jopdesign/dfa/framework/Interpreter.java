@@ -20,11 +20,21 @@
 
 package com.jopdesign.dfa.framework;
 
+import com.jopdesign.common.MethodInfo;
+import com.jopdesign.common.code.CallString;
+import com.jopdesign.common.graphutils.Pair;
 import com.jopdesign.dfa.DFATool;
 import org.apache.bcel.generic.InstructionHandle;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 
 public class Interpreter<K, V> {
@@ -32,6 +42,33 @@ public class Interpreter<K, V> {
     private Analysis<K, V> analysis;
     private DFATool dfaTool;
 
+    /* reverse postorder of the statements of a method, by entry statement */
+    private Map<InstructionHandle, Map<InstructionHandle, Integer>> rpoNumbers =
+            new HashMap<InstructionHandle, Map<InstructionHandle, Integer>>();
+
+    /* method summaries, see setUseSummaries() */
+    private boolean useSummaries = false;
+    private long version = 0;
+    private Map<InstructionHandle, Long> lastModified = new HashMap<InstructionHandle, Long>();
+    private Map<InstructionHandle, Summary<K, V>> summaries = new HashMap<InstructionHandle, Summary<K, V>>();
+    /* the invocations reached by the active invocations, as pairs of method entry and callstring */
+    private LinkedList<Set<Pair<InstructionHandle, CallString>>> active =
+            new LinkedList<Set<Pair<InstructionHandle, CallString>>>();
+    private Set<InstructionHandle> activeEntries = new HashSet<InstructionHandle>();
+    private long summariesReused = 0;
+
+    /* persistent method summaries, see setSummaryCache() */
+    private SummaryCache summaryCache = null;
+    private long invocations = 0;
+    private Map<Pair<InstructionHandle, CallString>, Long> firstInvocations =
+            new HashMap<Pair<InstructionHandle, CallString>, Long>();
+    /* the last invocation which modified the states of a method for a callstring */
+    private Map<Pair<InstructionHandle, CallString>, Long> lastModifiedBy =
+            new HashMap<Pair<InstructionHandle, CallString>, Long>();
+    /* the entry state of a method for a callstring after its last invocation */
+    private Map<Pair<InstructionHandle, CallString>, V> entryStates = new HashMap<Pair<InstructionHandle, CallString>, V>();
+    private Map<InstructionHandle, MethodInfo> entryMethods = new HashMap<InstructionHandle, MethodInfo>();
+
     public Interpreter(Analysis<K, V> a, DFATool p) {
         dfaTool = p;
         analysis = a;
@@ -41,65 +78,428 @@ public class Interpreter<K, V> {
         return dfaTool;
     }
 
+    /**
+     * If enabled, the fixpoint of a method is reused when the method is invoked again
+     * with the same entry state and context, and neither the method nor any method
+     * reached from it has been updated in the meantime. Reinterpreting the method
+     * would not change the state in this case.
+     */
+    public void setUseSummaries(boolean useSummaries) {
+        this.useSummaries = useSummaries;
+    }
+
+    /**
+     * If set and the analysis implements {@link PersistentSummaries}, the fixpoints of the first invocation
+     * of a method for a callstring are stored in the cache and loaded from it instead of interpreting the
+     * method, see {@link SummaryCache}.
+     *
+     * @param summaryCache the cache to use, or null to disable persistent summaries.
+     */
+    public void setSummaryCache(SummaryCache summaryCache) {
+        this.summaryCache = analysis instanceof PersistentSummaries ? summaryCache : null;
+    }
+
+    public SummaryCache getSummaryCache() {
+        return summaryCache;
+    }
+
+    /**
+     * @return the number of invocations which reused the fixpoint of the invoked method
+     */
+    public long getSummariesReused() {
+        return summariesReused;
+    }
+
+    /**
+     * Compute the fixpoint of the analysis for the method starting at {@code entry}.
+     * Statements without a state are at {@link Analysis#bottom()}; they are not
+     * added to the state map until the analysis reaches them.
+     *
+     * @param start if true, initialize the state of {@code entry} with {@link Analysis#initial}
+     */
     public Map<InstructionHandle, ContextMap<K, V>> interpret(Context context,
                                                               InstructionHandle entry,
                                                               Map<InstructionHandle, ContextMap<K, V>> state,
                                                               boolean start)
     {
+        if (useSummaries && !start && reuseSummary(context, entry, state)) {
+            return state;
+        }
 
-         LinkedList<FlowEdge> worklist = new LinkedList<FlowEdge>();
+        long invocation = ++invocations;
+        String key = null;
+        boolean threaded = Context.isThreaded();
+        Pair<InstructionHandle, CallString> invoked = new Pair<InstructionHandle, CallString>(entry, context.callString);
+        if (!firstInvocations.containsKey(invoked)) {
+            firstInvocations.put(invoked, invocation);
+            entryMethods.put(entry, context.getMethodInfo());
+            if (summaryCache != null && !start) {
+                key = getSummaryKey(context, entry, state);
+                if (loadSummary(key, context, invoked, state, invocation)) {
+                    return state;
+                }
+            }
+        } else if (summaryCache != null && isEntryModified(invoked, state)) {
+            // the invoker changed the entry state
+            lastModifiedBy.put(invoked, invocation);
+        }
 
-        for (FlowEdge f : dfaTool.getFlow().getOutEdges(entry)) {
-            if (entry.equals(f.getTail())) {
-                worklist.add(new FlowEdge(f, context));
+        Set<Pair<InstructionHandle, CallString>> reached = new HashSet<Pair<InstructionHandle, CallString>>();
+        reached.add(invoked);
+        active.addFirst(reached);
+        activeEntries.add(entry);
+        try {
+            interpretMethod(context, entry, state, start);
+        } finally {
+            activeEntries.remove(entry);
+            active.removeFirst();
+        }
+        if (!active.isEmpty()) {
+            active.getFirst().addAll(reached);
+        }
+        if (useSummaries) {
+            summaries.put(entry, new Summary<K, V>(getEntrySet(context, entry, state), context, version, reached));
+        }
+        if (summaryCache != null) {
+            entryStates.put(invoked, getEntryValue(invoked, state));
+            if (key != null && threaded == Context.isThreaded()) {
+                storeSummary(key, reached, state, invocation);
+            }
+        }
+        return state;
+    }
+
+    private V getEntryValue(Pair<InstructionHandle, CallString> invocation,
+                            Map<InstructionHandle, ContextMap<K, V>> state) {
+        ContextMap<K, V> entrySet = state.get(invocation.first());
+        return entrySet != null ? entrySet.get(invocation.second()) : null;
+    }
+
+    /* check if the entry state changed since the last invocation */
+    @SuppressWarnings("unchecked")
+    private boolean isEntryModified(Pair<InstructionHandle, CallString> invocation,
+                                    Map<InstructionHandle, ContextMap<K, V>> state) {
+        V current = getEntryValue(invocation, state);
+        V last = entryStates.get(invocation);
+        if (current == null || last == null) {
+            return current != last;
+        }
+        return !((PersistentSummaries<V>) analysis).isEqualState(current, last);
+    }
+
+    @SuppressWarnings("unchecked")
+    private String getSummaryKey(Context context, InstructionHandle entry,
+                                 Map<InstructionHandle, ContextMap<K, V>> state) {
+        ContextMap<K, V> entrySet = state.get(entry);
+        V entryValue = entrySet != null ? entrySet.get(context.callString) : null;
+        return summaryCache.getKey((Analysis<CallString, V>) analysis, context, entryValue);
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean loadSummary(String key, Context context, Pair<InstructionHandle, CallString> invoked,
+                                Map<InstructionHandle, ContextMap<K, V>> state, long invocation) {
+        Map<Pair<InstructionHandle, CallString>, MethodInfo> methods = summaryCache.load(key,
+                (Analysis<CallString, V>) analysis, invoked, firstInvocations.keySet(),
+                (Map<InstructionHandle, ContextMap<CallString, V>>) (Map) state);
+        if (methods == null) {
+            return false;
+        }
+        Set<Pair<InstructionHandle, CallString>> reached =
+                new HashSet<Pair<InstructionHandle, CallString>>(methods.keySet());
+        for (Pair<InstructionHandle, CallString> m : reached) {
+            entryMethods.put(m.first(), methods.get(m));
+            Long first = firstInvocations.get(m);
+            if (first == null || first == invocation) {
+                // restored from the summary, the preconditions of the summary are not modified
+                firstInvocations.put(m, invocation);
+                lastModifiedBy.put(m, invocation);
+                entryStates.put(m, getEntryValue(m, state));
+                lastModified.put(m.first(), ++version);
+            }
+        }
+        if (!active.isEmpty()) {
+            active.getFirst().addAll(reached);
+        }
+        if (useSummaries) {
+            summaries.put(invoked.first(), new Summary<K, V>(getEntrySet(context, invoked.first(), state),
+                    context, version, reached));
+        }
+        return true;
+    }
+
+    /*
+     * Store the summary if each reached method has either been interpreted for its callstring for the
+     * first time by this invocation, or has been interpreted before and its states for the callstring
+     * have not been modified by this invocation. The states of the latter are preconditions of the summary.
+     * The states and results of other callstrings are not stored.
+     */
+    @SuppressWarnings("unchecked")
+    private void storeSummary(String key, Set<Pair<InstructionHandle, CallString>> reached,
+                              Map<InstructionHandle, ContextMap<K, V>> state, long invocation) {
+        Map<MethodInfo, Set<CallString>> methods = new HashMap<MethodInfo, Set<CallString>>();
+        Map<MethodInfo, Set<CallString>> preconditions = new HashMap<MethodInfo, Set<CallString>>();
+        for (Pair<InstructionHandle, CallString> m : reached) {
+            MethodInfo method = entryMethods.get(m.first());
+            if (firstInvocations.get(m) >= invocation) {
+                addCallString(methods, method, m.second());
+            } else {
+                Long modified = lastModifiedBy.get(m);
+                if (modified == null || modified >= invocation) {
+                    return;
+                }
+                addCallString(preconditions, method, m.second());
+            }
+        }
+        summaryCache.store(key, (Analysis<CallString, V>) analysis, methods, preconditions,
+                (Map<InstructionHandle, ContextMap<CallString, V>>) (Map) state);
+    }
+
+    private static void addCallString(Map<MethodInfo, Set<CallString>> methods, MethodInfo method,
+                                      CallString callString) {
+        Set<CallString> callStrings = methods.get(method);
+        if (callStrings == null) {
+            callStrings = new HashSet<CallString>();
+            methods.put(method, callStrings);
+        }
+        callStrings.add(callString);
+    }
+
+    private void interpretMethod(Context context,
+                                 InstructionHandle entry,
+                                 Map<InstructionHandle, ContextMap<K, V>> state,
+                                 boolean start)
+    {
+        Worklist worklist = new Worklist(getRPONumbers(entry));
+
+        Set<FlowEdge> entryEdges = dfaTool.getFlow().getOutEdges(entry);
+        if (entryEdges != null) {
+            for (FlowEdge f : entryEdges) {
+                if (entry.equals(f.getTail())) {
+                    worklist.add(new FlowEdge(f, context));
+                }
             }
         }
 
         Map<InstructionHandle, ContextMap<K, V>> result = state;
+        Pair<InstructionHandle, CallString> invocation = new Pair<InstructionHandle, CallString>(entry, context.callString);
 
         if (start) {
-            for (InstructionHandle s : dfaTool.getStatements()) {
-                result.put(s, analysis.bottom());
-            }
             result.put(entry, analysis.initial(entry));
         }
 
         while (!worklist.isEmpty()) {
 
-            FlowEdge edge = worklist.removeFirst();
+            FlowEdge edge = worklist.poll();
             //System.out.println("computing: "+edge);
             InstructionHandle tail = edge.getTail();
             InstructionHandle head = edge.getHead();
 
-            ContextMap<K, V> tailSet = result.get(tail);
+            ContextMap<K, V> tailSet = getState(result, tail);
             tailSet.setContext(edge.getContext());
             ContextMap<K, V> transferred = analysis.transfer(tail, edge, tailSet, this, result);
-            ContextMap<K, V> headSet = result.get(head);
+            ContextMap<K, V> headSet = getState(result, head);
 
             if (!analysis.compare(transferred, headSet)) {
 
                 ContextMap<K, V> joinedSet = analysis.join(headSet, transferred);
                 result.put(head, joinedSet);
+                lastModified.put(entry, ++version);
+                lastModifiedBy.put(invocation, invocations);
 
                 Set<FlowEdge> outEdges = dfaTool.getFlow().getOutEdges(head);
                 if (outEdges != null) {
                     for (FlowEdge outEdge : outEdges) {
-                        FlowEdge f = new FlowEdge(outEdge, transferred.getContext());
-                        if (worklist.isEmpty() || !worklist.getFirst().equals(f)) {
-                            if (outEdges.size() > 1)
-                                worklist.addLast(f);
-                            else
-                                worklist.addFirst(f);
-                            //System.out.println("pushing: "+f);
-                        }
+                        worklist.add(new FlowEdge(outEdge, transferred.getContext()));
                     }
                 }
             }
 
             //System.out.println("worklist: "+worklist);
         }
+    }
 
-        return result;
+    private boolean reuseSummary(Context context, InstructionHandle entry,
+                                 Map<InstructionHandle, ContextMap<K, V>> state) {
+
+        Summary<K, V> summary = summaries.get(entry);
+        if (summary == null || activeEntries.contains(entry)) {
+            return false;
+        }
+        if (!summary.matches(context)) {
+            return false;
+        }
+        for (Pair<InstructionHandle, CallString> m : summary.reached) {
+            Long modified = lastModified.get(m.first());
+            if (modified != null && modified > summary.version) {
+                return false;
+            }
+        }
+        ContextMap<K, V> entrySet = getEntrySet(context, entry, state);
+        if (entrySet.get(context.callString) != summary.entrySet.get(context.callString)) {
+            if (!analysis.compare(entrySet, summary.entrySet)
+                    || !analysis.compare(summary.entrySet, entrySet)) {
+                return false;
+            }
+        }
+        if (!active.isEmpty()) {
+            active.getFirst().addAll(summary.reached);
+        }
+        summariesReused++;
+        return true;
+    }
+
+    /**
+     * Get a snapshot of the entry state of a method for the callstring of the context only.
+     * The context of the state stored for the entry can belong to an earlier invocation, so it must not be
+     * used to compare entry states.
+     */
+    @SuppressWarnings("unchecked")
+    private ContextMap<K, V> getEntrySet(Context context, InstructionHandle entry,
+                                         Map<InstructionHandle, ContextMap<K, V>> state) {
+        ContextMap<K, V> entrySet = state.get(entry);
+        Map<K, V> map = new HashMap<K, V>(1);
+        if (entrySet != null && entrySet.containsKey(context.callString)) {
+            map.put((K) context.callString, entrySet.get(context.callString));
+        }
+        return new ContextMap<K, V>(new Context(context), map);
+    }
+
+    private ContextMap<K, V> getState(Map<InstructionHandle, ContextMap<K, V>> state, InstructionHandle stmt) {
+        ContextMap<K, V> s = state.get(stmt);
+        return s != null ? s : analysis.bottom();
+    }
+
+    /**
+     * Number the statements reachable from the entry in reverse postorder, so that
+     * (except for back edges) the tail of an edge is processed before its head.
+     */
+    private Map<InstructionHandle, Integer> getRPONumbers(InstructionHandle entry) {
+        Map<InstructionHandle, Integer> rpo = rpoNumbers.get(entry);
+        if (rpo != null) return rpo;
+
+        Flow flow = dfaTool.getFlow();
+        List<InstructionHandle> postorder = new ArrayList<InstructionHandle>();
+        Set<InstructionHandle> visited = new HashSet<InstructionHandle>();
+        /* iterative DFS; a stack entry is a statement and the iterator over its successors */
+        List<InstructionHandle> stack = new ArrayList<InstructionHandle>();
+        List<Iterator<FlowEdge>> iters = new ArrayList<Iterator<FlowEdge>>();
+        visited.add(entry);
+        stack.add(entry);
+        iters.add(successors(flow, entry));
+        while (!stack.isEmpty()) {
+            int top = stack.size() - 1;
+            Iterator<FlowEdge> it = iters.get(top);
+            if (it.hasNext()) {
+                InstructionHandle succ = it.next().getHead();
+                if (visited.add(succ)) {
+                    stack.add(succ);
+                    iters.add(successors(flow, succ));
+                }
+            } else {
+                postorder.add(stack.remove(top));
+                iters.remove(top);
+            }
+        }
+        rpo = new HashMap<InstructionHandle, Integer>(postorder.size() * 2);
+        for (int i = 0; i < postorder.size(); i++) {
+            rpo.put(postorder.get(i), postorder.size() - 1 - i);
+        }
+        rpoNumbers.put(entry, rpo);
+        return rpo;
+    }
+
+    private static Iterator<FlowEdge> successors(Flow flow, InstructionHandle stmt) {
+        Set<FlowEdge> out = flow.getOutEdges(stmt);
+        if (out == null) return Collections.<FlowEdge>emptySet().iterator();
+        return out.iterator();
+    }
+
+    /**
+     * Pending edges, ordered by the reverse postorder of their tail, and in insertion
+     * order for the same tail. An edge is only pending once; the transfer always
+     * uses the current state of the tail.
+     */
+    private static class Worklist {
+
+        private final Map<InstructionHandle, Integer> rpo;
+        private final PriorityQueue<Item> queue = new PriorityQueue<Item>();
+        private final Set<FlowEdge> pending = new HashSet<FlowEdge>();
+        private long seq = 0;
+
+        Worklist(Map<InstructionHandle, Integer> rpo) {
+            this.rpo = rpo;
+        }
+
+        void add(FlowEdge edge) {
+            if (!pending.add(edge)) return;
+            Integer prio = rpo.get(edge.getTail());
+            queue.add(new Item(edge, prio != null ? prio : Integer.MAX_VALUE, seq++));
+        }
+
+        FlowEdge poll() {
+            FlowEdge edge = queue.poll().edge;
+            pending.remove(edge);
+            return edge;
+        }
+
+        boolean isEmpty() {
+            return queue.isEmpty();
+        }
+
+        public String toString() {
+            return queue.toString();
+        }
+    }
+
+    private static class Item implements Comparable<Item> {
+        final FlowEdge edge;
+        final int prio;
+        final long seq;
+
+        Item(FlowEdge edge, int prio, long seq) {
+            this.edge = edge;
+            this.prio = prio;
+            this.seq = seq;
+        }
+
+        public int compareTo(Item o) {
+            if (prio != o.prio) return prio < o.prio ? -1 : 1;
+            return seq < o.seq ? -1 : (seq == o.seq ? 0 : 1);
+        }
+
+        public String toString() {
+            return edge.toString();
+        }
     }
 
+    /**
+     * The fixpoint of a method: the entry state and context it was computed for, the
+     * version of the states at that time, and the methods reached from it.
+     */
+    private static class Summary<K, V> {
+        final ContextMap<K, V> entrySet;
+        final Context context;
+        final boolean threaded;
+        final long version;
+        final Set<Pair<InstructionHandle, CallString>> reached;
+
+        Summary(ContextMap<K, V> entrySet, Context context, long version,
+                Set<Pair<InstructionHandle, CallString>> reached) {
+            this.entrySet = entrySet;
+            this.context = new Context(context);
+            this.threaded = Context.isThreaded();
+            this.version = version;
+            this.reached = reached;
+        }
+
+        /* Context.equals() only compares the stack pointer */
+        boolean matches(Context c) {
+            return threaded == Context.isThreaded()
+                    && c.stackPtr == context.stackPtr
+                    && c.syncLevel == context.syncLevel
+                    && c.threaded == context.threaded
+                    && c.getMethodInfo() == context.getMethodInfo()
+                    && c.callString.equals(context.callString);
+        }
+    }
 }
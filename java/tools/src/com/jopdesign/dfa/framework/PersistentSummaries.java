@@ -0,0 +1,83 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ * see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.dfa.framework;
+
+import com.jopdesign.common.AppInfo;
+import com.jopdesign.common.MethodInfo;
+import com.jopdesign.common.code.CallString;
+import com.jopdesign.common.misc.MethodNotFoundException;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Analyses which can store the fixpoint of a method invocation in a {@link SummaryCache}.
+ * The states of the analysis must be serializable, and the transfer functions must only depend on the
+ * states, the code and the receivers of the reached methods, and on the global state of the analysis.
+ * <p>
+ * The summaries are stored per callstring, so the analysis must be separable by callstrings: the transfer
+ * function of a statement may only read and write the states and results for the callstring of the
+ * context, and the states of the entry and exit of an invoked method for the callstring of the invocation.
+ * </p>
+ *
+ * @author agent (agent@local)
+ */
+public interface PersistentSummaries<V> {
+
+    /**
+     * @param value a state of the analysis for one callstring
+     * @return a string which is equal for two states if and only if the states are equal
+     */
+    String getStateKey(V value);
+
+    /**
+     * @param a a state of the analysis for one callstring
+     * @param b a state of the analysis for one callstring
+     * @return true if the keys of the states are equal, should be faster than comparing the keys
+     */
+    boolean isEqualState(V a, V b);
+
+    /**
+     * @return the state of the analysis which is not part of the dataflow states but is used by
+     *         the transfer functions, e.g. counters.
+     */
+    Serializable getGlobalState();
+
+    void setGlobalState(Serializable state);
+
+    /**
+     * Write the results of the analysis which are not part of the dataflow states, for the
+     * statements of the given methods and the given callstrings of each method only.
+     */
+    void writeResults(Map<MethodInfo, Set<CallString>> methods, ObjectOutputStream oos) throws IOException;
+
+    /**
+     * Read results written by {@link #writeResults} and add them to the results of the analysis,
+     * keeping the results of other callstrings of the same statements.
+     * The results must not be modified if reading fails.
+     */
+    void readResults(AppInfo appInfo, ObjectInputStream ois)
+            throws IOException, ClassNotFoundException, MethodNotFoundException;
+}
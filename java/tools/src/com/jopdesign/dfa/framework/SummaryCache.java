@@ -0,0 +1,452 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ * see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.dfa.framework;
+
+import com.jopdesign.common.AppInfo;
+import com.jopdesign.common.MethodInfo;
+import com.jopdesign.common.code.CallString;
+import com.jopdesign.common.code.CallString.CallStringSerialization;
+import com.jopdesign.common.graphutils.Pair;
+import com.jopdesign.common.misc.MethodNotFoundException;
+import com.jopdesign.common.type.MemberID;
+import com.jopdesign.dfa.DFATool;
+import org.apache.bcel.generic.InstructionHandle;
+import org.apache.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stores the fixpoints of method invocations on disk, so that later runs can reuse them.
+ * <p>
+ * A summary is stored for the first invocation of a method for a callstring. Since the analysis only
+ * uses the states of the callstring of a statement (see {@link PersistentSummaries}), the result of the
+ * invocation only depends on its context, its entry state, the global state of the analysis, the code
+ * of the reached methods and the states of the reached methods which had been interpreted before for
+ * their callstrings. The file name is a hash of the first four, the code of the callees is checked
+ * when the summary is loaded.
+ * </p><p>
+ * The states of the methods interpreted for the first time are stored and restored. A method which
+ * had been interpreted before, e.g. a utility method reached with the same callstring from several
+ * invocations, must not have been modified by the invocation. Its states are preconditions: they are
+ * not stored, but the summary is only loaded if its current states are equal to the states at the time
+ * the summary was stored, and if none of the other reached methods has been interpreted before for
+ * the stored callstrings. The restored states and results are then identical to the result of
+ * interpreting the method. If a method reached before is modified, no summary is stored.
+ * </p>
+ *
+ * @author agent (agent@local)
+ */
+public class SummaryCache {
+
+    private static final Logger logger = Logger.getLogger(DFATool.LOG_DFA_FRAMEWORK + ".SummaryCache");
+
+    /* the position of the exit statement of a method */
+    private static final int EXIT_POSITION = -1;
+
+    private final DFATool dfaTool;
+    private final File cacheDir;
+
+    private long loaded = 0;
+    private long stored = 0;
+
+    public SummaryCache(DFATool dfaTool, File cacheDir) {
+        this.dfaTool = dfaTool;
+        this.cacheDir = cacheDir;
+    }
+
+    public File getCacheDir() {
+        return cacheDir;
+    }
+
+    /**
+     * @return the number of summaries loaded by all analyses using this cache
+     */
+    public long getLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return the number of summaries stored by all analyses using this cache
+     */
+    public long getStored() {
+        return stored;
+    }
+
+    /**
+     * Compute the key of an invocation.
+     *
+     * @param analysis the analysis, must also implement {@link PersistentSummaries}
+     * @param context the context of the invocation
+     * @param entryValue the state at the method entry for the callstring of the context, or null
+     * @return the key of the summary of the invocation
+     */
+    @SuppressWarnings("unchecked")
+    public <V> String getKey(Analysis<CallString, V> analysis, Context context, V entryValue) {
+        PersistentSummaries<V> p = (PersistentSummaries<V>) analysis;
+        MethodInfo method = context.getMethodInfo();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(analysis.getId()).append('\n');
+        sb.append(method.getFQMethodName()).append(' ').append(dfaTool.getMethodDigest(method)).append('\n');
+        sb.append(new CallStringSerialization(context.callString)).append('\n');
+        sb.append(context.stackPtr).append(' ').append(context.syncLevel).append(' ');
+        sb.append(context.threaded).append(' ').append(Context.isThreaded()).append('\n');
+        sb.append(entryValue != null ? p.getStateKey(entryValue) : "-").append('\n');
+
+        MessageDigest md = createDigest();
+        try {
+            md.update(sb.toString().getBytes("UTF-8"));
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError(e);
+        }
+        md.update(toBytes(p.getGlobalState()));
+        return DFATool.toHexString(md.digest());
+    }
+
+    /**
+     * Store the states of the reached methods and the results of the analysis for them.
+     *
+     * @param key the key of the invocation, computed before the invocation
+     * @param analysis the analysis, must also implement {@link PersistentSummaries}
+     * @param methods the methods interpreted for the first time by the invocation, including the invoked
+     *                method, with the callstrings they have been reached with
+     * @param preconditions the methods reached by the invocation which have been interpreted before and
+     *                not modified by the invocation, with the callstrings they have been reached with
+     * @param state the states of the analysis
+     */
+    @SuppressWarnings("unchecked")
+    public <V> void store(String key, Analysis<CallString, V> analysis, Map<MethodInfo, Set<CallString>> methods,
+                          Map<MethodInfo, Set<CallString>> preconditions,
+                          Map<InstructionHandle, ContextMap<CallString, V>> state)
+    {
+        PersistentSummaries<V> p = (PersistentSummaries<V>) analysis;
+
+        ArrayList<String> names = new ArrayList<String>(methods.size());
+        ArrayList<String> digests = new ArrayList<String>(methods.size());
+        ArrayList<ArrayList<CallStringSerialization>> callStrings =
+                new ArrayList<ArrayList<CallStringSerialization>>(methods.size());
+        ArrayList<StoredState> states = new ArrayList<StoredState>();
+        for (Map.Entry<MethodInfo, Set<CallString>> e : methods.entrySet()) {
+            MethodInfo method = e.getKey();
+            names.add(method.getFQMethodName());
+            digests.add(dfaTool.getMethodDigest(method));
+            ArrayList<CallStringSerialization> cs = new ArrayList<CallStringSerialization>(e.getValue().size());
+            for (CallString c : e.getValue()) {
+                cs.add(new CallStringSerialization(c));
+            }
+            callStrings.add(cs);
+            for (InstructionHandle ih : method.getCode().getInstructionList(false, false).getInstructionHandles()) {
+                addState(states, method, ih.getPosition(), state.get(ih), e.getValue());
+            }
+            addState(states, method, EXIT_POSITION, state.get(dfaTool.getExitHandle(method)), e.getValue());
+        }
+        ArrayList<Precondition> pre = new ArrayList<Precondition>();
+        for (Map.Entry<MethodInfo, Set<CallString>> e : preconditions.entrySet()) {
+            for (CallString cs : e.getValue()) {
+                pre.add(new Precondition(e.getKey(), dfaTool.getMethodDigest(e.getKey()), cs,
+                                         getStateKeys(p, e.getKey(), cs, state)));
+            }
+        }
+
+        File tmp = null;
+        try {
+            cacheDir.mkdirs();
+            tmp = File.createTempFile("summary-", ".tmp", cacheDir);
+            ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+            try {
+                oos.writeObject(key);
+                oos.writeObject(names);
+                oos.writeObject(digests);
+                oos.writeObject(callStrings);
+                oos.writeObject(pre);
+                oos.writeObject(states);
+                oos.writeObject(p.getGlobalState());
+                p.writeResults(methods, oos);
+            } finally {
+                oos.close();
+            }
+            File file = getFile(key);
+            // rename is not atomic on all platforms if the target exists, another run stored the same summary
+            if (!tmp.renameTo(file) && !file.exists()) {
+                throw new IOException("Failed to rename " + tmp + " to " + file);
+            }
+            stored++;
+        } catch (IOException e) {
+            logger.error("Failed to store method summary " + key + ": " + e);
+        } finally {
+            if (tmp != null && tmp.exists()) {
+                tmp.delete();
+            }
+        }
+    }
+
+    /**
+     * Load a summary and add the states and results to the analysis.
+     *
+     * @param key the key of the invocation
+     * @param analysis the analysis, must also implement {@link PersistentSummaries}
+     * @param invoked the entry of the invoked method and the callstring of the invocation
+     * @param interpreted the entries and callstrings of all methods which have already been interpreted
+     * @param state the states of the analysis
+     * @return the reached methods by their entry and callstring, including the preconditions,
+     *         or null if no matching summary has been found.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> Map<Pair<InstructionHandle, CallString>, MethodInfo> load(String key,
+                                           Analysis<CallString, V> analysis,
+                                           Pair<InstructionHandle, CallString> invoked,
+                                           Set<Pair<InstructionHandle, CallString>> interpreted,
+                                           Map<InstructionHandle, ContextMap<CallString, V>> state)
+    {
+        File file = getFile(key);
+        if (!file.exists()) {
+            return null;
+        }
+        PersistentSummaries<V> p = (PersistentSummaries<V>) analysis;
+        AppInfo appInfo = dfaTool.getAppInfo();
+
+        Map<InstructionHandle, ContextMap<CallString, V>> restored =
+                new HashMap<InstructionHandle, ContextMap<CallString, V>>();
+        Map<Pair<InstructionHandle, CallString>, MethodInfo> reached =
+                new HashMap<Pair<InstructionHandle, CallString>, MethodInfo>();
+        try {
+            ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try {
+                if (!key.equals(ois.readObject())) {
+                    return null;
+                }
+                List<String> names = (List<String>) ois.readObject();
+                List<String> digests = (List<String>) ois.readObject();
+                List<List<CallStringSerialization>> callStrings = (List<List<CallStringSerialization>>) ois.readObject();
+                Map<String, MethodInfo> methods = new HashMap<String, MethodInfo>();
+                for (int i = 0; i < names.size(); i++) {
+                    MethodInfo method = appInfo.getMethodInfo(MemberID.parse(names.get(i)));
+                    if (!digests.get(i).equals(dfaTool.getMethodDigest(method))) {
+                        return null;
+                    }
+                    InstructionHandle e = dfaTool.getEntryHandle(method);
+                    for (CallStringSerialization cs : callStrings.get(i)) {
+                        Pair<InstructionHandle, CallString> m =
+                                new Pair<InstructionHandle, CallString>(e, cs.getCallString(appInfo));
+                        if (!m.equals(invoked) && interpreted.contains(m)) {
+                            return null;
+                        }
+                        reached.put(m, method);
+                    }
+                    methods.put(names.get(i), method);
+                }
+
+                List<Precondition> pre = (List<Precondition>) ois.readObject();
+                for (Precondition c : pre) {
+                    MethodInfo method = appInfo.getMethodInfo(MemberID.parse(c.method));
+                    Pair<InstructionHandle, CallString> m = new Pair<InstructionHandle, CallString>(
+                            dfaTool.getEntryHandle(method), c.callString.getCallString(appInfo));
+                    if (!c.digest.equals(dfaTool.getMethodDigest(method)) || !interpreted.contains(m)
+                            || !c.stateKeys.equals(getStateKeys(p, method, m.second(), state))) {
+                        return null;
+                    }
+                    reached.put(m, method);
+                }
+
+                List<StoredState> states = (List<StoredState>) ois.readObject();
+                for (StoredState s : states) {
+                    MethodInfo method = methods.get(s.method);
+                    InstructionHandle ih = s.position == EXIT_POSITION
+                            ? dfaTool.getExitHandle(method)
+                            : method.getCode().getInstructionList(false, false).findHandle(s.position);
+                    restored.put(ih, s.toContextMap(appInfo));
+                }
+                Serializable globalState = (Serializable) ois.readObject();
+
+                p.readResults(appInfo, ois);
+                p.setGlobalState(globalState);
+            } finally {
+                ois.close();
+            }
+        } catch (IOException e) {
+            logger.error("Failed to load method summary " + key + ": " + e);
+            return null;
+        } catch (ClassNotFoundException e) {
+            logger.error("Failed to load method summary " + key + ": " + e);
+            return null;
+        } catch (MethodNotFoundException e) {
+            // the code changed, the summary will be replaced
+            logger.debug("Method of summary " + key + " not found: " + e);
+            return null;
+        }
+
+        // the states of other callstrings of the reached methods are kept
+        for (Map.Entry<InstructionHandle, ContextMap<CallString, V>> e : restored.entrySet()) {
+            ContextMap<CallString, V> old = state.get(e.getKey());
+            if (old != null) {
+                ContextMap<CallString, V> merged = new ContextMap<CallString, V>(old);
+                merged.putAll(e.getValue());
+                state.put(e.getKey(), merged);
+            } else {
+                state.put(e.getKey(), e.getValue());
+            }
+        }
+        loaded++;
+        return reached;
+    }
+
+    /* the keys of the states of all statements and the exit of a method for a callstring */
+    private <V> ArrayList<String> getStateKeys(PersistentSummaries<V> p, MethodInfo method, CallString cs,
+                                               Map<InstructionHandle, ContextMap<CallString, V>> state)
+    {
+        ArrayList<String> keys = new ArrayList<String>();
+        for (InstructionHandle ih : method.getCode().getInstructionList(false, false).getInstructionHandles()) {
+            keys.add(getStateKey(p, state.get(ih), cs));
+        }
+        keys.add(getStateKey(p, state.get(dfaTool.getExitHandle(method)), cs));
+        return keys;
+    }
+
+    private static <V> String getStateKey(PersistentSummaries<V> p, ContextMap<CallString, V> map, CallString cs) {
+        V value = map != null ? map.get(cs) : null;
+        return value != null ? p.getStateKey(value) : null;
+    }
+
+    private File getFile(String key) {
+        return new File(cacheDir, "summary-" + key + ".dat");
+    }
+
+    private static <V> void addState(List<StoredState> states, MethodInfo method, int position,
+                                     ContextMap<CallString, V> map, Set<CallString> callStrings)
+    {
+        if (map != null) {
+            StoredState s = new StoredState(method, position, map, callStrings);
+            if (!s.keys.isEmpty()) {
+                states.add(s);
+            }
+        }
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static byte[] toBytes(Serializable obj) {
+        try {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            ObjectOutputStream oos = new ObjectOutputStream(bos);
+            oos.writeObject(obj);
+            oos.close();
+            return bos.toByteArray();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * The states of a method for a callstring which must not change for a summary to be loaded.
+     */
+    private static class Precondition implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        final String method;
+        final String digest;
+        final CallStringSerialization callString;
+        final ArrayList<String> stateKeys;
+
+        Precondition(MethodInfo method, String digest, CallString callString, ArrayList<String> stateKeys) {
+            this.method = method.getFQMethodName();
+            this.digest = digest;
+            this.callString = new CallStringSerialization(callString);
+            this.stateKeys = stateKeys;
+        }
+    }
+
+    /**
+     * The state of a statement, including the context of the state.
+     */
+    private static class StoredState implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        final String method;
+        final int position;
+
+        final int stackPtr;
+        final int syncLevel;
+        final boolean threaded;
+        final CallStringSerialization callString;
+        final String contextMethod;
+
+        final ArrayList<CallStringSerialization> keys = new ArrayList<CallStringSerialization>();
+        final ArrayList<Object> values = new ArrayList<Object>();
+
+        StoredState(MethodInfo method, int position, ContextMap<CallString, ?> map, Set<CallString> callStrings) {
+            this.method = method.getFQMethodName();
+            this.position = position;
+            Context c = map.getContext();
+            stackPtr = c.stackPtr;
+            syncLevel = c.syncLevel;
+            threaded = c.threaded;
+            callString = new CallStringSerialization(c.callString);
+            contextMethod = c.getMethodInfo() != null ? c.getMethodInfo().getFQMethodName() : null;
+            for (Map.Entry<CallString, ?> e : map.entrySet()) {
+                if (!callStrings.contains(e.getKey())) continue;
+                keys.add(new CallStringSerialization(e.getKey()));
+                values.add(e.getValue());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        <V> ContextMap<CallString, V> toContextMap(AppInfo appInfo) throws MethodNotFoundException {
+            Context c = new Context();
+            c.stackPtr = stackPtr;
+            c.syncLevel = syncLevel;
+            c.threaded = threaded;
+            c.callString = callString.getCallString(appInfo);
+            if (contextMethod != null) {
+                c.setMethodInfo(appInfo.getMethodInfo(MemberID.parse(contextMethod)));
+            }
+            Map<CallString, V> map = new HashMap<CallString, V>(keys.size() * 2);
+            for (int i = 0; i < keys.size(); i++) {
+                map.put(keys.get(i).getCallString(appInfo), (V) values.get(i));
+            }
+            return new ContextMap<CallString, V>(c, map);
+        }
+    }
+}
@@ -148,11 +148,16 @@ public class JCopter extends EmptyTool<JCopterManager> {
         //   Be aware that we only have DFA receiver analysis data here (no loopbounds)!
         executor.cleanupMethodCode();
 
+        // - replace virtual invokes with a single implementation by static invokes, while we still have
+        //   a callgraph which matches the code. This also allows the simple inliner to inline them.
+        //   Invokeinterface is only replaced with devirtualize-unverifiable (off by default).
+        executor.devirtualize();
+
         // - perform simple inlining: guaranteed not to increase worst case
         executor.performSimpleInline();
 
-        // - Rebuild callgraph and rerun DFA analyses since SimpleInliner changed the callstrings
-        //   and we do not have an implementation for Callgraph#merge and a framework to notify analyses
+        // - Rebuild callgraph and rerun DFA analyses since SimpleInliner changed the callstrings, the devirtualizer
+        //   added new methods and we do not have an implementation for Callgraph#merge and a framework to notify analyses
         //   of callstring/callgraph changes (yet..)
         if (useDFA()) {
             executor.dataflowAnalysis(true);
@@ -182,6 +187,12 @@ public class JCopter extends EmptyTool<JCopterManager> {
         //   duplicate/rename/.. methods, perform method extraction/splitting too?
         executor.performInline();
 
+        // - move cold code out of the methods so that less code needs to be loaded into the method cache
+        executor.splitMethods();
+
+        // - fold constants (e.g. inlined constant arguments) and branches, remove unreachable code
+        executor.foldConstants();
+
         // - perform code cleanup optimizations (load/store/param-passing, constantpool cleanup,
         //   remove unused members, constant folding, dead-code elimination (remove some more NP-checks,..),
         //   remove NOPs, ... )
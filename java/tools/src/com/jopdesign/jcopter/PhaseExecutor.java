@@ -37,9 +37,13 @@ import com.jopdesign.common.tools.ClinitOrder;
 import com.jopdesign.common.tools.ConstantPoolRebuilder;
 import com.jopdesign.dfa.DFATool;
 import com.jopdesign.dfa.framework.DFACallgraphBuilder;
+import com.jopdesign.jcopter.inline.GreedyInliner;
 import com.jopdesign.jcopter.inline.InlineConfig;
 import com.jopdesign.jcopter.inline.SimpleInliner;
+import com.jopdesign.jcopter.optimizer.ConstantFolder;
+import com.jopdesign.jcopter.optimizer.Devirtualizer;
 import com.jopdesign.jcopter.optimizer.LoadStoreOptimizer;
+import com.jopdesign.jcopter.optimizer.MethodSplitter;
 import com.jopdesign.jcopter.optimizer.PeepholeOptimizer;
 import com.jopdesign.jcopter.optimizer.RelinkInvokesuper;
 import com.jopdesign.jcopter.optimizer.UnusedCodeRemover;
@@ -89,6 +93,9 @@ public class PhaseExecutor {
         OptionGroup opt = options.getGroup(GROUP_OPTIMIZE);
         opt.addOptions(optimizeOptions);
         opt.addOptions(UnusedCodeRemover.optionList);
+        opt.addOptions(ConstantFolder.optionList);
+        opt.addOptions(MethodSplitter.optionList);
+        opt.addOptions(Devirtualizer.optionList);
 
         OptionGroup inline = options.getGroup(GROUP_INLINE);
         InlineConfig.registerOptions(inline);
@@ -233,6 +240,27 @@ public class PhaseExecutor {
         appInfo.iterate(new RelinkInvokesuper());
     }
 
+    /**
+     * Replace virtual invokes which have only a single possible implementation by static invokes.
+     * Invokeinterface sites are only replaced if devirtualize-unverifiable is set, which is off by default.
+     * The callgraph must be rebuilt afterwards.
+     */
+    public void devirtualize() {
+        // TODO devirtualizer is experimental for now..
+        if (!getJConfig().doOptimizeExperimental()) return;
+        if (!getOptimizeOptions().getOption(Devirtualizer.DEVIRTUALIZE)) return;
+
+        if (getJConfig().doAssumeDynamicClassLoader()) {
+            logger.info("Skipping devirtualizer since dynamic class loading is assumed.");
+            return;
+        }
+        logger.info("Starting devirtualization");
+
+        new Devirtualizer(jcopter, getOptimizeOptions(), new InlineConfig(getInlineOptions())).optimize();
+
+        logger.info("Finished devirtualization");
+    }
+
     /**
      * Inline all methods which do not increase the code size.
      */
@@ -252,7 +280,8 @@ public class PhaseExecutor {
     }
 
     /**
-     * Inline all InvokeSites which are marked for inlining by an inline strategy.
+     * Inline the InvokeSites with the best ratio of estimated gain to code size increase, within
+     * the code size budget.
      */
     public void performInline() {
         // TODO inliner is experimental for now..
@@ -264,10 +293,27 @@ public class PhaseExecutor {
         }
         logger.info("Starting inlining");
 
-        
+        new GreedyInliner(jcopter, new InlineConfig(getInlineOptions())).optimize();
+
         logger.info("Finished inlining");
     }
 
+    /**
+     * Move cold code like exception paths into new methods to reduce the size of the methods which need to be
+     * loaded into the method cache.
+     */
+    public void splitMethods() {
+        // TODO splitter is experimental for now..
+        if (!getJConfig().doOptimizeExperimental()) return;
+        if (!getOptimizeOptions().getOption(MethodSplitter.SPLIT_COLD_CODE)) return;
+
+        logger.info("Starting method splitting");
+
+        new MethodSplitter(jcopter, getOptimizeOptions()).optimize();
+
+        logger.info("Finished method splitting");
+    }
+
     /**
      * Run some simple optimizations to cleanup the bytecode without increasing its size.
      */
@@ -276,9 +322,8 @@ public class PhaseExecutor {
 
         // perform some simple and safe peephole optimizations
         new PeepholeOptimizer(jcopter).optimize();
-        
+
         // optimize load/store
-        // TODO implement this ..
         new LoadStoreOptimizer(jcopter).optimize();
 
         // (more complex optimizations (dead-code elimination, constant-folding,..) should
@@ -286,6 +331,21 @@ public class PhaseExecutor {
         logger.info("Finished code cleanup");
     }
 
+    /**
+     * Fold constant expressions and branches and remove unreachable code. Stores which became dead are
+     * removed by the next {@link #cleanupMethodCode()}.
+     */
+    public void foldConstants() {
+        if (!getJConfig().doOptimizeHard()) return;
+        if (!getOptimizeOptions().getOption(ConstantFolder.FOLD_CONSTANTS)) return;
+
+        logger.info("Starting constant folding");
+
+        new ConstantFolder(jcopter).optimize();
+
+        logger.info("Finished constant folding");
+    }
+
     public void removeDebugAttributes() {
         logger.info("Starting removal of debug attributes");
 
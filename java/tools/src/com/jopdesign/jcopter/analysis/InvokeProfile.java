@@ -0,0 +1,173 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ *   see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.jcopter.analysis;
+
+import com.jopdesign.common.MethodInfo;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Invoke counts of methods and caller/callee pairs, read from the CSV file written by the
+ * JopSim profiler ({@code -Dprofile=file}).
+ * <p>
+ * The frames of a call path are separated by ';' in the CSV file, semicolons in the method names
+ * (i.e. in the descriptors) are replaced by ','. Method names are the fully qualified method names
+ * of the JOPizer link info, which match {@link MethodInfo#getFQMethodName()}.
+ * </p>
+ *
+ * @author agent (agent@local)
+ */
+public class InvokeProfile {
+
+    private final Map<String,Long> methodCalls;
+    private final Map<String,Map<String,Long>> pairCalls;
+
+    public InvokeProfile() {
+        methodCalls = new HashMap<String, Long>();
+        pairCalls = new HashMap<String, Map<String, Long>>();
+    }
+
+    /**
+     * Load a profile from a CSV file of the JopSim profiler.
+     *
+     * @param filename the CSV file to read.
+     * @return the profile.
+     * @throws IOException if the file cannot be read or has an unknown format.
+     */
+    public static InvokeProfile loadCSV(String filename) throws IOException {
+        InvokeProfile profile = new InvokeProfile();
+
+        BufferedReader in = new BufferedReader(new FileReader(filename));
+        try {
+            String line = in.readLine();
+            if (line == null || !line.startsWith("type,name,calls")) {
+                throw new IOException("Not a JopSim profile: "+filename);
+            }
+            while ((line = in.readLine()) != null) {
+                if (line.length() == 0) continue;
+                profile.parseLine(line);
+            }
+        } finally {
+            in.close();
+        }
+
+        return profile;
+    }
+
+    public void addMethodCalls(String method, long calls) {
+        Long old = methodCalls.get(method);
+        methodCalls.put(method, old == null ? calls : old + calls);
+    }
+
+    public void addPairCalls(String caller, String callee, long calls) {
+        Map<String,Long> callees = pairCalls.get(caller);
+        if (callees == null) {
+            callees = new HashMap<String, Long>();
+            pairCalls.put(caller, callees);
+        }
+        Long old = callees.get(callee);
+        callees.put(callee, old == null ? calls : old + calls);
+    }
+
+    /**
+     * @param method the method to check
+     * @return the number of invocations of the method, 0 if it has not been executed.
+     */
+    public long getCalls(MethodInfo method) {
+        Long calls = methodCalls.get(method.getFQMethodName());
+        return calls != null ? calls : 0;
+    }
+
+    /**
+     * @param caller the invoking method
+     * @param callee the invoked method
+     * @return the number of invocations of the callee by the caller, summed up over all call paths.
+     */
+    public long getCalls(MethodInfo caller, MethodInfo callee) {
+        Map<String,Long> callees = pairCalls.get(caller.getFQMethodName());
+        if (callees == null) return 0;
+        Long calls = callees.get(callee.getFQMethodName());
+        return calls != null ? calls : 0;
+    }
+
+    private void parseLine(String line) throws IOException {
+        int pos = line.indexOf(',');
+        if (pos < 0 || pos+1 >= line.length() || line.charAt(pos+1) != '"') {
+            throw new IOException("Invalid profile line: "+line);
+        }
+        String type = line.substring(0, pos);
+
+        // read the quoted name, quotes are escaped by doubling them
+        StringBuilder name = new StringBuilder();
+        int i = pos + 2;
+        while (true) {
+            if (i >= line.length()) {
+                throw new IOException("Unterminated name in profile line: "+line);
+            }
+            char c = line.charAt(i++);
+            if (c == '"') {
+                if (i < line.length() && line.charAt(i) == '"') {
+                    name.append('"');
+                    i++;
+                } else {
+                    break;
+                }
+            } else {
+                name.append(c);
+            }
+        }
+
+        String[] values = line.substring(i).split(",");
+        if (values.length < 2) {
+            throw new IOException("Missing call count in profile line: "+line);
+        }
+        long calls;
+        try {
+            calls = Long.parseLong(values[1].trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid call count in profile line: "+line);
+        }
+
+        if ("method".equals(type)) {
+            addMethodCalls(name.toString(), calls);
+        }
+        else if ("path".equals(type)) {
+            List<String> frames = splitPath(name.toString());
+            if (frames.size() > 1) {
+                addPairCalls(frames.get(frames.size()-2), frames.get(frames.size()-1), calls);
+            }
+        }
+    }
+
+    private static List<String> splitPath(String path) {
+        List<String> frames = new ArrayList<String>();
+        for (String frame : path.split(";")) {
+            frames.add(frame.replace(',', ';'));
+        }
+        return frames;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ *   see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.jcopter.analysis;
+
+import com.jopdesign.common.MethodCode;
+import org.apache.bcel.generic.ATHROW;
+import org.apache.bcel.generic.BranchInstruction;
+import org.apache.bcel.generic.CodeExceptionGen;
+import org.apache.bcel.generic.ConstantPoolGen;
+import org.apache.bcel.generic.IINC;
+import org.apache.bcel.generic.IfInstruction;
+import org.apache.bcel.generic.Instruction;
+import org.apache.bcel.generic.InstructionHandle;
+import org.apache.bcel.generic.InstructionList;
+import org.apache.bcel.generic.LoadInstruction;
+import org.apache.bcel.generic.ReturnInstruction;
+import org.apache.bcel.generic.Select;
+import org.apache.bcel.generic.StoreInstruction;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Live local variable slots before and after each instruction, computed by a simple backwards
+ * dataflow analysis. Exception handlers are treated as successors of all instructions in their range.
+ * Subroutines (jsr/ret) are not supported.
+ *
+ * @author agent (agent@local)
+ */
+public class LiveLocals {
+
+    private final Map<InstructionHandle,Integer> index;
+    private final BitSet[] liveIn;
+    private final BitSet[] liveOut;
+    private final List<List<InstructionHandle>> handlers;
+
+    public LiveLocals(MethodCode code, InstructionList il) {
+        InstructionHandle[] ihs = il.getInstructionHandles();
+
+        index = new HashMap<InstructionHandle, Integer>(ihs.length);
+        liveIn = new BitSet[ihs.length];
+        liveOut = new BitSet[ihs.length];
+        handlers = new ArrayList<List<InstructionHandle>>(ihs.length);
+
+        for (int i = 0; i < ihs.length; i++) {
+            index.put(ihs[i], i);
+            liveIn[i] = new BitSet();
+            liveOut[i] = new BitSet();
+            handlers.add(new ArrayList<InstructionHandle>(0));
+        }
+        for (CodeExceptionGen ceg : code.getExceptionHandlers()) {
+            InstructionHandle ih = ceg.getStartPC();
+            while (ih != null) {
+                handlers.get(index.get(ih)).add(ceg.getHandlerPC());
+                if (ih == ceg.getEndPC()) break;
+                ih = ih.getNext();
+            }
+        }
+
+        List<List<InstructionHandle>> successors = new ArrayList<List<InstructionHandle>>(ihs.length);
+        for (InstructionHandle ih : ihs) {
+            successors.add(getSuccessors(ih));
+        }
+
+        ConstantPoolGen cpg = code.getConstantPoolGen();
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = ihs.length - 1; i >= 0; i--) {
+                BitSet out = new BitSet();
+                for (InstructionHandle s : successors.get(i)) {
+                    out.or(liveIn[index.get(s)]);
+                }
+                for (InstructionHandle h : handlers.get(i)) {
+                    out.or(liveIn[index.get(h)]);
+                }
+
+                BitSet in = (BitSet) out.clone();
+                Instruction instr = ihs[i].getInstruction();
+                if (instr instanceof StoreInstruction) {
+                    StoreInstruction store = (StoreInstruction) instr;
+                    in.clear(store.getIndex(), store.getIndex() + store.getType(cpg).getSize());
+                }
+                else if (instr instanceof LoadInstruction) {
+                    LoadInstruction load = (LoadInstruction) instr;
+                    in.set(load.getIndex(), load.getIndex() + load.getType(cpg).getSize());
+                }
+                else if (instr instanceof IINC) {
+                    in.set(((IINC)instr).getIndex());
+                }
+
+                if (!out.equals(liveOut[i]) || !in.equals(liveIn[i])) {
+                    liveOut[i] = out;
+                    liveIn[i] = in;
+                    changed = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the successors of an instruction within the method, excluding exception handlers.
+     *
+     * @param ih the instruction
+     * @return all instructions which may be executed after the instruction.
+     */
+    public static List<InstructionHandle> getSuccessors(InstructionHandle ih) {
+        List<InstructionHandle> succ = new ArrayList<InstructionHandle>(2);
+        Instruction instr = ih.getInstruction();
+
+        if (instr instanceof BranchInstruction) {
+            succ.add(((BranchInstruction)instr).getTarget());
+            if (instr instanceof Select) {
+                for (InstructionHandle target : ((Select)instr).getTargets()) {
+                    succ.add(target);
+                }
+            }
+            if (instr instanceof IfInstruction && ih.getNext() != null) {
+                succ.add(ih.getNext());
+            }
+        }
+        else if (!(instr instanceof ReturnInstruction) && !(instr instanceof ATHROW) && ih.getNext() != null) {
+            succ.add(ih.getNext());
+        }
+        return succ;
+    }
+
+    /**
+     * @param ih the instruction to check
+     * @return the local variable slots which may be read by the instruction or after it.
+     */
+    public BitSet getLiveIn(InstructionHandle ih) {
+        return (BitSet) liveIn[index.get(ih)].clone();
+    }
+
+    /**
+     * @param ih the instruction to check
+     * @param slot the first local variable slot
+     * @param size the number of slots to check
+     * @return true if any of the slots may be read after the instruction has been executed.
+     */
+    public boolean isLiveOut(InstructionHandle ih, int slot, int size) {
+        BitSet out = liveOut[index.get(ih)];
+        return out.get(slot, slot + size).cardinality() > 0;
+    }
+
+    /**
+     * @param ih the instruction to check
+     * @param slot the local variable slot to check
+     * @return true if the slot may be read by an exception handler of the instruction.
+     */
+    public boolean isLiveAtHandlers(InstructionHandle ih, int slot) {
+        for (InstructionHandle h : handlers.get(index.get(ih))) {
+            if (liveIn[index.get(h)].get(slot)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ *   see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.jcopter.analysis;
+
+import com.jopdesign.common.config.OptionGroup;
+import com.jopdesign.common.processormodel.JOPConfig;
+import com.jopdesign.jcopter.JCopter;
+import com.jopdesign.timing.WCETInstruction;
+import com.jopdesign.wcet.WCETProcessorModel;
+import com.jopdesign.wcet.jop.MethodCache;
+
+/**
+ * Simple model of the method cache for optimizations.
+ * <p>
+ * If the WCA tool is used, this uses the method cache and the timings of the WCET processor model,
+ * else a variable block cache configured by the JOP options and the JOP instruction timings are used.
+ * </p>
+ *
+ * @author agent (agent@local)
+ */
+public class MethodCacheModel {
+
+    private final MethodCache methodCache;
+    private final WCETProcessorModel wcetModel;
+    private final int cacheBlocks;
+    private final int blockSize;
+
+    public MethodCacheModel(JCopter jcopter) {
+        OptionGroup jopOptions = JOPConfig.getOptions(jcopter.getJConfig().getConfig());
+        cacheBlocks = jopOptions.getOption(JOPConfig.CACHE_BLOCKS).intValue();
+        blockSize = Math.max(1, jopOptions.getOption(JOPConfig.CACHE_SIZE_WORDS).intValue() / Math.max(1, cacheBlocks));
+
+        if (jcopter.useWCET()) {
+            wcetModel = jcopter.getWcetTool().getWCETProcessorModel();
+            methodCache = wcetModel.getMethodCache();
+        } else {
+            wcetModel = null;
+            methodCache = null;
+        }
+    }
+
+    public int getCacheBlocks() {
+        return cacheBlocks;
+    }
+
+    public boolean fitsInCache(int words) {
+        if (methodCache != null) {
+            return methodCache.fitsInCache(words);
+        }
+        return getRequiredBlocks(words) <= cacheBlocks;
+    }
+
+    /**
+     * @param words size of the method in words
+     * @return the number of cache blocks needed by the method, or more than the number of cache blocks if it
+     *         does not fit into the cache.
+     */
+    public int getRequiredBlocks(int words) {
+        if (methodCache != null) {
+            return methodCache.fitsInCache(words) ? methodCache.requiredNumberOfBlocks(words) : cacheBlocks + 1;
+        }
+        return (words + blockSize - 1) / blockSize;
+    }
+
+    /**
+     * @param words size of the method in words
+     * @param loadOnInvoke true if the method is loaded on invoke, false if loaded on return.
+     * @return the number of cycles to load the method which are not hidden by the invoke or return instruction.
+     */
+    public long getMissPenalty(int words, boolean loadOnInvoke) {
+        if (wcetModel != null) {
+            return wcetModel.getMethodCacheMissPenalty(words, loadOnInvoke);
+        }
+        int hidden = loadOnInvoke ? WCETInstruction.INVOKE_HIDDEN_LOAD_CYCLES :
+                                    WCETInstruction.MIN_HIDDEN_LOAD_CYCLES;
+        return Math.max(0, WCETInstruction.calculateB(false, words) - hidden);
+    }
+}
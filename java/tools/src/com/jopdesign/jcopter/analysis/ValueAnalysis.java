@@ -49,8 +49,6 @@ import org.apache.bcel.generic.NEWARRAY;
 import org.apache.bcel.generic.StoreInstruction;
 import org.apache.bcel.generic.Type;
 
-import javax.crypto.spec.IvParameterSpec;
-
 /**
  * This is a helper class to analyse value mappings of stack and local slots.
  *
@@ -211,6 +209,7 @@ public class ValueAnalysis {
                 break;
             case Constants.DUP_X2:
                 values.insert(3, values.top());
+                break;
             case Constants.DUP2:
                 values.push(values.top(1), false);
                 values.push(values.top(1), false);
@@ -286,12 +285,23 @@ public class ValueAnalysis {
             case Constants.IXOR:
             case Constants.ISHL:
             case Constants.ISHR:
-            case Constants.IUSHR:
-                values.pop();
-            case Constants.INEG:
-                values.pop();
-                values.push(new ValueInfo(Type.INT));
+            case Constants.IUSHR: {
+                Integer value2 = getIntConstant(values.pop());
+                Integer value1 = getIntConstant(values.pop());
+                Integer result = null;
+                if (value1 != null && value2 != null) {
+                    result = foldIntOperation(instruction.getOpcode(), value1, value2);
+                }
+                values.push(result != null ? new ValueInfo(new ConstantIntegerInfo(result))
+                                           : new ValueInfo(Type.INT));
+                break;
+            }
+            case Constants.INEG: {
+                Integer value = getIntConstant(values.pop());
+                values.push(value != null ? new ValueInfo(new ConstantIntegerInfo(-value))
+                                          : new ValueInfo(Type.INT));
                 break;
+            }
             case Constants.FADD:
             case Constants.FSUB:
             case Constants.FMUL:
@@ -391,9 +401,11 @@ public class ValueAnalysis {
                 break;
 
             case Constants.GOTO:
+            case Constants.GOTO_W:
             case Constants.RET:
                 break;
             case Constants.JSR:
+            case Constants.JSR_W:
                 // This is of type 'returnAddress'
                 values.push( new ValueInfo(Type.INT));
                 break;
@@ -461,11 +473,13 @@ public class ValueAnalysis {
                 break;
             case Constants.NEWARRAY: {
                 Type t = ((NEWARRAY)instruction).getType();
+                values.pop();
                 values.push(new ValueInfo( new ArrayType(t, 1)));
                 break;
             }
             case Constants.ANEWARRAY: {
                 Type t = ((ANEWARRAY)instruction).getType(cpg);
+                values.pop();
                 values.push(new ValueInfo( new ArrayType(t, 1)));
                 break;
             }
@@ -491,4 +505,50 @@ public class ValueAnalysis {
         return values;
     }
 
+    /**
+     * Set the value table to use for the transfer functions, e.g. to continue the analysis with a
+     * previously stored state.
+     *
+     * @param values the new value table to update.
+     */
+    public void setValueTable(ValueTable values) {
+        this.values = values;
+    }
+
+    /**
+     * @param value the value to check
+     * @return the value if it is a constant integer value, else null.
+     */
+    public static Integer getIntConstant(ValueInfo value) {
+        if (value.isConstantValue() && value.getConstantValue() instanceof ConstantIntegerInfo) {
+            return ((ConstantIntegerInfo) value.getConstantValue()).getValue();
+        }
+        return null;
+    }
+
+    /**
+     * Evaluate a binary integer operation.
+     *
+     * @param opcode the opcode of the binary integer operation
+     * @param value1 the first (lower) operand
+     * @param value2 the second (top) operand
+     * @return the result, or null if the operation throws an exception or is not supported.
+     */
+    public static Integer foldIntOperation(int opcode, int value1, int value2) {
+        switch (opcode) {
+            case Constants.IADD: return value1 + value2;
+            case Constants.ISUB: return value1 - value2;
+            case Constants.IMUL: return value1 * value2;
+            case Constants.IDIV: return value2 != 0 ? value1 / value2 : null;
+            case Constants.IREM: return value2 != 0 ? value1 % value2 : null;
+            case Constants.IAND: return value1 & value2;
+            case Constants.IOR:  return value1 | value2;
+            case Constants.IXOR: return value1 ^ value2;
+            case Constants.ISHL: return value1 << value2;
+            case Constants.ISHR: return value1 >> value2;
+            case Constants.IUSHR: return value1 >>> value2;
+            default: return null;
+        }
+    }
+
 }
@@ -0,0 +1,252 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ *   see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.jcopter.analysis;
+
+import com.jopdesign.common.MethodCode;
+import com.jopdesign.common.MethodInfo;
+import com.jopdesign.common.misc.JavaClassFormatError;
+import com.jopdesign.common.type.ValueInfo;
+import com.jopdesign.common.type.ValueTable;
+import org.apache.bcel.generic.CodeExceptionGen;
+import org.apache.bcel.generic.ConstantPoolGen;
+import org.apache.bcel.generic.Instruction;
+import org.apache.bcel.generic.InstructionHandle;
+import org.apache.bcel.generic.InstructionList;
+import org.apache.bcel.generic.LoadInstruction;
+import org.apache.bcel.generic.Type;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Values of all local variables and stack slots before each reachable instruction of a method, computed
+ * by a forward dataflow analysis over the whole method using the {@link ValueAnalysis}.
+ * <p>
+ * Values which differ at control flow joins are replaced by a new value which is unique for the instruction
+ * and the slot, so identical values in two slots always contain the same value at runtime. The stack always
+ * has the height of the operand stack at the instruction. Subroutines (jsr/ret) are not supported.
+ * </p>
+ *
+ * @author agent (agent@local)
+ */
+public class ValueStates {
+
+    private final MethodInfo method;
+
+    public ValueStates(MethodInfo method) {
+        this.method = method;
+    }
+
+    /**
+     * Calculate the values before each reachable instruction of the current code of the method.
+     *
+     * @return the values before each instruction, no entry for unreachable instructions.
+     */
+    public Map<InstructionHandle,ValueTable> analyze() {
+        ConstantPoolGen cpg = method.getConstantPoolGen();
+        InstructionList il = method.getCode().getInstructionList();
+        Map<InstructionHandle,List<CodeExceptionGen>> handlers = getExceptionHandlers(method.getCode());
+
+        Map<InstructionHandle,ValueTable> states = new HashMap<InstructionHandle, ValueTable>();
+        Map<InstructionHandle,Map<Integer,ValueInfo>> joinValues =
+                new HashMap<InstructionHandle, Map<Integer, ValueInfo>>();
+        Map<Object,ValueInfo> values = new HashMap<Object, ValueInfo>();
+
+        LinkedList<InstructionHandle> queue = new LinkedList<InstructionHandle>();
+        Set<InstructionHandle> queued = new HashSet<InstructionHandle>();
+
+        ValueAnalysis analysis = new ValueAnalysis(method);
+        analysis.loadParameters();
+        mergeState(states, joinValues, il.getStart(), analysis.getValueTable());
+        queue.add(il.getStart());
+        queued.add(il.getStart());
+
+        while (!queue.isEmpty()) {
+            InstructionHandle ih = queue.removeFirst();
+            queued.remove(ih);
+
+            ValueTable in = states.get(ih);
+            List<InstructionHandle> successors = new ArrayList<InstructionHandle>(2);
+
+            for (CodeExceptionGen ceg : handlers.get(ih)) {
+                ValueInfo exception = values.get(ceg);
+                if (exception == null) {
+                    exception = new ValueInfo(ceg.getCatchType() != null ? ceg.getCatchType() : Type.THROWABLE);
+                    values.put(ceg, exception);
+                }
+                ValueTable table = new ValueTable();
+                table.push(exception);
+                if (mergeState(states, joinValues, ceg.getHandlerPC(), table)) {
+                    successors.add(ceg.getHandlerPC());
+                }
+            }
+
+            ValueTable out = new ValueTable(in);
+            Instruction instr = ih.getInstruction();
+            if (instr instanceof LoadInstruction) {
+                // make sure we have a value with the correct type, repeated loads get the same value
+                LoadInstruction load = (LoadInstruction) instr;
+                if (out.getLocalValue(load.getIndex()).getFlag() != ValueInfo.ValueFlag.LIVE) {
+                    ValueInfo value = values.get(ih);
+                    if (value == null) {
+                        value = new ValueInfo(load.getType(cpg));
+                        values.put(ih, value);
+                    }
+                    out.setLocalValue(load.getIndex(), value);
+                }
+            }
+            analysis.setValueTable(out);
+            analysis.transfer(instr);
+
+            InstructionHandle taken = getTakenSuccessor(ih, in);
+            for (InstructionHandle s : taken != null ? Collections.singletonList(taken)
+                                                     : LiveLocals.getSuccessors(ih))
+            {
+                if (mergeState(states, joinValues, s, out)) {
+                    successors.add(s);
+                }
+            }
+
+            for (InstructionHandle s : successors) {
+                if (queued.add(s)) {
+                    queue.add(s);
+                }
+            }
+        }
+
+        return states;
+    }
+
+    /**
+     * Hook to skip successors of branches with known outcome.
+     *
+     * @param ih a reachable instruction
+     * @param in the values before the instruction
+     * @return the only successor of the instruction if it is known, or null to visit all successors.
+     */
+    protected InstructionHandle getTakenSuccessor(InstructionHandle ih, ValueTable in) {
+        return null;
+    }
+
+    /**
+     * @param code the code containing the instructions
+     * @return a map of all instructions to the exception handlers covering them.
+     */
+    public static Map<InstructionHandle,List<CodeExceptionGen>> getExceptionHandlers(MethodCode code) {
+        InstructionList il = code.getInstructionList();
+        Map<InstructionHandle,List<CodeExceptionGen>> handlers =
+                new HashMap<InstructionHandle, List<CodeExceptionGen>>(il.getLength());
+
+        for (InstructionHandle ih = il.getStart(); ih != null; ih = ih.getNext()) {
+            handlers.put(ih, new ArrayList<CodeExceptionGen>(0));
+        }
+        for (CodeExceptionGen ceg : code.getExceptionHandlers()) {
+            InstructionHandle ih = ceg.getStartPC();
+            while (ih != null) {
+                handlers.get(ih).add(ceg);
+                if (ih == ceg.getEndPC()) break;
+                ih = ih.getNext();
+            }
+        }
+        return handlers;
+    }
+
+    /**
+     * Merge a new state into the state of an instruction.
+     *
+     * @param states the states of all instructions
+     * @param joinValues the values created for slots with different values at the instructions
+     * @param ih the instruction to update
+     * @param table the new incoming state
+     * @return true if the state of the instruction changed.
+     */
+    private boolean mergeState(Map<InstructionHandle,ValueTable> states,
+                               Map<InstructionHandle,Map<Integer,ValueInfo>> joinValues,
+                               InstructionHandle ih, ValueTable table)
+    {
+        ValueTable old = states.get(ih);
+        if (old == null) {
+            states.put(ih, new ValueTable(table));
+            return true;
+        }
+        if (old.getStackSize() != table.getStackSize()) {
+            throw new JavaClassFormatError("Inconsistent stack height at instruction "+ih);
+        }
+
+        Map<Integer,ValueInfo> join = joinValues.get(ih);
+        if (join == null) {
+            join = new HashMap<Integer, ValueInfo>();
+            joinValues.put(ih, join);
+        }
+
+        boolean changed = false;
+        List<ValueInfo> locals = old.getLocals();
+        int size = Math.max(locals.size(), table.getLocalsSize());
+        for (int i = 0; i < size; i++) {
+            if (i == locals.size()) {
+                locals.add(ValueInfo.UNUSED);
+            }
+            ValueInfo value = mergeValue(join, i, locals.get(i), table.getLocalValue(i));
+            if (value != locals.get(i)) {
+                locals.set(i, value);
+                changed = true;
+            }
+        }
+        List<ValueInfo> stack = old.getStack();
+        for (int i = 0; i < stack.size(); i++) {
+            // use negative keys for the stack slots
+            ValueInfo value = mergeValue(join, -i-1, stack.get(i), table.getStackEntry(i));
+            if (value != stack.get(i)) {
+                stack.set(i, value);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private ValueInfo mergeValue(Map<Integer,ValueInfo> join, int slot, ValueInfo oldValue, ValueInfo newValue) {
+        if (oldValue == newValue) {
+            return oldValue;
+        }
+        if (oldValue.getFlag() != ValueInfo.ValueFlag.LIVE || newValue.getFlag() != ValueInfo.ValueFlag.LIVE) {
+            return ValueInfo.UNUSED;
+        }
+        Integer constant = ValueAnalysis.getIntConstant(oldValue);
+        if (constant != null && constant.equals(ValueAnalysis.getIntConstant(newValue))) {
+            return oldValue;
+        }
+        if (oldValue.getType() == null || !oldValue.getType().equals(newValue.getType())) {
+            return ValueInfo.UNUSED;
+        }
+        ValueInfo value = join.get(slot);
+        if (value == null) {
+            value = new ValueInfo(oldValue.getType());
+            join.put(slot, value);
+        }
+        return value;
+    }
+}
@@ -18,10 +18,779 @@
  * along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
 
+
 package com.jopdesign.jcopter.inline;
 
+import com.jopdesign.common.AppInfo;
+import com.jopdesign.common.MethodCode;
+import com.jopdesign.common.MethodInfo;
+import com.jopdesign.common.code.BasicBlock;
+import com.jopdesign.common.code.CallGraph;
+import com.jopdesign.common.code.CallString;
+import com.jopdesign.common.code.ControlFlowGraph;
+import com.jopdesign.common.code.ControlFlowGraph.CFGNode;
+import com.jopdesign.common.code.InvokeSite;
+import com.jopdesign.common.code.LoopBound;
+import com.jopdesign.common.misc.MiscUtils;
+import com.jopdesign.jcopter.JCopter;
+import com.jopdesign.jcopter.analysis.InvokeProfile;
+import com.jopdesign.jcopter.analysis.MethodCacheModel;
+import com.jopdesign.jcopter.optimizer.AbstractOptimizer;
+import org.apache.bcel.generic.ASTORE;
+import org.apache.bcel.generic.BranchInstruction;
+import org.apache.bcel.generic.CodeExceptionGen;
+import org.apache.bcel.generic.ConstantPoolGen;
+import org.apache.bcel.generic.GOTO;
+import org.apache.bcel.generic.IINC;
+import org.apache.bcel.generic.Instruction;
+import org.apache.bcel.generic.InstructionFactory;
+import org.apache.bcel.generic.InstructionHandle;
+import org.apache.bcel.generic.InstructionList;
+import org.apache.bcel.generic.InvokeInstruction;
+import org.apache.bcel.generic.JsrInstruction;
+import org.apache.bcel.generic.LoadInstruction;
+import org.apache.bcel.generic.LocalVariableInstruction;
+import org.apache.bcel.generic.RET;
+import org.apache.bcel.generic.ReturnInstruction;
+import org.apache.bcel.generic.Select;
+import org.apache.bcel.generic.StoreInstruction;
+import org.apache.bcel.generic.TargetLostException;
+import org.apache.bcel.generic.Type;
+import org.apache.bcel.generic.UnconditionalBranch;
+import org.apache.log4j.Logger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
 /**
+ * An inliner which greedily inlines the invoke sites with the best ratio of estimated
+ * cycles saved to code size increase, until the code size budget is used up.
+ * <p>
+ * The invoke frequencies are taken from a JopSim profile if configured. Else they are estimated
+ * from the loop bounds, i.e. every invoke site is assumed to be executed as often as it is executed
+ * on the worst case path through the loops of its method. The benefit of an invoke site is the number of
+ * cycles for the invoke and return instructions, plus the method cache miss penalties of the invoke and
+ * the return if the invoker and the invokee do not fit into the method cache together. The
+ * increase of the miss penalty of the invoker due to the larger code is subtracted.
+ * If the WCET tool is used, the method cache model of the WCET tool is used, else the cache is assumed
+ * to be a variable block cache as configured by the JOP options.
+ * </p><p>
+ * Invoke sites in inlined code are added as new candidates, so nested invokes can be inlined too.
+ * Invokees with exception handlers, subroutines or with values on the stack in addition to the return value
+ * at a return are not inlined, as well as invokes which require a nullpointer check.
+ * </p>
+ *
  * @author Stefan Hepp (stefan@stefant.org)
  */
-public class GreedyInliner {
+public class GreedyInliner extends AbstractOptimizer {
+
+    private static class Candidate implements Comparable<Candidate> {
+        // the callstring of original invokesites, starting at the invoker
+        private final CallString callString;
+        // the invokesite in the current code of the invoker
+        private final InvokeSite invokeSite;
+        private final MethodInfo invokee;
+        // number of executions of the invokesite
+        private final double frequency;
+
+        private int deltaBytes;
+        private double benefit;
+        private int invokerBytes;
+        private int invokeeBytes;
+
+        private Candidate(CallString callString, InvokeSite invokeSite, MethodInfo invokee, double frequency) {
+            this.callString = callString;
+            this.invokeSite = invokeSite;
+            this.invokee = invokee;
+            this.frequency = frequency;
+        }
+
+        public MethodInfo getInvoker() {
+            return invokeSite.getInvoker();
+        }
+
+        public double getRatio() {
+            return benefit / Math.max(deltaBytes, 1);
+        }
+
+        /**
+         * @return true if the invoker or the invokee has been modified since the candidate has been evaluated.
+         */
+        public boolean isOutdated() {
+            return invokerBytes != getInvoker().getCode().getNumberOfBytes() ||
+                   invokeeBytes != invokee.getCode().getNumberOfBytes();
+        }
+
+        @Override
+        public int compareTo(Candidate o) {
+            return Double.compare(o.getRatio(), getRatio());
+        }
+
+        @Override
+        public String toString() {
+            return invokeSite + " -> " + invokee;
+        }
+    }
+
+    private static final Logger logger = Logger.getLogger(JCopter.LOG_INLINE+".GreedyInliner");
+
+    private final InlineConfig inlineConfig;
+    private final InlineHelper helper;
+    private final AppInfo appInfo;
+
+    private InvokeProfile profile;
+    private MethodCacheModel cacheModel;
+
+    private final PriorityQueue<Candidate> queue;
+    private final Map<MethodInfo,Double> methodFrequencies;
+    private final Map<MethodInfo,Map<InstructionHandle,Double>> loopFrequencies;
+
+    private long budget;
+    private long codeGrowth;
+    private double cyclesSaved;
+
+    private int inlineCounter;
+    private int candidates;
+    private int requiresNPCheck;
+    private int unsupportedCode;
+    private int codesizeTooLarge;
+    private int overBudget;
+
+    public GreedyInliner(JCopter jcopter, InlineConfig inlineConfig) {
+        super(jcopter);
+        this.inlineConfig = inlineConfig;
+        this.helper = new InlineHelper(jcopter, inlineConfig);
+        this.appInfo = AppInfo.getSingleton();
+        this.queue = new PriorityQueue<Candidate>();
+        this.methodFrequencies = new HashMap<MethodInfo, Double>();
+        this.loopFrequencies = new HashMap<MethodInfo, Map<InstructionHandle, Double>>();
+    }
+
+    @Override
+    public void initialize() {
+        queue.clear();
+        methodFrequencies.clear();
+        loopFrequencies.clear();
+
+        codeGrowth = 0;
+        cyclesSaved = 0;
+        inlineCounter = 0;
+        candidates = 0;
+        requiresNPCheck = 0;
+        unsupportedCode = 0;
+        codesizeTooLarge = 0;
+        overBudget = 0;
+
+        profile = null;
+        String profileFile = inlineConfig.getProfileFile();
+        if (profileFile != null) {
+            try {
+                profile = InvokeProfile.loadCSV(profileFile);
+            } catch (IOException e) {
+                logger.error("Unable to load profile "+profileFile+", using loop bounds instead: "+e.getMessage(), e);
+            }
+        }
+
+        cacheModel = new MethodCacheModel(getJCopter());
+
+        // the budget is relative to the code size of the application
+        long codesize = 0;
+        for (MethodInfo method : appInfo.getCallGraph().getMethodInfos()) {
+            if (method.hasCode()) {
+                codesize += method.getCode().getNumberOfBytes();
+            }
+        }
+        budget = codesize * inlineConfig.getCodeGrowth() / 100;
+        if (getJConfig().getMaxCodesize() > 0) {
+            budget = Math.min(budget, getJConfig().getMaxCodesize() - codesize);
+        }
+    }
+
+    /**
+     * Collect all candidates first, then inline the best candidates within the code size budget.
+     */
+    @Override
+    public void optimize() {
+        if (!appInfo.hasCallGraph()) {
+            logger.warn("No callgraph available, skipping greedy inliner.");
+            return;
+        }
+        initialize();
+
+        computeMethodFrequencies();
+
+        for (MethodInfo method : appInfo.getCallGraph().getMethodInfos()) {
+            if (appInfo.isHwObject(method.getClassInfo())) {
+                // Do not optimize Hardware Objects, leave them alone!
+                continue;
+            }
+            if (method.hasCode()) {
+                optimizeMethod(method);
+            }
+        }
+
+        inlineCandidates();
+
+        printStatistics();
+    }
+
+    /**
+     * Collect the inline candidates of a method.
+     * @param method the method to collect the invokesites from.
+     */
+    @Override
+    public void optimizeMethod(MethodInfo method) {
+        double frequency = getMethodFrequency(method);
+
+        for (InvokeSite invokeSite : method.getCode().getInvokeSites()) {
+            if (invokeSite.isJVMCall()) {
+                // we only inline invoke instructions
+                continue;
+            }
+            CallString cs = new CallString(invokeSite);
+            addCandidate(cs, invokeSite, frequency, method, invokeSite.getInstructionHandle());
+        }
+    }
+
+    @Override
+    public void printStatistics() {
+        logger.info("Inlined "+inlineCounter+" invoke sites, code size increased by "+codeGrowth+
+                    " bytes (budget: "+budget+" bytes), estimated cycles saved: "+(long)cyclesSaved);
+        logger.info("Candidates: "+candidates+"; need NP check: "+requiresNPCheck+", unsupported code: "+
+                    unsupportedCode+", codesize: "+codesizeTooLarge+", over budget: "+overBudget);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////
+    // Candidate selection
+    ///////////////////////////////////////////////////////////////////////////////////
+
+    private void inlineCandidates() {
+        while (!queue.isEmpty()) {
+            Candidate c = queue.poll();
+
+            if (c.isOutdated()) {
+                // the invoker or invokee has been modified, update the estimate and try again later
+                if (evaluate(c)) {
+                    queue.add(c);
+                }
+                continue;
+            }
+
+            if (c.deltaBytes > budget - codeGrowth) {
+                // maybe some other, smaller candidate still fits
+                overBudget++;
+                continue;
+            }
+
+            performInline(c);
+        }
+    }
+
+    /**
+     * Check if the invokee can be inlined and add a new candidate if so.
+     *
+     * @param cs the callstring of the original invokesites, the last entry is the invokesite to inline.
+     * @param invokeSite the invokesite in the current code of the invoker
+     * @param invokerFrequency the number of executions of the invoker code containing the invokesite.
+     * @param method the method containing the original invokesite.
+     * @param ih the original invoke instruction.
+     */
+    private void addCandidate(CallString cs, InvokeSite invokeSite, double invokerFrequency,
+                              MethodInfo method, InstructionHandle ih)
+    {
+        MethodInfo invokee = helper.devirtualize(cs);
+
+        // could be a native method, or it has not been devirtualized
+        if (invokee == null || !invokee.hasCode()) {
+            return;
+        }
+
+        if (!helper.canInline(cs, invokeSite, invokee)) {
+            return;
+        }
+
+        if (invokee.getCode().getExceptionHandlers().length > 0 || !checkInvokeeCode(invokee)) {
+            unsupportedCode++;
+            return;
+        }
+
+        if (helper.needsNullpointerCheck(cs, invokee, true)) {
+            requiresNPCheck++;
+            return;
+        }
+
+        // we do not know how to update loopbounds at the invokesite
+        if (invokeSite.getInvoker().getCode().getLoopBound(invokeSite.getInstructionHandle()) != null) {
+            unsupportedCode++;
+            return;
+        }
+
+        candidates++;
+
+        double frequency = invokerFrequency * getLocalFrequency(method, ih, invokee);
+        Candidate c = new Candidate(cs, invokeSite, invokee, frequency);
+
+        if (evaluate(c)) {
+            queue.add(c);
+        }
+    }
+
+    /**
+     * Check that the invokee does not use subroutines, and that the stack contains only the return value
+     * at all return instructions.
+     *
+     * @param invokee the method to check
+     * @return true if the invokee code can be inlined.
+     */
+    private boolean checkInvokeeCode(MethodInfo invokee) {
+        ConstantPoolGen cpg = invokee.getConstantPoolGen();
+        InstructionList il = invokee.getCode().getInstructionList(true, false);
+
+        Map<InstructionHandle,Integer> depth = new HashMap<InstructionHandle, Integer>();
+        LinkedList<InstructionHandle> worklist = new LinkedList<InstructionHandle>();
+        depth.put(il.getStart(), 0);
+        worklist.add(il.getStart());
+
+        List<InstructionHandle> successors = new ArrayList<InstructionHandle>(2);
+
+        while (!worklist.isEmpty()) {
+            InstructionHandle ih = worklist.removeFirst();
+            Instruction instr = ih.getInstruction();
+            int stack = depth.get(ih);
+
+            if (instr instanceof JsrInstruction || instr instanceof RET) {
+                return false;
+            }
+            if (instr instanceof ReturnInstruction) {
+                if (stack != ((ReturnInstruction)instr).getType().getSize()) {
+                    return false;
+                }
+                continue;
+            }
+
+            stack += instr.produceStack(cpg) - instr.consumeStack(cpg);
+
+            successors.clear();
+            if (instr instanceof BranchInstruction) {
+                successors.add(((BranchInstruction)instr).getTarget());
+                if (instr instanceof Select) {
+                    for (InstructionHandle target : ((Select)instr).getTargets()) {
+                        successors.add(target);
+                    }
+                }
+            }
+            if (!(instr instanceof UnconditionalBranch) && !(instr instanceof Select) && ih.getNext() != null) {
+                successors.add(ih.getNext());
+            }
+
+            for (InstructionHandle next : successors) {
+                Integer old = depth.get(next);
+                if (old == null) {
+                    depth.put(next, stack);
+                    worklist.add(next);
+                } else if (old != stack) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Estimate the code size increase and the cycles saved by inlining a candidate.
+     *
+     * @param c the candidate to update
+     * @return true if the candidate can be inlined under the size constraints and has a positive benefit.
+     */
+    private boolean evaluate(Candidate c) {
+        MethodInfo invoker = c.getInvoker();
+        MethodInfo invokee = c.invokee;
+        MethodCode invokerCode = invoker.getCode();
+
+        c.invokerBytes = invokerCode.getNumberOfBytes();
+        c.invokeeBytes = invokee.getCode().getNumberOfBytes();
+
+        // new code = prologue + invokee code with returns replaced by gotos, without the invoke
+        InstructionList prologue = createPrologue(invokee, invokerCode.getMaxLocals());
+        int prologueBytes = invokerCode.getNumberOfBytes(prologue);
+        long prologueCycles = 0;
+        for (InstructionHandle ih : prologue.getInstructionHandles()) {
+            prologueCycles += getCycles(ih.getInstruction());
+        }
+        prologue.dispose();
+
+        Instruction invoke = c.invokeSite.getInstructionHandle().getInstruction();
+        Instruction ret = InstructionFactory.createReturn(invokee.getType());
+        Instruction jump = new GOTO(null);
+
+        int returns = 0;
+        InstructionList il = invokee.getCode().getInstructionList(true, false);
+        for (InstructionHandle ih : il.getInstructionHandles()) {
+            if (ih.getInstruction() instanceof ReturnInstruction) returns++;
+        }
+        int gotos = il.getEnd().getInstruction() instanceof ReturnInstruction ? returns - 1 : returns;
+
+        int retBytes = appInfo.getProcessorModel().getNumberOfBytes(invokee, ret);
+        int gotoBytes = appInfo.getProcessorModel().getNumberOfBytes(invoker, jump);
+        int invokeBytes = appInfo.getProcessorModel().getNumberOfBytes(invoker, invoke);
+
+        c.deltaBytes = prologueBytes + c.invokeeBytes - returns * retBytes + gotos * gotoBytes - invokeBytes;
+
+        // check the target constraints
+        if (!helper.checkConstraints(invoker, c.invokeSite, invokee, c.deltaBytes - c.invokeeBytes,
+                                     invokerCode.getMaxLocals(), invokerCode.getMaxStack()))
+        {
+            codesizeTooLarge++;
+            return false;
+        }
+
+        int oldWords = MiscUtils.bytesToWords(c.invokerBytes);
+        int newWords = MiscUtils.bytesToWords(c.invokerBytes + c.deltaBytes);
+        int invokeeWords = MiscUtils.bytesToWords(c.invokeeBytes);
+
+        if (!cacheModel.fitsInCache(newWords)) {
+            codesizeTooLarge++;
+            return false;
+        }
+
+        // cycles for the invoke and the return instruction, assuming cache hits
+        long saved = getCycles(invoke) + getCycles(ret) - prologueCycles;
+        if (gotos > 0) {
+            saved -= getCycles(jump);
+        }
+
+        // if the invoker and the invokee do not fit into the cache together, assume that the invoke
+        // and the return miss
+        if (cacheModel.getRequiredBlocks(oldWords) + cacheModel.getRequiredBlocks(invokeeWords) > cacheModel.getCacheBlocks()) {
+            saved += cacheModel.getMissPenalty(invokeeWords, true) + cacheModel.getMissPenalty(oldWords, false);
+        }
+
+        // loading the larger invoker takes longer
+        long growth = cacheModel.getMissPenalty(newWords, true) - cacheModel.getMissPenalty(oldWords, true);
+
+        c.benefit = c.frequency * saved - getMethodFrequency(invoker) * growth;
+
+        return c.benefit > 0;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////
+    // Inlining
+    ///////////////////////////////////////////////////////////////////////////////////
+
+    private static InstructionList createPrologue(MethodInfo invokee, int offset) {
+        InstructionList prologue = new InstructionList();
+
+        Type[] args = invokee.getArgumentTypes();
+        int[] slots = new int[args.length];
+        int slot = invokee.isStatic() ? offset : offset + 1;
+        for (int i = 0; i < args.length; i++) {
+            slots[i] = slot;
+            slot += args[i].getSize();
+        }
+
+        // the parameters are on the stack, store them into the new local variables, last parameter first
+        for (int i = args.length - 1; i >= 0; i--) {
+            prologue.append(InstructionFactory.createStore(args[i], slots[i]));
+        }
+        if (!invokee.isStatic()) {
+            prologue.append(new ASTORE(offset));
+        }
+
+        return prologue;
+    }
+
+    private void performInline(Candidate c) {
+        MethodInfo invoker = c.getInvoker();
+        MethodInfo invokee = c.invokee;
+        MethodCode code = invoker.getCode();
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Inlining at "+c.invokeSite+" using "+invokee+", ratio "+c.getRatio());
+        }
+
+        // Prepare code for the actual inlining
+        helper.prepareInlining(invoker, invokee);
+
+        Map<InstructionHandle,InstructionHandle> map = inlineCode(code, c.invokeSite.getInstructionHandle(), invokee);
+
+        loopFrequencies.remove(invoker);
+
+        inlineCounter++;
+        codeGrowth += c.deltaBytes;
+        cyclesSaved += c.benefit;
+
+        // add the invokesites of the inlined code as new candidates
+        for (Map.Entry<InstructionHandle,InstructionHandle> entry : map.entrySet()) {
+            InstructionHandle ih = entry.getKey();
+            if (!(ih.getInstruction() instanceof InvokeInstruction)) {
+                continue;
+            }
+            InvokeSite original = invokee.getCode().getInvokeSite(ih);
+            if (original.isJVMCall()) {
+                continue;
+            }
+            InvokeSite invokeSite = code.getInvokeSite(entry.getValue());
+
+            addCandidate(c.callString.push(original), invokeSite, c.frequency, invokee, ih);
+        }
+    }
+
+    /**
+     * Replace an invoke instruction with a copy of the code of the invokee. The locals of the invokee are
+     * appended to the locals of the invoker, the returns of the invokee are replaced by jumps to the
+     * instruction following the invoke.
+     *
+     * @param code the code of the invoker
+     * @param invoke the invoke instruction to replace
+     * @param invokee the invoked method, must not contain exception handlers or subroutines.
+     * @return a map of the instructions of the invokee to the inlined instructions. The last return of the invokee
+     *         is mapped to the instruction following the invoke.
+     */
+    static Map<InstructionHandle,InstructionHandle> inlineCode(MethodCode code, InstructionHandle invoke,
+                                                               MethodInfo invokee)
+    {
+        // make sure maxLocals is up-to-date, the locals of the invokee are appended to the invoker locals
+        code.compile();
+        int offset = code.getMaxLocals();
+
+        InstructionList il = code.getInstructionList();
+        InstructionHandle next = invoke.getNext();
+
+        InstructionList inlined = createPrologue(invokee, offset);
+
+        // copy the code, map the old handles to the new handles
+        ConstantPoolGen cpg = invokee.getConstantPoolGen();
+        InstructionList source = invokee.getCode().getInstructionList(true, false);
+        Map<InstructionHandle,InstructionHandle> map = new LinkedHashMap<InstructionHandle, InstructionHandle>();
+
+        for (InstructionHandle ih : source.getInstructionHandles()) {
+            Instruction instr = ih.getInstruction();
+            InstructionHandle newIh;
+
+            if (instr instanceof ReturnInstruction) {
+                if (ih == source.getEnd()) {
+                    // the last return simply falls through to the code after the invoke
+                    map.put(ih, next);
+                    continue;
+                }
+                newIh = inlined.append(new GOTO(next));
+            } else if (instr instanceof LocalVariableInstruction) {
+                // Do not modify the instruction, it might be a shared instance
+                int index = ((LocalVariableInstruction)instr).getIndex() + offset;
+                Instruction newInstr;
+                if (instr instanceof IINC) {
+                    newInstr = new IINC(index, ((IINC)instr).getIncrement());
+                } else if (instr instanceof LoadInstruction) {
+                    newInstr = InstructionFactory.createLoad(((LoadInstruction)instr).getType(cpg), index);
+                } else {
+                    newInstr = InstructionFactory.createStore(((StoreInstruction)instr).getType(cpg), index);
+                }
+                newIh = inlined.append(newInstr);
+            } else {
+                Instruction newInstr = code.copyFrom(invokee.getClassInfo(), instr);
+                if (newInstr instanceof BranchInstruction) {
+                    newIh = inlined.append((BranchInstruction)newInstr);
+                } else {
+                    newIh = inlined.append(newInstr);
+                }
+            }
+
+            code.copyCustomValues(newIh, ih);
+            map.put(ih, newIh);
+        }
+
+        // update the branch targets of the copied code
+        for (Map.Entry<InstructionHandle,InstructionHandle> entry : map.entrySet()) {
+            Instruction instr = entry.getKey().getInstruction();
+            if (!(instr instanceof BranchInstruction)) {
+                continue;
+            }
+            BranchInstruction newInstr = (BranchInstruction) entry.getValue().getInstruction();
+            if (instr instanceof Select) {
+                InstructionHandle[] targets = ((Select)instr).getTargets();
+                for (int i = 0; i < targets.length; i++) {
+                    ((Select)newInstr).setTarget(i, map.get(targets[i]));
+                }
+            }
+            newInstr.setTarget(map.get(((BranchInstruction)instr).getTarget()));
+        }
+
+        // replace the invoke
+        boolean empty = inlined.isEmpty();
+        InstructionHandle last = empty ? invoke.getPrev() : inlined.getEnd();
+        InstructionHandle first = empty ? next : il.append(invoke, inlined);
+
+        // exception ranges ending at the invoke must include all of the inlined code, the other targeters
+        // (range starts, branches, ..) are moved to the first inlined instruction
+        for (CodeExceptionGen ceg : code.getExceptionHandlers()) {
+            if (ceg.getEndPC() != invoke) continue;
+            if (empty && ceg.getStartPC() == invoke) {
+                // the range only contained the invoke, which has been removed
+                code.removeExceptionHandler(ceg);
+            } else {
+                ceg.setEndPC(last);
+            }
+        }
+        code.retarget(invoke, first);
+        try {
+            il.delete(invoke);
+        } catch (TargetLostException e) {
+            code.retarget(e, first);
+        }
+
+        code.compile();
+
+        return map;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////
+    // Frequencies
+    ///////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param method the invoker
+     * @param ih an invoke instruction of the method
+     * @param invokee the invoked method
+     * @return the number of executions of the invoke instruction per execution of the method.
+     */
+    private double getLocalFrequency(MethodInfo method, InstructionHandle ih, MethodInfo invokee) {
+        if (profile != null) {
+            long calls = profile.getCalls(method);
+            if (calls == 0) {
+                return 0;
+            }
+            // the profile does not distinguish between invokesites, assume all are executed equally often
+            int sites = 0;
+            for (InvokeSite invokeSite : method.getCode().getInvokeSites()) {
+                if (invokeSite.getInvokeeRef().getMethodSignature().equals(invokee.getMethodSignature())) {
+                    sites++;
+                }
+            }
+            return (double) profile.getCalls(method, invokee) / (calls * Math.max(sites, 1));
+        }
+
+        Map<InstructionHandle,Double> frequencies = loopFrequencies.get(method);
+        if (frequencies == null) {
+            frequencies = computeLoopFrequencies(method);
+            loopFrequencies.put(method, frequencies);
+        }
+        Double frequency = frequencies.get(ih);
+        return frequency != null ? frequency : 1.0;
+    }
+
+    private Map<InstructionHandle,Double> computeLoopFrequencies(MethodInfo method) {
+        Map<InstructionHandle,Double> frequencies = new HashMap<InstructionHandle, Double>();
+
+        MethodCode code = method.getCode();
+        boolean hasCFG = code.hasCFG();
+        ControlFlowGraph cfg = code.getControlFlowGraph(false);
+        Map<CFGNode,Set<CFGNode>> loopColors = cfg.getLoopColoring().getLoopColors();
+
+        for (CFGNode node : cfg.getGraph().vertexSet()) {
+            BasicBlock bb = node.getBasicBlock();
+            if (bb == null) continue;
+
+            double frequency = 1.0;
+            for (CFGNode hol : loopColors.get(node)) {
+                frequency *= getLoopBound(hol);
+            }
+            for (InstructionHandle ih : bb.getInstructions()) {
+                frequencies.put(ih, frequency);
+            }
+        }
+
+        // we did not modify the CFG, so we do not need to compile it when the code is modified later
+        if (!hasCFG) {
+            code.removeCFG();
+        }
+
+        return frequencies;
+    }
+
+    private long getLoopBound(CFGNode hol) {
+        LoopBound lb = hol.getLoopBound();
+        Long bound = lb != null ? lb.getUpperBound(null) : null;
+        return bound != null ? Math.max(bound, 1) : inlineConfig.getDefaultLoopBound();
+    }
+
+    private double getMethodFrequency(MethodInfo method) {
+        if (profile != null) {
+            return profile.getCalls(method);
+        }
+        Double frequency = methodFrequencies.get(method);
+        return frequency != null ? frequency : 0;
+    }
+
+    /**
+     * Estimate the number of executions of all methods in the callgraph using the loop bounds.
+     */
+    private void computeMethodFrequencies() {
+        if (profile != null) {
+            return;
+        }
+
+        CallGraph callGraph = appInfo.getCallGraph();
+
+        // invokee -> invoker -> executions of invokesites per invoker execution
+        Map<MethodInfo,Map<MethodInfo,Double>> invokers = new HashMap<MethodInfo, Map<MethodInfo, Double>>();
+
+        for (MethodInfo method : callGraph.getMethodInfos()) {
+            if (!method.hasCode()) continue;
+
+            for (InvokeSite invokeSite : method.getCode().getInvokeSites()) {
+                double frequency = getLocalFrequency(method, invokeSite.getInstructionHandle(), null);
+
+                for (MethodInfo invokee : appInfo.findImplementations(new CallString(invokeSite))) {
+                    Map<MethodInfo,Double> map = invokers.get(invokee);
+                    if (map == null) {
+                        map = new HashMap<MethodInfo, Double>();
+                        invokers.put(invokee, map);
+                    }
+                    Double old = map.get(method);
+                    map.put(method, old != null ? old + frequency : frequency);
+                }
+            }
+        }
+
+        Set<MethodInfo> roots = callGraph.getRootMethods();
+        Set<MethodInfo> visiting = new HashSet<MethodInfo>();
+        for (MethodInfo method : callGraph.getMethodInfos()) {
+            computeMethodFrequency(method, roots, invokers, visiting);
+        }
+    }
+
+    private double computeMethodFrequency(MethodInfo method, Set<MethodInfo> roots,
+                                          Map<MethodInfo,Map<MethodInfo,Double>> invokers,
+                                          Set<MethodInfo> visiting)
+    {
+        Double frequency = methodFrequencies.get(method);
+        if (frequency != null) {
+            return frequency;
+        }
+        if (!visiting.add(method)) {
+            // recursion, we do not follow cycles
+            return 0;
+        }
+
+        double sum = roots.contains(method) ? 1.0 : 0.0;
+        Map<MethodInfo,Double> map = invokers.get(method);
+        if (map != null) {
+            for (Map.Entry<MethodInfo,Double> entry : map.entrySet()) {
+                sum += computeMethodFrequency(entry.getKey(), roots, invokers, visiting) * entry.getValue();
+            }
+        }
+
+        visiting.remove(method);
+        methodFrequencies.put(method, sum);
+        return sum;
+    }
 }
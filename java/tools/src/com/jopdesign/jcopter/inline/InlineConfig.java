@@ -24,6 +24,7 @@ import com.jopdesign.common.MethodInfo;
 import com.jopdesign.common.config.BooleanOption;
 import com.jopdesign.common.config.Config;
 import com.jopdesign.common.config.EnumOption;
+import com.jopdesign.common.config.IntegerOption;
 import com.jopdesign.common.config.OptionGroup;
 import com.jopdesign.common.config.StringOption;
 
@@ -50,6 +51,30 @@ public class InlineConfig {
                     "Allow inlining of JVM calls: disabled, only if result is verifiable, all calls",
                     JVMInline.SAFE);
 
+    public static final IntegerOption MAX_INLINE_SIZE =
+            new IntegerOption("max-inline-size", "Maximum size of methods to inline in bytes, 0 for no limit", 0);
+
+    public static final IntegerOption MAX_INLINE_DEPTH =
+            new IntegerOption("max-inline-depth", "Maximum depth of recursive inlining, 0 for no limit", 0);
+
+    public static final IntegerOption MAX_METHOD_SIZE =
+            new IntegerOption("max-method-size", "Maximum size of a method after inlining in bytes, 0 for no limit", 0);
+
+    public static final IntegerOption MAX_LOCALS =
+            new IntegerOption("max-locals", "Maximum number of local variable slots of a method after inlining without the parameters, 0 to use the limit of the target processor", 0);
+
+    public static final IntegerOption MAX_STACK =
+            new IntegerOption("max-stack", "Maximum stack size of a method after inlining in slots, 0 for no limit", 0);
+
+    public static final IntegerOption CODE_GROWTH =
+            new IntegerOption("code-growth", "Maximum increase of the total code size by the greedy inliner in percent", 10);
+
+    public static final StringOption PROFILE =
+            new StringOption("profile", "CSV file of the JopSim profiler to use for the invoke frequencies instead of loop bounds", true);
+
+    public static final IntegerOption DEFAULT_LOOP_BOUND =
+            new IntegerOption("default-loop-bound", "Number of iterations to assume for loops without loop bound", 10);
+
     private final OptionGroup options;
     private final List<String> ignorePrefix;
 
@@ -58,6 +83,14 @@ public class InlineConfig {
         options.addOption(ALLOW_CODEMODIFY);
         options.addOption(SKIP_NP_CHECKS);
         options.addOption(JVM_INLINE);
+        options.addOption(MAX_INLINE_SIZE);
+        options.addOption(MAX_INLINE_DEPTH);
+        options.addOption(MAX_METHOD_SIZE);
+        options.addOption(MAX_LOCALS);
+        options.addOption(MAX_STACK);
+        options.addOption(CODE_GROWTH);
+        options.addOption(PROFILE);
+        options.addOption(DEFAULT_LOOP_BOUND);
     }
 
     public InlineConfig(OptionGroup options) {
@@ -96,4 +129,42 @@ public class InlineConfig {
     public JVMInline allowJVMCalls() {
         return options.getOption(JVM_INLINE);
     }
+
+    public int getMaxInlineSize() {
+        return options.getOption(MAX_INLINE_SIZE).intValue();
+    }
+
+    public int getMaxInlineDepth() {
+        return options.getOption(MAX_INLINE_DEPTH).intValue();
+    }
+
+    public int getMaxMethodSize() {
+        return options.getOption(MAX_METHOD_SIZE).intValue();
+    }
+
+    public int getMaxLocals() {
+        return options.getOption(MAX_LOCALS).intValue();
+    }
+
+    public int getMaxStack() {
+        return options.getOption(MAX_STACK).intValue();
+    }
+
+    /**
+     * @return the maximum code size increase in percent of the total code size.
+     */
+    public int getCodeGrowth() {
+        return options.getOption(CODE_GROWTH).intValue();
+    }
+
+    /**
+     * @return the profile file to use for invoke frequencies, or null if not set.
+     */
+    public String getProfileFile() {
+        return options.getOption(PROFILE);
+    }
+
+    public long getDefaultLoopBound() {
+        return options.getOption(DEFAULT_LOOP_BOUND);
+    }
 }
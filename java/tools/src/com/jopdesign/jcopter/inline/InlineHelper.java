@@ -105,14 +105,15 @@ public class InlineHelper {
         this.jcopter = jcopter;
         this.inlineConfig = inlineConfig;
 
-        // TODO get this from config 
+        maxInlineSize = inlineConfig.getMaxInlineSize();
+        maxRecursiveInlining = inlineConfig.getMaxInlineDepth();
 
-        maxInlineSize = 0;
-        maxRecursiveInlining = 0;
-
-        maxCodesize = 0;
-        maxLocals = 0;
-        maxStacksize = 0;
+        maxCodesize = inlineConfig.getMaxMethodSize();
+        maxLocals = inlineConfig.getMaxLocals();
+        if (maxLocals == 0) {
+            maxLocals = AppInfo.getSingleton().getProcessorModel().getMaxLocals();
+        }
+        maxStacksize = inlineConfig.getMaxStack();
     }
 
     /**
@@ -304,7 +305,7 @@ public class InlineHelper {
                        instr instanceof INVOKESPECIAL)
             {
                 int down = instr.consumeStack(invokee.getConstantPoolGen());
-                ValueInfo value = analysis.getValueTable().top(down);
+                ValueInfo value = analysis.getValueTable().top(down - 1);
                 // check if we use the 'this' reference, in this case the inlined code will throw an NP exception
                 // the same way as the inlined invoke
                 if (value.isThisReference()) {
@@ -363,7 +364,8 @@ public class InlineHelper {
      *                  This can include nullpointer checks, other invokes which will be inlined in the caller but have
      *                  not yet been inlined or code to save the stack. This does not include the current invoke instruction
      *                  or the code to be inlined (i.e. if only the invokesite is replaced by the invokee code, this is 0).
-     * @param numLocals the number of (live) local variable slots in the caller at the invokesite. This code
+     * @param numLocals the number of (live) local variable slots in the caller at the invokesite, including the
+     *                  parameters of the caller. This code
      *                  does not check if a local variable assignment is actually possible, i.e. it might be possible
      *                  that although enough slots are available, inlining is not possible due to fragmentation of the
      *                  unused slots in the caller if the callee uses double or long values, so you either need to
@@ -382,8 +384,8 @@ public class InlineHelper {
         if ( (maxCodesize > 0 && codeSize > maxCodesize) ) {
             return false;
         }
-        // check if we have enough local variables available
-        if ( maxLocals > 0 && numLocals + code.getMaxLocals() > maxLocals ) {
+        // check if we have enough local variables available, the limit does not include the parameters of the invoker
+        if ( maxLocals > 0 && numLocals > 0 && numLocals + code.getMaxLocals() - getParameterSlots(invoker) > maxLocals ) {
             return false;
         }
         if (maxStacksize > 0 && stackSize + code.getMaxStack() > maxStacksize) {
@@ -392,6 +394,13 @@ public class InlineHelper {
         return true;
     }
 
+    private int getParameterSlots(MethodInfo method) {
+        int slots = method.isStatic() ? 0 : 1;
+        for (Type type : method.getArgumentTypes()) {
+            slots += type.getSize();
+        }
+        return slots;
+    }
 
     /**
      * Prepare the invokee for inlining into the invokesite, by widening access restrictions or renaming
@@ -22,10 +22,27 @@ package com.jopdesign.jcopter.optimizer;
 
 import com.jopdesign.common.AppInfo;
 import com.jopdesign.common.ClassInfo;
+import com.jopdesign.common.MethodCode;
 import com.jopdesign.common.MethodInfo;
 import com.jopdesign.common.graphutils.ClassVisitor;
 import com.jopdesign.jcopter.JCopter;
 import com.jopdesign.jcopter.JCopterConfig;
+import com.jopdesign.timing.WCETInstruction;
+import org.apache.bcel.generic.ACONST_NULL;
+import org.apache.bcel.generic.BranchInstruction;
+import org.apache.bcel.generic.CodeExceptionGen;
+import org.apache.bcel.generic.ConstantPoolGen;
+import org.apache.bcel.generic.ConstantPushInstruction;
+import org.apache.bcel.generic.DUP;
+import org.apache.bcel.generic.DUP2;
+import org.apache.bcel.generic.Instruction;
+import org.apache.bcel.generic.InstructionHandle;
+import org.apache.bcel.generic.InstructionList;
+import org.apache.bcel.generic.InstructionTargeter;
+import org.apache.bcel.generic.JsrInstruction;
+import org.apache.bcel.generic.LoadInstruction;
+import org.apache.bcel.generic.RET;
+import org.apache.bcel.generic.TargetLostException;
 
 /**
  * This is the root class for optimizations, which provides some basic checks
@@ -35,6 +52,11 @@ import com.jopdesign.jcopter.JCopterConfig;
  */
 public abstract class AbstractOptimizer implements ClassVisitor {
 
+    /**
+     * Cycles used for instructions which are implemented in Java, for which we do not have a timing.
+     */
+    protected static final int JAVA_IMPL_CYCLES = 100;
+
     private final JCopter jcopter;
     private final AppInfo appInfo;
 
@@ -92,4 +114,103 @@ public abstract class AbstractOptimizer implements ClassVisitor {
     public abstract void optimizeMethod(MethodInfo method);
 
     public abstract void printStatistics();
+
+    //////////////////////////////////////////////////////////////////////////////
+    // Helper methods for bytecode transformations
+    //////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Delete a range of instructions and redirect all targeters to a new target.
+     *
+     * @param code the code containing the instructions
+     * @param il the instruction list of the code
+     * @param from the first instruction to delete
+     * @param to the last instruction to delete
+     * @param newTarget the new target for all branches and handlers targeting the deleted instructions.
+     */
+    protected void delete(MethodCode code, InstructionList il, InstructionHandle from, InstructionHandle to,
+                          InstructionHandle newTarget)
+    {
+        try {
+            il.delete(from, to);
+        } catch (TargetLostException e) {
+            code.retarget(e, newTarget);
+        }
+    }
+
+    /**
+     * @param ih the instruction to check
+     * @param size the number of slots the value must use.
+     * @param cpg the constant pool of the code
+     * @return true if the instruction only pushes a single value of the given size without side effects.
+     */
+    protected boolean isPurePush(InstructionHandle ih, int size, ConstantPoolGen cpg) {
+        Instruction instr = ih.getInstruction();
+        if (instr instanceof DUP) return size == 1;
+        if (instr instanceof DUP2) return size == 2;
+        if (instr instanceof LoadInstruction || instr instanceof ConstantPushInstruction ||
+            instr instanceof ACONST_NULL)
+        {
+            return instr.produceStack(cpg) == size;
+        }
+        return false;
+    }
+
+    /**
+     * @param ih the instruction to check
+     * @return true if the instruction can be reached from other instructions than its predecessor.
+     */
+    protected boolean isBlockStart(InstructionHandle ih) {
+        InstructionTargeter[] targeters = ih.getTargeters();
+        if (targeters == null) return false;
+        for (InstructionTargeter t : targeters) {
+            if (t instanceof BranchInstruction || t instanceof CodeExceptionGen) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param code the code containing the instruction
+     * @param ih the instruction to check
+     * @return true if the instruction handle can be deleted without changing exception ranges or losing loopbounds.
+     */
+    protected boolean canRemove(MethodCode code, InstructionHandle ih) {
+        if (code.getLoopBound(ih) != null) return false;
+        InstructionTargeter[] targeters = ih.getTargeters();
+        if (targeters == null) return true;
+        for (InstructionTargeter t : targeters) {
+            if (t instanceof CodeExceptionGen) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param il the code to check
+     * @return true if the code contains jsr or ret instructions.
+     */
+    protected boolean hasSubroutines(InstructionList il) {
+        for (InstructionHandle ih : il.getInstructionHandles()) {
+            Instruction instr = ih.getInstruction();
+            if (instr instanceof JsrInstruction || instr instanceof RET) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param deltaCycles the number of cycles saved by a transformation
+     * @param deltaBytes the number of bytes saved by a transformation
+     * @return true if the transformation reduces the cycles, or the size if the cycles are equal.
+     */
+    protected boolean isCheaper(int deltaCycles, int deltaBytes) {
+        return deltaCycles > 0 || (deltaCycles == 0 && deltaBytes > 0);
+    }
+
+    /**
+     * @param instr the instruction
+     * @return the number of cycles of the instruction on JOP, assuming a cache hit.
+     */
+    protected int getCycles(Instruction instr) {
+        int cycles = WCETInstruction.getCycles(instr.getOpcode(), false, 0);
+        return cycles < 0 ? JAVA_IMPL_CYCLES : cycles;
+    }
 }
@@ -0,0 +1,554 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ *   see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.jcopter.optimizer;
+
+import com.jopdesign.common.MethodCode;
+import com.jopdesign.common.MethodInfo;
+import com.jopdesign.common.code.LoopBound;
+import com.jopdesign.common.config.BooleanOption;
+import com.jopdesign.common.config.Option;
+import com.jopdesign.common.type.ConstantIntegerInfo;
+import com.jopdesign.common.type.ValueInfo;
+import com.jopdesign.common.type.ValueTable;
+import com.jopdesign.jcopter.JCopter;
+import com.jopdesign.jcopter.analysis.LiveLocals;
+import com.jopdesign.jcopter.analysis.ValueAnalysis;
+import com.jopdesign.jcopter.analysis.ValueStates;
+import org.apache.bcel.Constants;
+import org.apache.bcel.generic.ArithmeticInstruction;
+import org.apache.bcel.generic.CodeExceptionGen;
+import org.apache.bcel.generic.ConstantPoolGen;
+import org.apache.bcel.generic.GOTO;
+import org.apache.bcel.generic.IfInstruction;
+import org.apache.bcel.generic.Instruction;
+import org.apache.bcel.generic.InstructionConstants;
+import org.apache.bcel.generic.InstructionFactory;
+import org.apache.bcel.generic.InstructionHandle;
+import org.apache.bcel.generic.InstructionList;
+import org.apache.bcel.generic.LoadInstruction;
+import org.apache.bcel.generic.Select;
+import org.apache.bcel.generic.Type;
+import org.apache.log4j.Logger;
+
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Optimizer to fold constant integer operations and conditional branches, propagate constants and copies
+ * of local variables and remove unreachable code.
+ * <p>
+ * Values are tracked over the whole method using the {@link ValueAnalysis}. Results of the loop bound DFA are
+ * not used to fold branches, since it assumes a single thread and ignores writes to static fields by other
+ * threads and interrupt handlers. Stores which become dead by this optimization are removed by the
+ * {@link LoadStoreOptimizer}.
+ * </p>
+ *
+ * @author agent (agent@local)
+ */
+public class ConstantFolder extends AbstractOptimizer {
+
+    public static final BooleanOption FOLD_CONSTANTS =
+            new BooleanOption("fold-constants", "Fold constant operations and branches and remove unreachable code (-O2 and above)", true);
+
+    public static final Option[] optionList =
+            { FOLD_CONSTANTS };
+
+    private static final Logger logger = Logger.getLogger(JCopter.LOG_OPTIMIZER+".ConstantFolder");
+
+    private long foldedBranches;
+    private long removedInstructions;
+    private long removedHandlers;
+    private long foldedOperations;
+    private long propagatedConstants;
+    private long propagatedCopies;
+    private long savedBytes;
+
+    public ConstantFolder(JCopter jcopter) {
+        super(jcopter);
+    }
+
+    @Override
+    public void initialize() {
+        foldedBranches = 0;
+        removedInstructions = 0;
+        removedHandlers = 0;
+        foldedOperations = 0;
+        propagatedConstants = 0;
+        propagatedCopies = 0;
+        savedBytes = 0;
+    }
+
+    @Override
+    public void optimizeMethod(MethodInfo method) {
+        MethodCode code = method.getCode();
+        InstructionList il = code.getInstructionList();
+
+        if (hasSubroutines(il)) {
+            // the value analysis does not support subroutines, and javac does not generate them anymore anyway
+            return;
+        }
+
+        int oldBytes = code.getNumberOfBytes(il);
+
+        Map<InstructionHandle,ValueTable> states = null;
+        boolean changed = true;
+        while (changed) {
+            states = analyzeValues(method);
+            changed = foldBranches(code, il, states);
+            changed |= removeUnreachableCode(code, il);
+        }
+
+        propagateValues(method, il, states);
+
+        code.compile();
+
+        savedBytes += oldBytes - code.getNumberOfBytes(il);
+    }
+
+    @Override
+    public void printStatistics() {
+        logger.info("Folded branches: "+foldedBranches+", removed unreachable instructions: "+removedInstructions+
+                    ", removed exception handlers: "+removedHandlers);
+        logger.info("Folded operations: "+foldedOperations+", propagated constants: "+propagatedConstants+
+                    ", propagated copies: "+propagatedCopies);
+        logger.info("Saved bytes: "+savedBytes);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////
+    // Value analysis
+    ///////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Calculate the values of all local variables and stack slots before each reachable instruction.
+     * Successors of branches with known outcome are not visited.
+     *
+     * @param method the method to analyze
+     * @return the values before each instruction, no entry for unreachable instructions.
+     */
+    private Map<InstructionHandle,ValueTable> analyzeValues(MethodInfo method) {
+        return new ValueStates(method) {
+            @Override
+            protected InstructionHandle getTakenSuccessor(InstructionHandle ih, ValueTable in) {
+                return ConstantFolder.this.getTakenSuccessor(ih, in);
+            }
+        }.analyze();
+    }
+
+    /**
+     * @param ih the instruction to check
+     * @param in the values before the instruction
+     * @return the only successor of a conditional branch or switch if the outcome is known, else null.
+     */
+    private InstructionHandle getTakenSuccessor(InstructionHandle ih, ValueTable in) {
+        Instruction instr = ih.getInstruction();
+
+        if (instr instanceof IfInstruction) {
+            Boolean taken = evaluateCondition((IfInstruction) instr, in);
+            if (taken == null) return null;
+            return taken ? ((IfInstruction) instr).getTarget() : ih.getNext();
+        }
+        if (instr instanceof Select) {
+            Integer key = ValueAnalysis.getIntConstant(in.top());
+            if (key == null) return null;
+            Select select = (Select) instr;
+            int[] matchs = select.getMatchs();
+            for (int i = 0; i < matchs.length; i++) {
+                if (matchs[i] == key) {
+                    return select.getTargets()[i];
+                }
+            }
+            return select.getTarget();
+        }
+        return null;
+    }
+
+    /**
+     * @param instr the conditional branch
+     * @param in the values before the branch
+     * @return true if the branch is always taken, false if it is never taken, null if unknown.
+     */
+    private Boolean evaluateCondition(IfInstruction instr, ValueTable in) {
+        switch (instr.getOpcode()) {
+            case Constants.IFEQ:
+            case Constants.IFNE:
+            case Constants.IFLT:
+            case Constants.IFGE:
+            case Constants.IFGT:
+            case Constants.IFLE: {
+                Integer value = ValueAnalysis.getIntConstant(in.top());
+                if (value == null) return null;
+                return compare(instr.getOpcode() - Constants.IFEQ, value, 0);
+            }
+            case Constants.IF_ICMPEQ:
+            case Constants.IF_ICMPNE:
+            case Constants.IF_ICMPLT:
+            case Constants.IF_ICMPGE:
+            case Constants.IF_ICMPGT:
+            case Constants.IF_ICMPLE: {
+                Integer value2 = ValueAnalysis.getIntConstant(in.top(0));
+                Integer value1 = ValueAnalysis.getIntConstant(in.top(1));
+                if (value1 == null || value2 == null) return null;
+                return compare(instr.getOpcode() - Constants.IF_ICMPEQ, value1, value2);
+            }
+            case Constants.IFNULL:
+            case Constants.IFNONNULL: {
+                Boolean isNull = isNull(in.top());
+                if (isNull == null) return null;
+                return instr.getOpcode() == Constants.IFNULL ? isNull : !isNull;
+            }
+            case Constants.IF_ACMPEQ:
+            case Constants.IF_ACMPNE: {
+                ValueInfo value2 = in.top(0);
+                ValueInfo value1 = in.top(1);
+                boolean same = value1 == value2 && value1.getFlag() == ValueInfo.ValueFlag.LIVE;
+                if (!same && !(Boolean.TRUE.equals(isNull(value1)) && Boolean.TRUE.equals(isNull(value2)))) {
+                    return null;
+                }
+                return instr.getOpcode() == Constants.IF_ACMPEQ;
+            }
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @param condition the condition, in the order of the opcodes (eq, ne, lt, ge, gt, le).
+     * @param value1 the first value
+     * @param value2 the second value
+     * @return the result of the comparison
+     */
+    private boolean compare(int condition, int value1, int value2) {
+        switch (condition) {
+            case 0: return value1 == value2;
+            case 1: return value1 != value2;
+            case 2: return value1 < value2;
+            case 3: return value1 >= value2;
+            case 4: return value1 > value2;
+            case 5: return value1 <= value2;
+            default: throw new IllegalArgumentException("Unknown condition "+condition);
+        }
+    }
+
+    private Boolean isNull(ValueInfo value) {
+        if (value.getFlag() != ValueInfo.ValueFlag.LIVE) return null;
+        if (value.isThisReference()) return false;
+        if (Type.NULL.equals(value.getType())) return true;
+        return null;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////
+    // Branch folding, dead code elimination
+    ///////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Replace conditional branches and switches with known outcome by a goto or remove them.
+     *
+     * @param code the code to optimize
+     * @param il the instruction list of the code
+     * @param states the values before each reachable instruction
+     * @return true if the code has been modified.
+     */
+    private boolean foldBranches(MethodCode code, InstructionList il, Map<InstructionHandle,ValueTable> states) {
+        boolean changed = false;
+
+        for (InstructionHandle ih : il.getInstructionHandles()) {
+            Instruction instr = ih.getInstruction();
+            if (!(instr instanceof IfInstruction) && !(instr instanceof Select)) continue;
+
+            ValueTable in = states.get(ih);
+            if (in == null) continue;
+
+            InstructionHandle taken = getTakenSuccessor(ih, in);
+            if (taken != null && foldBranch(code, il, ih, taken)) {
+                foldedBranches++;
+                changed = true;
+            }
+        }
+
+        return changed;
+    }
+
+    /**
+     * Replace a branch and the instructions pushing its operands by a goto to the taken successor,
+     * or remove them if the next instruction is the successor. Operands which are not pushed directly before
+     * the branch are popped.
+     *
+     * @param code the code to optimize
+     * @param il the instruction list of the code
+     * @param branch the branch to fold
+     * @param taken the only successor of the branch
+     * @return true if the branch has been folded.
+     */
+    private boolean foldBranch(MethodCode code, InstructionList il, InstructionHandle branch,
+                               InstructionHandle taken)
+    {
+        ConstantPoolGen cpg = code.getConstantPoolGen();
+        LoopBound loopBound = code.getLoopBound(branch);
+        boolean fallThrough = taken == branch.getNext();
+
+        if (fallThrough && (loopBound != null || !canRemove(code, branch))) {
+            // removing the branch would remove the loop bound or change the exception ranges
+            return false;
+        }
+
+        // find the operands which are pushed right before the branch
+        int operands = branch.getInstruction().consumeStack(cpg);
+        InstructionHandle first = branch;
+        while (operands > 0 && !isBlockStart(first) && first.getPrev() != null &&
+               isPurePush(first.getPrev(), 1, cpg) && canRemove(code, first.getPrev()))
+        {
+            first = first.getPrev();
+            operands--;
+        }
+
+        InstructionList replacement = new InstructionList();
+        if (operands == 2) {
+            replacement.append(InstructionConstants.POP2);
+        } else if (operands == 1) {
+            replacement.append(InstructionConstants.POP);
+        }
+        if (!fallThrough) {
+            replacement.append(new GOTO(taken));
+        }
+
+        InstructionHandle newTarget;
+        if (replacement.isEmpty()) {
+            newTarget = branch.getNext();
+        } else {
+            // the goto is the last instruction of the block now, move the loop bound to it
+            InstructionHandle last = replacement.getEnd();
+            newTarget = il.insert(first, replacement);
+            if (loopBound != null) {
+                code.setLoopBound(last, loopBound);
+            }
+        }
+        delete(code, il, first, branch, newTarget);
+
+        return true;
+    }
+
+    /**
+     * Remove all instructions which are not reachable from the method entry, and shrink or remove
+     * exception handlers accordingly.
+     *
+     * @param code the code to optimize
+     * @param il the instruction list of the code
+     * @return true if the code has been modified.
+     */
+    private boolean removeUnreachableCode(MethodCode code, InstructionList il) {
+        Map<InstructionHandle,List<CodeExceptionGen>> handlers = ValueStates.getExceptionHandlers(code);
+
+        Set<InstructionHandle> reachable = new HashSet<InstructionHandle>(il.getLength());
+        LinkedList<InstructionHandle> queue = new LinkedList<InstructionHandle>();
+        reachable.add(il.getStart());
+        queue.add(il.getStart());
+
+        while (!queue.isEmpty()) {
+            InstructionHandle ih = queue.removeFirst();
+            for (InstructionHandle s : LiveLocals.getSuccessors(ih)) {
+                if (reachable.add(s)) queue.add(s);
+            }
+            for (CodeExceptionGen ceg : handlers.get(ih)) {
+                if (reachable.add(ceg.getHandlerPC())) queue.add(ceg.getHandlerPC());
+            }
+        }
+
+        if (reachable.size() == il.getLength()) {
+            return false;
+        }
+
+        // update the exception ranges first so that we do not need to retarget them
+        for (CodeExceptionGen ceg : code.getExceptionHandlers()) {
+            InstructionHandle start = null;
+            InstructionHandle end = null;
+            InstructionHandle ih = ceg.getStartPC();
+            while (ih != null) {
+                if (reachable.contains(ih)) {
+                    if (start == null) start = ih;
+                    end = ih;
+                }
+                if (ih == ceg.getEndPC()) break;
+                ih = ih.getNext();
+            }
+            if (start == null) {
+                code.removeExceptionHandler(ceg);
+                removedHandlers++;
+            } else {
+                ceg.setStartPC(start);
+                ceg.setEndPC(end);
+            }
+        }
+
+        InstructionHandle ih = il.getStart();
+        while (ih != null) {
+            if (reachable.contains(ih)) {
+                ih = ih.getNext();
+                continue;
+            }
+            InstructionHandle end = ih;
+            removedInstructions++;
+            while (end.getNext() != null && !reachable.contains(end.getNext())) {
+                end = end.getNext();
+                removedInstructions++;
+            }
+            InstructionHandle next = end.getNext();
+            delete(code, il, ih, end, next != null ? next : ih.getPrev());
+            ih = next;
+        }
+
+        return true;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////
+    // Constant and copy propagation
+    ///////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Replace loads of constant or copied local variables and fold integer operations with constant operands.
+     *
+     * @param method the method to optimize
+     * @param il the instruction list of the code
+     * @param states the values before each reachable instruction
+     */
+    private void propagateValues(MethodInfo method, InstructionList il, Map<InstructionHandle,ValueTable> states) {
+        MethodCode code = method.getCode();
+        ValueAnalysis analysis = new ValueAnalysis(method);
+
+        InstructionHandle ih = il.getStart();
+        while (ih != null) {
+            InstructionHandle next = ih.getNext();
+            ValueTable in = states.get(ih);
+            Instruction instr = ih.getInstruction();
+
+            if (in == null) {
+                // only reachable by a branch which could not be folded, but which is never taken
+                ih = next;
+                continue;
+            }
+
+            if (instr instanceof LoadInstruction) {
+                replaceLoad(code, ih, in);
+            }
+            else if (instr instanceof ArithmeticInstruction) {
+                ValueTable out = new ValueTable(in);
+                analysis.setValueTable(out);
+                analysis.transfer(instr);
+                Integer value = ValueAnalysis.getIntConstant(out.top());
+                if (value != null) {
+                    foldOperation(code, il, ih, value);
+                }
+            }
+
+            ih = next;
+        }
+    }
+
+    private void replaceLoad(MethodCode code, InstructionHandle ih, ValueTable in) {
+        ConstantPoolGen cpg = code.getConstantPoolGen();
+        LoadInstruction load = (LoadInstruction) ih.getInstruction();
+        ValueInfo value = in.getLocalValue(load.getIndex());
+
+        if (value.getFlag() != ValueInfo.ValueFlag.LIVE || value.usesTwoSlots()) return;
+
+        Instruction replacement = null;
+        boolean constant = false;
+
+        Integer intValue = ValueAnalysis.getIntConstant(value);
+        if (intValue != null && load.getType(cpg).equals(Type.INT)) {
+            replacement = createPushInstruction(cpg, intValue);
+            constant = true;
+        }
+        if (replacement == null) {
+            for (int i = 0; i < load.getIndex(); i++) {
+                if (in.getLocalValue(i) == value) {
+                    replacement = InstructionFactory.createLoad(load.getType(cpg), i);
+                    break;
+                }
+            }
+        }
+        if (replacement == null) return;
+
+        // we also replace loads if the costs are equal, to make the stores dead
+        if (getCycles(load) < getCycles(replacement) || load.getLength() < replacement.getLength()) return;
+
+        ih.setInstruction(replacement);
+        if (constant) {
+            propagatedConstants++;
+        } else {
+            propagatedCopies++;
+        }
+    }
+
+    /**
+     * Replace an integer operation with a constant result and the instructions pushing its operands by
+     * a single push instruction.
+     *
+     * @param code the code to optimize
+     * @param il the instruction list of the code
+     * @param ih the arithmetic operation
+     * @param value the result of the operation
+     */
+    private void foldOperation(MethodCode code, InstructionList il, InstructionHandle ih, int value) {
+        ConstantPoolGen cpg = code.getConstantPoolGen();
+        Instruction instr = ih.getInstruction();
+
+        if (!((ArithmeticInstruction) instr).getType(cpg).equals(Type.INT)) return;
+
+        int oldCycles = getCycles(instr);
+        int oldBytes = instr.getLength();
+
+        InstructionHandle first = ih;
+        for (int i = instr.consumeStack(cpg); i > 0; i--) {
+            InstructionHandle prev = first.getPrev();
+            if (isBlockStart(first) || prev == null || !isPurePush(prev, 1, cpg) || !canRemove(code, prev)) return;
+            first = prev;
+            oldCycles += getCycles(prev.getInstruction());
+            oldBytes += prev.getInstruction().getLength();
+        }
+
+        Instruction push = createPushInstruction(cpg, value);
+        if (push == null || !isCheaper(oldCycles - getCycles(push), oldBytes - push.getLength())) return;
+
+        ih.setInstruction(push);
+        delete(code, il, first, ih.getPrev(), ih);
+        foldedOperations++;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////
+    // Helper methods
+    ///////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param cpg the constant pool of the code
+     * @param value the value to push
+     * @return a new push instruction, or null if this would require a new constant pool entry.
+     */
+    private Instruction createPushInstruction(ConstantPoolGen cpg, int value) {
+        ConstantIntegerInfo constant = new ConstantIntegerInfo(value);
+        if ((value < Short.MIN_VALUE || value > Short.MAX_VALUE) && constant.lookupConstant(cpg) < 0) {
+            return null;
+        }
+        return constant.createPushInstruction(cpg);
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ *   see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.jcopter.optimizer;
+
+import com.jopdesign.common.AppInfo;
+import com.jopdesign.common.ClassInfo;
+import com.jopdesign.common.MemberInfo.AccessType;
+import com.jopdesign.common.MethodCode;
+import com.jopdesign.common.MethodInfo;
+import com.jopdesign.common.code.CallString;
+import com.jopdesign.common.code.InvokeSite;
+import com.jopdesign.common.config.BooleanOption;
+import com.jopdesign.common.config.Option;
+import com.jopdesign.common.config.OptionGroup;
+import com.jopdesign.common.type.Descriptor;
+import com.jopdesign.common.type.MemberID;
+import com.jopdesign.jcopter.JCopter;
+import com.jopdesign.jcopter.inline.InlineConfig;
+import com.jopdesign.jcopter.inline.InlineHelper;
+import org.apache.bcel.Constants;
+import org.apache.bcel.generic.CodeExceptionGen;
+import org.apache.bcel.generic.InstructionFactory;
+import org.apache.bcel.generic.InstructionHandle;
+import org.apache.bcel.generic.InstructionList;
+import org.apache.bcel.generic.InvokeInstruction;
+import org.apache.bcel.generic.LineNumberGen;
+import org.apache.bcel.generic.ObjectType;
+import org.apache.bcel.generic.Type;
+import org.apache.log4j.Logger;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Optimizer which replaces virtual invokes with only a single possible implementation by static invokes.
+ * <p>
+ * On JOP, invokespecial is only a direct call for private methods and constructors, so the devirtualized invokes
+ * call a static copy of the implementation which takes the receiver as first parameter. The copy is created once per
+ * implementation in the class of the implementation. The original method is removed later by
+ * {@link UnusedCodeRemover} if it is no longer used.
+ * </p>
+ * <p>
+ * The implementations are looked up in the callgraph, so this uses the receiver type analysis results if the callgraph
+ * has been built with DFA results. Since the callgraph is not updated, it must be rebuilt after this optimization.
+ * Invokes with more than one possible implementation are not converted to type checks with direct calls, since
+ * instanceof and checkcast are implemented in Java on JOP and take longer than the dispatch they would replace.
+ * For the same reason, invokes which refer to an interface or a superclass of the implementation, in particular all
+ * invokeinterface instructions, are only devirtualized with {@link #DEVIRTUALIZE_UNVERIFIABLE}, which is off by
+ * default, since the receiver would need a checkcast.
+ * </p>
+ *
+ * @author agent (agent@local)
+ */
+public class Devirtualizer extends AbstractOptimizer {
+
+    public static final BooleanOption DEVIRTUALIZE =
+            new BooleanOption("devirtualize", "Replace virtual invokes with a single possible implementation by static invokes, "+
+                    "invokeinterface only with devirtualize-unverifiable", true);
+
+    public static final BooleanOption DEVIRTUALIZE_UNVERIFIABLE =
+            new BooleanOption("devirtualize-unverifiable", "Also devirtualize invokeinterface and invokes of superclass methods, "+
+                    "the resulting code is not verifiable", false);
+
+    public static final Option[] optionList =
+            { DEVIRTUALIZE, DEVIRTUALIZE_UNVERIFIABLE };
+
+    private static final Logger logger = Logger.getLogger(JCopter.LOG_OPTIMIZER+".Devirtualizer");
+
+    private final AppInfo appInfo;
+    private final InlineHelper helper;
+    private final Set<String> excludedClasses;
+    private final boolean allowUnverifiable;
+
+    private Map<MethodInfo,MethodInfo> staticMethods;
+
+    private int devirtualizedVirtual;
+    private int devirtualizedInterface;
+    private int requiresNPCheck;
+    private int requiresCheckcast;
+
+    public Devirtualizer(JCopter jcopter, OptionGroup options, InlineConfig inlineConfig) {
+        super(jcopter);
+        this.appInfo = AppInfo.getSingleton();
+        this.helper = new InlineHelper(jcopter, inlineConfig);
+        this.allowUnverifiable = options.getOption(DEVIRTUALIZE_UNVERIFIABLE);
+
+        excludedClasses = new HashSet<String>();
+        if (appInfo.getProcessorModel() != null) {
+            // JVM methods are invoked by the processor, do not mess with them
+            excludedClasses.addAll(appInfo.getProcessorModel().getJVMClasses());
+            excludedClasses.addAll(appInfo.getProcessorModel().getNativeClasses());
+        }
+    }
+
+    @Override
+    public void initialize() {
+        staticMethods = new HashMap<MethodInfo, MethodInfo>();
+        devirtualizedVirtual = 0;
+        devirtualizedInterface = 0;
+        requiresNPCheck = 0;
+        requiresCheckcast = 0;
+    }
+
+    @Override
+    public void optimizeMethod(MethodInfo method) {
+        if (excludedClasses.contains(method.getClassName())) return;
+
+        MethodCode code = method.getCode();
+        InstructionList il = code.getInstructionList();
+        InstructionFactory factory = new InstructionFactory(method.getConstantPoolGen());
+
+        boolean changed = false;
+
+        for (InstructionHandle ih : il.getInstructionHandles()) {
+            if (!(ih.getInstruction() instanceof InvokeInstruction)) {
+                continue;
+            }
+            InvokeSite invokeSite = code.getInvokeSite(ih);
+            if (!invokeSite.isVirtual()) {
+                continue;
+            }
+
+            MethodInfo invokee = devirtualize(invokeSite);
+            if (invokee == null) {
+                continue;
+            }
+
+            MethodInfo staticMethod = getStaticMethod(invokee);
+            if (!method.getClassInfo().equals(invokee.getClassInfo())) {
+                staticMethod.setAccessType(AccessType.ACC_PUBLIC);
+            }
+
+            if (invokeSite.isInvokeInterface()) {
+                devirtualizedInterface++;
+            } else {
+                devirtualizedVirtual++;
+            }
+
+            // the stack layout is the same, the receiver simply becomes the first argument
+            ih.setInstruction(factory.createInvoke(invokee.getClassName(), staticMethod.getShortName(),
+                    staticMethod.getType(), staticMethod.getArgumentTypes(), Constants.INVOKESTATIC));
+            changed = true;
+
+            if (logger.isDebugEnabled()) {
+                logger.debug("Devirtualized invoke of "+invokee+" in "+method);
+            }
+        }
+
+        if (changed) {
+            code.compile();
+        }
+    }
+
+    @Override
+    public void printStatistics() {
+        logger.info("Devirtualized invokes: "+devirtualizedVirtual+" virtual, "+devirtualizedInterface+
+                    " interface; new methods: "+staticMethods.size()+"; need NP check: "+requiresNPCheck+
+                    ", need checkcast: "+requiresCheckcast);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////
+    // Helper
+    ///////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Check if an invoke site can be replaced by a static invoke.
+     *
+     * @param invokeSite the virtual invoke site to check.
+     * @return the only implementation which can be invoked, or null if the invoke should not be devirtualized.
+     */
+    private MethodInfo devirtualize(InvokeSite invokeSite) {
+        CallString cs = new CallString(invokeSite);
+
+        MethodInfo invokee = helper.devirtualize(cs);
+        if (invokee == null || !invokee.hasCode()) {
+            return null;
+        }
+        if (invokee.isStatic() || invokee.isPrivate() || invokee.isSynchronized()) {
+            return null;
+        }
+
+        ClassInfo classInfo = invokee.getClassInfo();
+        if (excludedClasses.contains(classInfo.getClassName()) || appInfo.isHwObject(classInfo)) {
+            return null;
+        }
+        if (!invokeSite.getInvoker().canAccess(classInfo, AccessType.ACC_PUBLIC)) {
+            return null;
+        }
+
+        // if classes can be added later, we cannot be sure that the invokee is not overwritten
+        boolean safeInvoke = invokee.isFinal() || classInfo.isFinal();
+        if (!safeInvoke && getJConfig().doAssumeIncompleteAppInfo()) {
+            return null;
+        }
+
+        // the receiver must be assignable to the class of the invokee to pass it as parameter
+        ClassInfo refClass = invokeSite.getInvokeeRef().getClassInfo();
+        if (refClass == null || refClass.isInterface() || !classInfo.isSuperclassOf(refClass)) {
+            if (!allowUnverifiable) {
+                requiresCheckcast++;
+                return null;
+            }
+        }
+
+        // the invokee must throw the same exception as the invoke if the receiver is null
+        if (helper.needsNullpointerCheck(cs, invokee, invokee.getCode().getExceptionHandlers().length == 0)) {
+            requiresNPCheck++;
+            return null;
+        }
+
+        return invokee;
+    }
+
+    /**
+     * Get or create a static copy of a method.
+     *
+     * @param invokee the method to copy.
+     * @return a new private static method in the same class, which takes the receiver as first parameter.
+     */
+    private MethodInfo getStaticMethod(MethodInfo invokee) {
+        MethodInfo staticMethod = staticMethods.get(invokee);
+        if (staticMethod != null) {
+            return staticMethod;
+        }
+
+        ClassInfo classInfo = invokee.getClassInfo();
+        Type[] argTypes = invokee.getArgumentTypes();
+        Type[] paramTypes = new Type[argTypes.length + 1];
+        paramTypes[0] = new ObjectType(classInfo.getClassName());
+        System.arraycopy(argTypes, 0, paramTypes, 1, argTypes.length);
+        Descriptor descriptor = new Descriptor(invokee.getType(), paramTypes);
+
+        String baseName = invokee.getShortName() + "$static";
+        MemberID memberID;
+        int i = 0;
+        do {
+            memberID = new MemberID(baseName + i++, descriptor);
+        } while (classInfo.getMethodInfo(memberID.getMethodSignature()) != null);
+
+        String[] argNames = new String[paramTypes.length];
+        for (int j = 0; j < argNames.length; j++) {
+            argNames[j] = "arg" + j;
+        }
+
+        MethodCode code = invokee.getCode();
+        InstructionList il = code.getInstructionList();
+        InstructionList body = il.copy();
+
+        staticMethod = classInfo.createMethod(memberID, argNames, body);
+        staticMethod.setStatic(true);
+        staticMethod.setAccessType(AccessType.ACC_PRIVATE);
+
+        MethodCode newCode = staticMethod.getCode();
+        // the local variable table has been created for an instance method, we do not need it anyway
+        newCode.removeLocalVariables();
+
+        // copy everything attached to the instructions, we need the line numbers for the flow facts
+        Map<InstructionHandle,InstructionHandle> map = new HashMap<InstructionHandle, InstructionHandle>();
+        InstructionHandle newIh = body.getStart();
+        for (InstructionHandle ih : il.getInstructionHandles()) {
+            map.put(ih, newIh);
+            newCode.copyCustomValues(newIh, ih);
+            newIh = newIh.getNext();
+        }
+        for (CodeExceptionGen ceg : code.getExceptionHandlers()) {
+            newCode.addExceptionHandler(map.get(ceg.getStartPC()), map.get(ceg.getEndPC()),
+                                        map.get(ceg.getHandlerPC()), ceg.getCatchType());
+        }
+        for (LineNumberGen lg : code.getLineNumbers()) {
+            newCode.setLineNumber(map.get(lg.getInstruction()), lg.getSourceLine());
+        }
+
+        newCode.compile();
+
+        staticMethods.put(invokee, staticMethod);
+        return staticMethod;
+    }
+}
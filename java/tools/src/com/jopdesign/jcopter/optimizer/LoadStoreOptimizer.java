@@ -20,32 +20,289 @@
 
 package com.jopdesign.jcopter.optimizer;
 
+import com.jopdesign.common.MethodCode;
 import com.jopdesign.common.MethodInfo;
+import com.jopdesign.common.type.ValueInfo;
+import com.jopdesign.common.type.ValueTable;
 import com.jopdesign.jcopter.JCopter;
+import com.jopdesign.jcopter.analysis.LiveLocals;
+import com.jopdesign.jcopter.analysis.ValueStates;
+import org.apache.bcel.generic.ATHROW;
+import org.apache.bcel.generic.BranchInstruction;
+import org.apache.bcel.generic.ConstantPoolGen;
+import org.apache.bcel.generic.DUP;
+import org.apache.bcel.generic.DUP2;
+import org.apache.bcel.generic.Instruction;
+import org.apache.bcel.generic.InstructionConstants;
+import org.apache.bcel.generic.InstructionFactory;
+import org.apache.bcel.generic.InstructionHandle;
+import org.apache.bcel.generic.InstructionList;
+import org.apache.bcel.generic.LoadInstruction;
+import org.apache.bcel.generic.LocalVariableInstruction;
+import org.apache.bcel.generic.ReturnInstruction;
+import org.apache.bcel.generic.StoreInstruction;
+import org.apache.bcel.generic.Type;
 import org.apache.log4j.Logger;
 
+import java.util.Map;
+
 /**
+ * Optimizer to remove local variable accesses, which are stack cache accesses in microcode on JOP.
+ * <p>
+ * This removes dead stores, forwards stored values to the following loads and replaces loads of values
+ * which are already on the stack with dup instructions. Transformations are only performed if they
+ * reduce the number of cycles (or the size if the cycles are equal) as given by the JOP timing model.
+ * </p>
+ *
  * @author Stefan Hepp (stefan@stefant.org)
  */
 public class LoadStoreOptimizer extends AbstractOptimizer {
 
     private static final Logger logger = Logger.getLogger(JCopter.LOG_OPTIMIZER+".LoadStoreOptimizer");
 
+    private long deadStores;
+    private long removedStoreLoads;
+    private long forwardedStores;
+    private long replacedLoads;
+    private long dupSequences;
+    private long savedCycles;
+    private long savedBytes;
+
     public LoadStoreOptimizer(JCopter jcopter) {
         super(jcopter);
     }
 
     @Override
     public void initialize() {
+        deadStores = 0;
+        removedStoreLoads = 0;
+        forwardedStores = 0;
+        replacedLoads = 0;
+        dupSequences = 0;
+        savedCycles = 0;
+        savedBytes = 0;
     }
 
     @Override
     public void optimizeMethod(MethodInfo method) {
-        // TODO eliminate ..,store,load,.. patterns if stored variable is only used in next load
-        //      eliminate some store,load,...,load,.. patterns by using ..,dup,.. instead
+        MethodCode code = method.getCode();
+        InstructionList il = code.getInstructionList();
+
+        if (hasSubroutines(il)) {
+            // liveness analysis does not support subroutines, and javac does not generate them anymore anyway
+            return;
+        }
+
+        int oldBytes = code.getNumberOfBytes(il);
+
+        boolean changed = true;
+        while (changed) {
+            changed = replaceLoads(method, il);
+            changed |= optimizeStores(code, il);
+        }
+
+        code.compile();
+
+        savedBytes += oldBytes - code.getNumberOfBytes(il);
     }
 
     @Override
     public void printStatistics() {
+        logger.info("Dead stores removed: "+deadStores);
+        logger.info("Store/load pairs removed: "+removedStoreLoads+", replaced by dup: "+forwardedStores);
+        logger.info("Loads replaced by dup: "+replacedLoads+", store/load sequences replaced by dup_x: "+dupSequences);
+        logger.info("Saved bytes: "+savedBytes+", saved cycles per execution of all modified instructions: "
+                    +savedCycles);
+    }
+
+    /**
+     * Replace loads of values which are already on top of the stack with dup or dup2.
+     *
+     * @param method the method containing the code
+     * @param il the instruction list to optimize
+     * @return true if the code has been modified.
+     */
+    private boolean replaceLoads(MethodInfo method, InstructionList il) {
+        Map<InstructionHandle,ValueTable> states = new ValueStates(method).analyze();
+        boolean changed = false;
+
+        for (InstructionHandle ih = il.getStart(); ih != null; ih = ih.getNext()) {
+            if (!(ih.getInstruction() instanceof LoadInstruction)) continue;
+
+            ValueTable in = states.get(ih);
+            if (in == null) continue;
+
+            LoadInstruction load = (LoadInstruction) ih.getInstruction();
+            ValueInfo local = in.getLocalValue(load.getIndex());
+            if (local.getFlag() != ValueInfo.ValueFlag.LIVE || in.topValue() != local) continue;
+
+            Instruction dup = local.usesTwoSlots() ? InstructionConstants.DUP2 : InstructionConstants.DUP;
+            int delta = getCycles(load) - getCycles(dup);
+            if (isCheaper(delta, load.getLength() - dup.getLength())) {
+                ih.setInstruction(dup);
+                replacedLoads++;
+                savedCycles += delta;
+                changed = true;
+            }
+        }
+
+        return changed;
+    }
+
+    /**
+     * Remove dead stores and store/load pairs, or replace them with dup instructions.
+     *
+     * @param code the code to optimize
+     * @param il the instruction list of the code
+     * @return true if the code has been modified.
+     */
+    private boolean optimizeStores(MethodCode code, InstructionList il) {
+        ConstantPoolGen cpg = code.getConstantPoolGen();
+        LiveLocals live = new LiveLocals(code, il);
+        boolean changed = false;
+
+        InstructionHandle ih = il.getStart();
+        while (ih != null) {
+            InstructionHandle next = ih.getNext();
+
+            if (!(ih.getInstruction() instanceof StoreInstruction) || next == null) {
+                ih = next;
+                continue;
+            }
+
+            StoreInstruction store = (StoreInstruction) ih.getInstruction();
+            Type type = store.getType(cpg);
+            int slot = store.getIndex();
+            int size = type.getSize();
+
+            if (isLoad(next, slot, type, cpg) && !isBlockStart(next) && canRemove(code, next)) {
+                LoadInstruction load = (LoadInstruction) next.getInstruction();
+                InstructionHandle after = next.getNext();
+
+                // store;load where the variable is not used afterwards: just keep the value on the stack
+                if (!live.isLiveOut(next, slot, size) && after != null && canRemove(code, ih)) {
+                    delete(code, il, ih, next, after);
+                    removedStoreLoads++;
+                    savedCycles += getCycles(store) + getCycles(load);
+                    changed = true;
+                    ih = after;
+                    continue;
+                }
+
+                // store;load;X;load where X consumes the loaded value: use dup_x to keep a copy below
+                if (size == 1 && after != null && optimizeDupX(code, il, live, ih, after)) {
+                    dupSequences++;
+                    changed = true;
+                    ih = after.getNext();
+                    continue;
+                }
+
+                // store;load: keep a copy on the stack
+                Instruction dup = size == 2 ? InstructionConstants.DUP2 : InstructionConstants.DUP;
+                int delta = getCycles(load) - getCycles(dup);
+                if (isCheaper(delta, load.getLength() - dup.getLength())) {
+                    ih.setInstruction(dup);
+                    next.setInstruction(InstructionFactory.createStore(type, slot));
+                    forwardedStores++;
+                    savedCycles += delta;
+                    changed = true;
+                    ih = after;
+                    continue;
+                }
+            }
+
+            if (!live.isLiveOut(ih, slot, size)) {
+                InstructionHandle prev = ih.getPrev();
+
+                // value is pushed just to be stored: remove both
+                if (prev != null && isPurePush(prev, size, cpg) && !isBlockStart(ih) &&
+                    canRemove(code, prev) && canRemove(code, ih))
+                {
+                    savedCycles += getCycles(prev.getInstruction()) + getCycles(store);
+                    delete(code, il, prev, ih, next);
+                    deadStores++;
+                    changed = true;
+                    ih = next;
+                    continue;
+                }
+
+                Instruction pop = size == 2 ? InstructionConstants.POP2 : InstructionConstants.POP;
+                int delta = getCycles(store) - getCycles(pop);
+                if (delta >= 0) {
+                    ih.setInstruction(pop);
+                    deadStores++;
+                    savedCycles += delta;
+                    changed = true;
+                }
+            }
+
+            ih = next;
+        }
+
+        return changed;
+    }
+
+    /**
+     * Replace {@code store n; load n; X; load n} with {@code dup_x; X} if X consumes the loaded
+     * value and the values below it and n is not used afterwards.
+     *
+     * @param code the code to optimize
+     * @param il the instruction list of the code
+     * @param live the live local variables
+     * @param storeHandle the handle of the store
+     * @param instrHandle the handle of X
+     * @return true if the code has been modified.
+     */
+    private boolean optimizeDupX(MethodCode code, InstructionList il, LiveLocals live,
+                                 InstructionHandle storeHandle, InstructionHandle instrHandle)
+    {
+        ConstantPoolGen cpg = code.getConstantPoolGen();
+        StoreInstruction store = (StoreInstruction) storeHandle.getInstruction();
+        InstructionHandle loadHandle = storeHandle.getNext();
+        InstructionHandle reloadHandle = instrHandle.getNext();
+        int slot = store.getIndex();
+
+        if (reloadHandle == null || reloadHandle.getNext() == null) return false;
+        if (!isLoad(reloadHandle, slot, store.getType(cpg), cpg)) return false;
+        if (isBlockStart(instrHandle) || isBlockStart(reloadHandle)) return false;
+        if (!canRemove(code, storeHandle) || !canRemove(code, reloadHandle)) return false;
+        if (live.isLiveOut(reloadHandle, slot, 1) || live.isLiveAtHandlers(instrHandle, slot)) return false;
+
+        Instruction instr = instrHandle.getInstruction();
+        if (instr instanceof BranchInstruction || instr instanceof ReturnInstruction ||
+            instr instanceof ATHROW || instr instanceof LocalVariableInstruction ||
+            instr.produceStack(cpg) != 0)
+        {
+            return false;
+        }
+
+        Instruction dupX;
+        switch (instr.consumeStack(cpg)) {
+            case 2: dupX = InstructionConstants.DUP_X1; break;
+            case 3: dupX = InstructionConstants.DUP_X2; break;
+            default: return false;
+        }
+
+        int oldCycles = getCycles(store) + getCycles(loadHandle.getInstruction())
+                      + getCycles(reloadHandle.getInstruction());
+        int oldBytes = store.getLength() + loadHandle.getInstruction().getLength()
+                      + reloadHandle.getInstruction().getLength();
+        int delta = oldCycles - getCycles(dupX);
+        if (!isCheaper(delta, oldBytes - dupX.getLength())) {
+            return false;
+        }
+
+        storeHandle.setInstruction(dupX);
+        delete(code, il, loadHandle, loadHandle, instrHandle);
+        delete(code, il, reloadHandle, reloadHandle, reloadHandle.getNext());
+        savedCycles += delta;
+
+        return true;
+    }
+
+    private boolean isLoad(InstructionHandle ih, int slot, Type type, ConstantPoolGen cpg) {
+        if (!(ih.getInstruction() instanceof LoadInstruction)) return false;
+        LoadInstruction load = (LoadInstruction) ih.getInstruction();
+        return load.getIndex() == slot && load.getType(cpg).equals(type);
     }
 }
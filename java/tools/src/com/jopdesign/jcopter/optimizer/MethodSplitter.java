@@ -0,0 +1,824 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ *   see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.jcopter.optimizer;
+
+import com.jopdesign.common.AppInfo;
+import com.jopdesign.common.ClassInfo;
+import com.jopdesign.common.MemberInfo.AccessType;
+import com.jopdesign.common.MethodCode;
+import com.jopdesign.common.MethodInfo;
+import com.jopdesign.common.code.CallGraph;
+import com.jopdesign.common.config.BooleanOption;
+import com.jopdesign.common.config.IntegerOption;
+import com.jopdesign.common.config.Option;
+import com.jopdesign.common.config.OptionGroup;
+import com.jopdesign.common.config.StringOption;
+import com.jopdesign.common.type.Descriptor;
+import com.jopdesign.common.type.MemberID;
+import com.jopdesign.jcopter.JCopter;
+import com.jopdesign.jcopter.analysis.InvokeProfile;
+import com.jopdesign.jcopter.analysis.LiveLocals;
+import com.jopdesign.jcopter.analysis.MethodCacheModel;
+import com.jopdesign.wcet.WCETTool;
+import org.apache.bcel.Constants;
+import org.apache.bcel.generic.ATHROW;
+import org.apache.bcel.generic.BranchInstruction;
+import org.apache.bcel.generic.CodeExceptionGen;
+import org.apache.bcel.generic.ConstantPoolGen;
+import org.apache.bcel.generic.GOTO;
+import org.apache.bcel.generic.GotoInstruction;
+import org.apache.bcel.generic.IINC;
+import org.apache.bcel.generic.INVOKESPECIAL;
+import org.apache.bcel.generic.Instruction;
+import org.apache.bcel.generic.InstructionConstants;
+import org.apache.bcel.generic.InstructionFactory;
+import org.apache.bcel.generic.InstructionHandle;
+import org.apache.bcel.generic.InstructionList;
+import org.apache.bcel.generic.InstructionTargeter;
+import org.apache.bcel.generic.InvokeInstruction;
+import org.apache.bcel.generic.JsrInstruction;
+import org.apache.bcel.generic.LoadInstruction;
+import org.apache.bcel.generic.LocalVariableInstruction;
+import org.apache.bcel.generic.MONITORENTER;
+import org.apache.bcel.generic.MONITOREXIT;
+import org.apache.bcel.generic.ObjectType;
+import org.apache.bcel.generic.RET;
+import org.apache.bcel.generic.ReferenceType;
+import org.apache.bcel.generic.ReturnInstruction;
+import org.apache.bcel.generic.Select;
+import org.apache.bcel.generic.StoreInstruction;
+import org.apache.bcel.generic.TargetLostException;
+import org.apache.bcel.generic.Type;
+import org.apache.log4j.Logger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Optimizer which moves cold code into new static methods, so that less code needs to be loaded into
+ * the method cache on every cache miss.
+ * <p>
+ * Cold code are all basic blocks which always end in an athrow, and, if a JopSim profile is given,
+ * all code which invokes methods which have never been executed. A region of cold code is moved to a new
+ * method if it has a single entry, at most one exit, an empty stack at the entry and exit and if at most one
+ * local variable is modified which is used after the region.
+ * </p>
+ *
+ * @author agent (agent@local)
+ */
+public class MethodSplitter extends AbstractOptimizer {
+
+    public static final BooleanOption SPLIT_COLD_CODE =
+            new BooleanOption("split-cold-code", "Move cold code (exception paths, code not executed in the profile) into new methods", true);
+
+    public static final IntegerOption SPLIT_MIN_SIZE =
+            new IntegerOption("split-min-size", "Minimum number of bytes to save in a method by moving a region of cold code", 16);
+
+    public static final StringOption SPLIT_PROFILE =
+            new StringOption("split-profile", "CSV file of the JopSim profiler, code which invokes methods which have not been executed is considered to be cold", true);
+
+    public static final BooleanOption SPLIT_CHECK_CACHE =
+            new BooleanOption("split-check-cache", "Report the cache blocks needed by all methods reachable from the WCA target method before and after splitting", true);
+
+    public static final Option[] optionList =
+            { SPLIT_COLD_CODE, SPLIT_MIN_SIZE, SPLIT_PROFILE, SPLIT_CHECK_CACHE };
+
+    private static final Logger logger = Logger.getLogger(JCopter.LOG_OPTIMIZER+".MethodSplitter");
+
+    /**
+     * A region of cold code of a method.
+     */
+    private static class Region {
+        private final InstructionHandle entry;
+        private final List<InstructionHandle> instructions;
+        private final Set<InstructionHandle> handles;
+        private final InstructionHandle exit;
+
+        private Region(InstructionHandle entry, List<InstructionHandle> instructions, InstructionHandle exit) {
+            this.entry = entry;
+            this.instructions = instructions;
+            this.handles = new HashSet<InstructionHandle>(instructions);
+            this.exit = exit;
+        }
+
+        private boolean contains(InstructionHandle ih) {
+            return handles.contains(ih);
+        }
+    }
+
+    private final OptionGroup options;
+    private final AppInfo appInfo;
+    private final Set<String> excludedClasses;
+
+    private InvokeProfile profile;
+    private MethodCacheModel cacheModel;
+    private int minSize;
+
+    private int splitMethods;
+    private int newMethods;
+    private long movedBytes;
+    private long savedBlocks;
+    private long savedMissCycles;
+
+    public MethodSplitter(JCopter jcopter, OptionGroup options) {
+        super(jcopter);
+        this.options = options;
+        this.appInfo = AppInfo.getSingleton();
+
+        excludedClasses = new HashSet<String>();
+        if (appInfo.getProcessorModel() != null) {
+            // JVM methods are invoked by the processor, do not mess with them
+            excludedClasses.addAll(appInfo.getProcessorModel().getJVMClasses());
+            excludedClasses.addAll(appInfo.getProcessorModel().getNativeClasses());
+        }
+    }
+
+    @Override
+    public void optimize() {
+        cacheModel = new MethodCacheModel(getJCopter());
+
+        Long blocksBefore = getTargetBlockUsage();
+
+        super.optimize();
+
+        if (blocksBefore != null && newMethods > 0) {
+            Long blocksAfter = getTargetBlockUsage();
+            logger.info("Cache blocks needed by all methods reachable from the target method: "+blocksBefore+
+                        " before splitting, "+blocksAfter+" after splitting ("+cacheModel.getCacheBlocks()+
+                        " blocks available)");
+        }
+    }
+
+    @Override
+    public void initialize() {
+        splitMethods = 0;
+        newMethods = 0;
+        movedBytes = 0;
+        savedBlocks = 0;
+        savedMissCycles = 0;
+
+        minSize = options.getOption(SPLIT_MIN_SIZE).intValue();
+
+        profile = null;
+        String profileFile = options.getOption(SPLIT_PROFILE);
+        if (profileFile != null) {
+            try {
+                profile = InvokeProfile.loadCSV(profileFile);
+            } catch (IOException e) {
+                logger.error("Unable to load profile "+profileFile+", only splitting exception paths: "+e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void optimizeMethod(MethodInfo method) {
+        if (excludedClasses.contains(method.getClassName())) return;
+        // we do not want to deal with uninitialized this references
+        if ("<init>".equals(method.getShortName())) return;
+
+        MethodCode code = method.getCode();
+        InstructionList il = code.getInstructionList();
+        if (hasSubroutines(il)) return;
+
+        List<Region> regions = findColdRegions(method);
+        if (regions.isEmpty()) return;
+
+        int oldWords = code.getNumberOfWords();
+
+        LiveLocals live = new LiveLocals(code, il);
+        Map<InstructionHandle,Integer> depths = getStackDepths(code, il);
+        BitSet storedSlots = getStoredSlots(il);
+
+        // entry handles of split regions and the new code which replaces them
+        Map<InstructionHandle,InstructionHandle> replaced = new HashMap<InstructionHandle, InstructionHandle>();
+        int count = 0;
+
+        for (Region region : regions) {
+            if (splitRegion(method, region, live, depths, storedSlots, replaced)) {
+                count++;
+            }
+        }
+        if (count == 0) return;
+
+        code.compile();
+
+        splitMethods++;
+        newMethods += count;
+        // without JCopter, e.g. in tests, there is no cache model
+        if (cacheModel == null) return;
+
+        int newWords = code.getNumberOfWords();
+        savedBlocks += cacheModel.getRequiredBlocks(oldWords) - cacheModel.getRequiredBlocks(newWords);
+        savedMissCycles += cacheModel.getMissPenalty(oldWords, true) - cacheModel.getMissPenalty(newWords, true);
+    }
+
+    @Override
+    public void printStatistics() {
+        logger.info("Split methods: "+splitMethods+", new methods: "+newMethods+", moved bytes: "+movedBytes);
+        logger.info("Saved cache blocks: "+savedBlocks+", saved cache miss cycles: "+savedMissCycles);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////
+    // Find cold code
+    ///////////////////////////////////////////////////////////////////////////////////
+
+    private List<Region> findColdRegions(MethodInfo method) {
+        List<Region> regions = new ArrayList<Region>();
+
+        MethodCode code = method.getCode();
+        InstructionList il = code.getInstructionList();
+
+        // We do not use the ControlFlowGraph here, since it removes all code which does not reach the exit,
+        // i.e. all code which ends in an athrow.
+        Map<InstructionHandle,List<InstructionHandle>> preds = getPredecessors(il);
+        Set<InstructionHandle> handlers = new HashSet<InstructionHandle>();
+        for (CodeExceptionGen ceg : code.getExceptionHandlers()) {
+            handlers.add(ceg.getHandlerPC());
+        }
+
+        Set<InstructionHandle> cold = findColdCode(method, il, preds, handlers);
+        if (cold.isEmpty()) return regions;
+
+        Set<InstructionHandle> visited = new HashSet<InstructionHandle>();
+
+        for (InstructionHandle ih : il.getInstructionHandles()) {
+            if (!cold.contains(ih) || visited.contains(ih)) continue;
+            if (ih == il.getStart() || handlers.contains(ih)) continue;
+
+            // only start regions at the border to hot code
+            boolean hasHotPred = false;
+            for (InstructionHandle pred : preds.get(ih)) {
+                if (!cold.contains(pred)) {
+                    hasHotPred = true;
+                    break;
+                }
+            }
+            if (!hasHotPred) continue;
+
+            Set<InstructionHandle> instructions = growRegion(ih, cold, visited, preds);
+            visited.addAll(instructions);
+
+            Region region = createRegion(il, ih, instructions);
+            if (region != null) {
+                regions.add(region);
+            }
+        }
+
+        return regions;
+    }
+
+    private Set<InstructionHandle> findColdCode(MethodInfo method, InstructionList il,
+                                                Map<InstructionHandle,List<InstructionHandle>> preds,
+                                                Set<InstructionHandle> handlers)
+    {
+        Set<InstructionHandle> cold = new HashSet<InstructionHandle>();
+        InstructionHandle[] handles = il.getInstructionHandles();
+
+        // an athrow may be caught in the same method, we only consider code outside of exception ranges
+        Set<InstructionHandle> protectedCode = new HashSet<InstructionHandle>();
+        for (CodeExceptionGen ceg : method.getCode().getExceptionHandlers()) {
+            InstructionHandle ih = ceg.getStartPC();
+            while (ih != null) {
+                protectedCode.add(ih);
+                if (ih == ceg.getEndPC()) break;
+                ih = ih.getNext();
+            }
+        }
+
+        for (InstructionHandle ih : handles) {
+            if (ih.getInstruction() instanceof ATHROW && !protectedCode.contains(ih)) {
+                cold.add(ih);
+            }
+        }
+
+        // find all invokes of methods which have never been executed
+        if (profile != null && profile.getCalls(method) > 0) {
+            for (InstructionHandle ih : handles) {
+                if (!(ih.getInstruction() instanceof InvokeInstruction)) continue;
+
+                Set<MethodInfo> invokees = appInfo.findImplementations(method.getCode().getInvokeSite(ih));
+                if (invokees.isEmpty()) continue;
+
+                boolean executed = false;
+                for (MethodInfo invokee : invokees) {
+                    if (profile.getCalls(invokee) > 0) {
+                        executed = true;
+                        break;
+                    }
+                }
+                if (!executed) {
+                    cold.add(ih);
+                }
+            }
+        }
+        if (cold.isEmpty()) return cold;
+
+        // Code which always leads to cold code and code which can only be reached over cold code is cold too
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (InstructionHandle ih : handles) {
+                if (cold.contains(ih)) continue;
+
+                boolean toCold = !protectedCode.contains(ih) && containsAll(cold, LiveLocals.getSuccessors(ih));
+                boolean fromCold = ih != il.getStart() && !handlers.contains(ih) && containsAll(cold, preds.get(ih));
+
+                if (toCold || fromCold) {
+                    cold.add(ih);
+                    changed = true;
+                }
+            }
+        }
+
+        return cold;
+    }
+
+    /**
+     * Find all cold instructions reachable from an entry instruction which can only be reached over the entry.
+     */
+    private Set<InstructionHandle> growRegion(InstructionHandle entry, Set<InstructionHandle> cold,
+                                              Set<InstructionHandle> visited,
+                                              Map<InstructionHandle,List<InstructionHandle>> preds)
+    {
+        Set<InstructionHandle> region = new HashSet<InstructionHandle>();
+        LinkedList<InstructionHandle> queue = new LinkedList<InstructionHandle>();
+        region.add(entry);
+        queue.add(entry);
+
+        while (!queue.isEmpty()) {
+            InstructionHandle ih = queue.removeFirst();
+            for (InstructionHandle succ : LiveLocals.getSuccessors(ih)) {
+                if (region.contains(succ) || !cold.contains(succ) || visited.contains(succ)) continue;
+                if (!region.containsAll(preds.get(succ))) continue;
+
+                region.add(succ);
+                queue.add(succ);
+            }
+        }
+        return region;
+    }
+
+    private Region createRegion(InstructionList il, InstructionHandle entry, Set<InstructionHandle> region) {
+        InstructionHandle exit = null;
+
+        // keep the code order, so that we can keep fall-through edges
+        List<InstructionHandle> instructions = new ArrayList<InstructionHandle>(region.size());
+        for (InstructionHandle ih : il.getInstructionHandles()) {
+            if (!region.contains(ih)) continue;
+            instructions.add(ih);
+
+            for (InstructionHandle succ : LiveLocals.getSuccessors(ih)) {
+                if (region.contains(succ)) continue;
+                if (exit != null && exit != succ) return null;
+                exit = succ;
+            }
+        }
+
+        return new Region(entry, instructions, exit);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////
+    // Split regions
+    ///////////////////////////////////////////////////////////////////////////////////
+
+    private boolean splitRegion(MethodInfo method, Region region, LiveLocals live,
+                                Map<InstructionHandle,Integer> depths, BitSet storedSlots,
+                                Map<InstructionHandle,InstructionHandle> replaced)
+    {
+        MethodCode code = method.getCode();
+        ConstantPoolGen cpg = method.getConstantPoolGen();
+
+        if (!checkRegionCode(code, region, depths)) return false;
+
+        // find the types of all used locals, and the modified locals
+        Map<Integer,Type> localTypes = new TreeMap<Integer, Type>();
+        Set<Integer> modified = new HashSet<Integer>();
+        for (InstructionHandle ih : region.instructions) {
+            Instruction instr = ih.getInstruction();
+            int slot;
+            Type type;
+            if (instr instanceof IINC) {
+                slot = ((IINC)instr).getIndex();
+                type = Type.INT;
+                modified.add(slot);
+            } else if (instr instanceof LocalVariableInstruction) {
+                slot = ((LocalVariableInstruction)instr).getIndex();
+                type = ((LocalVariableInstruction)instr).getType(cpg);
+                if (instr instanceof StoreInstruction) modified.add(slot);
+            } else {
+                continue;
+            }
+            Type old = localTypes.put(slot, type);
+            if (old != null && !old.equals(type)) {
+                // slot is reused for a different type
+                return false;
+            }
+        }
+
+        // we can return at most one value
+        int returnSlot = -1;
+        if (region.exit != null) {
+            BitSet liveAtExit = live.getLiveIn(region.exit);
+            for (int slot : modified) {
+                if (!liveAtExit.get(slot)) continue;
+                if (returnSlot != -1) return false;
+                returnSlot = slot;
+            }
+        }
+        Type returnType = returnSlot == -1 ? Type.VOID : localTypes.get(returnSlot);
+        if (returnType instanceof ReferenceType) {
+            // we do not know the exact type of the local
+            return false;
+        }
+
+        // parameters are all used locals which are live at the entry
+        BitSet liveAtEntry = live.getLiveIn(region.entry);
+        Map<Integer,Type> argSlotTypes = getArgumentSlotTypes(method);
+        List<Integer> params = new ArrayList<Integer>();
+        List<Type> paramTypes = new ArrayList<Type>();
+        for (Map.Entry<Integer,Type> entry : localTypes.entrySet()) {
+            int slot = entry.getKey();
+            if (!liveAtEntry.get(slot)) continue;
+
+            Type type = entry.getValue();
+            if (type instanceof ReferenceType) {
+                // for references, we only know the type of unmodified parameters
+                if (storedSlots.get(slot) || !argSlotTypes.containsKey(slot)) return false;
+                type = argSlotTypes.get(slot);
+            }
+            params.add(slot);
+            paramTypes.add(type);
+        }
+
+        // check if it is worth it
+        int regionBytes = 0;
+        for (InstructionHandle ih : region.instructions) {
+            regionBytes += ih.getInstruction().getLength();
+        }
+        int callBytes = 3 + (region.exit != null ? 3 : 2);
+        for (int i = 0; i < params.size(); i++) {
+            callBytes += InstructionFactory.createLoad(paramTypes.get(i), params.get(i)).getLength();
+        }
+        if (returnSlot != -1) {
+            callBytes += InstructionFactory.createStore(returnType, returnSlot).getLength();
+        }
+        if (regionBytes - callBytes < minSize) return false;
+
+        // map the locals of the region to the locals of the new method
+        Map<Integer,Integer> slotMap = new HashMap<Integer, Integer>();
+        int nextSlot = 0;
+        for (int i = 0; i < params.size(); i++) {
+            slotMap.put(params.get(i), nextSlot);
+            nextSlot += paramTypes.get(i).getSize();
+        }
+        for (Map.Entry<Integer,Type> entry : localTypes.entrySet()) {
+            if (slotMap.containsKey(entry.getKey())) continue;
+            slotMap.put(entry.getKey(), nextSlot);
+            nextSlot += entry.getValue().getSize();
+        }
+
+        InstructionList body = createMethodBody(code, region, slotMap, returnSlot, returnType, replaced);
+        if (body == null) return false;
+
+        MethodInfo newMethod = createMethod(method, body, returnType, paramTypes.toArray(new Type[paramTypes.size()]));
+
+        replaceRegion(method, region, newMethod, params, paramTypes, returnSlot, returnType, replaced);
+
+        movedBytes += regionBytes;
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Moved "+regionBytes+" bytes from "+method+" to "+newMethod);
+        }
+        return true;
+    }
+
+    private boolean checkRegionCode(MethodCode code, Region region, Map<InstructionHandle,Integer> depths) {
+        ConstantPoolGen cpg = code.getConstantPoolGen();
+
+        // we do not pass stack values to the new method
+        Integer depth = depths.get(region.entry);
+        if (depth == null || depth != 0) return false;
+        if (region.exit != null) {
+            depth = depths.get(region.exit);
+            if (depth == null || depth != 0) return false;
+        }
+
+        for (InstructionHandle ih : region.instructions) {
+            Instruction instr = ih.getInstruction();
+            if (instr instanceof ReturnInstruction || instr instanceof MONITORENTER ||
+                instr instanceof MONITOREXIT)
+            {
+                return false;
+            }
+            // invokespecial on this is only allowed for constructors
+            if (instr instanceof INVOKESPECIAL && !"<init>".equals(((INVOKESPECIAL)instr).getMethodName(cpg))) {
+                return false;
+            }
+            InstructionTargeter[] targeters = ih.getTargeters();
+            if (targeters != null) {
+                for (InstructionTargeter t : targeters) {
+                    if (t instanceof CodeExceptionGen) return false;
+                }
+            }
+        }
+
+        // we do not move exception handlers and we do not split exception ranges
+        for (CodeExceptionGen ceg : code.getExceptionHandlers()) {
+            InstructionHandle ih = ceg.getStartPC();
+            while (ih != null) {
+                if (region.contains(ih)) return false;
+                if (ih == ceg.getEndPC()) break;
+                ih = ih.getNext();
+            }
+        }
+
+        return true;
+    }
+
+    private InstructionList createMethodBody(MethodCode code, Region region, Map<Integer,Integer> slotMap,
+                                             int returnSlot, Type returnType,
+                                             Map<InstructionHandle,InstructionHandle> replaced)
+    {
+        InstructionList body = new InstructionList();
+        Map<InstructionHandle,InstructionHandle> map = new HashMap<InstructionHandle, InstructionHandle>();
+        List<InstructionHandle> branches = new ArrayList<InstructionHandle>();
+        Map<InstructionHandle,InstructionHandle> gotos = new HashMap<InstructionHandle, InstructionHandle>();
+
+        List<InstructionHandle> instructions = region.instructions;
+        for (int i = 0; i < instructions.size(); i++) {
+            InstructionHandle ih = instructions.get(i);
+            Instruction instr = ih.getInstruction();
+            Instruction copy;
+
+            if (instr instanceof IINC) {
+                copy = new IINC(slotMap.get(((IINC)instr).getIndex()), ((IINC)instr).getIncrement());
+            } else if (instr instanceof LoadInstruction) {
+                LoadInstruction load = (LoadInstruction) instr;
+                copy = InstructionFactory.createLoad(load.getType(code.getConstantPoolGen()), slotMap.get(load.getIndex()));
+            } else if (instr instanceof StoreInstruction) {
+                StoreInstruction store = (StoreInstruction) instr;
+                copy = InstructionFactory.createStore(store.getType(code.getConstantPoolGen()), slotMap.get(store.getIndex()));
+            } else {
+                copy = instr.copy();
+            }
+
+            InstructionHandle newIh;
+            if (copy instanceof BranchInstruction) {
+                newIh = body.append((BranchInstruction) copy);
+                branches.add(newIh);
+            } else {
+                newIh = body.append(copy);
+            }
+            map.put(ih, newIh);
+            code.copyCustomValues(newIh, ih);
+
+            // keep fall-through edges to code which is not following in the new code
+            if (fallsThrough(instr)) {
+                InstructionHandle next = ih.getNext();
+                if (i + 1 < instructions.size() && instructions.get(i + 1) == next) continue;
+                if (next != region.exit && !region.contains(next)) return null;
+                gotos.put(body.append(new GOTO(null)), next);
+            }
+        }
+
+        // returning to the invoker replaces the jumps to the exit
+        InstructionHandle returnHandle = null;
+        if (region.exit != null) {
+            if (returnSlot != -1) {
+                returnHandle = body.append(InstructionFactory.createLoad(returnType, slotMap.get(returnSlot)));
+                body.append(InstructionFactory.createReturn(returnType));
+            } else {
+                returnHandle = body.append(InstructionFactory.createReturn(Type.VOID));
+            }
+            map.put(region.exit, returnHandle);
+            // if the exit has already been split, the jumps to it have been retargeted to the new code
+            if (replaced.containsKey(region.exit)) {
+                map.put(replaced.get(region.exit), returnHandle);
+            }
+        }
+
+        for (InstructionHandle ih : branches) {
+            BranchInstruction branch = (BranchInstruction) ih.getInstruction();
+            InstructionHandle target = map.get(branch.getTarget());
+            if (target == null) return null;
+            branch.setTarget(target);
+            if (branch instanceof Select) {
+                Select select = (Select) branch;
+                InstructionHandle[] targets = select.getTargets();
+                for (int j = 0; j < targets.length; j++) {
+                    target = map.get(targets[j]);
+                    if (target == null) return null;
+                    select.setTarget(j, target);
+                }
+            }
+        }
+        for (Map.Entry<InstructionHandle,InstructionHandle> entry : gotos.entrySet()) {
+            ((GOTO)entry.getKey().getInstruction()).setTarget(map.get(entry.getValue()));
+        }
+
+        return body;
+    }
+
+    private MethodInfo createMethod(MethodInfo method, InstructionList body, Type returnType, Type[] paramTypes) {
+        ClassInfo classInfo = method.getClassInfo();
+        Descriptor descriptor = new Descriptor(returnType, paramTypes);
+
+        String baseName = method.getShortName().replace("<", "").replace(">", "") + "$cold";
+        MemberID memberID;
+        int i = 0;
+        do {
+            memberID = new MemberID(baseName + i++, descriptor);
+        } while (classInfo.getMethodInfo(memberID.getMethodSignature()) != null);
+
+        String[] argNames = new String[paramTypes.length];
+        for (int j = 0; j < argNames.length; j++) {
+            argNames[j] = "arg" + j;
+        }
+
+        MethodInfo newMethod = classInfo.createMethod(memberID, argNames, body);
+        newMethod.setStatic(true);
+        newMethod.setAccessType(AccessType.ACC_PRIVATE);
+
+        // the local variable table has been created for an instance method, we do not need it anyway
+        newMethod.getCode().removeLocalVariables();
+        newMethod.getCode().compile();
+
+        return newMethod;
+    }
+
+    private void replaceRegion(MethodInfo method, Region region, MethodInfo newMethod,
+                               List<Integer> params, List<Type> paramTypes, int returnSlot, Type returnType,
+                               Map<InstructionHandle,InstructionHandle> replaced)
+    {
+        MethodCode code = method.getCode();
+        InstructionList il = code.getInstructionList();
+        InstructionFactory factory = new InstructionFactory(method.getConstantPoolGen());
+
+        InstructionList call = new InstructionList();
+        for (int i = 0; i < params.size(); i++) {
+            call.append(InstructionFactory.createLoad(paramTypes.get(i), params.get(i)));
+        }
+        call.append(factory.createInvoke(method.getClassName(), newMethod.getShortName(), returnType,
+                    paramTypes.toArray(new Type[paramTypes.size()]), Constants.INVOKESTATIC));
+        if (returnSlot != -1) {
+            call.append(InstructionFactory.createStore(returnType, returnSlot));
+        }
+
+        InstructionHandle exit = null;
+        InstructionHandle gotoHandle = null;
+        if (region.exit != null) {
+            exit = replaced.containsKey(region.exit) ? replaced.get(region.exit) : region.exit;
+            gotoHandle = call.append(new GOTO(exit));
+        } else {
+            // the new method never returns, but the verifier does not know that
+            call.append(InstructionConstants.ACONST_NULL);
+            call.append(InstructionConstants.ATHROW);
+        }
+
+        InstructionHandle start = il.insert(region.entry, call);
+        code.retarget(region.entry, start);
+        replaced.put(region.entry, start);
+
+        for (InstructionHandle ih : region.instructions) {
+            try {
+                il.delete(ih);
+            } catch (TargetLostException e) {
+                // only jumps from the region itself and debug infos should be left
+                code.retarget(e, start);
+            }
+        }
+
+        if (gotoHandle != null && gotoHandle.getNext() == exit) {
+            try {
+                il.delete(gotoHandle);
+            } catch (TargetLostException e) {
+                code.retarget(e, exit);
+            }
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////
+    // Helper
+    ///////////////////////////////////////////////////////////////////////////////////
+
+    private Map<InstructionHandle,Integer> getStackDepths(MethodCode code, InstructionList il) {
+        ConstantPoolGen cpg = code.getConstantPoolGen();
+        Map<InstructionHandle,Integer> depths = new HashMap<InstructionHandle, Integer>();
+        LinkedList<InstructionHandle> queue = new LinkedList<InstructionHandle>();
+
+        depths.put(il.getStart(), 0);
+        queue.add(il.getStart());
+        for (CodeExceptionGen ceg : code.getExceptionHandlers()) {
+            depths.put(ceg.getHandlerPC(), 1);
+            queue.add(ceg.getHandlerPC());
+        }
+
+        while (!queue.isEmpty()) {
+            InstructionHandle ih = queue.removeFirst();
+            Instruction instr = ih.getInstruction();
+            int depth = depths.get(ih) - instr.consumeStack(cpg) + instr.produceStack(cpg);
+
+            for (InstructionHandle succ : LiveLocals.getSuccessors(ih)) {
+                if (!depths.containsKey(succ)) {
+                    depths.put(succ, depth);
+                    queue.add(succ);
+                }
+            }
+        }
+        return depths;
+    }
+
+    private Map<InstructionHandle,List<InstructionHandle>> getPredecessors(InstructionList il) {
+        Map<InstructionHandle,List<InstructionHandle>> preds = new HashMap<InstructionHandle, List<InstructionHandle>>();
+        for (InstructionHandle ih : il.getInstructionHandles()) {
+            preds.put(ih, new ArrayList<InstructionHandle>(2));
+        }
+        for (InstructionHandle ih : il.getInstructionHandles()) {
+            for (InstructionHandle succ : LiveLocals.getSuccessors(ih)) {
+                preds.get(succ).add(ih);
+            }
+        }
+        return preds;
+    }
+
+    private static boolean containsAll(Set<InstructionHandle> set, List<InstructionHandle> handles) {
+        return !handles.isEmpty() && set.containsAll(handles);
+    }
+
+    private Map<Integer,Type> getArgumentSlotTypes(MethodInfo method) {
+        Map<Integer,Type> types = new HashMap<Integer, Type>();
+        int slot = 0;
+        if (!method.isStatic()) {
+            types.put(slot++, new ObjectType(method.getClassName()));
+        }
+        for (Type type : method.getArgumentTypes()) {
+            types.put(slot, type);
+            slot += type.getSize();
+        }
+        return types;
+    }
+
+    private BitSet getStoredSlots(InstructionList il) {
+        BitSet slots = new BitSet();
+        for (InstructionHandle ih : il.getInstructionHandles()) {
+            if (ih.getInstruction() instanceof StoreInstruction) {
+                slots.set(((StoreInstruction)ih.getInstruction()).getIndex());
+            }
+        }
+        return slots;
+    }
+
+    private boolean fallsThrough(Instruction instr) {
+        return !(instr instanceof GotoInstruction || instr instanceof Select || instr instanceof ReturnInstruction ||
+                 instr instanceof ATHROW || instr instanceof JsrInstruction || instr instanceof RET);
+    }
+
+    /**
+     * Get the number of cache blocks needed by all methods reachable from the WCA target method.
+     * If this does not exceed the number of cache blocks, all methods fit into the cache at the same time.
+     *
+     * @return the number of cache blocks, or null if not available.
+     */
+    private Long getTargetBlockUsage() {
+        if (!getJCopter().useWCET() || !options.getOption(SPLIT_CHECK_CACHE)) return null;
+
+        WCETTool wcetTool = getJCopter().getWcetTool();
+        if (!wcetTool.getWCETProcessorModel().hasMethodCache()) return null;
+
+        // the code has been modified by the previous optimizations, and new methods are not yet in the callgraph
+        CallGraph callGraph = wcetTool.rebuildCallGraph();
+
+        long blocks = 0;
+        for (MethodInfo method : callGraph.getReachableImplementationsSet(wcetTool.getTargetMethod())) {
+            if (!method.hasCode()) continue;
+            blocks += cacheModel.getRequiredBlocks(method.getCode().getNumberOfWords());
+        }
+        return blocks;
+    }
+}
@@ -28,17 +28,23 @@
 
 package com.jopdesign.tools;
 
+import com.jopdesign.timing.WCETInstruction;
+
+import java.io.Serializable;
 import java.util.*;
 import java.text.*;
 
-public class Cache {
+public class Cache implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	static final int MAX_BC = 1024;		// per function
 	static final int MAX_BC_MASK = 0x3ff;
 	byte[] bc = new byte[MAX_BC];
 
-	int[] mem;
-	JopSim sim;
+	// not part of a snapshot, set again by relink()
+	transient int[] mem;
+	transient JopSim sim;
 
 	//
 	//	only for statistics
@@ -47,6 +53,9 @@ public class Cache {
 	int memRead = 0;
 	int memTrans = 0;
 	int cacheRead = 0;
+	int accessCnt = 0;
+	int missCnt = 0;
+	int loadCycles = 0;
 	
 	/* true if the last access was a hit */
 	protected boolean lastHit = true;
@@ -57,6 +66,8 @@ public class Cache {
 
 	LinkedList<Cache> test = new LinkedList<Cache>();
 	Cache use;
+	/* configurations that see the same invoke/return trace as use */
+	Cache[] shadow = new Cache[0];
 
 	// dummy constructor for child classes
 	Cache() {
@@ -67,6 +78,13 @@ public class Cache {
 		mem = main;
 		sim = js;
 
+		String configs = System.getProperty("caches");
+		if (configs!=null) {
+			addConfigs(configs);
+			use = test.get(0);
+			return;
+		}
+
 //
 //	lookupswitch works only with 0 based pc values!!!
 //
@@ -126,18 +144,85 @@ public class Cache {
 		use = test.get(0);
 	}
 
+	/**
+	*	Add the configurations from a list like
+	*	"vbc:4:16,vbc:2:32:stack,lru:16,two,simple"
+	*	vbc:KB:blocks[:stack] is a variable block cache (with
+	*	stack next policy), lru:blocks a LRU block cache.
+	*/
+	void addConfigs(String configs) {
+
+		StringTokenizer st = new StringTokenizer(configs, ",");
+		while (st.hasMoreTokens()) {
+			String[] c = st.nextToken().trim().split(":");
+			if (c[0].equals("vbc") && (c.length==3 || c.length==4)) {
+				test.add(new VarBlockCache(mem, sim, Integer.parseInt(c[1]),
+						Integer.parseInt(c[2]), c.length==4 && c[3].equals("stack")));
+			} else if (c[0].equals("lru") && c.length==2) {
+				test.add(new LRUBlockCache(mem, sim, Integer.parseInt(c[1])));
+			} else if (c[0].equals("two") && c.length==1) {
+				test.add(new TwoBlockCache(mem, sim));
+			} else if (c[0].equals("simple") && c.length==1) {
+				test.add(new SimpleCache(mem, sim));
+			} else {
+				throw new IllegalArgumentException("Unknown cache configuration: "+
+						Arrays.toString(c));
+			}
+		}
+		if (test.isEmpty()) {
+			throw new IllegalArgumentException("No cache configuration in: "+configs);
+		}
+	}
+
+	/**
+	*	Set main memory and simulation after the cache
+	*	was restored from a snapshot.
+	*/
+	void relink(int[] main, JopSim js) {
+
+		mem = main;
+		sim = js;
+		for (Cache c : test) {
+			c.mem = main;
+			c.sim = js;
+		}
+	}
+
 	int cnt() {
 		return test.size();
 	}
 	void use(int nr) {
 		use = test.get(nr);
+		shadow = new Cache[0];
 	}
 
+	/**
+	*	Simulate all configurations in one pass. The first one
+	*	provides the bytecodes, the others are shadow simulated
+	*	with the same invoke and return trace. This works for the
+	*	method caches only, as the other caches see each bytecode
+	*	fetch.
+	*/
+	void sweep() {
 
+		for (Cache c : test) {
+			if (!c.isMethodCache()) {
+				throw new IllegalArgumentException(c+" is not a method cache");
+			}
+		}
+		use = test.get(0);
+		shadow = test.subList(1, test.size()).toArray(new Cache[test.size()-1]);
+	}
 
 	int ret(int start, int len, int pc) {
 		this.wordsLastRead = len;
-		return use.ret(start, len, pc);
+		for (int i=0; i<shadow.length; ++i) {
+			shadow[i].ret(start, len, pc);
+			shadow[i].count();
+		}
+		pc = use.ret(start, len, pc);
+		use.count();
+		return pc;
 	}
 
 	int corrPc(int pc) {
@@ -147,7 +232,46 @@ public class Cache {
 
 	int invoke(int start, int len) {
 		this.wordsLastRead = len;
-		return use.invoke(start, len);
+		for (int i=0; i<shadow.length; ++i) {
+			shadow[i].invoke(start, len);
+			shadow[i].count();
+		}
+		int pc = use.invoke(start, len);
+		use.count();
+		return pc;
+	}
+
+	private void count() {
+		++accessCnt;
+		if (!lastHit) {
+			++missCnt;
+		}
+	}
+
+	/**
+	*	Cycles for the last invoke or return that are not hidden
+	*	by the bytecode execution (also accounted for the shadow
+	*	caches).
+	*/
+	int waitCycles(int hiddenCycles) {
+
+		for (int i=0; i<shadow.length; ++i) {
+			shadow[i].loadCycles += penalty(shadow[i].lastHit, hiddenCycles);
+		}
+		int cycles = penalty(use.lastHit, hiddenCycles);
+		use.loadCycles += cycles;
+		return cycles;
+	}
+
+	private int penalty(boolean hit, int hiddenCycles) {
+
+		int cycles;
+		if (sim.memTiming!=null) {
+			cycles = sim.memTiming.methodLoad(sim.memTime(), hit, wordsLastRead);
+		} else {
+			cycles = WCETInstruction.calculateB(hit, wordsLastRead);
+		}
+		return Math.max(0, cycles-hiddenCycles);
 	}
 
 
@@ -156,6 +280,24 @@ public class Cache {
 		return use.bc(addr);
 	}
 
+	/**
+	*	account bytecode reads that are not done with bc()
+	*	(pre-decoded JopSim interpreter).
+	*/
+	void countRead(int bytes) {
+
+		use.cacheRead += bytes;
+	}
+
+	/**
+	*	true if the cache loads complete methods on invoke and
+	*	return and bc() has no other side effect than counting.
+	*/
+	boolean isMethodCache() {
+
+		return use.isMethodCache();
+	}
+
 
 	void stat() {
 
@@ -210,6 +352,45 @@ public class Cache {
 	
 	public void flushCache() {
 		use.flush=true;
+		for (int i=0; i<shadow.length; ++i) {
+			shadow[i].flush = true;
+		}
+	}
+
+	/**
+	*	Print the result of a one pass cache sweep.
+	*/
+	void sweepStat() {
+
+		DecimalFormatSymbols dfs = new DecimalFormatSymbols();
+		dfs.setDecimalSeparator('.');
+		DecimalFormat mbf = new DecimalFormat("0.00", dfs);
+
+		String delim = " & ";
+
+		System.out.println("Cache & hit rate & misses & words loaded & load cycles \\\\");
+		printSweep(use, mbf, delim);
+		for (int i=0; i<shadow.length; ++i) {
+			printSweep(shadow[i], mbf, delim);
+		}
+	}
+
+	private void printSweep(Cache c, DecimalFormat mbf, String delim) {
+
+		float hitRate = 0;
+		if (c.accessCnt!=0) {
+			hitRate = (float) (c.accessCnt-c.missCnt)*100/c.accessCnt;
+		}
+		System.out.print(c);
+		System.out.print(delim);
+		System.out.print(mbf.format(hitRate));
+		System.out.print(delim);
+		System.out.print(c.missCnt);
+		System.out.print(delim);
+		System.out.print(c.memRead/4);
+		System.out.print(delim);
+		System.out.print(c.loadCycles);
+		System.out.println(" \\\\");
 	}
 
 	/**
@@ -219,6 +400,9 @@ public class Cache {
 		use.memRead = 0;
 		use.memTrans = 0;
 		use.cacheRead = 0;
+		use.accessCnt = 0;
+		use.missCnt = 0;
+		use.loadCycles = 0;
 	}
 
 	void rawData() {
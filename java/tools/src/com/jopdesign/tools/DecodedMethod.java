@@ -0,0 +1,182 @@
+/*
+  This file is part of JOP, the Java Optimized Processor
+    see <http://www.jopdesign.com/>
+
+  Copyright (C) 2026, agent (agent@local)
+
+  This program is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  This program is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public License
+  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+
+/**
+*	DecodedMethod.java
+*
+*	Pre-decoded bytecode of one method for the fast JopSim
+*	interpreter (-Dpredecode=true).
+*
+*	The bytes are copied from main memory when the method enters
+*	the method cache. An instruction is decoded once, on its first
+*	execution, as we cannot find all instruction starts with a linear
+*	scan (e.g. tableswitch is implemented in Java and reads its
+*	operands itself).
+*
+*	An entry in code[] contains the opcode in bits 0-7 and the number
+*	of bytes read by the simulator in bits 8-15. An entry of 0 means
+*	not yet decoded. opd[] contains the already sign/zero extended
+*	operand.
+*/
+
+package com.jopdesign.tools;
+
+class DecodedMethod {
+
+	final int start;
+	final int len;
+
+	byte[] bc;
+	int[] code;
+	int[] opd;
+
+	DecodedMethod(int[] mem, int start, int len) {
+
+		this.start = start;
+		this.len = len;
+		bc = new byte[len*4];
+		code = new int[len*4];
+		opd = new int[len*4];
+
+		// high byte of word is first bc!!!
+		for (int i=0; i<len; ++i) {
+			int val = mem[start+i];
+			for (int j=0; j<4; ++j) {
+				bc[i*4+(3-j)] = (byte) val;
+				val >>>= 8;
+			}
+		}
+	}
+
+	int u8(int pos) {
+		return bc[pos] & 0x0ff;
+	}
+
+	int s8(int pos) {
+		return bc[pos];
+	}
+
+	int u16(int pos) {
+		return ((bc[pos]<<8) | (bc[pos+1]&0x0ff)) & 0x0ffff;
+	}
+
+	int s16(int pos) {
+		return (short) u16(pos);
+	}
+
+	/**
+	 * Decode the instruction at byte offset pos.
+	 * Only instructions with operands that the fast interpreter
+	 * handles itself get a length > 1. All other instructions
+	 * are executed by the normal interpreter, which reads
+	 * possible operands via the cache.
+	 * @return the code entry
+	 */
+	int decode(int pos) {
+
+		int instr = u8(pos);
+		int length = 1;
+		int val = 0;
+
+		switch (instr) {
+			case 16 :		// bipush
+				val = s8(pos+1);
+				length = 2;
+				break;
+			case 17 :		// sipush
+				val = s16(pos+1);
+				length = 3;
+				break;
+			case 18 :		// ldc
+			case 21 :		// iload
+			case 22 :		// lload
+			case 23 :		// fload
+			case 24 :		// dload
+			case 25 :		// aload
+			case 54 :		// istore
+			case 55 :		// lstore
+			case 56 :		// fstore
+			case 57 :		// dstore
+			case 58 :		// astore
+			case 188 :		// newarray
+				val = u8(pos+1);
+				length = 2;
+				break;
+			case 132 :		// iinc
+				val = u8(pos+1) | (s8(pos+2)<<8);
+				length = 3;
+				break;
+			case 153 :		// ifeq
+			case 154 :		// ifne
+			case 155 :		// iflt
+			case 156 :		// ifge
+			case 157 :		// ifgt
+			case 158 :		// ifle
+			case 159 :		// if_icmpeq
+			case 160 :		// if_icmpne
+			case 161 :		// if_icmplt
+			case 162 :		// if_icmpge
+			case 163 :		// if_icmpgt
+			case 164 :		// if_icmple
+			case 165 :		// if_acmpeq
+			case 166 :		// if_acmpne
+			case 167 :		// goto
+			case 198 :		// ifnull
+			case 199 :		// ifnonnull
+				val = s16(pos+1);
+				length = 3;
+				break;
+			case 19 :		// ldc_w
+			case 20 :		// ldc2_w
+			case 178 :		// getstatic
+			case 179 :		// putstatic
+			case 180 :		// getfield
+			case 181 :		// putfield
+			case 182 :		// invokevirtual
+			case 183 :		// invokespecial
+			case 184 :		// invokestatic
+			case 187 :		// new
+			case 189 :		// anewarray
+			case 192 :		// checkcast
+			case 193 :		// instanceof
+			case 224 :		// getstatic_ref
+			case 225 :		// putstatic_ref
+			case 226 :		// getfield_ref
+			case 227 :		// putfield_ref
+			case 228 :		// getstatic_long
+			case 229 :		// putstatic_long
+			case 230 :		// getfield_long
+			case 231 :		// putfield_long
+			case 236 :		// invokesuper
+				val = u16(pos+1);
+				length = 3;
+				break;
+			case 185 :		// invokeinterface
+				val = u16(pos+1);
+				length = 5;
+				break;
+		}
+
+		opd[pos] = val;
+		code[pos] = instr | (length<<8);
+		return code[pos];
+	}
+}
@@ -29,6 +29,8 @@ package com.jopdesign.tools;
 
 public class DirectMapped extends Cache {
 
+	private static final long serialVersionUID = 1L;
+
 	int blockSize;
 	int blockCnt;
 	int[] tag;
@@ -88,6 +90,11 @@ public class DirectMapped extends Cache {
 
 	}
 
+	boolean isMethodCache() {
+
+		return false;
+	}
+
 	public String toString() {
 
 /*
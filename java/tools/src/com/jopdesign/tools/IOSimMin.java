@@ -41,6 +41,7 @@ public class IOSimMin {
 	protected static final int SIM_CACHE_FLUSH = -51;
 	protected static final int SIM_CACHE_COST = -52;
 	protected static final int SIM_CACHE_DUMP = -53;
+	protected static final int SIM_SNAPSHOT = -54;
 
 	// find JVM exit
 	protected static String exitStr = "JVM exit!";
@@ -48,10 +49,35 @@ public class IOSimMin {
 
 	protected int cpuId;
 	protected static int cpuCnt = 1;
+	/**
+	 * Simulated clock frequency in MHz for the us counter
+	 * with JopSim.simTime
+	 */
+	static final int CLK_MHZ = 100;
 	protected static boolean startCMP = false;
 	static boolean globalLock = false;
+	/**
+	 * CPU that holds or got the global lock in a quantum
+	 * simulation, -1 if none
+	 */
+	static int lockOwner = -1;
 	
 	int moncnt = 0;
+	/**
+	 * Clock cycle of the first failed request of the global
+	 * lock, -1 if none
+	 */
+	long lockRequest = -1;
+	/**
+	 * Statistics: number of global lock acquisitions and
+	 * cycles waited for the lock
+	 */
+	int lockCnt;
+	long lockWait;
+	/**
+	 * UART output of a quantum, printed at the end of the quantum
+	 */
+	protected StringBuilder out = new StringBuilder();
 
 	/**
 	 * The interrupt register
@@ -241,7 +267,11 @@ public class IOSimMin {
 		case Const.IO_UART:
 			if (JopSim.log)
 				System.out.print("\t->");
-			System.out.print((char) val);
+			if (JopSim.quantumMode) {
+				out.append((char) val);
+			} else {
+				System.out.print((char) val);
+			}
 			if (JopSim.log)
 				System.out.println("<-");
 			// check the output for JVM exit!
@@ -326,6 +356,12 @@ public class IOSimMin {
 			js.cache.flushCache();
 			js.objectCacheSim.flushCache();
 			break;
+		case SIM_SNAPSHOT:
+			// taken by JopSim after the current cycle
+			if (JopSim.snapshotMark < 0 || JopSim.snapshotMark == val) {
+				JopSim.snapshotRequest = true;
+			}
+			break;
 		case Const.IO_DEADLINE:
 			js.localCnt += (val-((int) js.clkCnt));
 			break;
@@ -341,12 +377,25 @@ public class IOSimMin {
 	 */
 	boolean monEnter() {
 		intEna = false;
+		if (moncnt == 0 && JopSim.quantumMode && JopSim.runCMP) {
+			// the lock is granted by arbitrate() at the end of the quantum
+			if (lockOwner != cpuId) {
+				requestLock();
+				return false;
+			}
+			++moncnt;
+			lockAcquired();
+			return true;
+		}
 		if (moncnt == 0) {
 			if (globalLock) {
+				requestLock();
 				return false;
 			} else {
 				++moncnt;						
 				globalLock = true;
+				lockOwner = cpuId;
+				lockAcquired();
 				return true;
 			}
 		} else {
@@ -360,6 +409,61 @@ public class IOSimMin {
 		if (moncnt == 0) {
 			intEna = true;
 			globalLock = false;
+			lockOwner = -1;
+		}
+	}
+
+	private void requestLock() {
+		if (lockRequest < 0) {
+			lockRequest = js.clkCnt;
+		}
+	}
+
+	private void lockAcquired() {
+		++lockCnt;
+		if (lockRequest >= 0) {
+			lockWait += js.clkCnt - lockRequest;
+			lockRequest = -1;
+		}
+	}
+
+	/**
+	 * Grant the free global lock to the CPU with the oldest
+	 * request, the lower CPU id wins on a tie. Called between
+	 * two quanta when all CPUs are stopped. The CPU gets the
+	 * lock when it executes monitorenter again.
+	 * @param sims all simulation instances
+	 * @param quantum number of the quantum that ended
+	 * @param log records or replays the grants, may be null
+	 */
+	static void arbitrate(JopSim[] sims, long quantum, JopSimArbitrationLog log) {
+		if (globalLock) {
+			return;
+		}
+		int winner = -1;
+		for (int i = 0; i < sims.length; ++i) {
+			IOSimMin io = sims[i].io;
+			if (io.lockRequest >= 0 && (winner < 0
+					|| io.lockRequest < sims[winner].io.lockRequest)) {
+				winner = i;
+			}
+		}
+		if (log != null) {
+			winner = log.grant(quantum, winner, sims);
+		}
+		if (winner >= 0) {
+			globalLock = true;
+			lockOwner = winner;
+		}
+	}
+
+	/**
+	 * Print the buffered UART output of a quantum.
+	 */
+	void flushOutput() {
+		if (out.length() != 0) {
+			System.out.print(out);
+			out.setLength(0);
 		}
 	}
 
@@ -388,6 +492,9 @@ public class IOSimMin {
 	}
 
 	public int usCnt() {
+		if (JopSim.simTime) {
+			return (int) (js.clkCnt / CLK_MHZ);
+		}
 		// return ((int) (System.nanoTime()/1000)); // does not really work as
 		// expected
 		return ((int) System.currentTimeMillis()) * 1000;
@@ -0,0 +1,143 @@
+/*
+  This file is part of JOP, the Java Optimized Processor
+    see <http://www.jopdesign.com/>
+
+  Copyright (C) 2026, agent (agent@local)
+
+  This program is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  This program is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public License
+  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.tools;
+
+import java.util.Arrays;
+
+/**
+ * An int to int hash map without boxing, with open addressing
+ * (linear probing). The entries are kept in insertion order and
+ * are accessed by index. There is no remove, clear() takes time
+ * proportional to the number of entries.
+ *
+ * Used as read set (without values), write set and address index
+ * of the RTTM simulation.
+ */
+class IntMap {
+
+	// index+1 of the entry, 0 for a free slot
+	private int[] slots;
+	private int mask;
+	private int[] keys;
+	private int[] vals;
+	private int size;
+
+	IntMap() {
+		this(16);
+	}
+
+	IntMap(int capacity) {
+		int n = Integer.highestOneBit(Math.max(capacity, 4)-1)<<1;
+		slots = new int[n*2];
+		mask = n*2-1;
+		keys = new int[n];
+		vals = new int[n];
+	}
+
+	private static int hash(int key) {
+		int h = key*0x9e3779b9;
+		return h^(h>>>16);
+	}
+
+	/**
+	 * @return the slot of the key or the free slot to insert it
+	 */
+	private int find(int key) {
+		int h = hash(key)&mask;
+		int idx;
+		while ((idx = slots[h])!=0) {
+			if (keys[idx-1]==key) {
+				return h;
+			}
+			h = (h+1)&mask;
+		}
+		return h;
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean containsKey(int key) {
+		return slots[find(key)]!=0;
+	}
+
+	int get(int key, int def) {
+		int idx = slots[find(key)];
+		return idx==0 ? def : vals[idx-1];
+	}
+
+	/**
+	 * @return true if the key is new
+	 */
+	boolean put(int key, int val) {
+		int h = find(key);
+		int idx = slots[h];
+		if (idx!=0) {
+			vals[idx-1] = val;
+			return false;
+		}
+		if (size==keys.length) {
+			grow();
+			h = find(key);
+		}
+		keys[size] = key;
+		vals[size] = val;
+		++size;
+		slots[h] = size;
+		return true;
+	}
+
+	/**
+	 * @return the key of the i-th entry in insertion order
+	 */
+	int key(int i) {
+		return keys[i];
+	}
+
+	int value(int i) {
+		return vals[i];
+	}
+
+	void clear() {
+		if (size<slots.length>>3) {
+			// in reverse order, the probe sequence of an entry only
+			// contains the slots of older entries
+			for (int i=size-1; i>=0; --i) {
+				slots[find(keys[i])] = 0;
+			}
+		} else {
+			Arrays.fill(slots, 0);
+		}
+		size = 0;
+	}
+
+	private void grow() {
+		int n = keys.length*2;
+		keys = Arrays.copyOf(keys, n);
+		vals = Arrays.copyOf(vals, n);
+		slots = new int[n*2];
+		mask = n*2-1;
+		for (int i=0; i<size; ++i) {
+			slots[find(keys[i])] = i+1;
+		}
+	}
+}
@@ -106,70 +106,62 @@ public class JavaDown {
 
 	static final int CNTMOD = 4;
 
+	/**
+	 * Bytes per write for the USB download without echo.
+	 */
+	static final int BULK_SIZE = 4096;
+
 	static public boolean downLoad(String fname) {
-		FileReader fileIn = null;
+		int words[] = null;
 		try {
-			fileIn = new FileReader(fname);
-		} catch (FileNotFoundException e1) {
-			sysoutStream.println("Error opening " + fname);
+			// textual .jop or binary image from JopImage
+			words = JopImage.read(fname);
+		} catch (IOException e1) {
+			sysoutStream.println("Error opening " + fname + ": " + e1.getMessage());
 			System.exit(-1);
 		}
 
-		// read .jop file word for word and write bytes to JOP
+		// Java code length at index 1 position in .jop
+		if (words.length > 1) {
+			int l = words[1];
+			sysoutStream.println(l + " words of Java bytecode ("
+					+ (l / 256) + " KB)");
+		}
+
+		// write the words in big-endian byte order to JOP,
+		// with the serial line each CNTMOD words are echoed
 		try {
-			StreamTokenizer in = new StreamTokenizer(fileIn);
-			in.slashSlashComments(true);
-			in.whitespaceChars(',', ',');
-			int cnt = 0;
-			int lbuf [] = new int[CNTMOD];
-			for (; in.nextToken() != StreamTokenizer.TT_EOF; ++cnt) {
-				// in.nval contains the next 32 bit word to be sent
-				int l = (int) in.nval;
-				lbuf[cnt % CNTMOD] = l;
-
-				// Java code length at index 1 position in .jop
-				if (cnt == 1) {
-					sysoutStream.println(l + " words of Java bytecode ("
-							+ (l / 256) + " KB)");
-				}
-				for (int i = 0; i < 4; i++) {
-					byte b = (byte) (l >> ((3 - i) * 8));
-					outputStream.write(b);
+			int chunk = usb ? BULK_SIZE / 4 : CNTMOD;
+			byte buf[] = new byte[chunk * 4];
+			byte rbuf[] = new byte[CNTMOD * 4];
+			for (int cnt = 0; cnt < words.length; cnt += chunk) {
+				int n = Math.min(chunk, words.length - cnt);
+				for (int k = 0; k < n; k++) {
+					int l = words[cnt + k];
+					for (int i = 0; i < 4; i++) {
+						buf[k * 4 + i] = (byte) (l >> ((3 - i) * 8));
+					}
 				}
+				outputStream.write(buf, 0, n * 4);
 
 				if (!usb) {
-					if (cnt % CNTMOD == CNTMOD-1) {
-						for (int k = 0; k < CNTMOD; k++) {
-							int r = 0;
-							for (int i = 0; i < 4; i++) {
-								r = (r << 8) | (iStream.read() & 0xff);
-							}
-							if (r != lbuf[k]) {
-								sysoutStream.println("received word differs from sent word");
-							}
+					readFully(rbuf, n * 4);
+					for (int k = 0; k < n * 4; k++) {
+						if (rbuf[k] != buf[k]) {
+							sysoutStream.println("received word differs from sent word");
+							break;
 						}
 					}
 				}
 
-				if ((cnt & 0x3f) == 0) {
+				// progress every 64 words
+				if ((cnt & 0x3f) < chunk) {
 					sysoutStream.print(prog_char[(cnt >> 6) & 0x07] + "\r");
 				}
 			}
 
-			if (!usb) {
-				for (int k = 0; k < cnt % CNTMOD; k++) {
-					int r = 0;
-					for (int i = 0; i < 4; i++) {
-						r = (r << 8) | (iStream.read() & 0xff);
-					}
-					if (r != lbuf[k]) {
-						sysoutStream.println("received word differs from sent word");
-					}
-				}
-			}
-
-			sysoutStream.println(cnt + " words external RAM (" + (cnt / 256)
-					+ " KB)");
+			sysoutStream.println(words.length + " words external RAM ("
+					+ (words.length / 256) + " KB)");
 			sysoutStream.println("download complete");
 			sysoutStream.println("");
 			sysoutStream.println("");
@@ -180,6 +172,16 @@ public class JavaDown {
 		return true;
 	}
 
+	static void readFully(byte b[], int len) throws IOException {
+		for (int off = 0; off < len;) {
+			int n = iStream.read(b, off, len - off);
+			if (n < 0) {
+				throw new EOFException("no echo from JOP");
+			}
+			off += n;
+		}
+	}
+
 	static public void echo() {
 
 		// start monitoring System.in in seperate thread
@@ -0,0 +1,279 @@
+/*
+  This file is part of JOP, the Java Optimized Processor
+    see <http://www.jopdesign.com/>
+
+  Copyright (C) 2026, agent (agent@local)
+
+  This program is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  This program is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public License
+  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+
+/**
+*	JopImage.java
+*
+*	Read and write the memory image of a JOP application.
+*
+*	The textual .jop file contains the words as decimal numbers with
+*	// comments. The binary image (.jopb) contains a header of three
+*	words (magic, version, number of words) followed by the words, all
+*	in little-endian byte order. The comments of the textual file
+*	are kept in a side file (.jopb.txt), each line prefixed with the
+*	address of the following word.
+*
+*	Both formats are accepted by read() and load(), the binary one is
+*	detected by the magic number.
+*
+*	usage: java JopImage file.jop
+*		converts a textual .jop file to a binary image
+*/
+
+package com.jopdesign.tools;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.StringTokenizer;
+
+public class JopImage {
+
+	/** "JOPB" */
+	public static final int MAGIC = 0x4a4f5042;
+	public static final int VERSION = 1;
+	static final int HEADER_SIZE = 12;
+
+	public static final String BIN_EXT = ".jopb";
+	public static final String COMMENT_EXT = ".txt";
+
+	/**
+	 * @return the name of the binary image for a textual .jop file
+	 */
+	public static String binaryName(String jopFile) {
+
+		if (jopFile.endsWith(".jop")) {
+			return jopFile+"b";
+		}
+		return jopFile+BIN_EXT;
+	}
+
+	/**
+	 * true if the file starts with the magic number of a binary image
+	 */
+	public static boolean isBinary(String fname) throws IOException {
+
+		DataInputStream in = new DataInputStream(new FileInputStream(fname));
+		try {
+			byte[] b = new byte[4];
+			in.readFully(b);
+			return ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN).getInt()==MAGIC;
+		} catch (EOFException e) {
+			return false;
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Load the image into mem, starting at address 0.
+	 * @return the number of words
+	 */
+	public static int load(String fname, int[] mem) throws IOException {
+
+		if (isBinary(fname)) {
+			return loadBinary(fname, mem);
+		}
+		int[] words = readText(fname);
+		System.arraycopy(words, 0, mem, 0, words.length);
+		return words.length;
+	}
+
+	/**
+	 * @return all words of the image
+	 */
+	public static int[] read(String fname) throws IOException {
+
+		if (isBinary(fname)) {
+			IntBuffer ib = map(fname);
+			int[] words = new int[ib.remaining()];
+			ib.get(words);
+			return words;
+		}
+		return readText(fname);
+	}
+
+	static int loadBinary(String fname, int[] mem) throws IOException {
+
+		IntBuffer ib = map(fname);
+		int cnt = ib.remaining();
+		if (cnt>mem.length) {
+			throw new IOException(fname+": "+cnt+" words do not fit into memory of "+
+					mem.length+" words");
+		}
+		ib.get(mem, 0, cnt);
+		return cnt;
+	}
+
+	/**
+	 * Map the binary image and check the header.
+	 * @return the words without the header
+	 */
+	static IntBuffer map(String fname) throws IOException {
+
+		RandomAccessFile f = new RandomAccessFile(fname, "r");
+		try {
+			FileChannel ch = f.getChannel();
+			MappedByteBuffer bb = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+			bb.order(ByteOrder.LITTLE_ENDIAN);
+			if (bb.remaining()<HEADER_SIZE || bb.getInt()!=MAGIC) {
+				throw new IOException(fname+": not a binary JOP image");
+			}
+			int version = bb.getInt();
+			if (version!=VERSION) {
+				throw new IOException(fname+": unknown image version "+version);
+			}
+			int cnt = bb.getInt();
+			if (cnt<0 || bb.remaining()!=cnt*4) {
+				throw new IOException(fname+": image has "+bb.remaining()/4+
+						" words, header says "+cnt);
+			}
+			// the mapping stays valid after closing the file
+			return bb.slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+		} finally {
+			f.close();
+		}
+	}
+
+	/**
+	 * Read the words of a textual .jop file.
+	 */
+	public static int[] readText(String fname) throws IOException {
+
+		Reader r = new BufferedReader(new FileReader(fname));
+		try {
+			StreamTokenizer in = new StreamTokenizer(r);
+
+			in.wordChars( '_', '_' );
+			in.wordChars( ':', ':' );
+			in.eolIsSignificant(true);
+			in.slashStarComments(true);
+			in.slashSlashComments(true);
+			in.lowerCaseMode(true);
+
+			int[] words = new int[1024];
+			int cnt = 0;
+			while (in.nextToken()!=StreamTokenizer.TT_EOF) {
+				if (in.ttype == StreamTokenizer.TT_NUMBER) {
+					if (cnt==words.length) {
+						int[] n = new int[cnt*2];
+						System.arraycopy(words, 0, n, 0, cnt);
+						words = n;
+					}
+					words[cnt++] = (int) in.nval;
+				}
+			}
+			int[] ret = new int[cnt];
+			System.arraycopy(words, 0, ret, 0, cnt);
+			return ret;
+		} finally {
+			r.close();
+		}
+	}
+
+	/**
+	 * Convert a textual .jop file to a binary image and a comment
+	 * side file.
+	 * @return the name of the binary image
+	 */
+	public static String writeBinary(String jopFile) throws IOException {
+
+		String binFile = binaryName(jopFile);
+		int[] words = new int[1024];
+		int cnt = 0;
+
+		BufferedReader in = new BufferedReader(new FileReader(jopFile));
+		PrintWriter comments = new PrintWriter(new BufferedWriter(
+				new FileWriter(binFile+COMMENT_EXT)));
+		try {
+			String line;
+			while ((line = in.readLine())!=null) {
+				String comment = null;
+				int pos = line.indexOf("//");
+				if (pos>=0) {
+					comment = line.substring(pos);
+					line = line.substring(0, pos);
+				}
+				int addr = cnt;
+				StringTokenizer st = new StringTokenizer(line, " \t,");
+				while (st.hasMoreTokens()) {
+					if (cnt==words.length) {
+						int[] n = new int[cnt*2];
+						System.arraycopy(words, 0, n, 0, cnt);
+						words = n;
+					}
+					words[cnt++] = (int) Long.parseLong(st.nextToken());
+				}
+				if (comment!=null) {
+					comments.println(addr+"\t"+comment);
+				}
+			}
+		} finally {
+			in.close();
+			comments.close();
+		}
+
+		write(binFile, words, cnt);
+		return binFile;
+	}
+
+	/**
+	 * Write cnt words as binary image.
+	 */
+	public static void write(String binFile, int[] words, int cnt) throws IOException {
+
+		ByteBuffer bb = ByteBuffer.allocate(HEADER_SIZE+cnt*4);
+		bb.order(ByteOrder.LITTLE_ENDIAN);
+		bb.putInt(MAGIC);
+		bb.putInt(VERSION);
+		bb.putInt(cnt);
+		bb.asIntBuffer().put(words, 0, cnt);
+		bb.rewind();
+
+		FileOutputStream out = new FileOutputStream(binFile);
+		try {
+			FileChannel ch = out.getChannel();
+			while (bb.hasRemaining()) {
+				ch.write(bb);
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	public static void main(String[] args) {
+
+		if (args.length!=1) {
+			System.out.println("usage: java JopImage file.jop");
+			System.exit(-1);
+		}
+		try {
+			String binFile = writeBinary(args[0]);
+			System.out.println(args[0]+" -> "+binFile);
+		} catch (Exception e) {
+			System.out.println(e.getMessage());
+			System.exit(-1);
+		}
+	}
+}
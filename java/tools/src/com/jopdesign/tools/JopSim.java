@@ -35,9 +35,10 @@ package com.jopdesign.tools;
 import com.jopdesign.sys.Const;
 import com.jopdesign.timing.WCETInstruction;
 
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.StreamTokenizer;
+import java.util.Map;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
 
 public class JopSim {
 
@@ -110,22 +111,6 @@ public class JopSim {
 		 * JVM internal access
 		 */
 		INTERN;
-		
-		private int rdCnt;
-		private int wrCnt;
-		
-		void incrRd() {
-			rdCnt++;
-		}
-		void incrWr() {
-			wrCnt++;
-		}
-		int getRdCnt() {
-			return rdCnt;
-		}
-		int getWrCnt() {
-			return wrCnt;
-		}
 	};
 
 	static final int MAX_MEM = 1024*1024/4;
@@ -141,6 +126,84 @@ public class JopSim {
 
 	static boolean log = false;
 	static int nrCpus = 1;
+	/**
+	 * Use the pre-decoded interpreter (-Dpredecode=true)
+	 */
+	static boolean predecode = false;
+	/**
+	 * Run the CPUs of a CMP in quanta of this many cycles,
+	 * each CPU on its own host thread (-Dquantum=cycles).
+	 * 0 is the cycle by cycle simulation on a single thread.
+	 * The writes to the main memory become visible to the
+	 * other CPUs at the end of the quantum, see runQuanta().
+	 */
+	static int quantum = 0;
+	/**
+	 * Execute the quanta in CPU order on a single host thread,
+	 * which gives the same result as the threaded run
+	 * (-Ddeterministic=true)
+	 */
+	static boolean deterministic = false;
+	/**
+	 * Record the lock grants of a quantum run to this file
+	 * (-Drecord=file), see JopSimArbitrationLog
+	 */
+	static String recordFile;
+	/**
+	 * Replay the lock grants recorded in this file (-Dreplay=file)
+	 */
+	static String replayFile;
+	static JopSimArbitrationLog arbitrationLog;
+	/**
+	 * Derive the us counter from the clock cycles instead of
+	 * the host time (-Dsimtime=true)
+	 */
+	static boolean simTime = false;
+	/**
+	 * Number of the current quantum of a run
+	 */
+	static long quantumCnt;
+	/**
+	 * Simulate all cache configurations in a single run
+	 * (-Dcachesweep=true)
+	 */
+	static boolean cacheSweep = false;
+	/**
+	 * True while the quantum simulation is running
+	 */
+	static boolean quantumMode = false;
+	/**
+	 * CMP start signal as seen at the start of the quantum
+	 */
+	static boolean runCMP;
+	static boolean quantumDone;
+	/**
+	 * Write a snapshot of the machine state to this file
+	 * (-Dsnapshot=file), see JopSimSnapshot
+	 */
+	static String snapshotFile;
+	/**
+	 * Take the snapshot after this many instructions of
+	 * CPU 0 (-Dsnapshotat=n), 0 for the marker IO write only
+	 */
+	static long snapshotAt;
+	/**
+	 * Marker value that triggers the snapshot (-Dsnapshotmark=id),
+	 * -1 for any value
+	 */
+	static int snapshotMark;
+	/**
+	 * Start from this snapshot (-Drestore=file)
+	 */
+	static String restoreFile;
+	static boolean snapshotArmed;
+	static boolean snapshotRequest;
+	/**
+	 * Write a per method cycle profile to file.collapsed and
+	 * file.csv (-Dprofile=file), see JopSimProfiler
+	 */
+	static String profileFile;
+	static String program;
 
 	// references to all simulation instances
 	static JopSim js[];
@@ -158,6 +221,15 @@ public class JopSim {
 	Cache cache;
 	IOSimMin io;
 
+	//
+	//	write buffer of the quantum simulation, the main memory
+	//	is only written at the end of a quantum
+	//
+	int[] wrBufData;
+	boolean[] wrBufValid;
+	int[] wrBufAddr;
+	int wrBufCnt;
+
 	int pc, cp, vp, sp, mp;
 	int jjp;
 	int jjhp;
@@ -179,12 +251,31 @@ public class JopSim {
 	int[] bcStat = new int[256];
 	int rdMemCnt;
 	int wrMemCnt;
+	int[] accRdCnt = new int[Access.values().length];
+	int[] accWrCnt = new int[Access.values().length];
 	int maxInstr;
 	int instrCnt;
 	long clkCnt;
 	int localCnt;
 	int maxSp;
 	int cacheCost;
+	JopSimProfiler profiler;
+	JopSimMeasurement measurement;
+	/**
+	 * Memory timing model, null for the plain bytecode timing
+	 */
+	MemTiming memTiming;
+	long memCycles;
+	// end of the last memory access
+	long memNow;
+
+	//
+	//	pre-decoded interpreter
+	//
+	boolean usePredecode;
+	DecodedMethod[] decodedMethods;
+	DecodedMethod decMethod;
+	int decBase;
 
 	public JopSim(String binaryFile, IOSimMin ioSim, int maxInstructions) {
 		
@@ -196,28 +287,15 @@ public class JopSim {
 			heap = 0;
 			
 			try {
-				StreamTokenizer in = new StreamTokenizer(new FileReader(binaryFile));
-			
-				in.wordChars( '_', '_' );
-				in.wordChars( ':', ':' );
-				in.eolIsSignificant(true);
-				in.slashStarComments(true);
-				in.slashSlashComments(true);
-				in.lowerCaseMode(true);
-			
-				
-				while (in.nextToken()!=StreamTokenizer.TT_EOF) {
-					if (in.ttype == StreamTokenizer.TT_NUMBER) {
-						mem_load[heap++] = (int) in.nval;
-					}
-				}
-			
+				// textual .jop or binary image from JopImage
+				heap = JopImage.load(binaryFile, mem_load);
 			} catch (IOException e) {
 				System.out.println(e.getMessage());
 				System.exit(-1);
 			}
 
 			int instr = mem_load[0];
+			program = binaryFile;
 			System.out.println("Program: "+binaryFile);
 			System.out.println(instr + " instruction word ("+(instr*4/1024)+" KB)");
 			System.out.println(heap + " words mem read ("+(heap*4/1024)+" KB)");
@@ -225,7 +303,8 @@ public class JopSim {
 
 			for (int i=0; i<256; ++i) {
 				int j = WCETInstruction.getCycles(i, false, 0);
-				if (j==-1) j = 80; // rough estimate for invokation of Java implementation
+				// dispatch to the Java implementation, the bytecodes of it are counted
+				if (j==-1) j = WCETInstruction.getNoImplDispatchCycles();
 				bcTiming[i] = j;
 			}
 		}
@@ -233,14 +312,12 @@ public class JopSim {
 		
 		cache = new Cache(mem, this);
 
-		int ocAssoc;
-		if(System.getenv("OC_ASSOC") != null) {
-			ocAssoc = Integer.parseInt(System.getenv("OC_ASSOC"));
-		} else {
-			ocAssoc = OBJECT_CACHE_ASSOC;
-		}
-		objectCacheSim = new ObjectCacheSim(ocAssoc, OBJECT_CACHE_FIELDS);
+		objectCacheSim = ObjectCacheSim.create();
 		io = ioSim;
+		memTiming = MemTiming.create(ioSim.cpuId, nrCpus);
+		if (memTiming!=null && ioSim.cpuId==0) {
+			System.out.println("Memory timing: "+memTiming);
+		}
 		
 	}
 
@@ -261,7 +338,25 @@ public class JopSim {
 		localCnt = 0;
 		maxSp = 0;
 		cacheCost = 0;
+		memCycles = 0;
+		memNow = 0;
+		if (memTiming!=null) {
+			// fresh state of the model for each cache simulation
+			memTiming = MemTiming.create(io.cpuId, nrCpus);
+		}
 		for (int i=0; i<256; ++i) bcStat[i] = 0;
+		for (int i=0; i<accRdCnt.length; ++i) {
+			accRdCnt[i] = 0;
+			accWrCnt[i] = 0;
+		}
+
+		usePredecode = predecode && cache.isMethodCache();
+		if (predecode && !usePredecode) {
+			System.out.println("No pre-decoding with "+cache.use);
+		}
+		if (usePredecode && decodedMethods==null) {
+			decodedMethods = new DecodedMethod[MAX_MEM];
+		}
 
 		if (io.cpuId==0) {
 			heap = empty_heap;
@@ -274,6 +369,10 @@ public class JopSim {
 		jjp = readMem(ptr+1, Access.INTERN);
 		jjhp = readMem(ptr+2, Access.INTERN);
 
+		profiler = null;
+		if (profileFile!=null || measurement!=null) {
+			profiler = new JopSimProfiler(this, measurement);
+		}
 		invokestatic(ptr);			// load main()
 	}
 
@@ -296,7 +395,11 @@ System.out.println(mp+" "+pc);
 */
 	void jjvmConst(int instr) {
 
-		int idx = readOpd16u();
+		jjvmConst(instr, readOpd16u());
+	}
+
+	void jjvmConst(int instr, int idx) {
+
 		int val = readMem(cp+idx, Access.CONST);			// read constant
 		// System.out.println("jjvmConst: "+instr+" "+(cp+idx)+" "+val);
 		stack[++sp] = val;					// push on stack
@@ -308,7 +411,11 @@ System.out.println(mp+" "+pc);
 	*/
 	void jjvmIdx(int instr) {
 
-		int idx = readOpd16u();
+		jjvmIdx(instr, readOpd16u());
+	}
+
+	void jjvmIdx(int instr, int idx) {
+
 		stack[++sp] = idx;					// push on stack
 		invoke(jjp+(instr<<1));
 	}
@@ -332,6 +439,9 @@ System.out.println(mp+" "+pc);
 
 		if (addr>MAX_MEM || addr<0) throw new JopSimFatalError("readInstrMem: wrong address: "+addr);
 
+		if (quantumMode && wrBufValid[addr%MAX_MEM]) {
+			return wrBufData[addr%MAX_MEM];
+		}
 		return mem[addr];
 	}
 	
@@ -342,6 +452,8 @@ System.out.println(mp+" "+pc);
 	public static final int OBJECT_CACHE_ASSOC = 16;
 	public static final int OBJECT_CACHE_FIELDS = 32;
 	ObjectCacheSim objectCacheSim;
+	// the next field read hits in the object cache
+	boolean ocHit;
 
 	/**
 	 * a plain memory read
@@ -352,7 +464,7 @@ System.out.println(mp+" "+pc);
 		
 		// System.out.println(addr+" "+mem[addr]);
 		rdMemCnt++;
-		type.incrRd();
+		accRdCnt[type.ordinal()]++;
 
 		// translate addresses
 		if (addr >= copy_src && addr < copy_src+copy_pos) {
@@ -373,13 +485,24 @@ System.out.println(mp+" "+pc);
 		if (addr<0) {
 			return io.read(addr);
 		}
+		if (memTiming!=null) {
+			long now = memTime();
+			int cycles = memTiming.read(now, addr, type, ocHit);
+			ocHit = false;
+			memNow = now+cycles+WCETInstruction.r+1;
+			memWait(cycles);
+		}
 
-		return mem[addr%MAX_MEM];
+		addr %= MAX_MEM;
+		if (quantumMode && wrBufValid[addr]) {
+			return wrBufData[addr];
+		}
+		return mem[addr];
 	}
 	void writeMem(int addr, int data, Access type) {
 
 		wrMemCnt++;
-		type.incrWr();
+		accWrCnt[type.ordinal()]++;
 
 		// that's an access to our scratchpad memory
 		if (addr >= Const.SCRATCHPAD_ADDRESS && addr <= Const.SCRATCHPAD_ADDRESS+MEM_TEST_OFF) {
@@ -394,7 +517,72 @@ System.out.println(mp+" "+pc);
 			io.write(addr, data);
 			return; // no Simulation of the Wishbone devices
 		}
-		mem[addr%MAX_MEM] = data;
+		if (memTiming!=null) {
+			long now = memTime();
+			int cycles = memTiming.write(now, addr, type);
+			memNow = now+cycles+WCETInstruction.w+1;
+			memWait(cycles);
+		}
+		if (quantumMode) {
+			bufferWrite(addr%MAX_MEM, data);
+		} else {
+			mem[addr%MAX_MEM] = data;
+		}
+	}
+
+	/**
+	 * Buffer a write of the quantum simulation, the CPU
+	 * reads its own buffered writes.
+	 */
+	void bufferWrite(int addr, int data) {
+
+		if (!wrBufValid[addr]) {
+			wrBufValid[addr] = true;
+			if (wrBufCnt==wrBufAddr.length) {
+				int[] a = new int[2*wrBufCnt];
+				System.arraycopy(wrBufAddr, 0, a, 0, wrBufCnt);
+				wrBufAddr = a;
+			}
+			wrBufAddr[wrBufCnt++] = addr;
+		}
+		wrBufData[addr] = data;
+	}
+
+	/**
+	 * Write the buffered writes of the quantum to the main memory.
+	 */
+	void commitWrites() {
+
+		for (int i=0; i<wrBufCnt; ++i) {
+			int addr = wrBufAddr[i];
+			mem[addr] = wrBufData[addr];
+			wrBufValid[addr] = false;
+		}
+		wrBufCnt = 0;
+	}
+
+	/**
+	 * Time of the next memory access: the start of the current
+	 * instruction or the end of the last access in it.
+	 */
+	long memTime() {
+
+		// the cycles of the instruction are added to clkCnt and localCnt
+		return Math.max(memNow, clkCnt-localCnt);
+	}
+
+	/**
+	 * Add the cycles of the memory timing model to the current
+	 * instruction, a negative value for a faster memory.
+	 */
+	void memWait(int cycles) {
+
+		if (localCnt+cycles<0) {
+			cycles = -localCnt;
+		}
+		clkCnt += cycles;
+		localCnt += cycles;
+		memCycles += cycles;
 	}
 
 	void invalCache() {
@@ -440,7 +628,11 @@ System.out.println(mp+" "+pc);
 	
 	void invokesuper() throws JopSimRtsException {
 
-		int idx = readOpd16u();
+		invokesuper(readOpd16u());
+	}
+
+	void invokesuper(int idx) throws JopSimRtsException {
+
 		int off = readMem(cp+idx, Access.CONST);	// index in vt and arg count (-1)
 		int args = off & 0xff;		// this is args count without obj-ref
 		off >>>= 8;
@@ -463,7 +655,11 @@ System.out.println(mp+" "+pc);
 
 	void invokevirtual() throws JopSimRtsException {
 
-		int idx = readOpd16u();
+		invokevirtual(readOpd16u());
+	}
+
+	void invokevirtual(int idx) throws JopSimRtsException {
+
 		int off = readMem(cp+idx, Access.CONST);	// index in vt and arg count (-1)
 		int args = off & 0xff;		// this is args count without obj-ref
 		off >>>= 8;
@@ -480,6 +676,10 @@ System.out.println(mp+" "+pc);
 
 		int idx = readOpd16u();
 		readOpd16u();				// read historical argument count and 0
+		invokeinterface(idx);
+	}
+
+	void invokeinterface(int idx) throws JopSimRtsException {
 
 		int off = readMem(cp+idx, Access.CONST);			// index in interface table
 
@@ -545,6 +745,12 @@ System.out.println(mp+" "+pc);
 		stack[++sp] = old_mp;
 
 		pc = cache.invoke(start, len);
+		if (usePredecode) {
+			enterMethod(start, len, pc);
+		}
+		if (profiler!=null) {
+			profiler.enter();
+		}
 	}
 
 /**
@@ -564,6 +770,13 @@ System.out.println(mp+" "+pc);
 		// cp = readMem(mp+1)>>>10;
 
 		pc = cache.ret(start, len, pc);
+		if (usePredecode) {
+			// the method relative pc is saved on invoke
+			enterMethod(start, len, pc-cache.corrPc(pc));
+		}
+		if (profiler!=null) {
+			profiler.exit();
+		}
 	}
 
 	void ireturn() {
@@ -584,58 +797,86 @@ System.out.println(mp+" "+pc);
 	
 	void waitCache(int hiddenCycles) {
 		
-		int penalty = WCETInstruction.calculateB(cache.lastAccessWasHit(),cache.wordsLastRead);
-		penalty = Math.max(0, penalty-hiddenCycles);
+		int penalty = cache.waitCycles(hiddenCycles);
 		this.cacheCost += penalty;
 		this.clkCnt += penalty;
 		this.localCnt += penalty;
+		if (profiler!=null) {
+			profiler.cacheCycles(penalty);
+		}
 	}
 	
 	void putstatic() {
 
-		int addr = readOpd16u();
+		putstatic(readOpd16u());
+	}
+
+	void putstatic(int addr) {
+
 		writeMem(addr, stack[sp--], Access.STATIC);
 	}
 
 	void getstatic() {
 
-		int addr = readOpd16u();
+		getstatic(readOpd16u());
+	}
+
+	void getstatic(int addr) {
+
 		stack[++sp] = readMem(addr, Access.STATIC);
 	}
 
 	void putstatic_long() {
 
-		int addr = readOpd16u();
+		putstatic_long(readOpd16u());
+	}
+
+	void putstatic_long(int addr) {
+
 		writeMem(addr+1, stack[sp--], Access.STATIC);
 		writeMem(addr, stack[sp--], Access.STATIC);
 	}
 
 	void getstatic_long() {
 
-		int addr = readOpd16u();
+		getstatic_long(readOpd16u());
+	}
+
+	void getstatic_long(int addr) {
+
 		stack[++sp] = readMem(addr, Access.STATIC);
 		stack[++sp] = readMem(addr+1, Access.STATIC);
 	}
 
 	void putfield() {
 
-		int off = readOpd16u();
+		putfield(readOpd16u());
+	}
+
+	void putfield(int off) {
+
 		int val = stack[sp--];
 		int ref = stack[sp--];
 		checkNullPointer(ref);		
 		ref = readMem(ref, Access.HANDLE);
+		objectCacheSim.writeField(ref, off);
 		writeMem(ref+off, val, Access.FIELD);						
 	}
 
 	void getfield() {
 
-		int off = readOpd16u();
+		getfield(readOpd16u());
+	}
+
+	void getfield(int off) {
+
 		int ref = stack[sp];
 		checkNullPointer(ref);		
 		// handle needs indirection		
 		ref = readMem(ref, Access.HANDLE);
-		objectCacheSim.accessField(ref,off);
-		stack[sp] = readMem(ref+off, Access.FIELD);		
+		ocHit = objectCacheSim.accessField(ref,off);
+		stack[sp] = readMem(ref+off, Access.FIELD);
+		ocHit = false;
 	}
 	
 	void jopsys_putfield() {
@@ -661,20 +902,30 @@ System.out.println(mp+" "+pc);
 
 	void putfield_long() {
 
-		int off = readOpd16u();
+		putfield_long(readOpd16u());
+	}
+
+	void putfield_long(int off) {
+
 		int val_l = stack[sp--];
 		int val_h = stack[sp--];
 		int ref = stack[sp--];
 		checkNullPointer(ref);		
 		// handle needs indirection
 		ref = readMem(ref, Access.HANDLE);
+		objectCacheSim.writeField(ref, off);
 		writeMem(ref+off, val_h, Access.FIELD);
+		objectCacheSim.writeField(ref, off+1);
 		writeMem(ref+off+1, val_l, Access.FIELD);			
 	}
 
 	void getfield_long() {
 
-		int off = readOpd16u();
+		getfield_long(readOpd16u());
+	}
+
+	void getfield_long(int off) {
+
 		int ref = stack[sp];
 		// handle needs indirection
 		checkNullPointer(ref);		
@@ -690,11 +941,6 @@ System.out.println(mp+" "+pc);
 */
 	void interpret() {
 
-		int new_pc;		// for cond. branches
-		int ref, val, idx, val2;
-		int a, b, c, d;
-		long la, lb;
-
 		if (localCnt>0) {
 			--localCnt;
 			return;
@@ -708,7 +954,14 @@ System.out.println(mp+" "+pc);
 		//
 		++instrCnt;
 		if (sp > maxSp) maxSp = sp;
+		if (profiler!=null) {
+			profiler.instr(pc);
+		}
 
+		if (usePredecode) {
+			interpretDecoded();
+			return;
+		}
 
 		int instr = cache.bc(pc++) & 0x0ff;
 
@@ -729,19 +982,39 @@ System.out.println(mp+" "+pc);
 		}
 
 		bcStat[instr]++;
-		// TODO add cache miss timing and a different timing info for
-		// Java implemented bytecodes
+		// WCETInstruction timing without the method cache load, which
+		// is added by waitCache(); a memory timing model adds the
+		// difference to the default wait states in readMem()/writeMem().
+		// Java implemented bytecodes cost the dispatch (see JopSim())
 		localCnt = bcTiming[instr];
 		clkCnt += localCnt;
 		--localCnt;
 
-		if (log) {
-			String spc = (pc-1)+" ";
-			while (spc.length()<4) spc = " "+spc;
-			String s = spc+JopInstr.name(instr);
-			System.out.print(s+"\t");
-			dump();
-		}
+		if (log) logInstr(pc-1, instr);
+
+		execute(instr);
+	}
+
+	void logInstr(int addr, int instr) {
+
+		String spc = addr+" ";
+		while (spc.length()<4) spc = " "+spc;
+		String s = spc+JopInstr.name(instr);
+		System.out.print(s+"\t");
+		dump();
+	}
+
+	/**
+	*	execute one instruction, pc points to the first
+	*	operand byte.
+	*/
+	void execute(int instr) {
+
+		int new_pc;		// for cond. branches
+		int ref, val, idx, val2;
+		int a, b, c, d;
+		long la, lb;
+
 		try {
 			switch (instr) {
 
@@ -881,7 +1154,9 @@ System.out.println(mp+" "+pc);
 					if (idx<0 || idx>=a) throw new JopSimRtsException("saload: index out of bounds",Const.EXC_AB);
 					// handle needs indirection
 					ref = readMem(ref, Access.HANDLE);
+					ocHit = objectCacheSim.accessArray(ref, idx);
 					stack[++sp] = readMem(ref+idx, Access.ARRAY);							
+					ocHit = false;
 					break;
 				case 47 :		// laload
 				case 49 :		// daload
@@ -892,8 +1167,11 @@ System.out.println(mp+" "+pc);
 					if (idx<0 || idx>=a) throw new JopSimRtsException("laload: index out of bounds",Const.EXC_AB);
 					// handle needs indirection
 					ref = readMem(ref, Access.HANDLE);
+					ocHit = objectCacheSim.accessArray(ref, idx*2);
 					stack[++sp] = readMem(ref+idx*2, Access.ARRAY);
+					ocHit = objectCacheSim.accessArray(ref, idx*2+1);
 					stack[++sp] = readMem(ref+idx*2+1, Access.ARRAY);							
+					ocHit = false;
 					break;
 				case 58 :		// astore
 				case 56 :		// fstore
@@ -967,6 +1245,7 @@ System.out.println(mp+" "+pc);
 					if (idx<0 || idx>=a) throw new JopSimRtsException("sastore: index out of bounds",Const.EXC_AB);
 					// handle needs indirection
 					ref = readMem(ref, Access.HANDLE);
+					objectCacheSim.writeArray(ref, idx);
 					writeMem(ref+idx, val, Access.ARRAY);							
 					break;
 				case 80 :		// lastore
@@ -980,7 +1259,9 @@ System.out.println(mp+" "+pc);
 					if (idx<0 || idx>=a) throw new JopSimRtsException("lastore: index out of bounds",Const.EXC_AB);
 					// handle needs indirection
 					ref = readMem(ref, Access.HANDLE);
+					objectCacheSim.writeArray(ref, idx*2);
 					writeMem(ref+idx*2, val2, Access.ARRAY);					
+					objectCacheSim.writeArray(ref, idx*2+1);
 					writeMem(ref+idx*2+1, val, Access.ARRAY);												
 					break;
 				case 87 :		// pop
@@ -1760,6 +2041,254 @@ System.out.println("new heap: "+heap);
 		}
 	}
 
+	/**
+	*	Set the current method for the pre-decoded interpreter.
+	*	The method is decoded when it enters the method cache
+	*	the first time.
+	*
+	*	@param base pc value of the first bytecode of the method
+	*/
+	void enterMethod(int start, int len, int base) {
+
+		DecodedMethod dm = decodedMethods[start];
+		if (dm==null || dm.len!=len) {
+			dm = new DecodedMethod(mem, start, len);
+			decodedMethods[start] = dm;
+		}
+		decMethod = dm;
+		decBase = base;
+	}
+
+	/**
+	*	The pre-decoded version of interpret(). Instructions with
+	*	operands are executed from the decoded operands, all others
+	*	are delegated to execute(). The instruction bytes are still
+	*	accounted in the cache statistics, so clkCnt, bcStat and the
+	*	cache numbers are the same as with interpret().
+	*/
+	void interpretDecoded() {
+
+		int new_pc;
+		int ref, idx;
+
+		DecodedMethod dm = decMethod;
+		int pos = pc-decBase;
+		int code = dm.code[pos];
+		if (code==0) {
+			code = dm.decode(pos);
+		}
+		int instr = code & 0x0ff;
+		int length = code>>>8;
+
+		//
+		// exception and interrupt handling
+		//
+		if (intExcept) {
+			instr = SYS_EXC;
+			length = 1;
+			intExcept = false;
+		} else {
+			// check all 16 instructions for a pending interrupt
+			if ((instrCnt&0xf)==0) {
+				if (io.intPending()) {
+					instr = SYS_INT;
+					length = 1;
+				}
+			}
+		}
+
+		bcStat[instr]++;
+		localCnt = bcTiming[instr];
+		clkCnt += localCnt;
+		--localCnt;
+
+		if (log) logInstr(pc, instr);
+
+		cache.countRead(length);
+		if (length==1) {
+			++pc;
+			execute(instr);
+			return;
+		}
+
+		int opd = dm.opd[pos];
+		int opc_pc = pc;
+		pc += length;
+
+		try {
+			switch (instr) {
+
+				case 16 :		// bipush
+				case 17 :		// sipush
+					stack[++sp] = opd;
+					break;
+				case 18 :		// ldc
+				case 19 :		// ldc_w
+					stack[++sp] = readMem(cp+opd, Access.CONST);
+					break;
+				case 20 :		// ldc2_w
+					stack[++sp] = readMem(cp+opd, Access.CONST);
+					stack[++sp] = readMem(cp+opd+1, Access.CONST);
+					break;
+				case 21 :		// iload
+				case 23 :		// fload
+				case 25 :		// aload
+					stack[++sp] = stack[vp+opd];
+					break;
+				case 22 :		// lload
+				case 24 :		// dload
+					stack[++sp] = stack[vp+opd];
+					stack[++sp] = stack[vp+opd+1];
+					break;
+				case 54 :		// istore
+				case 56 :		// fstore
+				case 58 :		// astore
+					stack[vp+opd] = stack[sp--];
+					break;
+				case 55 :		// lstore
+				case 57 :		// dstore
+					stack[vp+opd+1] = stack[sp--];
+					stack[vp+opd] = stack[sp--];
+					break;
+				case 132 :		// iinc
+					idx = opd & 0x0ff;
+					stack[vp+idx] = stack[vp+idx]+(opd>>8);
+					break;
+				case 153 :		// ifeq
+				case 198 :		// ifnull
+					new_pc = opc_pc+opd;
+					sp--;
+					if (stack[sp+1] == 0) pc = new_pc;
+					break;
+				case 154 :		// ifne
+				case 199 :		// ifnonnull
+					new_pc = opc_pc+opd;
+					sp--;
+					if (stack[sp+1] != 0) pc = new_pc;
+					break;
+				case 155 :		// iflt
+					new_pc = opc_pc+opd;
+					sp--;
+					if (stack[sp+1] < 0) pc = new_pc;
+					break;
+				case 156 :		// ifge
+					new_pc = opc_pc+opd;
+					sp--;
+					if (stack[sp+1] >= 0) pc = new_pc;
+					break;
+				case 157 :		// ifgt
+					new_pc = opc_pc+opd;
+					sp--;
+					if (stack[sp+1] > 0) pc = new_pc;
+					break;
+				case 158 :		// ifle
+					new_pc = opc_pc+opd;
+					sp--;
+					if (stack[sp+1] <= 0) pc = new_pc;
+					break;
+				case 159 :		// if_icmpeq
+				case 165 :		// if_acmpeq
+					new_pc = opc_pc+opd;
+					sp -= 2;
+					if (stack[sp+1] == stack[sp+2]) pc = new_pc;
+					break;
+				case 160 :		// if_icmpne
+				case 166 :		// if_acmpne
+					new_pc = opc_pc+opd;
+					sp -= 2;
+					if (stack[sp+1] != stack[sp+2]) pc = new_pc;
+					break;
+				case 161 :		// if_icmplt
+					new_pc = opc_pc+opd;
+					sp -= 2;
+					if (stack[sp+1] < stack[sp+2]) pc = new_pc;
+					break;
+				case 162 :		// if_icmpge
+					new_pc = opc_pc+opd;
+					sp -= 2;
+					if (stack[sp+1] >= stack[sp+2]) pc = new_pc;
+					break;
+				case 163 :		// if_icmpgt
+					new_pc = opc_pc+opd;
+					sp -= 2;
+					if (stack[sp+1] > stack[sp+2]) pc = new_pc;
+					break;
+				case 164 :		// if_icmple
+					new_pc = opc_pc+opd;
+					sp -= 2;
+					if (stack[sp+1] <= stack[sp+2]) pc = new_pc;
+					break;
+				case 167 :		// goto
+					pc = opc_pc+opd;
+					break;
+				case 178 :		// getstatic
+				case 224 :		// resE0 - getstatic_ref
+					getstatic(opd);
+					break;
+				case 179 :		// putstatic
+					putstatic(opd);
+					break;
+				case 180 :		// getfield
+				case 226 :		// resE2 - getfield_ref
+					getfield(opd);
+					break;
+				case 181 :		// putfield
+					putfield(opd);
+					break;
+				case 182 :		// invokevirtual
+					invokevirtual(opd);
+					waitCache(WCETInstruction.INVOKE_HIDDEN_LOAD_CYCLES);
+					break;
+				case 183 :		// invokespecial
+				case 184 :		// invokestatic
+					invokestatic(cp+opd);
+					waitCache(WCETInstruction.INVOKE_HIDDEN_LOAD_CYCLES);
+					break;
+				case 185 :		// invokeinterface
+					invokeinterface(opd);
+					waitCache(WCETInstruction.INVOKE_HIDDEN_LOAD_CYCLES);
+					break;
+				case 187 :		// new
+				case 189 :		// anewarray
+				case 192 :		// checkcast
+				case 193 :		// instanceof
+					jjvmConst(instr, opd);
+					break;
+				case 188 :		// newarray
+					stack[++sp] = opd;		// use typ info
+					// invoke JVM.f_newarray(int count,val);
+					invoke(jjp+(188<<1));
+					break;
+				case 225 :		// resE1 - putstatic_ref
+				case 227 :		// resE3 - putfield_ref
+					jjvmIdx(instr, opd);	// use JVM.java version
+					break;
+				case 228 :		// resE4 - getstatic_long
+					getstatic_long(opd);
+					break;
+				case 229 :		// resE5 - putstatic_long
+					putstatic_long(opd);
+					break;
+				case 230 :		// resE6 - getfield_long
+					getfield_long(opd);
+					break;
+				case 231 :		// resE7 - putfield_long
+					putfield_long(opd);
+					break;
+				case 236 :		// invokesuper
+					invokesuper(opd);
+					waitCache(WCETInstruction.INVOKE_HIDDEN_LOAD_CYCLES);
+					break;
+
+				default:
+					throw new JopSimFatalError("interpretDecoded: no operands for "+JopInstr.name(instr));
+			}
+		} catch(JopSimRtsException rtsEx) {
+			this.intExcept = true;
+			this.exceptReason = rtsEx.getReason();
+		}
+	}
+
 	void stat() {
 
 		System.out.println();
@@ -1802,9 +2331,10 @@ System.out.println("new heap: "+heap);
 //		System.out.println("\tType \t&       Load &      &      Store &      \\\\");
 //		int ld = 0, st=0;
 //		for (Access a : Access.values()) {
-//			ld += a.rdCnt; st += a.wrCnt;
+//			int rd = accRdCnt[a.ordinal()], wr = accWrCnt[a.ordinal()];
+//			ld += rd; st += wr;
 //			System.out.printf("\t%s\t& %10d & %2d\\%% & %10d & %2d\\%% \\\\%n",
-//					a.name(), a.rdCnt, (a.rdCnt*1000/rdMemCnt+5)/10, a.wrCnt, (a.wrCnt*1000/wrMemCnt+5)/10);
+//					a.name(), rd, (rd*1000/rdMemCnt+5)/10, wr, (wr*1000/wrMemCnt+5)/10);
 //		}
 //		System.out.println("\t\\midrule");
 //		System.out.printf("\tSum\t& %10d &      & %10d &      \\\\%n", ld, st);
@@ -1815,6 +2345,18 @@ System.out.println("new heap: "+heap);
 			((float) rdMemCnt/instrCnt)+" load "+
 			((float) wrMemCnt/instrCnt)+" store");
 		System.out.println("total method cache load cycles: "+this.cacheCost);
+		if (memTiming!=null) {
+			System.out.println("memory timing "+memTiming+": "+memCycles+
+					" additional cycles");
+		}
+		if (nrCpus>1) {
+			System.out.println("global lock: "+io.lockCnt+" acquired, "+
+					io.lockWait+" cycles waiting");
+		}
+		if (objectCacheSim.isSweep()) {
+			System.out.println();
+			objectCacheSim.sweepStat();
+		}
 		System.out.println();
 
 
@@ -1837,6 +2379,19 @@ System.out.println("new heap: "+heap);
 	
 	public static int getArgs(String args[]) {
 		log = System.getProperty("log", "false").equals("true");
+		predecode = System.getProperty("predecode", "false").equals("true");
+		quantum = Integer.parseInt(System.getProperty("quantum", "0"));
+		deterministic = System.getProperty("deterministic", "false").equals("true");
+		recordFile = System.getProperty("record");
+		replayFile = System.getProperty("replay");
+		simTime = System.getProperty("simtime", "false").equals("true");
+		cacheSweep = System.getProperty("cachesweep", "false").equals("true");
+		snapshotFile = System.getProperty("snapshot");
+		snapshotAt = Long.parseLong(System.getProperty("snapshotat", "0"));
+		snapshotMark = Integer.parseInt(System.getProperty("snapshotmark", "-1"));
+		restoreFile = System.getProperty("restore");
+		profileFile = System.getProperty("profile");
+		snapshotArmed = snapshotFile!=null;
 		nrCpus = Integer.parseInt(System.getProperty("cpucnt", "1"));
 		js = new JopSim[nrCpus];
 
@@ -1870,17 +2425,47 @@ System.out.println("new heap: "+heap);
 	/** run simulation for multicore JOP */
 	public static void runSimulation() {
 		
-		// loop over all cache simulations
-		for (int i=0; i<js[0].cache.cnt(); ++i) {
+		if (quantum>0 && nrCpus>1 && (recordFile!=null || replayFile!=null)) {
+			try {
+				arbitrationLog = new JopSimArbitrationLog(recordFile, replayFile, quantum, nrCpus);
+			} catch (IOException e) {
+				System.out.println(e.getMessage());
+				System.exit(-1);
+			}
+		}
+
+		// loop over all cache simulations,
+		// a snapshot contains a single cache configuration
+		int runs = (cacheSweep || restoreFile!=null) ? 1 : js[0].cache.cnt();
+		for (int i=0; i<runs; ++i) {
 			for (int j=0; j<nrCpus; ++j) {
-				js[j].cache.use(i);
+				if (cacheSweep) {
+					js[j].cache.sweep();
+				} else {
+					js[j].cache.use(i);
+				}
 				js[j].start();				
 			}
-			while (!exit) {
-				js[0].interpret();
-				if (nrCpus != 1 && IOSimMin.startCMP) {
-					for (int j = 1; j < nrCpus; ++j) {
-						js[j].interpret();
+			if (restoreFile!=null) {
+				try {
+					JopSimSnapshot.restore(restoreFile, js);
+				} catch (IOException e) {
+					System.out.println(e.getMessage());
+					System.exit(-1);
+				}
+			}
+			if (quantum>0 && nrCpus>1) {
+				runQuanta();
+			} else {
+				while (!exit) {
+					js[0].interpret();
+					if (nrCpus != 1 && IOSimMin.startCMP) {
+						for (int j = 1; j < nrCpus; ++j) {
+							js[j].interpret();
+						}
+					}
+					if (snapshotArmed) {
+						checkSnapshot();
 					}
 				}
 			}
@@ -1889,9 +2474,190 @@ System.out.println("new heap: "+heap);
 				System.out.println("JopSim stopped");
 			}
 			System.out.println();
+			if (i==0 && profileFile!=null) {
+				writeProfiles();
+			}
 			for (int j=0; j<nrCpus; ++j) {
 				if (i==0) js[j].stat();
-				js[j].cache.stat();				
+				if (cacheSweep) {
+					js[j].cache.sweepStat();
+				} else {
+					js[j].cache.stat();
+				}
+			}
+		}
+		if (arbitrationLog!=null) {
+			try {
+				arbitrationLog.close();
+			} catch (IOException e) {
+				System.out.println(e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Write the profile of each CPU, with a CPU suffix for a CMP.
+	 */
+	static void writeProfiles() {
+
+		Map<Integer, String> names = JopSimProfiler.readNames(program);
+		for (int j=0; j<nrCpus; ++j) {
+			String fname = nrCpus==1 ? profileFile : profileFile+"_cpu"+j;
+			try {
+				js[j].profiler.write(fname, names);
+			} catch (IOException e) {
+				System.out.println(e.getMessage());
+			}
+			System.out.println("Profile "+fname+".collapsed, "+fname+".csv");
+		}
+	}
+
+	/**
+	 * Run all CPUs in lockstep quanta of 'quantum' cycles (interpret()
+	 * calls), each CPU on its own host thread. Within a quantum, a CPU
+	 * sees the main memory as of the start of the quantum plus its own
+	 * writes. The writes are buffered and committed at the end of the
+	 * quantum in CPU order, i.e. the higher CPU id wins when two CPUs
+	 * write the same word in one quantum. The other shared resources
+	 * (global lock, CMP start signal and the UART output) are arbitrated
+	 * at the end of the quantum as well. Therefore, the result does not
+	 * depend on the scheduling of the host threads, also for data races
+	 * in the simulated program, and 'deterministic', which executes the
+	 * quanta in CPU order on the calling thread, gives the same result.
+	 * Only the us counter (and the timer interrupt) from the host time
+	 * gives different results, unless 'simTime' is set.
+	 * <p>
+	 * The result differs from the cycle by cycle simulation: a write
+	 * becomes visible to the other CPUs up to 'quantum' cycles later,
+	 * and a CPU that requests the global lock waits for the end of the
+	 * quantum even when the lock is free. The lock statistics of stat()
+	 * show the waiting cycles of both simulations.
+	 * </p>
+	 */
+	static void runQuanta() {
+
+		quantumMode = true;
+		runCMP = IOSimMin.startCMP;
+		quantumDone = exit;
+		quantumCnt = 0;
+		for (int j=0; j<nrCpus; ++j) {
+			if (js[j].wrBufData==null) {
+				js[j].wrBufData = new int[MAX_MEM];
+				js[j].wrBufValid = new boolean[MAX_MEM];
+				js[j].wrBufAddr = new int[1024];
+			}
+		}
+		if (arbitrationLog!=null) {
+			arbitrationLog.startRun();
+		}
+
+		if (deterministic) {
+			while (!quantumDone) {
+				for (int j=0; j<nrCpus; ++j) {
+					js[j].runQuantum();
+				}
+				endQuantum();
+			}
+			quantumMode = false;
+			return;
+		}
+
+		final CyclicBarrier barrier = new CyclicBarrier(nrCpus, new Runnable() {
+			public void run() {
+				endQuantum();
+			}
+		});
+		final RuntimeException[] failure = new RuntimeException[1];
+		Thread[] threads = new Thread[nrCpus];
+		for (int j=0; j<nrCpus; ++j) {
+			final JopSim sim = js[j];
+			threads[j] = new Thread("JopSim CPU "+j) {
+				public void run() {
+					while (!quantumDone) {
+						try {
+							sim.runQuantum();
+						} catch (RuntimeException e) {
+							synchronized (failure) {
+								if (failure[0]==null) failure[0] = e;
+							}
+							exit = true;
+						}
+						try {
+							barrier.await();
+						} catch (InterruptedException e) {
+							return;
+						} catch (BrokenBarrierException e) {
+							return;
+						} catch (RuntimeException e) {
+							// thrown by endQuantum()
+							synchronized (failure) {
+								if (failure[0]==null) failure[0] = e;
+							}
+							return;
+						}
+					}
+				}
+			};
+			threads[j].start();
+		}
+		for (int j=0; j<nrCpus; ++j) {
+			try {
+				threads[j].join();
+			} catch (InterruptedException e) {
+				throw new RuntimeException("runQuanta: interrupted", e);
+			}
+		}
+		quantumMode = false;
+		if (failure[0]!=null) {
+			throw failure[0];
+		}
+	}
+
+	/**
+	 * Simulate one quantum. The other CPUs only run when
+	 * CPU 0 has started the CMP.
+	 */
+	void runQuantum() {
+
+		if (io.cpuId==0 || runCMP) {
+			for (int i=0; i<quantum; ++i) {
+				interpret();
+			}
+		}
+	}
+
+	/**
+	 * Arbitration at the end of a quantum, all CPUs are stopped.
+	 */
+	static void endQuantum() {
+
+		for (int j=0; j<nrCpus; ++j) {
+			js[j].io.flushOutput();
+			js[j].commitWrites();
+		}
+		IOSimMin.arbitrate(js, quantumCnt, arbitrationLog);
+		++quantumCnt;
+		runCMP = IOSimMin.startCMP;
+		quantumDone = exit;
+		if (snapshotArmed) {
+			checkSnapshot();
+		}
+	}
+
+	/**
+	 * Write the snapshot when the instruction count is reached
+	 * or the application has written the marker. Called between
+	 * two cycles (or quanta), when the state is consistent.
+	 */
+	static void checkSnapshot() {
+
+		if (snapshotRequest || (snapshotAt>0 && js[0].instrCnt>=snapshotAt)) {
+			snapshotArmed = false;
+			try {
+				JopSimSnapshot.save(snapshotFile, js);
+			} catch (IOException e) {
+				System.out.println(e.getMessage());
+				System.exit(-1);
 			}
 		}
 	}
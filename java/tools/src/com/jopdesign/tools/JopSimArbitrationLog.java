@@ -0,0 +1,168 @@
+/*
+  This file is part of JOP, the Java Optimized Processor
+    see <http://www.jopdesign.com/>
+
+  Copyright (C) 2026, agent (agent@local)
+
+  This program is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  This program is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public License
+  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+
+/**
+*	JopSimArbitrationLog.java
+*
+*	Records the arbitration decisions of a quantum simulation
+*	(-Drecord=file) and replays them in a later run (-Dreplay=file).
+*	The decisions are the grants of the global lock at the end of
+*	a quantum. The main memory needs no log: the writes of a quantum
+*	are committed in CPU order.
+*
+*	On a replay the recorded CPU gets the lock instead of the CPU
+*	chosen by IOSimMin.arbitrate(). The replay stops with an error
+*	when it diverges, i.e. when the recorded CPU does not wait for
+*	the lock or a recorded grant is missed because the lock is
+*	still held.
+*
+*	The file is a text file with the quantum and the number of
+*	CPUs in the first line, a line 'run' at the start of each
+*	simulation run and a line 'lock quantum cpu' for each grant.
+*/
+
+package com.jopdesign.tools;
+
+import java.io.*;
+
+public class JopSimArbitrationLog {
+
+	static final String HEADER = "JopSim arbitration";
+
+	PrintWriter out;
+	BufferedReader in;
+	String replayFile;
+	// next entry of the replay, null at the end of the file
+	String[] next;
+	int line;
+
+	int grants;
+	int differ;
+
+	JopSimArbitrationLog(String recordFile, String replayFile,
+			int quantum, int cpus) throws IOException {
+
+		String header = HEADER+" quantum "+quantum+" cpus "+cpus;
+		if (replayFile!=null) {
+			this.replayFile = replayFile;
+			in = new BufferedReader(new FileReader(replayFile));
+			String s = in.readLine();
+			line = 1;
+			if (!header.equals(s)) {
+				throw new IOException(replayFile+": expected '"+header+"', found '"+s+"'");
+			}
+			readNext();
+		}
+		if (recordFile!=null) {
+			out = new PrintWriter(new BufferedWriter(new FileWriter(recordFile)));
+			out.println(header);
+		}
+	}
+
+	void readNext() throws IOException {
+
+		String s = in.readLine();
+		++line;
+		next = s==null ? null : s.trim().split("\\s+");
+	}
+
+	/**
+	 * Start of a simulation run.
+	 */
+	void startRun() {
+
+		if (in!=null) {
+			if (next==null || !next[0].equals("run")) {
+				diverged("start of a run expected");
+			}
+			try {
+				readNext();
+			} catch (IOException e) {
+				diverged(e.getMessage());
+			}
+		}
+		if (out!=null) {
+			out.println("run");
+		}
+	}
+
+	/**
+	 * Decide the grant of the free global lock at the end of a quantum.
+	 * @param quantum number of the quantum in the run
+	 * @param winner CPU chosen by the arbitration, -1 for none
+	 * @param sims all simulation instances
+	 * @return the CPU that gets the lock, -1 for none
+	 */
+	int grant(long quantum, int winner, JopSim[] sims) {
+
+		if (in!=null) {
+			int cpu = -1;
+			if (next!=null && next[0].equals("lock")) {
+				long q = Long.parseLong(next[1]);
+				if (q<quantum) {
+					diverged("the lock is held in quantum "+q);
+				}
+				if (q==quantum) {
+					cpu = Integer.parseInt(next[2]);
+					if (cpu>=sims.length || sims[cpu].io.lockRequest<0) {
+						diverged("CPU "+cpu+" does not wait for the lock in quantum "+quantum);
+					}
+					++grants;
+					try {
+						readNext();
+					} catch (IOException e) {
+						diverged(e.getMessage());
+					}
+				}
+			}
+			if (cpu!=winner) {
+				++differ;
+			}
+			winner = cpu;
+		}
+		if (out!=null && winner>=0) {
+			out.println("lock "+quantum+" "+winner);
+		}
+		return winner;
+	}
+
+	void diverged(String msg) {
+
+		System.out.println();
+		System.out.println("Replay of "+replayFile+" diverged at line "+line+": "+msg);
+		System.exit(-1);
+	}
+
+	void close() throws IOException {
+
+		if (in!=null) {
+			if (next!=null) {
+				System.out.println("Replay of "+replayFile+" ended before line "+line);
+			}
+			in.close();
+			System.out.println("Replayed "+grants+" lock grants, the arbitration of this run differs in "+
+					differ+" quanta");
+		}
+		if (out!=null) {
+			out.close();
+		}
+	}
+}
@@ -0,0 +1,164 @@
+/*
+  This file is part of JOP, the Java Optimized Processor
+    see <http://www.jopdesign.com/>
+
+  Copyright (C) 2026, agent (agent@local)
+
+  This program is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  This program is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public License
+  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+
+/**
+*	JopSimBench.java
+*
+*	Compare the host speed of the JopSim interpreter with the
+*	pre-decoded interpreter, e.g. on the jbe benchmarks.
+*	Each mode is run several times in the same JVM, the first
+*	run is the warm up. The simulated time is derived from the
+*	clock counter, so both modes execute the same instructions
+*	and have to produce the same statistics.
+*
+*	usage: java JopSimBench file.jop [runs]
+*/
+
+package com.jopdesign.tools;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+public class JopSimBench {
+
+	/**
+	 * Simulated clock frequency in MHz for the us counter
+	 */
+	static final int CLK_MHZ = 100;
+
+	/**
+	 * IO simulation with an us counter from the simulated
+	 * clock instead of the host time.
+	 */
+	static class ClockIO extends IOSimMin {
+		public int usCnt() {
+			return (int) (js.clkCnt/CLK_MHZ);
+		}
+	}
+
+	static class Result {
+		long time;
+		long clkCnt;
+		int instrCnt;
+		int cacheCost;
+		int instrBytes;
+		int[] bcStat;
+
+		boolean sameStat(Result r) {
+			return clkCnt==r.clkCnt && instrCnt==r.instrCnt &&
+				cacheCost==r.cacheCost && instrBytes==r.instrBytes &&
+				Arrays.equals(bcStat, r.bcStat);
+		}
+	}
+
+	static Result run(JopSim sim, boolean predecode) {
+
+		PrintStream out = System.out;
+		// the application output is not of interest
+		System.setOut(new PrintStream(new OutputStream() {
+			public void write(int b) {
+			}
+		}));
+
+		// start with a cold method cache and fresh IO devices
+		sim.cache = new Cache(JopSim.mem, sim);
+		sim.objectCacheSim = new ObjectCacheSim(JopSim.OBJECT_CACHE_ASSOC, JopSim.OBJECT_CACHE_FIELDS);
+		IOSimMin io = new ClockIO();
+		io.setCpuId(0);
+		io.setJopSimRef(sim);
+		sim.io = io;
+
+		JopSim.predecode = predecode;
+		JopSim.exit = false;
+		sim.start();
+		long t = System.nanoTime();
+		while (!JopSim.exit) {
+			sim.interpret();
+		}
+		t = System.nanoTime()-t;
+
+		System.setOut(out);
+
+		Result r = new Result();
+		r.time = t;
+		r.clkCnt = sim.clkCnt;
+		r.instrCnt = sim.instrCnt;
+		r.cacheCost = sim.cacheCost;
+		r.instrBytes = sim.cache.instrBytes();
+		r.bcStat = sim.bcStat.clone();
+		return r;
+	}
+
+	public static void main(String[] args) {
+
+		if (args.length<1) {
+			System.out.println("usage: java JopSimBench file.jop [runs]");
+			System.exit(-1);
+		}
+		int runs = 5;
+		if (args.length>1) {
+			runs = Integer.parseInt(args[1]);
+		}
+
+		JopSim.nrCpus = 1;
+		JopSim.js = new JopSim[1];
+		IOSimMin io = new ClockIO();
+		io.setCpuId(0);
+		JopSim sim = new JopSim(args[0], io, 0);
+		JopSim.js[0] = sim;
+
+		String[] name = { "interpreter", "pre-decoded" };
+		Result[] best = new Result[2];
+		Result[] first = new Result[2];
+
+		// warm up both versions
+		for (int mode=0; mode<2; ++mode) {
+			first[mode] = run(sim, mode==1);
+		}
+		for (int i=0; i<runs; ++i) {
+			for (int mode=0; mode<2; ++mode) {
+				Result r = run(sim, mode==1);
+				if (!r.sameStat(first[mode])) {
+					System.out.println("Run "+i+" of "+name[mode]+" is not deterministic");
+				}
+				if (best[mode]==null || r.time<best[mode].time) {
+					best[mode] = r;
+				}
+			}
+		}
+
+		System.out.println();
+		System.out.println(best[0].instrCnt+" instructions, "+best[0].clkCnt+" cycles");
+		for (int mode=0; mode<2; ++mode) {
+			Result r = best[mode];
+			System.out.println(name[mode]+": "+(r.time/1000000)+" ms, "+
+				(r.instrCnt*1000L/r.time)+" M instructions/s");
+		}
+		System.out.println("speedup: "+((float) best[0].time/best[1].time));
+		if (first[0].sameStat(first[1])) {
+			System.out.println("Statistics are identical");
+		} else {
+			System.out.println("Statistics differ!");
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,245 @@
+/*
+  This file is part of JOP, the Java Optimized Processor
+    see <http://www.jopdesign.com/>
+
+  Copyright (C) 2026, agent (agent@local)
+
+  This program is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  This program is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public License
+  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+
+/**
+*	JopSimMeasurement.java
+*
+*	Measure the execution of an application in JopSim for the
+*	comparison with the WCET analysis: the maximum cycles of a
+*	single invocation per method and the maximum iterations per
+*	loop entry of the watched loops.
+*
+*	The loops are given by the bytecode offset of the loop header
+*	and the offsets of the loop body. An iteration is the execution
+*	of the header after an instruction of the body (a back edge),
+*	as counted by the loop bounds of the WCET analysis.
+*
+*	With object cache configurations set, all of them are simulated
+*	in the same run and the maximum misses of a single invocation
+*	are recorded per configuration.
+*
+*	Methods are identified by the fully qualified name of the
+*	link info (class.method(signature)).
+*/
+
+package com.jopdesign.tools;
+
+import java.util.*;
+
+public class JopSimMeasurement {
+
+	/**
+	 * A watched loop.
+	 */
+	public static class Loop {
+		final String method;
+		final int header;
+		final BitSet body;
+
+		long entries;
+		long maxIterations;
+		// iterations of the current entry
+		long count;
+
+		Loop(String method, int header, BitSet body) {
+			this.method = method;
+			this.header = header;
+			this.body = body;
+		}
+
+		public String getMethod() {
+			return method;
+		}
+
+		public int getHeader() {
+			return header;
+		}
+
+		/**
+		 * @return how often the loop was entered
+		 */
+		public long getEntries() {
+			return entries;
+		}
+
+		/**
+		 * @return the maximum back edges of one entry
+		 */
+		public long getMaxIterations() {
+			return maxIterations;
+		}
+	}
+
+	String jopFile;
+	Map<String, List<Loop>> loops = new HashMap<String, List<Loop>>();
+	Map<Integer, String> names;
+	Map<String, JopSimProfiler.Stat> methods = new HashMap<String, JopSimProfiler.Stat>();
+	List<ObjectCacheSim> objectCaches;
+	long cycles;
+	boolean finished;
+
+	/**
+	 * @param jopFile the application as .jop or .jopb file with
+	 *	the link info next to it
+	 */
+	public JopSimMeasurement(String jopFile) {
+
+		this.jopFile = jopFile;
+	}
+
+	/**
+	 * Watch a loop.
+	 * @param method fully qualified method name
+	 * @param header bytecode offset of the loop header
+	 * @param body bytecode offsets of the loop instructions
+	 */
+	public Loop addLoop(String method, int header, BitSet body) {
+
+		Loop l = new Loop(method, header, body);
+		List<Loop> ml = loops.get(method);
+		if (ml==null) {
+			ml = new ArrayList<Loop>();
+			loops.put(method, ml);
+		}
+		ml.add(l);
+		return l;
+	}
+
+	/**
+	 * Simulate these object cache configurations, the first one is
+	 * used for the timing.
+	 */
+	public void setObjectCaches(List<ObjectCacheSim> caches) {
+
+		objectCaches = caches;
+	}
+
+	/**
+	 * The watched loops of a method indexed by the header offset,
+	 * null if there are none.
+	 */
+	Loop[] getLoops(int mp) {
+
+		String name = names.get(mp);
+		List<Loop> ml = name==null ? null : loops.get(name);
+		if (ml==null) {
+			return null;
+		}
+		int len = 0;
+		for (Loop l : ml) {
+			len = Math.max(len, l.header+1);
+		}
+		Loop[] w = new Loop[len];
+		for (Loop l : ml) {
+			w[l.header] = l;
+		}
+		return w;
+	}
+
+	/**
+	 * Simulate the application on a single CPU with the default
+	 * cache configuration.
+	 * @param maxInstr stop after this many instructions, 0 for no limit
+	 * @return false if the simulation was stopped before the end
+	 *	of the application
+	 */
+	public boolean run(int maxInstr) {
+
+		names = JopSimProfiler.readNames(jopFile);
+
+		JopSim.nrCpus = 1;
+		JopSim.js = new JopSim[1];
+		JopSim.exit = false;
+		JopSim.stopped = false;
+		IOSimMin io = new IOSimMin();
+		io.setCpuId(0);
+		JopSim sim = new JopSim(jopFile, io, maxInstr);
+		JopSim.js[0] = sim;
+		sim.measurement = this;
+		if (objectCaches!=null) {
+			ObjectCacheSim oc = objectCaches.get(0);
+			oc.setShadow(objectCaches.subList(1, objectCaches.size()));
+			oc.flushCache();
+			sim.objectCacheSim = oc;
+		}
+
+		sim.cache.use(0);
+		sim.start();
+		while (!JopSim.exit) {
+			sim.interpret();
+		}
+		System.out.println();
+
+		cycles = sim.clkCnt;
+		finished = !JopSim.stopped && (maxInstr==0 || sim.instrCnt<maxInstr);
+		methods = sim.profiler.collect(names, null, null);
+		return finished;
+	}
+
+	/**
+	 * @return the cycles of the whole run
+	 */
+	public long getCycles() {
+		return cycles;
+	}
+
+	/**
+	 * @return the number of invocations of the method
+	 */
+	public long getCalls(String method) {
+
+		JopSimProfiler.Stat s = methods.get(method);
+		return s==null ? 0 : s.calls;
+	}
+
+	/**
+	 * @return the maximum cycles of a single invocation of the method,
+	 *	without the method cache loads on invoke and return
+	 */
+	public long getMaxCycles(String method) {
+
+		JopSimProfiler.Stat s = methods.get(method);
+		return s==null ? 0 : s.maxCycles;
+	}
+
+	/**
+	 * @return the maximum misses of a single invocation of the method
+	 *	per object cache configuration, null if the method was not
+	 *	executed or no object caches are set
+	 */
+	public int[] getMaxObjectCacheMisses(String method) {
+
+		JopSimProfiler.Stat s = methods.get(method);
+		return s==null ? null : s.maxOcMisses;
+	}
+
+	/**
+	 * @return the watched loops of the method
+	 */
+	public List<Loop> getLoops(String method) {
+
+		List<Loop> ml = loops.get(method);
+		if (ml==null) {
+			return Collections.emptyList();
+		}
+		return ml;
+	}
+}
@@ -0,0 +1,451 @@
+/*
+  This file is part of JOP, the Java Optimized Processor
+    see <http://www.jopdesign.com/>
+
+  Copyright (C) 2026, agent (agent@local)
+
+  This program is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  This program is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public License
+  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+
+/**
+*	JopSimProfiler.java
+*
+*	Per method and per call path cycle profile of one CPU
+*	(-Dprofile=file).
+*
+*	The profiler follows invoke() and vreturn() and builds a call
+*	tree. Between two events the cycles, the method cache load
+*	cycles and the object cache misses are charged to the current
+*	node (exclusive values), the inclusive values are summed up
+*	on output. A return is matched against the frame by vp, so
+*	frames left by an exception are popped. If no frame matches
+*	(e.g. after a thread switch) the path starts again with the
+*	method returned to.
+*
+*	For a JopSimMeasurement the profiler also records the maximum
+*	cycles of a single invocation, the maximum misses of a single
+*	invocation for each simulated object cache configuration and
+*	the iterations of the loops to be watched. A loop header that is reached from an instruction
+*	of the loop body is a new iteration, otherwise a new entry.
+*
+*	Method names are read from the link info of JOPizer (the
+*	.jop.link.txt file next to the application).
+*
+*	Output:
+*		file.collapsed	exclusive cycles per call path in the collapsed
+*						stack format of FlameGraph (flamegraph.pl)
+*		file.csv		calls, inclusive and exclusive cycles, method
+*						cache load cycles, object cache misses and the
+*						maximum cycles of an invocation per method and
+*						per call path
+*/
+
+package com.jopdesign.tools;
+
+import java.io.*;
+import java.util.*;
+
+class JopSimProfiler {
+
+	/**
+	 * A node in the call tree.
+	 */
+	static class Node {
+		final int mp;
+		final Node parent;
+		Node child;
+		Node sibling;
+
+		long calls;
+		long cycles;
+		long cacheCycles;
+		long ocMisses;
+		long maxCycles;
+		// per object cache configuration, null if not measured
+		int[] maxOcMisses;
+
+		Node(int mp, Node parent) {
+			this.mp = mp;
+			this.parent = parent;
+		}
+
+		Node getChild(int mp) {
+			for (Node n=child; n!=null; n=n.sibling) {
+				if (n.mp==mp) return n;
+			}
+			Node n = new Node(mp, this);
+			n.sibling = child;
+			child = n;
+			return n;
+		}
+	}
+
+	/**
+	 * Sums per method.
+	 */
+	static class Stat {
+		long calls;
+		long inclusive;
+		long cycles;
+		long cacheCycles;
+		long ocMisses;
+		long maxCycles;
+		int[] maxOcMisses;
+	}
+
+	JopSim sim;
+	JopSimMeasurement measurement;
+	Node root = new Node(-1, null);
+
+	// the call stack
+	Node[] frame = new Node[64];
+	int[] frameVp = new int[64];
+	long[] frameClk = new long[64];
+	// last bytecode offset executed in the frame
+	int[] frameOff = new int[64];
+	int depth;
+
+	// object cache configurations of a measurement and their
+	// misses at the invoke of each frame (ocs.length per frame)
+	ObjectCacheSim[] ocs;
+	int[] frameOc;
+
+	// watched loops of the current method, indexed by header offset
+	JopSimMeasurement.Loop[] loops;
+	Map<Integer, JopSimMeasurement.Loop[]> loopsByMp;
+
+	long lastClk;
+	int lastMiss;
+	// the method cache load of the invoke is pending
+	boolean loading;
+
+	JopSimProfiler(JopSim sim, JopSimMeasurement measurement) {
+		this.sim = sim;
+		this.measurement = measurement;
+		frame[0] = root;
+		depth = 1;
+		lastClk = sim.clkCnt;
+		lastMiss = sim.objectCacheSim.getStats().missCount;
+		if (measurement!=null) {
+			loopsByMp = new HashMap<Integer, JopSimMeasurement.Loop[]>();
+			if (measurement.objectCaches!=null) {
+				ocs = sim.objectCacheSim.getConfigs();
+				frameOc = new int[frame.length*ocs.length];
+			}
+		}
+	}
+
+	/**
+	 * Charge the cycles and object cache misses since the last
+	 * event to the current node.
+	 */
+	private void charge() {
+
+		Node n = frame[depth-1];
+		n.cycles += sim.clkCnt-lastClk;
+		lastClk = sim.clkCnt;
+		int miss = sim.objectCacheSim.getStats().missCount;
+		// the statistic is reset on a cache flush
+		if (miss<lastMiss) {
+			lastMiss = 0;
+		}
+		n.ocMisses += miss-lastMiss;
+		lastMiss = miss;
+	}
+
+	/**
+	 * Called by invoke() after the new frame is set up.
+	 */
+	void enter() {
+
+		charge();
+		Node n = frame[depth-1].getChild(sim.mp);
+		++n.calls;
+		if (depth==frame.length) {
+			frame = Arrays.copyOf(frame, depth*2);
+			frameVp = Arrays.copyOf(frameVp, depth*2);
+			frameClk = Arrays.copyOf(frameClk, depth*2);
+			frameOff = Arrays.copyOf(frameOff, depth*2);
+			if (ocs!=null) {
+				frameOc = Arrays.copyOf(frameOc, depth*2*ocs.length);
+			}
+		}
+		frame[depth] = n;
+		frameVp[depth] = sim.vp;
+		frameClk[depth] = sim.clkCnt;
+		frameOff[depth] = -1;
+		saveOcMisses(depth);
+		++depth;
+		loading = true;
+		setLoops();
+	}
+
+	/**
+	 * Called by vreturn() after the frame of the caller is restored.
+	 */
+	void exit() {
+
+		charge();
+		for (int i=depth-2; i>0; --i) {
+			if (frameVp[i]==sim.vp && frame[i].mp==sim.mp) {
+				// the returning frame and frames left by an exception
+				for (int j=i+1; j<depth; ++j) {
+					long cycles = sim.clkCnt-frameClk[j];
+					if (cycles>frame[j].maxCycles) {
+						frame[j].maxCycles = cycles;
+					}
+					if (ocs!=null) {
+						maxOcMisses(j);
+					}
+				}
+				depth = i+1;
+				setLoops();
+				return;
+			}
+		}
+		frame[1] = root.getChild(sim.mp);
+		frameVp[1] = sim.vp;
+		frameClk[1] = sim.clkCnt;
+		frameOff[1] = -1;
+		saveOcMisses(1);
+		depth = 2;
+		setLoops();
+	}
+
+	private void saveOcMisses(int d) {
+
+		if (ocs==null) {
+			return;
+		}
+		for (int i=0; i<ocs.length; ++i) {
+			frameOc[d*ocs.length+i] = ocs[i].getStats().missCount;
+		}
+	}
+
+	/**
+	 * Update the maximum object cache misses of the frame at d.
+	 */
+	private void maxOcMisses(int d) {
+
+		Node n = frame[d];
+		if (n.maxOcMisses==null) {
+			n.maxOcMisses = new int[ocs.length];
+		}
+		for (int i=0; i<ocs.length; ++i) {
+			int miss = ocs[i].getStats().missCount-frameOc[d*ocs.length+i];
+			// negative after a cache flush
+			if (miss>n.maxOcMisses[i]) {
+				n.maxOcMisses[i] = miss;
+			}
+		}
+	}
+
+	/**
+	 * Look up the watched loops of the current method.
+	 */
+	private void setLoops() {
+
+		if (measurement==null) {
+			return;
+		}
+		Integer mp = Integer.valueOf(sim.mp);
+		if (loopsByMp.containsKey(mp)) {
+			loops = loopsByMp.get(mp);
+		} else {
+			loops = measurement.getLoops(sim.mp);
+			loopsByMp.put(mp, loops);
+		}
+	}
+
+	/**
+	 * Called before the execution of the instruction at pc.
+	 */
+	void instr(int pc) {
+
+		loading = false;
+		JopSimMeasurement.Loop[] w = loops;
+		if (w==null) {
+			return;
+		}
+		int off;
+		if (sim.cache.isMethodCache()) {
+			off = sim.cache.corrPc(pc);
+		} else {
+			off = pc-(JopSim.mem[sim.mp]>>>10)*4;
+		}
+		int last = frameOff[depth-1];
+		frameOff[depth-1] = off;
+		if (off<w.length && w[off]!=null) {
+			JopSimMeasurement.Loop l = w[off];
+			if (last>=0 && l.body.get(last)) {
+				++l.count;
+				if (l.count>l.maxIterations) {
+					l.maxIterations = l.count;
+				}
+			} else {
+				l.count = 0;
+				++l.entries;
+			}
+		}
+	}
+
+	/**
+	 * Method cache load cycles of the last invoke or return.
+	 * The load on invoke is not part of the maximum cycles of
+	 * the invocation, as the WCET analysis charges it to the
+	 * invoker (as the load on return, which happens after exit()).
+	 */
+	void cacheCycles(int cycles) {
+
+		frame[depth-1].cacheCycles += cycles;
+		if (loading) {
+			frameClk[depth-1] += cycles;
+			loading = false;
+		}
+	}
+
+	/**
+	 * Read the method names from the link info: the method struct
+	 * addresses are the "-mtab" entries.
+	 */
+	static Map<Integer, String> readNames(String jopFile) {
+
+		Map<Integer, String> names = new HashMap<Integer, String>();
+		String fname = jopFile;
+		if (fname.endsWith(JopImage.BIN_EXT)) {
+			fname = fname.substring(0, fname.length()-1);
+		}
+		fname += ".link.txt";
+		try {
+			BufferedReader in = new BufferedReader(new FileReader(fname));
+			String line;
+			while ((line = in.readLine())!=null) {
+				String[] tks = line.trim().split(" ");
+				if (tks.length==3 && tks[0].equals("-mtab")) {
+					names.put(Integer.valueOf(tks[2]), tks[1]);
+				}
+			}
+			in.close();
+		} catch (IOException e) {
+			System.out.println("No method names: "+e.getMessage());
+		}
+		return names;
+	}
+
+	/**
+	 * Write the collapsed stacks and the CSV file.
+	 */
+	void write(String fname, Map<Integer, String> names) throws IOException {
+
+		PrintWriter collapsed = new PrintWriter(new BufferedWriter(
+				new FileWriter(fname+".collapsed")));
+		PrintWriter csv = new PrintWriter(new BufferedWriter(
+				new FileWriter(fname+".csv")));
+		csv.println("type,name,calls,inclusive cycles,exclusive cycles,"+
+				"method cache load cycles,object cache misses,max cycles");
+
+		Map<String, Stat> methods = collect(names, collapsed, csv);
+		for (Map.Entry<String, Stat> e : methods.entrySet()) {
+			Stat s = e.getValue();
+			csv.println("method,"+quote(e.getKey())+","+s.calls+","+s.inclusive+","+
+					s.cycles+","+s.cacheCycles+","+s.ocMisses+","+s.maxCycles);
+		}
+		collapsed.close();
+		csv.close();
+	}
+
+	/**
+	 * Sum up the call tree per method, write the paths when
+	 * collapsed and csv are not null.
+	 */
+	Map<String, Stat> collect(Map<Integer, String> names,
+			PrintWriter collapsed, PrintWriter csv) {
+
+		charge();
+
+		Map<String, Stat> methods = new TreeMap<String, Stat>();
+		Map<String, Integer> active = new HashMap<String, Integer>();
+		for (Node n=root.child; n!=null; n=n.sibling) {
+			writePath(n, "", names, collapsed, csv, methods, active);
+		}
+		return methods;
+	}
+
+	/**
+	 * Depth first traversal of the call tree.
+	 * The inclusive cycles of a method are counted at the outermost
+	 * activation only, otherwise recursion would count them twice.
+	 * @return inclusive cycles of the subtree
+	 */
+	private long writePath(Node n, String path, Map<Integer, String> names,
+			PrintWriter collapsed, PrintWriter csv,
+			Map<String, Stat> methods, Map<String, Integer> active) {
+
+		String name = names.get(n.mp);
+		if (name==null) {
+			name = "mp_"+n.mp;
+		}
+		// ';' separates the frames in the collapsed format
+		String frameName = name.replace(';', ',');
+		path = path.length()==0 ? frameName : path+";"+frameName;
+
+		Integer cnt = active.get(name);
+		active.put(name, cnt==null ? 1 : cnt+1);
+
+		long inclusive = n.cycles;
+		for (Node c=n.child; c!=null; c=c.sibling) {
+			inclusive += writePath(c, path, names, collapsed, csv, methods, active);
+		}
+
+		active.put(name, cnt);
+		Stat s = methods.get(name);
+		if (s==null) {
+			s = new Stat();
+			methods.put(name, s);
+		}
+		s.calls += n.calls;
+		s.cycles += n.cycles;
+		s.cacheCycles += n.cacheCycles;
+		s.ocMisses += n.ocMisses;
+		if (n.maxCycles>s.maxCycles) {
+			s.maxCycles = n.maxCycles;
+		}
+		if (n.maxOcMisses!=null) {
+			if (s.maxOcMisses==null) {
+				s.maxOcMisses = new int[n.maxOcMisses.length];
+			}
+			for (int i=0; i<n.maxOcMisses.length; ++i) {
+				s.maxOcMisses[i] = Math.max(s.maxOcMisses[i], n.maxOcMisses[i]);
+			}
+		}
+		if (cnt==null) {
+			s.inclusive += inclusive;
+		}
+
+		if (collapsed!=null && n.cycles!=0) {
+			collapsed.println(path+" "+n.cycles);
+		}
+		if (csv!=null) {
+			csv.println("path,"+quote(path)+","+n.calls+","+inclusive+","+
+					n.cycles+","+n.cacheCycles+","+n.ocMisses+","+n.maxCycles);
+		}
+		return inclusive;
+	}
+
+	private static String quote(String s) {
+
+		return "\""+s.replace("\"", "\"\"")+"\"";
+	}
+}
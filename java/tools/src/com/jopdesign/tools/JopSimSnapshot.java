@@ -0,0 +1,305 @@
+/*
+  This file is part of JOP, the Java Optimized Processor
+    see <http://www.jopdesign.com/>
+
+  Copyright (C) 2026, agent (agent@local)
+
+  This program is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  This program is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public License
+  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+
+/**
+*	JopSimSnapshot.java
+*
+*	Checkpoint of the JopSim machine state: main memory and for
+*	each CPU the stack, scratchpad memory, registers, statistics,
+*	method cache, object cache and IOSimMin state.
+*
+*	A run can be warm started from a snapshot (-Drestore=file) instead
+*	of executing Startup, the class initializers and the application
+*	warm up again. The snapshot (-Dsnapshot=file) is written after
+*	instruction number -Dsnapshotat=n of CPU 0 or when the application
+*	writes to the simulator IO address SIM_SNAPSHOT, e.g. with
+*	Native.wr(1, -54). With -Dsnapshotmark=id only the write of id
+*	triggers the snapshot. In a quantum simulation the snapshot is
+*	taken at the end of the quantum.
+*
+*	Not part of the snapshot: the wall clock of the us counter, state
+*	of IO simulations derived from IOSimMin, the RTTM state and the
+*	open row of the SDRAM timing. On a restore the cache configuration
+*	of the snapshot is used.
+*/
+
+package com.jopdesign.tools;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+class JopSimSnapshot {
+
+	/** "JOPS" */
+	static final int MAGIC = 0x4a4f5053;
+	static final int VERSION = 3;
+
+	/**
+	 * Write the state of all CPUs.
+	 */
+	static void save(String fname, JopSim[] sims) throws IOException {
+
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+				new FileOutputStream(fname), 64*1024));
+		try {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(sims.length);
+			out.writeInt(appHash());
+
+			// main memory up to the last used word
+			int len = JopSim.mem.length;
+			while (len>0 && JopSim.mem[len-1]==0) {
+				--len;
+			}
+			out.writeInt(JopSim.heap);
+			writeInts(out, JopSim.mem, len);
+
+			out.writeInt(IOSimMin.cpuCnt);
+			out.writeBoolean(IOSimMin.startCMP);
+			out.writeBoolean(IOSimMin.globalLock);
+			out.writeInt(IOSimMin.lockOwner);
+
+			for (int i=0; i<sims.length; ++i) {
+				saveCpu(out, sims[i]);
+			}
+		} finally {
+			out.close();
+		}
+		System.out.println("Snapshot "+fname+" at instruction "+sims[0].instrCnt+
+				", "+sims[0].clkCnt+" cycles");
+	}
+
+	private static void saveCpu(DataOutputStream out, JopSim sim) throws IOException {
+
+		out.writeInt(sim.pc);
+		out.writeInt(sim.cp);
+		out.writeInt(sim.vp);
+		out.writeInt(sim.sp);
+		out.writeInt(sim.mp);
+		out.writeInt(sim.jjp);
+		out.writeInt(sim.jjhp);
+		out.writeBoolean(sim.intExcept);
+		out.writeInt(sim.exceptReason);
+		// the object being copied by the GC, used to translate addresses
+		out.writeInt(sim.copy_src);
+		out.writeInt(sim.copy_dest);
+		out.writeInt(sim.copy_pos);
+		out.writeBoolean(sim.ocHit);
+
+		out.writeInt(sim.instrCnt);
+		out.writeLong(sim.clkCnt);
+		out.writeInt(sim.localCnt);
+		out.writeInt(sim.maxSp);
+		out.writeInt(sim.cacheCost);
+		out.writeInt(sim.rdMemCnt);
+		out.writeInt(sim.wrMemCnt);
+		out.writeLong(sim.memCycles);
+		out.writeLong(sim.memNow);
+		writeInts(out, sim.bcStat, sim.bcStat.length);
+		writeInts(out, sim.accRdCnt, sim.accRdCnt.length);
+		writeInts(out, sim.accWrCnt, sim.accWrCnt.length);
+
+		writeInts(out, sim.stack, sim.stack.length);
+		writeInts(out, sim.scratchMem, sim.scratchMem.length);
+
+		IOSimMin io = sim.io;
+		for (int i=0; i<io.exitBuf.length; ++i) {
+			out.writeChar(io.exitBuf[i]);
+		}
+		out.writeInt(io.moncnt);
+		out.writeLong(io.lockRequest);
+		out.writeInt(io.interrupt);
+		out.writeInt(io.mask);
+		out.writeBoolean(io.intEna);
+		out.writeBoolean(io.timeShot);
+		out.writeInt(io.nextTimerInt);
+		out.writeInt(io.intNr);
+
+		// the caches contain only primitive state
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(sim.cache);
+		oos.writeObject(sim.objectCacheSim);
+		oos.close();
+		out.writeInt(bos.size());
+		bos.writeTo(out);
+	}
+
+	/**
+	 * Restore the state of all CPUs. Called after start() with
+	 * the same application.
+	 */
+	static void restore(String fname, JopSim[] sims) throws IOException {
+
+		RandomAccessFile f = new RandomAccessFile(fname, "r");
+		MappedByteBuffer bb;
+		try {
+			FileChannel ch = f.getChannel();
+			bb = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+		} finally {
+			f.close();
+		}
+
+		if (bb.getInt()!=MAGIC) {
+			throw new IOException(fname+": not a JopSim snapshot");
+		}
+		int version = bb.getInt();
+		if (version!=VERSION) {
+			throw new IOException(fname+": unknown snapshot version "+version);
+		}
+		int cpus = bb.getInt();
+		if (cpus!=sims.length) {
+			throw new IOException(fname+": snapshot of "+cpus+" CPUs, simulating "+
+					sims.length);
+		}
+		if (bb.getInt()!=appHash()) {
+			throw new IOException(fname+": snapshot of a different application");
+		}
+
+		JopSim.heap = bb.getInt();
+		int len = readInts(bb, JopSim.mem);
+		Arrays.fill(JopSim.mem, len, JopSim.mem.length, 0);
+
+		IOSimMin.cpuCnt = bb.getInt();
+		IOSimMin.startCMP = getBoolean(bb);
+		IOSimMin.globalLock = getBoolean(bb);
+		IOSimMin.lockOwner = bb.getInt();
+
+		for (int i=0; i<sims.length; ++i) {
+			restoreCpu(bb, sims[i]);
+		}
+		System.out.println("Restored "+fname+" at instruction "+sims[0].instrCnt+
+				", "+sims[0].clkCnt+" cycles");
+	}
+
+	private static void restoreCpu(ByteBuffer bb, JopSim sim) throws IOException {
+
+		sim.pc = bb.getInt();
+		sim.cp = bb.getInt();
+		sim.vp = bb.getInt();
+		sim.sp = bb.getInt();
+		sim.mp = bb.getInt();
+		sim.jjp = bb.getInt();
+		sim.jjhp = bb.getInt();
+		sim.intExcept = getBoolean(bb);
+		sim.exceptReason = bb.getInt();
+		sim.copy_src = bb.getInt();
+		sim.copy_dest = bb.getInt();
+		sim.copy_pos = bb.getInt();
+		sim.ocHit = getBoolean(bb);
+
+		sim.instrCnt = bb.getInt();
+		sim.clkCnt = bb.getLong();
+		sim.localCnt = bb.getInt();
+		sim.maxSp = bb.getInt();
+		sim.cacheCost = bb.getInt();
+		sim.rdMemCnt = bb.getInt();
+		sim.wrMemCnt = bb.getInt();
+		sim.memCycles = bb.getLong();
+		sim.memNow = bb.getLong();
+		readInts(bb, sim.bcStat);
+		readInts(bb, sim.accRdCnt);
+		readInts(bb, sim.accWrCnt);
+
+		readInts(bb, sim.stack);
+		readInts(bb, sim.scratchMem);
+
+		IOSimMin io = sim.io;
+		for (int i=0; i<io.exitBuf.length; ++i) {
+			io.exitBuf[i] = bb.getChar();
+		}
+		io.moncnt = bb.getInt();
+		io.lockRequest = bb.getLong();
+		io.interrupt = bb.getInt();
+		io.mask = bb.getInt();
+		io.intEna = getBoolean(bb);
+		io.timeShot = getBoolean(bb);
+		io.nextTimerInt = bb.getInt();
+		io.intNr = bb.getInt();
+
+		byte[] buf = new byte[bb.getInt()];
+		bb.get(buf);
+		ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(buf));
+		try {
+			sim.cache = (Cache) ois.readObject();
+			sim.objectCacheSim = (ObjectCacheSim) ois.readObject();
+		} catch (ClassNotFoundException e) {
+			throw new IOException(e.getMessage());
+		}
+		ois.close();
+		sim.cache.relink(JopSim.mem, sim);
+		if (sim.profiler!=null) {
+			// profile from the restored state on
+			sim.profiler = new JopSimProfiler(sim, sim.measurement);
+		}
+
+		// the pc is relative to the restored method cache
+		sim.usePredecode = JopSim.predecode && sim.cache.isMethodCache();
+		if (sim.usePredecode) {
+			sim.decodedMethods = new DecodedMethod[JopSim.MAX_MEM];
+			int start = JopSim.mem[sim.mp];
+			sim.enterMethod(start>>>10, start & 0x03ff, sim.pc-sim.cache.corrPc(sim.pc));
+		}
+	}
+
+	/**
+	 * Identify the loaded application.
+	 */
+	private static int appHash() {
+
+		int h = JopSim.empty_heap;
+		for (int i=0; i<JopSim.empty_heap; ++i) {
+			h = 31*h + JopSim.mem_load[i];
+		}
+		return h;
+	}
+
+	private static void writeInts(DataOutputStream out, int[] a, int len) throws IOException {
+
+		ByteBuffer bb = ByteBuffer.allocate(len*4);
+		bb.asIntBuffer().put(a, 0, len);
+		out.writeInt(len);
+		out.write(bb.array());
+	}
+
+	/**
+	 * @return the number of words read into a
+	 */
+	private static int readInts(ByteBuffer bb, int[] a) throws IOException {
+
+		int len = bb.getInt();
+		if (len<0 || len>a.length) {
+			throw new IOException("snapshot array of "+len+" words, expected "+a.length);
+		}
+		bb.asIntBuffer().get(a, 0, len);
+		bb.position(bb.position()+len*4);
+		return len;
+	}
+
+	private static boolean getBoolean(ByteBuffer bb) {
+
+		return bb.get()!=0;
+	}
+}
@@ -29,6 +29,8 @@ package com.jopdesign.tools;
 
 public class LRUBlockCache extends Cache {
 
+	private static final long serialVersionUID = 1L;
+
 	int[] ctag;
 //	int[] clen;		// for different replace policy
 	int[] lrucnt;
@@ -152,6 +154,11 @@ for (int i=0; i<4; ++i) System.out.print(clen[i]+" "); System.out.println(" new
 		return bc[addr];
 	}
 
+	boolean isMethodCache() {
+
+		return true;
+	}
+
 
 	public String toString() {
 
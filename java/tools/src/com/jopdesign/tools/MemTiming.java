@@ -0,0 +1,206 @@
+/*
+  This file is part of JOP, the Java Optimized Processor
+    see <http://www.jopdesign.com/>
+
+  Copyright (C) 2026, agent (agent@local)
+
+  This program is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  This program is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public License
+  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+
+/**
+*	MemTiming.java
+*
+*	Timing model of the main memory for JopSim (-Dmemtiming=sram).
+*
+*	The bytecode timing of WCETInstruction contains the memory
+*	accesses with the wait states WCETInstruction.r and .w. The
+*	model returns the additional cycles of an access relative to
+*	that timing, therefore the default model does not change the
+*	simulated cycles.
+*
+*	Options:
+*		-Dmemrd=n		read wait states (default WCETInstruction.r)
+*		-Dmemwr=n		write wait states (default WCETInstruction.w)
+*		-Docache=true	field reads (and array reads when cached, see
+*						ObjectCacheSim) that hit in the object cache
+*						have no wait states
+*		-Dtdmaslot=n	TDMA memory arbiter of a CMP with slots of
+*						n cycles, an access waits for the slot of its
+*						CPU and has to fit into the slot
+*
+*	The method cache load time follows WCETInstruction.calculateB
+*	with the read wait states of the model, in a CMP the load only
+*	proceeds in the slots of the CPU.
+*/
+
+package com.jopdesign.tools;
+
+import com.jopdesign.timing.WCETInstruction;
+
+class MemTiming {
+
+	int rdWait;
+	int wrWait;
+	boolean objectCache;
+
+	// TDMA arbitration
+	int cpus = 1;
+	int cpuId;
+	int slot;
+
+	MemTiming(int rdWait, int wrWait) {
+		this.rdWait = rdWait;
+		this.wrWait = wrWait;
+	}
+
+	/**
+	 * Create the model selected with -Dmemtiming, null for the
+	 * plain bytecode timing.
+	 */
+	static MemTiming create(int cpuId, int cpus) {
+
+		String model = System.getProperty("memtiming");
+		int slot = Integer.parseInt(System.getProperty("tdmaslot", "0"));
+		boolean ocache = System.getProperty("ocache", "false").equals("true");
+		if (model==null && slot==0 && !ocache) {
+			return null;
+		}
+		int rd = Integer.parseInt(System.getProperty("memrd", ""+WCETInstruction.r));
+		int wr = Integer.parseInt(System.getProperty("memwr", ""+WCETInstruction.w));
+
+		MemTiming mt;
+		if (model==null || model.equals("sram")) {
+			mt = new MemTiming(rd, wr);
+		} else if (model.equals("sdram")) {
+			mt = new SdramTiming(rd, wr);
+		} else {
+			throw new IllegalArgumentException("Unknown memory timing model "+model);
+		}
+		mt.objectCache = ocache;
+		if (cpus>1 && slot>0) {
+			if (slot<=Math.max(rd, wr)) {
+				throw new IllegalArgumentException("TDMA slot of "+slot+
+						" cycles is too short for a memory access");
+			}
+			mt.cpus = cpus;
+			mt.cpuId = cpuId;
+			mt.slot = slot;
+		}
+		return mt;
+	}
+
+	/**
+	 * Wait states of an access, without arbitration.
+	 */
+	int waitStates(long now, int addr, boolean write) {
+
+		return write ? wrWait : rdWait;
+	}
+
+	/**
+	 * Additional cycles of a read.
+	 * @param now time of the access
+	 * @param ocHit the field or array read hit in the object cache
+	 */
+	int read(long now, int addr, JopSim.Access type, boolean ocHit) {
+
+		if (ocHit && objectCache &&
+				(type==JopSim.Access.FIELD || type==JopSim.Access.ARRAY)) {
+			return -WCETInstruction.r;
+		}
+		int ws = waitStates(now, addr, false);
+		return arbitrate(now, ws+1)+ws-WCETInstruction.r;
+	}
+
+	/**
+	 * Additional cycles of a write.
+	 */
+	int write(long now, int addr, JopSim.Access type) {
+
+		int ws = waitStates(now, addr, true);
+		return arbitrate(now, ws+1)+ws-WCETInstruction.w;
+	}
+
+	/**
+	 * Cycles to load n words into the method cache, including the
+	 * arbitration; 4 cycles on a hit as in WCETInstruction.
+	 */
+	int methodLoad(long now, boolean hit, int n) {
+
+		if (hit) {
+			return 4;
+		}
+		int c = Math.max(0, rdWait-1);
+		int b = 6+(n+1)*(2+c);
+		return b+burst(now, b);
+	}
+
+	/**
+	 * Cycles to wait for the own slot, an access of len cycles has
+	 * to fit into the slot.
+	 */
+	int arbitrate(long now, int len) {
+
+		if (slot==0) {
+			return 0;
+		}
+		int period = cpus*slot;
+		int pos = (int) (now%period)-cpuId*slot;
+		if (pos>=0 && pos+len<=slot) {
+			return 0;
+		}
+		if (pos<0) {
+			return -pos;
+		}
+		return period-pos;
+	}
+
+	/**
+	 * Additional cycles of a burst of len cycles that is only
+	 * active in the own slots.
+	 */
+	int burst(long now, int len) {
+
+		if (slot==0) {
+			return 0;
+		}
+		int period = cpus*slot;
+		long t = now;
+		int remaining = len;
+		while (remaining>0) {
+			int pos = (int) (t%period)-cpuId*slot;
+			if (pos>=0 && pos<slot) {
+				int n = Math.min(remaining, slot-pos);
+				remaining -= n;
+				t += n;
+			} else {
+				t += pos<0 ? -pos : period-pos;
+			}
+		}
+		return (int) (t-now)-len;
+	}
+
+	public String toString() {
+
+		String s = getClass().getSimpleName()+" rd="+rdWait+" wr="+wrWait;
+		if (objectCache) {
+			s += ", object cache";
+		}
+		if (slot>0) {
+			s += ", TDMA "+cpus+"x"+slot+" cycles";
+		}
+		return s;
+	}
+}
@@ -1,81 +1,416 @@
 package com.jopdesign.tools;
 
-public class ObjectCacheSim {
-	private static final boolean CACHE_SINGLE_FIELDS = 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringTokenizer;
+
+/**
+ * Simulation of the object cache.
+ * <p>
+ * A cache line holds the first fields of one object (the tag is the
+ * object address after the handle indirection), fields with a higher
+ * index bypass the cache and count as miss. A miss loads the block of
+ * the accessed field into the line. In the field-as-tag mode each line
+ * holds a single field. Arrays bypass the cache, unless configured.
+ * </p>
+ * <p>
+ * Several configurations can be simulated in one run
+ * (-Docaches=config,config,...). The first one is used for the timing,
+ * the others see the same accesses (as the shadow caches of the method
+ * cache sweep). A configuration is
+ * <pre>
+ *   [setsx]ways:line[:block][:lru|fifo|plru][:update|invalidate|allocate][:arrays][:field]
+ * </pre>
+ * with the line and block size in words, e.g. 16:32, 4x4:8:2:plru or
+ * 64:1:field. The default is a fully associative LRU cache with the
+ * whole line loaded on a miss and a write-through that updates the
+ * cached field (update). A write can also invalidate the line
+ * (invalidate) or allocate it on a miss (allocate).
+ * </p>
+ */
+public class ObjectCacheSim implements Serializable {
+	private static final long serialVersionUID = 1L;
+	private static final boolean CACHE_SINGLE_FIELDS =
 		System.getenv("WCET_CACHE_FIELDS_ONLY") != null;
+
+	public enum Replacement { LRU, FIFO, PLRU };
+	public enum WritePolicy { UPDATE, INVALIDATE, ALLOCATE };
+
+	private int sets;
 	private int assoc;
+	private int lineWords;
+	private int blockWords;
+	private Replacement replacement = Replacement.LRU;
+	private WritePolicy writePolicy = WritePolicy.UPDATE;
+	private boolean cacheArrays;
+	private boolean fieldTag;
 	private ObjectCacheStat stats;
-	private int osize;
+
 	private int[] tags;
-	public static class ObjectCacheStat {
+	// valid blocks of a line, 0 is an empty line
+	private int[] valid;
+	// LRU: last access, FIFO: load time
+	private long[] stamp;
+	private long tick;
+	// PLRU: tree bits per set
+	private int[] plru;
+
+	/* configurations that see the same accesses */
+	ObjectCacheSim[] shadow = new ObjectCacheSim[0];
+	private boolean sweep;
+
+	public static class ObjectCacheStat implements Serializable {
+		private static final long serialVersionUID = 1L;
 		public int missCount = 0, accessCount = 0;
+		/* misses due to fields out of the line */
+		public int bypassCount = 0;
+		public int writeCount = 0, writeHitCount = 0;
+		public long loadWords = 0;
 		public void reset() {
 			missCount = 0;
 			accessCount = 0;
+			bypassCount = 0;
+			writeCount = 0;
+			writeHitCount = 0;
+			loadWords = 0;
+		}
+		public double hitRate() {
+			if (accessCount == 0) return 0;
+			return (double) (accessCount - missCount) / accessCount;
 		}
 	}
+
+	/**
+	 * A fully associative LRU cache of osize fields per object.
+	 */
 	public ObjectCacheSim(int assoc, int osize) {
+		this(1, assoc, CACHE_SINGLE_FIELDS ? 1 : osize, CACHE_SINGLE_FIELDS ? 1 : osize);
+		this.fieldTag = CACHE_SINGLE_FIELDS;
+	}
+
+	public ObjectCacheSim(int sets, int assoc, int lineWords, int blockWords) {
+		if (Integer.bitCount(sets) != 1 || assoc < 1 || lineWords < 1
+				|| blockWords < 1 || lineWords > 32 * blockWords) {
+			throw new IllegalArgumentException("Invalid object cache configuration: "
+					+ sets + "x" + assoc + ":" + lineWords + ":" + blockWords);
+		}
+		this.sets = sets;
 		this.assoc = assoc;
-		this.osize = osize;
+		this.lineWords = lineWords;
+		this.blockWords = blockWords;
 		this.stats = new ObjectCacheStat();
-		this.tags = new int[assoc];
-		for(int i = 0; i < assoc; i++) tags[i] = 0;
+		this.tags = new int[sets * assoc];
+		this.valid = new int[sets * assoc];
+		this.stamp = new long[sets * assoc];
+		this.plru = new int[sets];
+	}
+
+	/**
+	 * The object cache of JopSim: the configurations from -Docaches,
+	 * otherwise the default cache (OC_ASSOC changes the associativity).
+	 */
+	static ObjectCacheSim create() {
+		String configs = System.getProperty("ocaches");
+		if (configs != null) {
+			List<ObjectCacheSim> l = parseConfigs(configs);
+			ObjectCacheSim oc = l.get(0);
+			oc.shadow = l.subList(1, l.size()).toArray(new ObjectCacheSim[l.size() - 1]);
+			oc.sweep = true;
+			return oc;
+		}
+		int ocAssoc;
+		if(System.getenv("OC_ASSOC") != null) {
+			ocAssoc = Integer.parseInt(System.getenv("OC_ASSOC"));
+		} else {
+			ocAssoc = JopSim.OBJECT_CACHE_ASSOC;
+		}
+		return new ObjectCacheSim(ocAssoc, JopSim.OBJECT_CACHE_FIELDS);
+	}
+
+	/**
+	 * Create the caches from a list of configurations.
+	 */
+	public static List<ObjectCacheSim> parseConfigs(String configs) {
+		List<ObjectCacheSim> l = new ArrayList<ObjectCacheSim>();
+		StringTokenizer st = new StringTokenizer(configs, ",");
+		while (st.hasMoreTokens()) {
+			l.add(parseConfig(st.nextToken().trim()));
+		}
+		if (l.isEmpty()) {
+			throw new IllegalArgumentException("No object cache configuration in: " + configs);
+		}
+		return l;
+	}
+
+	private static ObjectCacheSim parseConfig(String config) {
+		String[] c = config.split(":");
+		try {
+			int sets = 1;
+			String w = c[0];
+			int x = w.indexOf('x');
+			if (x >= 0) {
+				sets = Integer.parseInt(w.substring(0, x));
+				w = w.substring(x + 1);
+			}
+			int ways = Integer.parseInt(w);
+			int line = Integer.parseInt(c[1]);
+			int i = 2;
+			int block = line;
+			if (c.length > 2 && Character.isDigit(c[2].charAt(0))) {
+				block = Integer.parseInt(c[2]);
+				++i;
+			}
+			Replacement repl = Replacement.LRU;
+			WritePolicy wp = WritePolicy.UPDATE;
+			boolean arrays = false, field = false;
+			for (; i < c.length; ++i) {
+				String k = c[i].toLowerCase();
+				if (k.equals("arrays")) {
+					arrays = true;
+				} else if (k.equals("field")) {
+					field = true;
+				} else if (k.equals("lru") || k.equals("fifo") || k.equals("plru")) {
+					repl = Replacement.valueOf(k.toUpperCase());
+				} else {
+					wp = WritePolicy.valueOf(k.toUpperCase());
+				}
+			}
+			if (field) {
+				line = block = 1;
+			}
+			ObjectCacheSim oc = new ObjectCacheSim(sets, ways, line, block);
+			if (repl == Replacement.PLRU && (Integer.bitCount(ways) != 1 || ways > 32)) {
+				throw new IllegalArgumentException("PLRU needs a power of 2 ways up to 32");
+			}
+			oc.replacement = repl;
+			oc.writePolicy = wp;
+			oc.cacheArrays = arrays;
+			oc.fieldTag = field;
+			return oc;
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Unknown object cache configuration: "
+					+ config + " (" + e.getMessage() + ")");
+		}
+	}
+
+	/**
+	 * @return true on a cache hit
+	 */
+	public boolean accessField(int ref, int off) {
+		for (ObjectCacheSim s : shadow) s.read(ref, off, false);
+		return read(ref, off, false);
+	}
+
+	/**
+	 * @return true on a cache hit, false for a miss or when
+	 *  arrays are not cached
+	 */
+	public boolean accessArray(int ref, int idx) {
+		for (ObjectCacheSim s : shadow) s.read(ref, idx, true);
+		return read(ref, idx, true);
+	}
+
+	public void writeField(int ref, int off) {
+		for (ObjectCacheSim s : shadow) s.write(ref, off, false);
+		write(ref, off, false);
+	}
+
+	public void writeArray(int ref, int idx) {
+		for (ObjectCacheSim s : shadow) s.write(ref, idx, true);
+		write(ref, idx, true);
 	}
 
-	public void accessField(int ref, int off) {
-		int addr;
-		if(CACHE_SINGLE_FIELDS) addr = ref+off;
-		else                    addr = ref;
+	private boolean read(int ref, int off, boolean array) {
+		if (array && !cacheArrays) return false;
 		this.stats.accessCount++;
-		if(! CACHE_SINGLE_FIELDS && off > osize) {
+		int tag = ref;
+		if (fieldTag) {
+			tag = ref + off;
+			off = 0;
+		} else if (off >= lineWords) {
+			stats.bypassCount++;
 			stats.missCount++;
+			return false;
+		}
+		int set = tag & (sets - 1);
+		int line = lookup(set, tag);
+		int block = 1 << (off / blockWords);
+		if (line >= 0 && (valid[line] & block) != 0) {
+			touch(set, line);
+			return true;
+		}
+		stats.missCount++;
+		load(set, line, tag, block);
+		return false;
+	}
+
+	private void write(int ref, int off, boolean array) {
+		if (array && !cacheArrays) return;
+		stats.writeCount++;
+		int tag = ref;
+		if (fieldTag) {
+			tag = ref + off;
+			off = 0;
+		} else if (off >= lineWords) {
 			return;
 		}
-		if(! isCached(addr)) {
-			stats.missCount++;
+		int set = tag & (sets - 1);
+		int line = lookup(set, tag);
+		int block = 1 << (off / blockWords);
+		boolean hit = line >= 0 && (valid[line] & block) != 0;
+		if (hit) stats.writeHitCount++;
+		switch (writePolicy) {
+		case INVALIDATE:
+			if (line >= 0) valid[line] = 0;
+			break;
+		case ALLOCATE:
+			if (hit) {
+				touch(set, line);
+			} else {
+				load(set, line, tag, block);
+			}
+			break;
+		default:
+			// write through, the cached field is updated
+			break;
 		}
-		loadObject(addr);
 	}
-	// 0 is first entry
-	private void loadObject(int ref) {
-		if(tags[0] == ref) return;
-		int i = 0;
-		int floating = ref;
-		// Invariant: 'floating' needs to be stored somewhere
-		do {
-			int tmp = tags[i];
-			tags[i] = floating;
-			floating = tmp;
-			i++;
-		} while(i < assoc && tags[i] != ref);
-		if(i < assoc) { // tags[i] = ref
-			tags[i] = floating;
+
+	/**
+	 * @return the line of the tag or -1
+	 */
+	private int lookup(int set, int tag) {
+		int base = set * assoc;
+		for (int i = base; i < base + assoc; i++) {
+			if (valid[i] != 0 && tags[i] == tag) return i;
 		}
+		return -1;
 	}
 
-	private boolean isCached(int ref) {
-		for(int i = 0; i < assoc; i++) {
-			if(tags [i] == ref) return true;
+	/**
+	 * Load a block, into a new line if line is -1.
+	 */
+	private void load(int set, int line, int tag, int block) {
+		if (line < 0) {
+			line = victim(set);
+			tags[line] = tag;
+			valid[line] = 0;
+			stamp[line] = ++tick;
 		}
-		return false;
+		valid[line] |= block;
+		stats.loadWords += blockWords;
+		touch(set, line);
 	}
+
+	private void touch(int set, int line) {
+		switch (replacement) {
+		case LRU:
+			stamp[line] = ++tick;
+			break;
+		case PLRU:
+			// the tree bits point away from the accessed way
+			int way = line - set * assoc;
+			int node = 1;
+			for (int l = assoc >> 1; l > 0; l >>= 1) {
+				int bit = (way & l) != 0 ? 1 : 0;
+				if (bit == 0) plru[set] |= 1 << node;
+				else          plru[set] &= ~(1 << node);
+				node = node * 2 + bit;
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	private int victim(int set) {
+		int base = set * assoc;
+		for (int i = base; i < base + assoc; i++) {
+			if (valid[i] == 0) return i;
+		}
+		if (replacement == Replacement.PLRU) {
+			int node = 1, way = 0;
+			for (int l = assoc >> 1; l > 0; l >>= 1) {
+				int bit = (plru[set] >>> node) & 1;
+				way = way * 2 + bit;
+				node = node * 2 + bit;
+			}
+			return base + way;
+		}
+		int v = base;
+		for (int i = base + 1; i < base + assoc; i++) {
+			if (stamp[i] < stamp[v]) v = i;
+		}
+		return v;
+	}
+
 	public void resetStats() {
 		stats.reset();
+		for (ObjectCacheSim s : shadow) s.resetStats();
 	}
 	public ObjectCacheStat getStats() {
 		return stats;
 	}
 
+	/**
+	 * @return this cache and the shadow caches
+	 */
+	public ObjectCacheSim[] getConfigs() {
+		ObjectCacheSim[] all = new ObjectCacheSim[shadow.length + 1];
+		all[0] = this;
+		System.arraycopy(shadow, 0, all, 1, shadow.length);
+		return all;
+	}
+
+	public void setShadow(List<ObjectCacheSim> l) {
+		shadow = l.toArray(new ObjectCacheSim[l.size()]);
+	}
+
+	/**
+	 * @return true if the configurations are given by -Docaches
+	 */
+	boolean isSweep() {
+		return sweep;
+	}
+
 	public void flushCache() {
 		resetStats();
-		for(int i = 0; i < assoc; i++) tags[i] = 0;
+		Arrays.fill(valid, 0);
+		for (ObjectCacheSim s : shadow) s.flushCache();
 	}
 
 	public void dumpStats() {
-		int ac = stats.accessCount;
-		int mc = stats.missCount;
-		System.out.println(
-				String.format("Object Cache: Assoc: %d, Access: %d, Miss: %d, Ration: %.2f %%",
-						assoc, ac,mc,(double)(ac-mc)/(double)(ac)*100.0));
+		for (ObjectCacheSim s : getConfigs()) {
+			int ac = s.stats.accessCount;
+			int mc = s.stats.missCount;
+			System.out.println(
+					String.format("Object Cache: %s, Access: %d, Miss: %d, Ration: %.2f %%",
+							s, ac,mc,(double)(ac-mc)/(double)(ac)*100.0));
+		}
+	}
+
+	/**
+	 * Print the hit rates of all configurations.
+	 */
+	public void sweepStat() {
+		System.out.println("Object cache & hit rate & misses & bypass & words loaded & write hits \\\\");
+		for (ObjectCacheSim s : getConfigs()) {
+			ObjectCacheStat st = s.stats;
+			System.out.println(String.format("%s & %.2f & %d & %d & %d & %d \\\\",
+					s, s.stats.hitRate() * 100, st.missCount, st.bypassCount,
+					st.loadWords, st.writeHitCount));
+		}
+	}
+
+	public String toString() {
+		String s = (sets > 1 ? sets + "x" : "") + assoc + ":" + lineWords;
+		if (fieldTag) return s + ":field";
+		if (blockWords != lineWords) s += ":" + blockWords;
+		s += ":" + replacement.toString().toLowerCase();
+		if (writePolicy != WritePolicy.UPDATE) s += ":" + writePolicy.toString().toLowerCase();
+		if (cacheArrays) s += ":arrays";
+		return s;
 	}
 }
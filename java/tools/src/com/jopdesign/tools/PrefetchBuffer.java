@@ -29,6 +29,8 @@ package com.jopdesign.tools;
 
 public class PrefetchBuffer extends Cache {
 
+	private static final long serialVersionUID = 1L;
+
 	int buf1, buf2;
 	int bufAddr1 = -1;
 	int bufAddr2 = -1;
@@ -81,5 +83,10 @@ public class PrefetchBuffer extends Cache {
 		return (byte) (buf1>>>(8*(3-(addr&0x03))));
 	}
 
+	boolean isMethodCache() {
+
+		return false;
+	}
+
 
 }
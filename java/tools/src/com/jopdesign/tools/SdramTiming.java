@@ -0,0 +1,96 @@
+/*
+  This file is part of JOP, the Java Optimized Processor
+    see <http://www.jopdesign.com/>
+
+  Copyright (C) 2026, agent (agent@local)
+
+  This program is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  This program is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public License
+  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+
+/**
+*	SdramTiming.java
+*
+*	SDRAM timing for JopSim (-Dmemtiming=sdram): an open page policy
+*	with one open row, an access to another row pays for precharge
+*	and activation. The refresh blocks the memory periodically.
+*
+*	Options (besides the ones of MemTiming):
+*		-Dsdramrow=n		row size in words (default 256)
+*		-Dsdramrowmiss=n	cycles of precharge and activation (default 4)
+*		-Dsdramrefresh=n	refresh interval in cycles (default 780,
+*							7.8 us at 100 MHz)
+*		-Dsdramrefreshcycles=n	cycles of a refresh (default 7)
+*
+*	Each CPU of a CMP has its own model, the rows opened by the other
+*	CPUs are not seen.
+*/
+
+package com.jopdesign.tools;
+
+class SdramTiming extends MemTiming {
+
+	int rowShift;
+	int rowMiss;
+	int refreshInterval;
+	int refreshCycles;
+
+	int openRow = -1;
+	long nextRefresh;
+
+	SdramTiming(int rdWait, int wrWait) {
+
+		super(rdWait, wrWait);
+		int row = Integer.parseInt(System.getProperty("sdramrow", "256"));
+		rowShift = Integer.numberOfTrailingZeros(Integer.highestOneBit(row));
+		rowMiss = Integer.parseInt(System.getProperty("sdramrowmiss", "4"));
+		refreshInterval = Integer.parseInt(System.getProperty("sdramrefresh", "780"));
+		refreshCycles = Integer.parseInt(System.getProperty("sdramrefreshcycles", "7"));
+		nextRefresh = refreshInterval;
+	}
+
+	int waitStates(long now, int addr, boolean write) {
+
+		int ws = write ? wrWait : rdWait;
+		if (refreshInterval>0 && now>=nextRefresh) {
+			// the refresh closes the open row before the access
+			ws += refreshCycles;
+			openRow = -1;
+			nextRefresh += ((now-nextRefresh)/refreshInterval+1)*refreshInterval;
+		}
+		int row = addr>>>rowShift;
+		if (row!=openRow) {
+			ws += rowMiss;
+			openRow = row;
+		}
+		return ws;
+	}
+
+	int methodLoad(long now, boolean hit, int n) {
+
+		int b = super.methodLoad(now, hit, n);
+		if (!hit) {
+			// a burst from the closed row
+			b += rowMiss;
+			openRow = -1;
+		}
+		return b;
+	}
+
+	public String toString() {
+
+		return super.toString()+", row "+(1<<rowShift)+" words, row miss "+rowMiss+
+				", refresh "+refreshCycles+"/"+refreshInterval;
+	}
+}
@@ -29,6 +29,8 @@ package com.jopdesign.tools;
 
 public class SimpleCache extends Cache {
 
+	private static final long serialVersionUID = 1L;
+
 
 	SimpleCache(int[] main, JopSim js) {
 
@@ -74,5 +76,10 @@ public class SimpleCache extends Cache {
 		return bc[addr];
 	}
 
+	boolean isMethodCache() {
+
+		return true;
+	}
+
 
 }
@@ -23,8 +23,6 @@
  */
 package com.jopdesign.tools;
 
-import java.util.*;
-
 /**
  * Extension of JopSim to simulation real-time transactional memory (RTTM)
  * 
@@ -49,8 +47,42 @@ public class TMSim extends JopSim {
 	int nestingCnt;
 	int savedPc;
 
-	LinkedHashSet<Integer> readSet = new LinkedHashSet<Integer>();
-	LinkedHashMap<Integer, Integer> writeSet = new LinkedHashMap<Integer, Integer>();
+	// the read set uses only the keys
+	IntMap readSet = new IntMap();
+	IntMap writeSet = new IntMap();
+
+	/**
+	 * Reverse index of the read sets: address to a bit mask of the
+	 * CPUs that have read it in the current transaction, one map for
+	 * 32 CPUs. The conflict test on commit is a lookup per written
+	 * address instead of a search in all other read sets.
+	 */
+	static IntMap[] readers;
+
+	static void initReaders(int cpus) {
+		readers = new IntMap[(cpus + 31) / 32];
+		for (int i = 0; i < readers.length; ++i) {
+			readers[i] = new IntMap();
+		}
+	}
+
+	void addRead(int addr) {
+		if (readSet.put(addr, 0)) {
+			IntMap idx = readers[io.cpuId >> 5];
+			idx.put(addr, idx.get(addr, 0) | (1 << (io.cpuId & 31)));
+		}
+	}
+
+	void clearSets() {
+		IntMap idx = readers[io.cpuId >> 5];
+		int mask = ~(1 << (io.cpuId & 31));
+		for (int i = 0; i < readSet.size(); ++i) {
+			int addr = readSet.key(i);
+			idx.put(addr, idx.get(addr, 0) & mask);
+		}
+		writeSet.clear();
+		readSet.clear();
+	}
 
 	// TODO: we should earlier abort the transaction as we
 	// can read inconsistent data from another commited transaction
@@ -65,10 +97,9 @@ public class TMSim extends JopSim {
 		default:
 			// Transaction active and not an I/O address
 			if (nestingCnt > 0 && addr >= 0) {
-				Integer addrInt = new Integer(addr);
-				readSet.add(addrInt);
-				if (writeSet.containsKey(addrInt)) {
-					return writeSet.get(addrInt).intValue();
+				addRead(addr);
+				if (writeSet.containsKey(addr)) {
+					return writeSet.get(addr, 0);
 				}
 			}
 			break;
@@ -89,7 +120,7 @@ public class TMSim extends JopSim {
 		}
 		// Transaction active and not an I/O address
 		if (nestingCnt > 0 && addr >= 0) {
-			writeSet.put(new Integer(addr), new Integer(data));
+			writeSet.put(addr, data);
 		} else {
 			super.writeMem(addr, data, type);
 		}
@@ -106,43 +137,39 @@ public class TMSim extends JopSim {
 		if (readSet.size() > maxRead)
 			maxRead = readSet.size();
 
-		Collection<Integer> keys = writeSet.keySet();
-		for (Iterator<Integer> iterator = keys.iterator(); iterator.hasNext();) {
-			Integer addr = iterator.next();
-			int thisAddr = addr;
-			int val = writeSet.get(addr);
+		for (int k = 0; k < writeSet.size(); ++k) {
+			int thisAddr = writeSet.key(k);
 			// TODO: type lost
-			super.writeMem(thisAddr, val, Access.INTERN);
+			super.writeMem(thisAddr, writeSet.value(k), Access.INTERN);
 
 			// test for conflict
-			for (int i = 0; i < nrCpus; ++i) {
-				if (i == io.cpuId)
-					continue;
-				TMSim otherSim = (TMSim) js[i];
-				if (otherSim.abort)
-					continue;
-				for (Iterator<Integer> other = otherSim.readSet.iterator(); other
-						.hasNext();) {
-					int otherAddr = other.next();
-					if (otherAddr == thisAddr) {
-						otherSim.abort = true;
-						if (LOG)
-							System.out.println("Transaction on CPU " + i
-									+ " aborted");
-						break;
-					}
+			for (int j = 0; j < readers.length; ++j) {
+				int cpus = readers[j].get(thisAddr, 0);
+				if (j == io.cpuId >> 5) {
+					cpus &= ~(1 << (io.cpuId & 31));
+				}
+				while (cpus != 0) {
+					int i = j * 32 + Integer.numberOfTrailingZeros(cpus);
+					cpus &= cpus - 1;
+					TMSim otherSim = (TMSim) js[i];
+					if (otherSim.abort)
+						continue;
+					otherSim.abort = true;
+					if (LOG)
+						System.out.println("Transaction on CPU " + i
+								+ " aborted");
 				}
 			}
 		}
 		// find the sum of different addresses
-		for (Iterator<Integer> it = readSet.iterator(); it.hasNext();) {
-			int addr = it.next();
-			writeSet.put(addr, 0);
+		int sum = writeSet.size();
+		for (int k = 0; k < readSet.size(); ++k) {
+			if (!writeSet.containsKey(readSet.key(k)))
+				++sum;
 		}
-		if (writeSet.size() > maxSum)
-			maxSum = writeSet.size();
-		writeSet.clear();
-		readSet.clear();
+		if (sum > maxSum)
+			maxSum = sum;
+		clearSets();
 	}
 
 	void retry() {
@@ -151,8 +178,7 @@ public class TMSim extends JopSim {
 		// also restore the stack for the write
 		stack[++sp] = 1;
 		stack[++sp] = MAGIC;
-		writeSet.clear();
-		readSet.clear();
+		clearSets();
 		if (LOG)
 			System.out.println("Retry TR " + trCnt + " on CPU " + io.cpuId);
 		--trCnt;
@@ -217,6 +243,19 @@ public class TMSim extends JopSim {
 		IOSimMin io;
 
 		int maxInstr = getArgs(args);
+		// the read and write sets are checked across CPUs on commit
+		if (quantum != 0) {
+			System.out.println("No quantum simulation for RTTM");
+			quantum = 0;
+		}
+		// the transaction state is not part of a snapshot
+		if (snapshotFile != null || restoreFile != null) {
+			System.out.println("No snapshot for RTTM");
+			snapshotFile = restoreFile = null;
+			snapshotArmed = false;
+		}
+
+		initReaders(nrCpus);
 
 		String ioDevice = System.getProperty("ioclass");
 		if(ioDevice != null) {
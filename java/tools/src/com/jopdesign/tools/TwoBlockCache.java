@@ -29,6 +29,8 @@ package com.jopdesign.tools;
 
 public class TwoBlockCache extends Cache {
 
+	private static final long serialVersionUID = 1L;
+
 	int[] addr = {0, 0};
 	int next = 0;
 	int currentBlock = 0;
@@ -112,5 +114,10 @@ public class TwoBlockCache extends Cache {
 		return bc[addr];
 	}
 
+	boolean isMethodCache() {
+
+		return true;
+	}
+
 
 }
@@ -29,6 +29,8 @@ package com.jopdesign.tools;
 
 public class TwoWay extends Cache {
 
+	private static final long serialVersionUID = 1L;
+
 	final static int BLOCK_SIZE = 16;
 	final static int BLOCK_CNT = MAX_BC/BLOCK_SIZE;
 	int[] tag;
@@ -98,5 +100,10 @@ public class TwoWay extends Cache {
 
 	}
 
+	boolean isMethodCache() {
+
+		return false;
+	}
+
 
 }
@@ -29,6 +29,8 @@ package com.jopdesign.tools;
 
 public class VarBlockCache extends Cache {
 
+	private static final long serialVersionUID = 1L;
+
 	int[] ctag;
 //	int[] clen;		// for different replace policy
 
@@ -147,6 +149,11 @@ public class VarBlockCache extends Cache {
 		return bc[addr & mask];
 	}
 
+	boolean isMethodCache() {
+
+		return true;
+	}
+
 
 	public String toString() {
 
@@ -20,6 +20,7 @@
 package com.jopdesign.wcet;
 
 import com.jopdesign.common.config.Config;
+import com.jopdesign.wcet.ipet.IPETConfig;
 import com.jopdesign.wcet.uppaal.UppAalConfig;
 import com.jopdesign.wcet.uppaal.WcetSearch;
 import lpsolve.LpSolve;
@@ -78,15 +79,20 @@ public class ExecHelper {
     }
 
     public void checkLibs() {
-        try {
-            VersionInfo v = LpSolve.lpSolveVersion();
-            info("Using lp_solve for Java, v"+
-                    v.getMajorversion()+"."+v.getMinorversion()+
-                    " build "+v.getBuild()+" release "+v.getRelease());
-        } catch(UnsatisfiedLinkError ule) {
-            bail("Failed to load the lp_solve Java library: "+ule);
+        if(config.getOption(IPETConfig.ILP_SOLVER) == IPETConfig.ILPSolverType.LPSOLVE) {
+            try {
+                VersionInfo v = LpSolve.lpSolveVersion();
+                info("Using lp_solve for Java, v"+
+                        v.getMajorversion()+"."+v.getMinorversion()+
+                        " build "+v.getBuild()+" release "+v.getRelease());
+            } catch(UnsatisfiedLinkError ule) {
+                bail("Failed to load the lp_solve Java library (use --ipet-solver JAVA for the Java solver): "+ule);
+            }
+        } else {
+            info("Using the Java ILP solver");
         }
-        if(config.getOption(ProjectConfig.USE_UPPAAL)) {
+        if(config.getOption(ProjectConfig.USE_UPPAAL) &&
+           config.getOption(UppAalConfig.UPPAAL_CHECKER) == UppAalConfig.UppaalChecker.VERIFYTA) {
             String vbinary = config.getOption(UppAalConfig.UPPAAL_VERIFYTA_BINARY);
             try {
                 String version = WcetSearch.getVerifytaVersion(vbinary);
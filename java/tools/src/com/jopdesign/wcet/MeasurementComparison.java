@@ -0,0 +1,234 @@
+/*
+  This file is part of JOP, the Java Optimized Processor
+    see <http://www.jopdesign.com/>
+
+  Copyright (C) 2026, agent (agent@local)
+
+  This program is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  This program is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public License
+  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.wcet;
+
+import com.jopdesign.common.MethodInfo;
+import com.jopdesign.common.code.CallString;
+import com.jopdesign.common.code.ControlFlowGraph;
+import com.jopdesign.common.code.ControlFlowGraph.CFGNode;
+import com.jopdesign.common.code.ExecutionContext;
+import com.jopdesign.common.code.LoopBound;
+import com.jopdesign.common.graphutils.LoopColoring;
+import com.jopdesign.tools.JopSimMeasurement;
+import com.jopdesign.wcet.analysis.AnalysisContextLocal;
+import com.jopdesign.wcet.analysis.RecursiveWcetAnalysis;
+import org.apache.bcel.generic.InstructionHandle;
+import org.apache.bcel.generic.InstructionList;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compare the WCET bounds with a simulation of the application in JopSim.
+ * <p>
+ * For each method reachable from the target method, the maximum cycles of
+ * a single invocation observed in JopSim are compared with the WCET bound of
+ * the method, and for each loop the maximum number of iterations (back edges)
+ * per loop entry with the loop bound. A ratio close to 1 is a tight bound,
+ * a ratio larger than 1 is an unsafe bound (or a different hardware
+ * configuration in JopSim).
+ * </p>
+ * <p>
+ * The observed cycles of a method do not include the method cache loads
+ * on invoke and return, as the analysis charges them to the caller.
+ * </p>
+ */
+public class MeasurementComparison {
+
+    private static final Logger logger = Logger.getLogger(WCETTool.LOG_WCET + ".MeasurementComparison");
+
+    /**
+     * One line of the comparison
+     */
+    public static class Entry {
+        private String kind;
+        private String name;
+        private long count;
+        private long observed;
+        private long bound;
+
+        public Entry(String kind, String name, long count, long observed, long bound) {
+            this.kind = kind;
+            this.name = name;
+            this.count = count;
+            this.observed = observed;
+            this.bound = bound;
+        }
+
+        public String getKind() { return kind; }
+        public String getName() { return name; }
+        /** number of invocations or loop entries */
+        public long getCount() { return count; }
+        public long getObserved() { return observed; }
+        public long getBound() { return bound; }
+
+        public double getRatioValue() {
+            if (bound == 0) return observed == 0 ? 1.0 : Double.POSITIVE_INFINITY;
+            return (double) observed / bound;
+        }
+
+        public String getRatio() {
+            return String.format("%.3f", getRatioValue());
+        }
+
+        public boolean isUnsafe() {
+            return observed > bound;
+        }
+    }
+
+    private WCETTool project;
+    private RecursiveWcetAnalysis<AnalysisContextLocal> analysis;
+    private AnalysisContextLocal context;
+    private List<Entry> entries = new ArrayList<Entry>();
+
+    /**
+     * @param p the project
+     * @param an the analysis providing the WCET of each method
+     * @param ctx the context used for the WCET of the target method
+     */
+    public MeasurementComparison(WCETTool p,
+                                 RecursiveWcetAnalysis<AnalysisContextLocal> an,
+                                 AnalysisContextLocal ctx) {
+        this.project = p;
+        this.analysis = an;
+        this.context = ctx;
+    }
+
+    /**
+     * Simulate the application and add the comparison to the report.
+     *
+     * @return false if the simulation did not run to the end
+     */
+    public boolean run() {
+        ProjectConfig pc = project.getProjectConfig();
+        String jopFile = pc.getJopFile().getPath();
+        JopSimMeasurement meas = new JopSimMeasurement(jopFile);
+
+        /* watch all loops of the reachable methods */
+        Map<JopSimMeasurement.Loop, CFGNode> loopNodes = new HashMap<JopSimMeasurement.Loop, CFGNode>();
+        Iterable<MethodInfo> methods = project.getCallGraph().getReachableImplementationsSet(project.getTargetMethod());
+        for (MethodInfo m : methods) {
+            if (!m.hasCode()) continue;
+            ControlFlowGraph cfg = project.getFlowGraph(m);
+            LoopColoring<CFGNode, ControlFlowGraph.CFGEdge> loops = cfg.getLoopColoring();
+            if (loops.getHeadOfLoops().isEmpty()) continue;
+            int[] pos = jopPositions(m);
+            for (CFGNode hol : loops.getHeadOfLoops()) {
+                if (hol.getBasicBlock() == null) continue;
+                BitSet body = new BitSet();
+                for (CFGNode n : loops.getNodesOfLoop(hol)) {
+                    if (n.getBasicBlock() == null) continue;
+                    for (InstructionHandle ih : n.getBasicBlock().getInstructions()) {
+                        body.set(pos[ih.getPosition()]);
+                    }
+                }
+                int header = pos[hol.getBasicBlock().getFirstInstruction().getPosition()];
+                loopNodes.put(meas.addLoop(m.getFQMethodName(), header, body), hol);
+            }
+        }
+
+        logger.info("Simulating " + jopFile);
+        long maxInstr = pc.getMeasurementMaxInstructions();
+        boolean finished = meas.run((int) Math.min(maxInstr, Integer.MAX_VALUE));
+        if (!finished) {
+            logger.warn("Simulation stopped after " + maxInstr + " instructions, results are incomplete");
+        }
+
+        int unsafe = 0;
+        for (MethodInfo m : methods) {
+            if (!m.hasCode()) continue;
+            String name = m.getFQMethodName();
+            Map<String, Object> stats = new TreeMap<String, Object>();
+            Map<CFGNode, String> nodeAnnots = new HashMap<CFGNode, String>();
+
+            long calls = meas.getCalls(name);
+            stats.put("invocations", calls);
+            if (calls > 0) {
+                long wcet = analysis.computeCost(m, context.withCallString(CallString.EMPTY)).getCost();
+                Entry e = new Entry("method", name, calls, meas.getMaxCycles(name), wcet);
+                entries.add(e);
+                if (e.isUnsafe()) unsafe++;
+                stats.put("max cycles", e.getObserved());
+                stats.put("wcet", wcet);
+                stats.put("observed/wcet", e.getRatio());
+            }
+            for (JopSimMeasurement.Loop l : meas.getLoops(name)) {
+                CFGNode hol = loopNodes.get(l);
+                LoopBound lb = project.getLoopBound(hol, CallString.EMPTY);
+                Long ub = lb == null ? null : lb.getUpperBound(new ExecutionContext(m));
+                if (ub == null || l.getEntries() == 0) {
+                    nodeAnnots.put(hol, "max " + l.getMaxIterations());
+                    continue;
+                }
+                Entry e = new Entry("loop", name + ":" + l.getHeader(), l.getEntries(), l.getMaxIterations(), ub);
+                entries.add(e);
+                if (e.isUnsafe()) unsafe++;
+                nodeAnnots.put(hol, "max " + e.getObserved() + " / " + e.getBound());
+            }
+            if (project.getReport() != null && (calls > 0 || !nodeAnnots.isEmpty())) {
+                project.getReport().addDetailedReport(m, "measured", stats, nodeAnnots, null);
+            }
+        }
+
+        Collections.sort(entries, new Comparator<Entry>() {
+            public int compare(Entry a, Entry b) {
+                return Double.compare(b.getRatioValue(), a.getRatioValue());
+            }
+        });
+        if (project.getReport() != null) {
+            project.getReport().addStat("measured.cycles", meas.getCycles());
+            project.getReport().addStat("measured.unsafe", unsafe);
+        }
+        if (unsafe > 0) {
+            logger.error(unsafe + " observed execution times or loop iterations exceed the bound");
+        }
+        return finished;
+    }
+
+    /**
+     * JOPizer replaces the invokes of Native by single byte instructions,
+     * therefore map the bytecode positions to the positions in the JOP image.
+     */
+    private int[] jopPositions(MethodInfo m) {
+        InstructionList il = m.getCode().getInstructionList(false, false);
+        int[] pos = new int[il.getEnd().getPosition() + 1];
+        int jopPos = 0;
+        for (InstructionHandle ih = il.getStart(); ih != null; ih = ih.getNext()) {
+            pos[ih.getPosition()] = jopPos;
+            jopPos += project.getAppInfo().getProcessorModel().getNumberOfBytes(m, ih.getInstruction());
+        }
+        return pos;
+    }
+
+    /**
+     * @return the comparison, largest observed/bound ratio first
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+}
@@ -25,6 +25,8 @@ import com.jopdesign.common.code.ExecutionContext;
 import com.jopdesign.common.misc.MiscUtils;
 import com.jopdesign.common.processormodel.JOPConfig;
 import com.jopdesign.dfa.analyses.SymbolicAddress;
+import com.jopdesign.tools.JopSimMeasurement;
+import com.jopdesign.tools.ObjectCacheSim;
 import com.jopdesign.wcet.analysis.cache.MethodCacheAnalysis;
 import com.jopdesign.wcet.analysis.cache.ObjectCacheAnalysisDemo;
 import com.jopdesign.wcet.analysis.cache.ObjectCacheAnalysisDemo.ObjectCacheCost;
@@ -34,11 +36,13 @@ import com.jopdesign.wcet.analysis.cache.ObjectCacheEvaluation.OCacheMode;
 import com.jopdesign.wcet.analysis.cache.ObjectRefAnalysis;
 import com.jopdesign.wcet.ipet.LpSolveWrapper;
 import com.jopdesign.wcet.jop.MethodCache;
+import org.apache.log4j.Logger;
 import org.jgrapht.traverse.TopologicalOrderIterator;
 
 import java.io.FileNotFoundException;
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -46,6 +50,8 @@ import java.util.Set;
 import static com.jopdesign.wcet.ExecHelper.timeDiff;
 
 public class ObjectCacheAnalysis {
+	private static final Logger logger = Logger.getLogger(WCETTool.LOG_WCET + ".ObjectCacheAnalysis");
+
 	/* generator for object cache timings */
 	private interface ObjectCacheTiming {
 		int  loadTime(int words);
@@ -185,6 +191,14 @@ public class ObjectCacheAnalysis {
 		int[] lineSizesFieldCache = { 1 };
 		int[] blockSizesObjCache  = { 1, 2, 4, 8, 16 };
 		int[] lineSizes;
+
+		/* simulated misses per configuration, to cross-check the analysis */
+		Map<String, Integer> simulated = null;
+		if (project.getProjectConfig().doCompareMeasured()) {
+			simulated = simulateObjectCache(modes, cacheWays, lineSizesObjCache, lineSizesFieldCache,
+					blockSizesObjCache);
+		}
+		int unsafe = 0;
 		for(int configId=0; configId < configs.length; configId++) {
 			ObjectCacheTiming ocConfig = configs[configId];
 
@@ -271,6 +285,17 @@ public class ObjectCacheAnalysis {
 								report += String.format(" # (analysis cost increased by %.2f %% for this associativity)",ratio*100);
 							}
 							oStream.println(report);
+							String simConfig = simConfig(mode, ways, lineSize, blockSize);
+							if (simulated != null && configId == 0 && simulated.containsKey(simConfig)) {
+								long bound = ocCost.getCacheMissCount() + ocCost.getBypassCount();
+								int misses = simulated.get(simConfig);
+								String check = String.format("   simulated misses [%s]: %d, analysis: %d", simConfig, misses, bound);
+								if (misses > bound) {
+									check += " # UNSAFE";
+									unsafe++;
+								}
+								oStream.println(check);
+							}
 							if(mode != OCacheMode.SINGLE_FIELD) {
 								OCacheAnalysisResult sample =
 									new ObjectCacheEvaluation.OCacheAnalysisResult(ways, lineSize, blockSize, configId, 
@@ -285,7 +310,59 @@ public class ObjectCacheAnalysis {
 		OCacheAnalysisResult.dumpBarPlot(samples, oStream);		
 		OCacheAnalysisResult.dumpPlot(samples, oStream);
 		OCacheAnalysisResult.dumpLatex(samples, oStream);
+		if (unsafe > 0) {
+			logger.error(unsafe + " simulated object cache miss counts exceed the analysis");
+		}
 	} 
+
+	/* the object cache simulation configuration (see ObjectCacheSim) */
+	private static String simConfig(OCacheMode mode, int ways, int lineSize, int blockSize) {
+		if (ways == 0) return null;
+		if (mode == OCacheMode.SINGLE_FIELD) return ways + ":1:field";
+		return ways + ":" + lineSize + ":" + blockSize + ":lru";
+	}
+
+	/**
+	 * Simulate all evaluated configurations in one JopSim run.
+	 * @return the maximum misses of a single invocation of the target
+	 *   method per configuration, null if the simulation failed
+	 */
+	private Map<String, Integer> simulateObjectCache(OCacheMode[] modes, int[] cacheWays,
+			int[] lineSizesObjCache, int[] lineSizesFieldCache, int[] blockSizesObjCache) {
+		List<String> configs = new ArrayList<String>();
+		for (OCacheMode mode : modes) {
+			int[] lineSizes = mode == OCacheMode.BLOCK_FILL ? lineSizesObjCache : lineSizesFieldCache;
+			for (int lineSize : lineSizes) {
+				for (int blockSize : blockSizesObjCache) {
+					if (blockSize > lineSize) continue;
+					for (int ways : cacheWays) {
+						String c = simConfig(mode, ways, lineSize, blockSize);
+						if (c != null) configs.add(c);
+					}
+				}
+			}
+		}
+		StringBuilder sb = new StringBuilder();
+		for (String c : configs) {
+			if (sb.length() > 0) sb.append(',');
+			sb.append(c);
+		}
+		JopSimMeasurement meas = new JopSimMeasurement(project.getProjectConfig().getJopFile().getPath());
+		meas.setObjectCaches(ObjectCacheSim.parseConfigs(sb.toString()));
+		if (!meas.run((int) Math.min(project.getProjectConfig().getMeasurementMaxInstructions(), Integer.MAX_VALUE))) {
+			logger.warn("Object cache simulation did not run to the end, results are incomplete");
+		}
+		int[] misses = meas.getMaxObjectCacheMisses(project.getTargetMethod().getFQMethodName());
+		if (misses == null) {
+			logger.warn("Target method not executed in the object cache simulation");
+			return null;
+		}
+		Map<String, Integer> result = new HashMap<String, Integer>();
+		for (int i = 0; i < configs.size(); i++) {
+			result.put(configs.get(i), misses[i]);
+		}
+		return result;
+	}
 	
 	private void testExactAllFit() {
 		long start,stop;
@@ -28,6 +28,7 @@ import com.jopdesign.common.config.BooleanOption;
 import com.jopdesign.common.config.Config;
 import com.jopdesign.common.config.Config.BadConfigurationError;
 import com.jopdesign.common.config.EnumOption;
+import com.jopdesign.common.config.IntegerOption;
 import com.jopdesign.common.config.Option;
 import com.jopdesign.common.config.StringOption;
 import com.jopdesign.common.misc.MethodNotFoundException;
@@ -55,6 +56,14 @@ public class ProjectConfig {
                                              "the name (optional: class,signature) of the method to be analyzed",
                                              "measure");
 
+    public static final StringOption TARGET_METHODS =
+            new StringOption("target-methods",
+                    "batch mode: analyze all methods in this comma separated list, or all thread root methods if set to 'threads'",
+                    true);
+
+    /** value of {@link #TARGET_METHODS} selecting the run() methods of all application threads */
+    public static final String THREAD_TARGETS = "threads";
+
     public static final StringOption TARGET_LIB_SOURCEPATH =
             new StringOption("splib","sourcepath of the library code, only used in '--sp' value.",
                     Config.mergePaths(new String[]{
@@ -91,12 +100,21 @@ public class ProjectConfig {
     public static final BooleanOption RESULTS_PERFORMANCE =
             new BooleanOption("results-performance", "Include target-app unrelated results such as solver times in the CSV file", true);
 
+    public static final BooleanOption COMPARE_MEASURED =
+            new BooleanOption("compare-measured", "simulate the application in JopSim and compare the observed cycles and loop iterations with the bounds", false);
+
+    public static final IntegerOption MEASURED_MAX_INSTR =
+            new IntegerOption("measured-max-instr", "stop the JopSim run after this many instructions (0: no limit)", 0);
+
+    public static final StringOption WCET_CACHE_DIR =
+            new StringOption("wcet-cache-dir", "if set, store the WCET of methods in this directory and reuse them in later runs", true);
+
     public static final EnumOption<DUMPTYPE> DUMP_TARGET_CALLGRAPH =
             new EnumOption<DUMPTYPE>("dump-target-callgraph", "Dump the target method callgraph (with or without callstrings)", CallGraph.DUMPTYPE.off);
 
     public static final Option<?>[] projectOptions =
     {
-            TARGET_METHOD, PROJECT_NAME,
+            TARGET_METHOD, TARGET_METHODS, PROJECT_NAME,
             TARGET_LIB_SOURCEPATH, TARGET_SOURCEPATH, TARGET_BINPATH,
             WCET_MODEL,
             WCET_PREPROCESS,
@@ -104,6 +122,8 @@ public class ProjectConfig {
             USE_UPPAAL,
             DO_GENERATE_REPORTS,
             RESULT_FILE, RESULTS_APPEND, RESULTS_PERFORMANCE,
+            COMPARE_MEASURED, MEASURED_MAX_INSTR,
+            WCET_CACHE_DIR,
             DUMP_TARGET_CALLGRAPH
     };
 
@@ -128,7 +148,8 @@ public class ProjectConfig {
      * @param mainMethodID the main method signature
      */
     public void initConfig(MemberID mainMethodID) {
-        String projectName = MiscUtils.sanitizeFileName(mainMethodID.getClassName() + "_" + getTargetMethodName());
+        String target = isBatchMode() ? "batch" : getTargetMethodName();
+        String projectName = MiscUtils.sanitizeFileName(mainMethodID.getClassName() + "_" + target);
         config.setDefaultValue(PROJECT_NAME, projectName);
     }
 
@@ -158,6 +179,23 @@ public class ProjectConfig {
         return config.getOption(ProjectConfig.TARGET_METHOD);
     }
 
+    /**
+     * @return true if more than one target method should be analyzed (option target-methods)
+     */
+    public boolean isBatchMode() {
+        return config.hasValue(TARGET_METHODS);
+    }
+
+    /**
+     * @return the names of the methods to analyze in batch mode, or null if all thread root methods
+     *         should be analyzed
+     */
+    public List<String> getTargetMethodNames() {
+        String targets = config.getOption(TARGET_METHODS);
+        if (THREAD_TARGETS.equals(targets)) return null;
+        return Config.splitStringList(targets);
+    }
+
     public String getTargetClass() {
         MemberID sig = MemberID.parse(getTargetMethodName(),true);
         String measureClass = sig.getClassName();
@@ -188,6 +226,13 @@ public class ProjectConfig {
         return new File(config.getOption(TARGET_BINPATH), getUnqualifiedAppClassName() + ".jop.link.txt");
     }
 
+    /**
+     * @return the application image, next to the linker info
+     */
+    public File getJopFile() {
+        return new File(config.getOption(TARGET_BINPATH), getUnqualifiedAppClassName() + ".jop");
+    }
+
     public File getProjectDir() {
         return getConfig().getOutDir();
     }
@@ -254,6 +299,22 @@ public class ProjectConfig {
         return config.getOption(USE_UPPAAL);
     }
 
+    public boolean doCompareMeasured() {
+        return config.getOption(COMPARE_MEASURED);
+    }
+
+    public long getMeasurementMaxInstructions() {
+        return config.getOption(MEASURED_MAX_INSTR);
+    }
+
+    /**
+     * @return the directory of the persistent WCET cache, or null if disabled
+     */
+    public File getWcetCacheDir() {
+        if (!config.hasValue(WCET_CACHE_DIR)) return null;
+        return new File(config.getOption(WCET_CACHE_DIR));
+    }
+
     public boolean saveResults() {
         return config.hasValue(RESULT_FILE);
     }
@@ -32,6 +32,7 @@ import com.jopdesign.common.AppSetup;
 import com.jopdesign.common.MethodInfo;
 import com.jopdesign.common.code.CallString;
 import com.jopdesign.common.config.Config;
+import com.jopdesign.common.misc.AppInfoException;
 import com.jopdesign.common.misc.MiscUtils;
 import com.jopdesign.dfa.DFATool;
 import com.jopdesign.wcet.analysis.AnalysisContextLocal;
@@ -42,6 +43,7 @@ import com.jopdesign.wcet.analysis.RecursiveWcetAnalysis;
 import com.jopdesign.wcet.analysis.TreeAnalysis;
 import com.jopdesign.wcet.analysis.UppaalAnalysis;
 import com.jopdesign.wcet.analysis.WcetCost;
+import com.jopdesign.wcet.analysis.WcetResultCache;
 import com.jopdesign.wcet.ipet.IPETConfig;
 import com.jopdesign.wcet.ipet.IPETConfig.StaticCacheApproximation;
 import com.jopdesign.wcet.ipet.LpSolveWrapper;
@@ -50,7 +52,11 @@ import com.jopdesign.wcet.uppaal.model.DuplicateKeyException;
 import com.jopdesign.wcet.uppaal.model.XmlSerializationException;
 import org.apache.log4j.Logger;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import static com.jopdesign.wcet.ExecHelper.timeDiff;
@@ -107,7 +113,16 @@ public class WCETAnalysis {
     private WcetCost alwaysHitCost;
     private WcetCost minCacheCost;
     private IPETConfig ipetConfig;
+    private WcetResultCache resultCache;
 	private boolean reportGenerated;
+    /* batch mode: the analyses are shared between the target methods, stats are prefixed with the target */
+    private boolean batchMode;
+    private String statPrefix = "";
+    private RecursiveWcetAnalysis<AnalysisContextLocal> localAnalysis;
+    private RecursiveWcetAnalysis<AnalysisContextLocal> preciseAnalysis;
+    /* analysis and context of the precise WCET, for the comparison with measurements */
+    private RecursiveWcetAnalysis<AnalysisContextLocal> wcetAnalysis;
+    private AnalysisContextLocal wcetContext;
 
     public WCETAnalysis(WCETTool wcetTool, ExecHelper e) {
         this.project = wcetTool;
@@ -121,9 +136,7 @@ public class WCETAnalysis {
             project.setTopLevelLogger(exec.getExecLogger());
             exec.info("Loading project");
             project.initialize();
-            MethodInfo largestMethod = project.getWCETProcessorModel().getMethodCache().checkCache();
-            int minWords = MiscUtils.bytesToWords(largestMethod.getCode().getNumberOfBytes());
-            reportMetric("min-cache-size",largestMethod.getFQMethodName(),minWords);
+            if (!project.getProjectConfig().isBatchMode()) checkMethodCache();
         } catch (Exception e) {
             exec.logException("Loading project", e);
             return false;
@@ -143,16 +156,38 @@ public class WCETAnalysis {
 
         
         if(project.getProjectConfig().doObjectCacheAnalysis()) {
+            if (project.getProjectConfig().isBatchMode()) {
+                exec.info("Object cache analysis does not support batch mode, analyzing "+project.getTargetMethod());
+            }
             ObjectCacheAnalysis oca = new ObjectCacheAnalysis(project);
             return oca.run();
+        } else if (project.getProjectConfig().isBatchMode()) {
+            return runBatchAnalysis();
         } else {
             return runWCETAnalysis();
         }
     }
-    
+
+    private void checkMethodCache() throws AppInfoException {
+        MethodInfo largestMethod = project.getWCETProcessorModel().getMethodCache().checkCache();
+        int minWords = MiscUtils.bytesToWords(largestMethod.getCode().getNumberOfBytes());
+        reportMetric("min-cache-size",largestMethod.getFQMethodName(),minWords);
+    }
+
+    private void initAnalysis() {
+        ipetConfig = new IPETConfig(config);
+        File cacheDir = project.getProjectConfig().getWcetCacheDir();
+        if (cacheDir != null) {
+            resultCache = new WcetResultCache(project, cacheDir);
+            if (!resultCache.isEnabled()) {
+                exec.info("WCET cache disabled: not supported for DFA with call strings");
+            }
+        }
+    }
+
     private boolean runWCETAnalysis() {
         /* Run */
-        ipetConfig = new IPETConfig(config);
+        initAnalysis();
         boolean succeed = true;
         // FIXME: Report generation is a BIG MESS
         // bh wants to fix this soon
@@ -166,6 +201,14 @@ public class WCETAnalysis {
             exec.logException("analysis", e);
             succeed = false;
         }
+        if (succeed && project.getProjectConfig().doCompareMeasured()) {
+            try {
+                compareMeasured();
+            } catch (Exception e) {
+                exec.logException("comparison with measurements", e);
+                succeed = false;
+            }
+        }
         if (!project.getProjectConfig().doGenerateReport()) {
             exec.info("Ommiting HTML report");
             return succeed;
@@ -184,6 +227,67 @@ public class WCETAnalysis {
         return succeed;
     }
 
+    /**
+     * Analyze all target methods (option target-methods) with the application loaded once.
+     * The DFA results, the flow graphs and the WCET of methods shared by several targets
+     * are computed only once. There are no per-method pages in the report, the summary lists
+     * the results of all targets.
+     */
+    private boolean runBatchAnalysis() {
+        initAnalysis();
+        batchMode = true;
+        boolean succeed = true;
+        List<MethodInfo> targets = project.getTargetMethods();
+        /* the cache check needs the original code size, do it before any flow graph is modified */
+        try {
+            for (MethodInfo target : targets) {
+                if (target != project.getTargetMethod()) project.setTargetMethod(target);
+                reportMetric("target", target.getFQMethodName());
+                checkMethodCache();
+            }
+        } catch (Exception e) {
+            exec.logException("Loading project", e);
+            return false;
+        }
+        Map<MethodInfo, WcetCost> results = new LinkedHashMap<MethodInfo, WcetCost>();
+        int i = 0;
+        for (MethodInfo target : targets) {
+            exec.info("Analyzing target method " + target.getFQMethodName()
+                      + " (" + (++i) + "/" + targets.size() + ")");
+            try {
+                if (target != project.getTargetMethod()) project.setTargetMethod(target);
+                statPrefix = target.getFQMethodName() + ".";
+                reportMetric("target", target.getFQMethodName());
+                computeMetrics();
+                computeWCET();
+                results.put(target, wcet);
+            } catch (Exception e) {
+                exec.logException("analysis of " + target.getFQMethodName(), e);
+                succeed = false;
+            }
+        }
+        statPrefix = "";
+        if (project.getProjectConfig().doCompareMeasured()) {
+            exec.info("Comparison with measurements is not supported in batch mode");
+        }
+        for (Map.Entry<MethodInfo, WcetCost> e : results.entrySet()) {
+            System.out.println("batch.wcet: " + e.getKey().getFQMethodName() + " " + e.getValue().getCost());
+        }
+        if (!project.getProjectConfig().doGenerateReport()) {
+            exec.info("Ommiting HTML report");
+            return succeed;
+        }
+        try {
+            exec.info("Generating result document");
+            project.writeReport();
+            exec.info("Generated files are in " + project.getProjectConfig().getProjectDir());
+        } catch (Exception e) {
+            exec.logException("Report generation", e);
+            succeed = false;
+        }
+        return succeed;
+    }
+
         
     private void computeMetrics() throws Exception {
         StaticCacheApproximation preciseApprox = IPETConfig.getPreciseCacheApprox(config);
@@ -205,14 +309,18 @@ public class WCETAnalysis {
                 reportSpecial("wcet.tree",WcetCost.totalCost(treeWCET),start,stop,0.0);
             }
 
-            RecursiveWcetAnalysis<AnalysisContextLocal> an =
-                new RecursiveWcetAnalysis<AnalysisContextLocal>(
+            if (localAnalysis == null) {
+                localAnalysis = new RecursiveWcetAnalysis<AnalysisContextLocal>(
                         project, ipetConfig,
                         new LocalAnalysis(project,ipetConfig));
+                localAnalysis.setResultCache(resultCache);
+            }
+            RecursiveWcetAnalysis<AnalysisContextLocal> an = localAnalysis;
 
             /* FIXME: We don't have  report generation for UPPAAL and global analysis yet,
              * therefore we generate our report here */
-            if(project.getProjectConfig().useUppaal() || preciseApprox.needsInterProcIPET()) {
+            if(project.getProjectConfig().doGenerateReport() && !batchMode &&
+               (project.getProjectConfig().useUppaal() || preciseApprox.needsInterProcIPET())) {
                 project.setGenerateWCETReport(true);
                 reportGenerated = true;
             }
@@ -247,11 +355,14 @@ public class WCETAnalysis {
 
     private void computeWCET() throws IOException, DuplicateKeyException, XmlSerializationException, Config.BadConfigurationException {
         StaticCacheApproximation preciseApprox = IPETConfig.getPreciseCacheApprox(config);
-        project.setGenerateWCETReport(! reportGenerated);
+        /* the report needs the solutions, which are not in the WCET cache */
+        project.setGenerateWCETReport(! reportGenerated && ! batchMode && project.getProjectConfig().doGenerateReport());
 
         if(project.getProjectConfig().useUppaal()) {
             UppaalAnalysis an = new UppaalAnalysis(exec.getExecLogger(),project,project.getOutDir("uppaal"));
-            config.checkPresent(UppAalConfig.UPPAAL_VERIFYTA_BINARY);
+            if(config.getOption(UppAalConfig.UPPAAL_CHECKER) == UppAalConfig.UppaalChecker.VERIFYTA) {
+                config.checkPresent(UppAalConfig.UPPAAL_VERIFYTA_BINARY);
+            }
 
             /* Run uppaal analysis */
             long start = System.nanoTime();
@@ -259,36 +370,74 @@ public class WCETAnalysis {
             long stop  = System.nanoTime();
             reportUppaal(wcet,start,stop,an.getSearchtime(),an.getSolvertimemax());
         } else if(preciseApprox == StaticCacheApproximation.ALL_FIT_REGIONS) {
-            RecursiveStrategy<AnalysisContextLocal, WcetCost> recStrategy =
-                new GlobalAnalysis.GlobalIPETStrategy(ipetConfig);
-            RecursiveWcetAnalysis<AnalysisContextLocal> an =
-                new RecursiveWcetAnalysis<AnalysisContextLocal>(
+            if (preciseAnalysis == null) {
+                RecursiveStrategy<AnalysisContextLocal, WcetCost> recStrategy =
+                    new GlobalAnalysis.GlobalIPETStrategy(ipetConfig);
+                preciseAnalysis = new RecursiveWcetAnalysis<AnalysisContextLocal>(
                         project,
                         ipetConfig,
                         recStrategy);
+                preciseAnalysis.setResultCache(resultCache);
+            }
+            RecursiveWcetAnalysis<AnalysisContextLocal> an = preciseAnalysis;
 
             /* Run global analysis */
             LpSolveWrapper.resetSolverTime();
             long start = System.nanoTime();
-            wcet = an.computeCost(project.getTargetMethod(),
-                                  new AnalysisContextLocal(preciseApprox));
+            wcetAnalysis = an;
+            wcetContext = new AnalysisContextLocal(preciseApprox);
+            wcet = an.computeCost(project.getTargetMethod(), wcetContext);
             long stop  = System.nanoTime();
             report(wcet,start,stop,LpSolveWrapper.getSolverTime());
         } else {
             AnalysisContextLocal initialContext = new AnalysisContextLocal(preciseApprox);
-            RecursiveStrategy<AnalysisContextLocal, WcetCost> recStrategy =
-                new LocalAnalysis(project, ipetConfig);
-            RecursiveWcetAnalysis<AnalysisContextLocal> an =
-                new RecursiveWcetAnalysis<AnalysisContextLocal>(project,ipetConfig,recStrategy);
+            if (preciseAnalysis == null) {
+                RecursiveStrategy<AnalysisContextLocal, WcetCost> recStrategy =
+                    new LocalAnalysis(project, ipetConfig);
+                preciseAnalysis = new RecursiveWcetAnalysis<AnalysisContextLocal>(project,ipetConfig,recStrategy);
+                preciseAnalysis.setResultCache(resultCache);
+            }
+            RecursiveWcetAnalysis<AnalysisContextLocal> an = preciseAnalysis;
 
             /* Run local analysis */
             LpSolveWrapper.resetSolverTime();
             long start = System.nanoTime();
+            wcetAnalysis = an;
+            wcetContext = initialContext;
             wcet = an.computeCost(project.getTargetMethod(),initialContext);
             long stop  = System.nanoTime();
             report(wcet,start,stop,LpSolveWrapper.getSolverTime());
         }
         exec.info("WCET analysis finished: "+wcet);
+        if (resultCache != null && resultCache.isEnabled()) {
+            exec.info("WCET cache: " + resultCache.getHits() + " hits, " + resultCache.getMisses() + " misses");
+        }
+    }
+
+    /**
+     * Simulate the application and compare the observed execution times and
+     * loop iterations with the bounds (option compare-measured)
+     */
+    private void compareMeasured() {
+        /* the uppaal analysis has no per method results, use the IPET analysis without cache */
+        if (wcetAnalysis == null) {
+            wcetAnalysis = new RecursiveWcetAnalysis<AnalysisContextLocal>(
+                    project, ipetConfig, new LocalAnalysis(project, ipetConfig));
+            wcetContext = new AnalysisContextLocal(StaticCacheApproximation.ALWAYS_MISS);
+        }
+        project.setGenerateWCETReport(false);
+        exec.info("Comparing with measurements in JopSim");
+        MeasurementComparison cmp = new MeasurementComparison(project, wcetAnalysis, wcetContext);
+        if (!cmp.run()) {
+            exec.info("Simulation did not finish, comparison is incomplete");
+        }
+        for (MeasurementComparison.Entry e : cmp.getEntries()) {
+            System.out.println("measured." + e.getKind() + ": " + e.getName() + " " +
+                    e.getObserved() + "/" + e.getBound() + " = " + e.getRatio());
+        }
+        if (project.getProjectConfig().doGenerateReport()) {
+            project.getReport().generateMeasurementPage(cmp.getEntries());
+        }
     }
 
     private void reportMetric(String metric, Object... args) {
@@ -304,7 +453,7 @@ public class WCETAnalysis {
         System.out.println(key+".time: " + timeDiff(start,stop));
         System.out.println(key+".solvertime: " + solverTime);
         project.recordResult(wcet,timeDiff(start,stop),solverTime);
-        project.getReport().addStat(key, wcet.toString());
+        addStat(key, wcet.toString());
     }
 
     private void reportUppaal(WcetCost wcet, long start, long stop, double searchtime, double solvertimemax) {
@@ -314,7 +463,7 @@ public class WCETAnalysis {
         System.out.println(key+".searchtime: " + searchtime);
         System.out.println(key+".solvertimemax: " + solvertimemax);
         project.recordResultUppaal(wcet,timeDiff(start,stop),searchtime,solvertimemax);
-        project.getReport().addStat(key, wcet.toString());
+        addStat(key, wcet.toString());
     }
 
     private void reportSpecial(String metric, WcetCost cost, long start, long stop, double solverTime) {
@@ -323,6 +472,11 @@ public class WCETAnalysis {
         if(start != stop) System.out.println(key+".time: " + timeDiff(start,stop));
         if(solverTime != 0) System.out.println(key+".solvertime: " + solverTime);
         project.recordSpecialResult(metric,cost);
-        project.getReport().addStat(key, cost.toString());
+        addStat(key, cost.toString());
+    }
+
+    /* there is no report if report generation is disabled */
+    private void addStat(String key, Object val) {
+        if (project.getReport() != null) project.getReport().addStat(statPrefix + key, val);
     }
 }
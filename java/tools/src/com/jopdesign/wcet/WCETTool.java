@@ -46,6 +46,7 @@ import com.jopdesign.common.misc.MethodNotFoundException;
 import com.jopdesign.common.misc.MiscUtils;
 import com.jopdesign.common.processormodel.JOPConfig;
 import com.jopdesign.common.processormodel.ProcessorModel;
+import com.jopdesign.common.type.MemberID;
 import com.jopdesign.dfa.DFATool;
 import com.jopdesign.dfa.analyses.LoopBounds;
 import com.jopdesign.dfa.framework.ContextMap;
@@ -73,6 +74,8 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -121,6 +124,7 @@ public class WCETTool extends EmptyTool<WCETEventHandler> {
     private AppInfo appInfo;
     private CallGraph callGraph;
     private DFATool dfaTool;
+    private List<MethodInfo> targetMethods;
 
     private boolean genWCETReport;
     private Report results;
@@ -231,6 +235,15 @@ public class WCETTool extends EmptyTool<WCETEventHandler> {
             topLevelLogger.info("DFA analysis finished");
         }
 
+        /* in batch mode, start with the first target method */
+        if (projectConfig.isBatchMode()) {
+            targetMethods = findTargetMethods();
+            if (targetMethods.isEmpty()) {
+                throw new BadConfigurationException("Batch mode: no target methods found");
+            }
+            getConfig().setOption(ProjectConfig.TARGET_METHOD, targetMethods.get(0).getFQMethodName());
+        }
+
         /* build callgraph for target method */
         rebuildCallGraph();
 
@@ -274,6 +287,8 @@ public class WCETTool extends EmptyTool<WCETEventHandler> {
         callGraph = CallGraph.buildCallGraph(projectConfig.getTargetMethodInfo(),
                 config);
         callGraph.checkAcyclicity();
+        // the WCET callgraph is not modified anymore, use the compact representation for all lookups
+        callGraph.getCompactGraph();
         return callGraph;
     }
 
@@ -324,6 +339,56 @@ public class WCETTool extends EmptyTool<WCETEventHandler> {
         }
     }
 
+    /**
+     * @return the methods to analyze in batch mode, in the order they should be analyzed,
+     *         or just the target method if not in batch mode.
+     */
+    public List<MethodInfo> getTargetMethods() {
+        if (targetMethods == null) return Collections.singletonList(getTargetMethod());
+        return targetMethods;
+    }
+
+    /**
+     * Switch to another target method (batch mode). The application, the DFA results and the
+     * flow graphs are kept, only the callgraph is rebuilt for the new target.
+     *
+     * @param target the new target method
+     */
+    public void setTargetMethod(MethodInfo target) {
+        getConfig().setOption(ProjectConfig.TARGET_METHOD, target.getFQMethodName());
+        rebuildCallGraph();
+        dumpCallGraph("callgraph_" + getTargetName());
+    }
+
+    private List<MethodInfo> findTargetMethods() throws BadConfigurationException {
+        List<String> names = projectConfig.getTargetMethodNames();
+        List<MethodInfo> methods = new ArrayList<MethodInfo>();
+        if (names != null) {
+            for (String name : names) {
+                MemberID sig = MemberID.parse(name, true);
+                String className = sig.getClassName() != null ? sig.getClassName() : projectConfig.getAppClassName();
+                try {
+                    methods.add(appInfo.getMethodInfo(className, sig.getMethodSignature()));
+                } catch (MethodNotFoundException e) {
+                    throw new BadConfigurationException("Cannot find target method " + name, e);
+                }
+            }
+            return methods;
+        }
+        /* run() of all application threads; JVM threads and the JDK are not part of the task set */
+        for (MethodInfo run : appInfo.getThreadRootMethods(false)) {
+            ClassInfo cls = run.getClassInfo();
+            if (appInfo.isJVMThread(cls) || cls.getClassName().startsWith("java.")) continue;
+            methods.add(run);
+        }
+        Collections.sort(methods, new Comparator<MethodInfo>() {
+            public int compare(MethodInfo a, MethodInfo b) {
+                return a.getFQMethodName().compareTo(b.getFQMethodName());
+            }
+        });
+        return methods;
+    }
+
     public String getProjectName() {
         return this.projectName;
     }
@@ -402,8 +467,12 @@ public class WCETTool extends EmptyTool<WCETEventHandler> {
     public void writeReport() throws Exception {
         this.results.addStat("classpath", getAppInfo().getClassPath());
         this.results.addStat("application", projectConfig.getAppClassName());
-        this.results.addStat("class", projectConfig.getTargetClass());
-        this.results.addStat("method", projectConfig.getTargetMethod());
+        if (targetMethods != null) {
+            this.results.addStat("methods", MiscUtils.joinStrings(targetMethods, ", "));
+        } else {
+            this.results.addStat("class", projectConfig.getTargetClass());
+            this.results.addStat("method", projectConfig.getTargetMethod());
+        }
         this.results.writeReport();
     }
 
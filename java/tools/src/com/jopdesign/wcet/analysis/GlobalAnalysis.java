@@ -49,6 +49,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.log4j.Logger;
 
@@ -59,6 +64,21 @@ import org.apache.log4j.Logger;
  */
 public class GlobalAnalysis {
 
+    private static final Logger logger = Logger.getLogger(WCETTool.LOG_WCET_IPET + ".GlobalAnalysis");
+
+    /**
+     * Cost of one call region ({@link SuperGraphPartition}).
+     * A region entered {@code f} times costs at most {@code min(f * totalCost, f * execCost + missCost)}.
+     */
+    private static class RegionCost {
+        /** execution time of the region, for one entry */
+        long execCost;
+        /** execution time and cache misses of the region, for one entry */
+        long totalCost;
+        /** cost of missing each method of the region once */
+        long missCost;
+    }
+
     private WCETTool project;
 
     private IPETConfig ipetConfig;
@@ -98,16 +118,36 @@ public class GlobalAnalysis {
             }
         }
 
-        /* create an IPET problem for all reachable methods */
-        IPETSolver ipetSolver = buildIpetProblem(project, key, sg, ipetConfig);
-
-        /* compute cost */
-        setExecutionCost(sg, cacheMode, ipetSolver);
+        /* split large problems into call regions */
+        SuperGraphPartition.Region rootRegion = null;
+        Map<SuperGraphPartition.Region, RegionCost> regionCosts = new HashMap<SuperGraphPartition.Region, RegionCost>();
+        if (ipetConfig.getPartitionSize() > 0) {
+            SuperGraphPartition partition = new SuperGraphPartition(sg, ipetConfig.getPartitionSize());
+            rootRegion = partition.getRootRegion();
+            if (rootRegion.getChildren().isEmpty()) {
+                rootRegion = null;
+            } else {
+                logger.info("Global IPET for " + key + ": " + partition.getRegionCount() + " regions");
+                solveRegions(key, sg, partition, cacheMode, regionCosts);
+            }
+        }
 
-        /* Add constraints for cache */
+        /* create an IPET problem for all reachable methods (except subregions) */
         Set<ExecutionEdge> missEdges = new HashSet<ExecutionEdge>();
-        if (cacheMode == StaticCacheApproximation.GLOBAL_ALL_FIT) {
-            missEdges = addMissOnceCost(sg, ipetSolver);
+        IPETSolver ipetSolver;
+        if (rootRegion == null) {
+            ipetSolver = buildIpetProblem(project, key, sg, ipetConfig);
+
+            /* compute cost */
+            setExecutionCost(sg, sg.getSuperGraphNodes(), cacheMode, ipetSolver);
+
+            /* Add constraints for cache */
+            if (cacheMode == StaticCacheApproximation.GLOBAL_ALL_FIT) {
+                missEdges = addMissOnceCost(sg, sg.getSuperGraphNodes(), ipetSolver);
+            }
+        } else {
+            ipetSolver = buildRegionProblem(key, sg, rootRegion, cacheMode,
+                    cacheMode == StaticCacheApproximation.GLOBAL_ALL_FIT, regionCosts, missEdges);
         }
 
         /* Return variables */
@@ -123,7 +163,13 @@ public class GlobalAnalysis {
             ExecutionEdge edge = flowEntry.getKey();
             long edgeCost = ipetSolver.getEdgeCost(edge);
             long flowCost = edgeCost * flowEntry.getValue();
-            if (missEdges.contains(edge)) {
+            if (edge.getModel() instanceof SuperGraphPartition.Region) {
+                /* the execution cost of the region, and the remaining cost for cache misses */
+                SuperGraphPartition.Region region = (SuperGraphPartition.Region) edge.getModel();
+                long execCost = regionCosts.get(region).execCost * entryFlow(sg, region, flowMap);
+                cost.addNonLocalCost(execCost);
+                cost.addCacheCost(flowCost - execCost);
+            } else if (missEdges.contains(edge)) {
             	if(WCETTool.logger.isTraceEnabled() && flowEntry.getValue() > 0) {
             		WCETTool.logger.trace("Execution Cost [cache]: "+ edge + " = " + flowCost + " ( " + flowEntry.getValue() + " * " + edgeCost + " )");
             	}
@@ -144,6 +190,155 @@ public class GlobalAnalysis {
         return cost;
     }
 
+    /**
+     * Compute the cost of all regions of the partition except the root region. The regions of
+     * the same height are independent, and solved concurrently if there is more than one
+     * solver thread.
+     * <p>For the GLOBAL_ALL_FIT approximation, each region is solved twice: with the miss-once
+     * cost of its methods, and without cache costs. Methods invoked both within a region and
+     * outside of it are missed once in each problem, so the combined bound is safe.</p>
+     */
+    private void solveRegions(String key, SuperGraph sg, SuperGraphPartition partition,
+                              StaticCacheApproximation cacheMode,
+                              Map<SuperGraphPartition.Region, RegionCost> regionCosts) throws Exception {
+
+        boolean allFit = (cacheMode == StaticCacheApproximation.GLOBAL_ALL_FIT);
+        List<List<SuperGraphPartition.Region>> levels = partition.getRegionsByHeight();
+        int regionId = 0;
+        for (int height = 0; height < levels.size() - 1; height++) {
+            List<SuperGraphPartition.Region> regions = levels.get(height);
+            List<IPETSolver> problems = new ArrayList<IPETSolver>();
+            for (SuperGraphPartition.Region r : regions) {
+                String name = key + "_region" + (regionId++);
+                problems.add(buildRegionProblem(name, sg, r, cacheMode, allFit, regionCosts, new HashSet<ExecutionEdge>()));
+                if (allFit) {
+                    problems.add(buildRegionProblem(name + "_exec", sg, r, cacheMode, false, regionCosts, null));
+                }
+            }
+            long[] costs = solveAll(problems);
+            int i = 0;
+            for (SuperGraphPartition.Region r : regions) {
+                RegionCost rc = new RegionCost();
+                rc.totalCost = costs[i++];
+                if (allFit) {
+                    rc.execCost = costs[i++];
+                    rc.missCost = missOnceCost(sg, r);
+                } else {
+                    rc.execCost = rc.totalCost;
+                }
+                logger.debug("Region " + r + " (" + r.getSize() + " edges): " + rc.execCost + " / " +
+                        rc.totalCost + " / " + rc.missCost);
+                regionCosts.put(r, rc);
+            }
+        }
+    }
+
+    /**
+     * Build the IPET problem for the given region. Subregions are represented by one summary
+     * variable {@code y}, with {@code y <= f * totalCost} and {@code y <= f * execCost + missCost},
+     * where {@code f} is the flow of the invoke edges entering the subregion.
+     *
+     * @param withMisses whether to add the miss-once cost (GLOBAL_ALL_FIT only)
+     * @param missEdges  the miss edges added to the problem are stored here
+     */
+    private IPETSolver buildRegionProblem(String name, SuperGraph sg, SuperGraphPartition.Region region,
+                                          StaticCacheApproximation cacheMode, boolean withMisses,
+                                          Map<SuperGraphPartition.Region, RegionCost> regionCosts,
+                                          Set<ExecutionEdge> missEdges) {
+
+        IPETSolver ipetSolver = buildIpetProblem(project, name, sg, region.getRoot(), region.getNodes(), ipetConfig);
+        setExecutionCost(sg, region.getNodes(), cacheMode, ipetSolver);
+        if (withMisses) {
+            missEdges.addAll(addMissOnceCost(sg, region.getNodes(), ipetSolver));
+        }
+        for (SuperGraphPartition.Region child : region.getChildren()) {
+            RegionCost rc = regionCosts.get(child);
+            IPETBuilder<SuperGraph.CallContext> c =
+                    new IPETBuilder<SuperGraph.CallContext>(project, child.getRoot().getContext());
+            ExecutionEdge summaryEdge = c.newEdge(child);
+            long totalCost = withMisses ? rc.totalCost : rc.execCost;
+            long missCost = withMisses ? rc.missCost : 0;
+
+            LinearConstraint<ExecutionEdge> totalBound = new LinearConstraint<ExecutionEdge>(ConstraintType.LessEqual);
+            LinearConstraint<ExecutionEdge> execBound = new LinearConstraint<ExecutionEdge>(ConstraintType.LessEqual);
+            totalBound.addLHS(summaryEdge);
+            execBound.addLHS(summaryEdge);
+            for (SuperGraph.SuperInvokeEdge e : sg.incomingInvokeEdgesOf(child.getRoot())) {
+                ExecutionEdge entryEdge = c.newEdgeInContext(e, e.getCallContext());
+                totalBound.addRHS(entryEdge, totalCost);
+                execBound.addRHS(entryEdge, rc.execCost);
+            }
+            execBound.addRHS(missCost);
+            ipetSolver.addConstraint(totalBound);
+            ipetSolver.addConstraint(execBound);
+            ipetSolver.addEdgeCost(summaryEdge, 1);
+        }
+        return ipetSolver;
+    }
+
+    /* number of times the region is entered in the solution */
+    private static long entryFlow(SuperGraph sg, SuperGraphPartition.Region region, Map<ExecutionEdge, Long> flowMap) {
+        long flow = 0;
+        for (SuperGraph.SuperInvokeEdge e : sg.incomingInvokeEdgesOf(region.getRoot())) {
+            Long f = flowMap.get(new ExecutionEdge(e.getCallContext(), e));
+            if (f != null) flow += f;
+        }
+        return flow;
+    }
+
+    /* cost of missing each method invoked (or returned to) within the region once */
+    private long missOnceCost(SuperGraph sg, SuperGraphPartition.Region region) {
+        MethodCache cache = project.getWCETProcessorModel().getMethodCache();
+        Set<SuperGraphNode> regionNodes = new HashSet<SuperGraphNode>(region.getNodes());
+        addSubregionNodes(region, regionNodes);
+        long cost = 0;
+        for (MethodInfo mi : getMethodSwitchEdges(sg, regionNodes).keySet()) {
+            cost += cache.missOnceCost(mi, ipetConfig.doAssumeMissOnceOnInvoke());
+        }
+        return cost;
+    }
+
+    private static void addSubregionNodes(SuperGraphPartition.Region region, Set<SuperGraphNode> nodes) {
+        for (SuperGraphPartition.Region child : region.getChildren()) {
+            nodes.addAll(child.getNodes());
+            addSubregionNodes(child, nodes);
+        }
+    }
+
+    /* solve the given problems, using a thread pool if there is more than one solver thread */
+    private long[] solveAll(final List<IPETSolver> problems) throws Exception {
+        long[] costs = new long[problems.size()];
+        int threads = Math.min(ipetConfig.getSolverThreads(), problems.size());
+        if (threads <= 1) {
+            for (int i = 0; i < problems.size(); i++) {
+                costs[i] = Math.round(problems.get(i).solve(null));
+            }
+            return costs;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Double>> results = new ArrayList<Future<Double>>();
+            for (final IPETSolver problem : problems) {
+                results.add(pool.submit(new Callable<Double>() {
+                    public Double call() throws Exception {
+                        return problem.solve(null);
+                    }
+                }));
+            }
+            for (int i = 0; i < problems.size(); i++) {
+                try {
+                    costs[i] = Math.round(results.get(i).get());
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Exception) throw (Exception) e.getCause();
+                    throw e;
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return costs;
+    }
+
     /**
      * Create an interprocedural max-cost max-flow problem for the given supergraph<br/>
      * Notes:<ul>
@@ -157,18 +352,38 @@ public class GlobalAnalysis {
      * @return The max-cost maxflow problem
      */
     public static IPETSolver buildIpetProblem(WCETTool wcetTool, String problemName, SuperGraph sg, IPETConfig ipetConfig) {
+        return buildIpetProblem(wcetTool, problemName, sg, sg.getRootNode(), sg.getSuperGraphNodes(), ipetConfig);
+    }
+
+    /**
+     * Create an interprocedural max-cost max-flow problem for a part of the given supergraph.
+     * The invoke edges to nodes not in the given set are part of the problem, but the
+     * invoked nodes are not.
+     *
+     * @param wcetTool    A reference to the WCETTool
+     * @param problemName A unique identifier for the problem (for reporting)
+     * @param sg          The supergraph to build the ILP for
+     * @param root        The node entered once (flow 1)
+     * @param nodes       The nodes of the supergraph to include (all callers of these nodes
+     *                    except {@code root} have to be included as well)
+     * @param ipetConfig  the IPET configuration
+     * @return The max-cost maxflow problem
+     */
+    public static IPETSolver buildIpetProblem(WCETTool wcetTool, String problemName, SuperGraph sg,
+                                              SuperGraphNode root, Set<SuperGraphNode> nodes,
+                                              IPETConfig ipetConfig) {
 
         IPETSolver ipetSolver = new IPETSolver(problemName, ipetConfig);
 
         IPETBuilder<SuperGraph.CallContext> ipetBuilder =
-                new IPETBuilder<SuperGraph.CallContext>(wcetTool, sg.getRootNode().getContext());
+                new IPETBuilder<SuperGraph.CallContext>(wcetTool, root.getContext());
 
-        for (SuperGraphNode n : sg.getSuperGraphNodes()) {
+        for (SuperGraphNode n : nodes) {
 
             ControlFlowGraph cfg = n.getCfg();
             ipetBuilder.changeContext(n.getContext());
 
-            if (n.equals(sg.getRootNode())) {
+            if (n.equals(root)) {
                 /* Root node : inflow(entry) = outflow(exit) = 1 */
                 ipetSolver.addConstraints(IPETUtils.structuralFlowConstraintsRoot(cfg.getGraph(), ipetBuilder));
             } else {
@@ -187,6 +402,7 @@ public class GlobalAnalysis {
 
         /* Constraints for invoke/return super edge pairs */
         for (Entry<SuperGraph.SuperInvokeEdge, SuperGraph.SuperReturnEdge> superEdgePair : sg.getSuperEdgePairs().entrySet()) {
+            if (!nodes.contains(sg.getGraph().getEdgeSource(superEdgePair.getKey()))) continue;
             ipetBuilder.changeContext(superEdgePair.getKey().getCallContext());
             ipetSolver.addConstraints(IPETUtils.invokeReturnConstraints(superEdgePair.getKey(), superEdgePair.getValue(), ipetBuilder));
         }
@@ -198,18 +414,20 @@ public class GlobalAnalysis {
     /**
      * Compute the execution time of each edge in in the supergraph
      *
-     * @param sg       the supergraph, whose vertices are considered
+     * @param sg       the supergraph
+     * @param nodes    the vertices of the supergraph which are considered
      * @param ipetInst the IPET instance
      * @return the cost map
      */
-    private Map<ExecutionEdge, WcetCost> setExecutionCost(SuperGraph sg, StaticCacheApproximation approx, IPETSolver ipetInst) {
+    private Map<ExecutionEdge, WcetCost> setExecutionCost(SuperGraph sg, Set<SuperGraphNode> nodes,
+                                                          StaticCacheApproximation approx, IPETSolver ipetInst) {
 
         HashMap<ExecutionEdge, WcetCost> edgeCost = new HashMap<ExecutionEdge, WcetCost>();
         boolean alwaysMiss = (approx == StaticCacheApproximation.ALWAYS_MISS);
 
         IPETBuilder<SuperGraph.CallContext> ipetBuilder = new IPETBuilder<SuperGraph.CallContext>(project, new SuperGraph.CallContext(CallString.EMPTY));
 
-        for (SuperGraphNode n : sg.getGraph().vertexSet()) {
+        for (SuperGraphNode n : nodes) {
             ipetBuilder.changeContext(n.getContext());
 
             // FIXME: There is a discrepancy but also overlap between analysis contexts and execution contexts
@@ -232,10 +450,10 @@ public class GlobalAnalysis {
 
     /* add cost for missing each method once (ALL FIT) */
 
-    private Set<ExecutionEdge> addMissOnceCost(SuperGraph sg, IPETSolver ipetSolver) {
+    private Set<ExecutionEdge> addMissOnceCost(SuperGraph sg, Set<SuperGraphNode> nodes, IPETSolver ipetSolver) {
         /* collect access sites */
 
-        Map<MethodInfo, List<SuperGraph.SuperGraphEdge>> accessEdges = getMethodSwitchEdges(sg);
+        Map<MethodInfo, List<SuperGraph.SuperGraphEdge>> accessEdges = getMethodSwitchEdges(sg, nodes);
         MethodCache cache = project.getWCETProcessorModel().getMethodCache();
 
         Set<ExecutionEdge> missEdges = new HashSet<ExecutionEdge>();
@@ -265,13 +483,16 @@ public class GlobalAnalysis {
      * For each method, get all supergraph edges which switch the context to that method
      *
      * @param superGraph
+     * @param nodes only consider edges of invocations by these nodes
      * @return
      */
-    private Map<MethodInfo, List<SuperGraph.SuperGraphEdge>> getMethodSwitchEdges(SuperGraph superGraph) {
+    private Map<MethodInfo, List<SuperGraph.SuperGraphEdge>> getMethodSwitchEdges(SuperGraph superGraph,
+                                                                                  Set<SuperGraphNode> nodes) {
 
         Map<MethodInfo, List<SuperGraph.SuperGraphEdge>> iMap =
                 new HashMap<MethodInfo, List<SuperGraph.SuperGraphEdge>>();
         for (SuperGraph.SuperGraphEdge edge : superGraph.getSuperEdges()) {
+            if (!nodes.contains(SuperGraphPartition.getInvoker(superGraph, edge))) continue;
             MethodInfo targetMethod = superGraph.getTargetNode(edge).getCfg().getMethodInfo();
             List<SuperGraph.SuperGraphEdge> edges = iMap.get(targetMethod);
             if (edges == null) edges = new ArrayList<SuperGraph.SuperGraphEdge>();
@@ -29,8 +29,19 @@ import com.jopdesign.wcet.ipet.IPETConfig;
 import com.jopdesign.wcet.ipet.IPETSolver;
 import com.jopdesign.wcet.ipet.IPETUtils;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Class for recursive maximization problems.
@@ -40,6 +51,20 @@ import java.util.Map;
  * @param <Context> Different Contexts may lead to different results.
  * Recomputation with the same context is cached.
  * @param <Rval>    Type of the thing being computed (e.g., WcetCost, long) etc.
+ *
+ * <p>With more than one solver thread ({@link IPETConfig#getSolverThreads()}), the costs
+ * of the methods invoked by a flow graph are computed as tasks on a thread pool. The
+ * call graph is acyclic, so a thread only waits for callees, which are computed by
+ * itself or by a thread making progress. The analysis data structures are not thread
+ * safe, therefore all computations hold the analysis lock, which is only released while
+ * the ILP solver runs or while waiting for another thread. Each (method, context) pair
+ * is computed exactly once, from the same callee costs as in the sequential analysis, so
+ * the ILPs are the same and so is their optimum, the WCET. If an ILP has several optimal
+ * solutions, the split of the WCET into execution and cache cost depends on the solution
+ * returned, which is the same for the same problem with
+ * {@link com.jopdesign.wcet.ipet.JavaILPSolver} (checked by RecursiveAnalysisTest), but not
+ * verified for lp_solve. The order of the report entries, and the context of once-per-method
+ * line costs, depend on the schedule.</p>
  */
 public abstract class RecursiveAnalysis<Context extends AnalysisContext, Rval> {
 
@@ -91,28 +116,114 @@ public abstract class RecursiveAnalysis<Context extends AnalysisContext, Rval> {
     }
 
     private WCETTool project;
-    private HashMap<CacheKey, Rval> costMap;
+    private ConcurrentHashMap<CacheKey, FutureTask<Rval>> costMap;
     private IPETConfig ipetConfig;
 
+    /* null for the sequential analysis */
+    private ThreadPoolExecutor pool;
+    private ReentrantLock lock;
+
     public WCETTool getWCETTool() {
         return project;
     }
 
+    public IPETConfig getIPETConfig() {
+        return ipetConfig;
+    }
+
     public RecursiveAnalysis(WCETTool p, IPETConfig ipetConfig) {
         this.project = p;
         this.ipetConfig = ipetConfig;
-        this.costMap = new HashMap<CacheKey, Rval>();
+        this.costMap = new ConcurrentHashMap<CacheKey, FutureTask<Rval>>();
+        int threads = ipetConfig.getSolverThreads();
+        if (threads > 1) {
+            this.lock = new ReentrantLock();
+            this.pool = new ThreadPoolExecutor(threads - 1, threads - 1, 10, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                        public Thread newThread(Runnable r) {
+                            Thread t = new Thread(r, "ipet-solver");
+                            t.setDaemon(true);
+                            return t;
+                        }
+                    });
+            this.pool.allowCoreThreadTimeOut(true);
+        }
     }
 
-    public Rval computeCost(MethodInfo m, Context ctx) {
+    public Rval computeCost(final MethodInfo m, final Context ctx) {
         /* use memoization to speed up analysis */
-        CacheKey key = new CacheKey(m, ctx);
-        if (isCached(key)) return getCached(key);
+        final CacheKey key = new CacheKey(m, ctx);
+        FutureTask<Rval> task = claim(key, new Callable<Rval>() {
+            public Rval call() {
+                /* compute solution */
+                return computeCostUncached(key.toString(), project.getFlowGraph(m), ctx);
+            }
+        });
+        if (task == null) return getCached(key);
+        runLocked(task);
+        return getResult(task);
+    }
 
-        /* compute solution */
-        Rval rval = computeCostUncached(key.toString(), project.getFlowGraph(m), ctx);
-        recordCost(key, rval);
-        return rval;
+    /**
+     * Register the computation of the cost for the given key, unless some
+     * thread already did. The caller has to run the returned task.
+     *
+     * @return the task computing the cost, or null if the key has already been claimed
+     */
+    protected FutureTask<Rval> claim(CacheKey key, Callable<Rval> computation) {
+        FutureTask<Rval> task = new FutureTask<Rval>(computation);
+        if (costMap.putIfAbsent(key, task) != null) return null;
+        return task;
+    }
+
+    /**
+     * Run the task (if not yet started) holding the analysis lock
+     */
+    protected void runLocked(FutureTask<?> task) {
+        if (lock == null) {
+            task.run();
+            return;
+        }
+        if (task.isDone()) return;
+        lock.lock();
+        try {
+            task.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait for the task, releasing the analysis lock while waiting
+     */
+    protected <T> T getResult(FutureTask<T> task) {
+        int holds = task.isDone() ? 0 : releaseLock();
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            throw new Error("Interrupted while waiting for the WCET of a callee", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) throw (Error) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new Error("Failed to compute cost: " + cause, cause);
+        } finally {
+            acquireLock(holds);
+        }
+    }
+
+    /**
+     * @return the hold count of the analysis lock
+     */
+    private int releaseLock() {
+        if (lock == null || !lock.isHeldByCurrentThread()) return 0;
+        int holds = lock.getHoldCount();
+        for (int i = 0; i < holds; i++) lock.unlock();
+        return holds;
+    }
+
+    private void acquireLock(int holds) {
+        for (int i = 0; i < holds; i++) lock.lock();
     }
 
     public Rval computeCostUncached(String ilpName, ControlFlowGraph cfg, Context ctx) {
@@ -153,10 +264,13 @@ public abstract class RecursiveAnalysis<Context extends AnalysisContext, Rval> {
         /* solve ILP */
         /* extract node flow, local cost, cache cost, cummulative cost */
         long maxCost = 0;
+        int holds = releaseLock();
         try {
             maxCost = Math.round(problem.solve(edgeFlowOut));
         } catch (Exception e) {
             throw new Error("Failed to solve LP problem: " + e, e);
+        } finally {
+            acquireLock(holds);
         }
         return maxCost;
     }
@@ -165,18 +279,48 @@ public abstract class RecursiveAnalysis<Context extends AnalysisContext, Rval> {
      * map flowgraph nodes to costs
      * If the node is a invoke, we need to compute the cost for the invoked method
      * otherwise, just take the basic block cost
+     * With a thread pool, the invoked methods are computed concurrently.
      *
      * @param fg  the target flowgraph
      * @param ctx the cost computation context
      * @return
      */
     public Map<CFGNode, Rval>
-    buildNodeCostMap(ControlFlowGraph fg, Context ctx) {
+    buildNodeCostMap(ControlFlowGraph fg, final Context ctx) {
 
         HashMap<CFGNode, Rval> nodeCost = new HashMap<CFGNode, Rval>();
+        if (pool == null) {
+            for (CFGNode n : fg.getGraph().vertexSet()) {
+                nodeCost.put(n, computeCostOfNode(n, ctx));
+            }
+            return nodeCost;
+        }
+        List<CFGNode> invokes = new ArrayList<CFGNode>();
+        List<FutureTask<Rval>> tasks = new ArrayList<FutureTask<Rval>>();
+        for (final CFGNode n : fg.getGraph().vertexSet()) {
+            if (!(n instanceof ControlFlowGraph.InvokeNode)) continue;
+            final FutureTask<Rval> task = new FutureTask<Rval>(new Callable<Rval>() {
+                public Rval call() {
+                    return computeCostOfNode(n, ctx);
+                }
+            });
+            invokes.add(n);
+            tasks.add(task);
+            pool.execute(new Runnable() {
+                public void run() {
+                    runLocked(task);
+                }
+            });
+        }
         for (CFGNode n : fg.getGraph().vertexSet()) {
+            if (n instanceof ControlFlowGraph.InvokeNode) continue;
             nodeCost.put(n, computeCostOfNode(n, ctx));
         }
+        /* compute the invokes not yet started by the pool ourselves */
+        for (int i = 0; i < tasks.size(); i++) {
+            runLocked(tasks.get(i));
+            nodeCost.put(invokes.get(i), getResult(tasks.get(i)));
+        }
         return nodeCost;
     }
 
@@ -184,20 +328,31 @@ public abstract class RecursiveAnalysis<Context extends AnalysisContext, Rval> {
         recordCost(new CacheKey(invoked, ctx), cost);
     }
 
-    protected void recordCost(CacheKey key, Rval cost) {
-        costMap.put(key, cost);
+    protected void recordCost(CacheKey key, final Rval cost) {
+        FutureTask<Rval> task = new FutureTask<Rval>(new Callable<Rval>() {
+            public Rval call() {
+                return cost;
+            }
+        });
+        task.run();
+        costMap.put(key, task);
     }
 
     protected boolean isCached(CacheKey key) {
-        return costMap.containsKey(key);
+        FutureTask<Rval> task = costMap.get(key);
+        return task != null && task.isDone();
     }
 
     public boolean isCached(MethodInfo invoked, Context ctx) {
         return isCached(new CacheKey(invoked, ctx));
     }
 
+    /**
+     * Get the cost for the key, waiting if another thread is still computing it
+     */
     protected Rval getCached(CacheKey cacheKey) {
-        return costMap.get(cacheKey);
+        FutureTask<Rval> task = costMap.get(cacheKey);
+        return task == null ? null : getResult(task);
     }
 
     public Rval getCached(MethodInfo invoked, Context ctx) {
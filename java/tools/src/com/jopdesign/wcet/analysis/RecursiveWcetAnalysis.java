@@ -42,6 +42,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
 
 /**
  * Simple and fast local analysis, with the possibility to use more expensive analysis
@@ -183,6 +185,7 @@ public class RecursiveWcetAnalysis<Context extends AnalysisContext>
 	private WCETProcessorModel processor;
 	private RecursiveAnalysis.RecursiveStrategy<Context, WcetCost> recursiveWCET;
 	private Set<MethodInfo> costsPerLineReported = new HashSet<MethodInfo>();
+	private WcetResultCache resultCache;
 
 	public RecursiveWcetAnalysis(WCETTool project,
 			RecursiveAnalysis.RecursiveStrategy<Context, WcetCost> recursiveStrategy) {
@@ -198,6 +201,16 @@ public class RecursiveWcetAnalysis<Context extends AnalysisContext>
 
 		this.recursiveWCET = recursiveStrategy;
 	}
+
+	/**
+	 * Reuse the WCET of methods computed in earlier runs. The cache is not
+	 * consulted while generating the WCET report, which needs the solutions.
+	 * @param cache the persistent cache, or null to disable it
+	 */
+	public void setResultCache(WcetResultCache cache) {
+		if(cache != null && ! cache.isEnabled()) cache = null;
+		this.resultCache = cache;
+	}
 	
 	/**
 	 * WCET analysis of the given method, using some strategy for recursive WCET calculation and cache
@@ -207,21 +220,35 @@ public class RecursiveWcetAnalysis<Context extends AnalysisContext>
 	 *
 	 * <p>FIXME: Logging/Report is somewhat broken and messy </p>
 	 */
-	public WcetCost computeCost(MethodInfo m, Context ctx) {
+	public WcetCost computeCost(MethodInfo m, final Context ctx) {
 		/* use memoization to speed up analysis */
-		CacheKey key = new CacheKey(m,ctx);
-		if(isCached(key)) return getCached(key);
-		/* compute solution */
-		LocalWCETSolution sol = runWCETComputation(key.toString(), getWCETTool().getFlowGraph(m), ctx);
-		sol.checkConsistentency();
-		recordCost(key, sol.getCost());
-		/* Logging and Report */
-		logger.debug("WCET for " + key + ": "+sol.getCost());
-		if(getWCETTool().reportGenerationActive()) {
-			updateReport(key, sol);
-		}
-
-		return sol.getTotalCost();
+		final CacheKey key = new CacheKey(m,ctx);
+		FutureTask<WcetCost> task = claim(key, new Callable<WcetCost>() {
+			public WcetCost call() {
+				boolean report = getWCETTool().reportGenerationActive();
+				if(resultCache != null && ! report) {
+					WcetCost cost = resultCache.lookup(recursiveWCET, getIPETConfig(), key.m, ctx);
+					if(cost != null) return cost;
+				}
+				/* compute solution */
+				LocalWCETSolution sol = runWCETComputation(key.toString(), getWCETTool().getFlowGraph(key.m), ctx);
+				sol.checkConsistentency();
+				/* Logging and Report */
+				logger.debug("WCET for " + key + ": "+sol.getCost());
+				if(report) {
+					updateReport(key, sol);
+				}
+				if(resultCache != null) {
+					resultCache.store(recursiveWCET, getIPETConfig(), key.m, ctx, sol.getCost());
+				}
+				return sol.getCost();
+			}
+		});
+		if(task == null) return getCached(key);
+		runLocked(task);
+		WcetCost cost = getResult(task).clone();
+		cost.moveLocalToGlobalCost();
+		return cost;
 	}
 
 	public LocalWCETSolution runWCETComputation(
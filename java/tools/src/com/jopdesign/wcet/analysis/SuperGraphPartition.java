@@ -0,0 +1,264 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ * see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jopdesign.wcet.analysis;
+
+import com.jopdesign.common.code.SuperGraph;
+import com.jopdesign.common.code.SuperGraph.SuperGraphEdge;
+import com.jopdesign.common.code.SuperGraph.SuperInvokeEdge;
+import com.jopdesign.common.code.SuperGraphNode;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decomposition of a supergraph into call regions, for solving large global IPET problems
+ * piecewise.
+ * <p>
+ * A <em>call region</em> consists of a supergraph node {@code g} and all nodes reachable
+ * from it. It is <em>closed</em> if all nodes of the region except {@code g} are only invoked
+ * from within the region. A closed region is entered by the invoke edges of {@code g} and
+ * left by the corresponding return edges only, so its flow is determined by the number of
+ * times it is entered. Closed regions are either nested or disjoint.
+ * </p><p>
+ * If the problem for a region is larger than the limit, the largest closed subregions are cut
+ * off (recursively) until the remaining problem fits. In the problem of the parent, a cut
+ * region is represented by a summary variable ({@link GlobalAnalysis}).
+ * </p>
+ *
+ * @author agent (agent@local)
+ */
+public class SuperGraphPartition {
+
+    /**
+     * One region of the partition. The region itself is the model of its summary variable
+     * in the IPET problem of the parent region.
+     */
+    public static class Region {
+        private SuperGraphNode root;
+        private Set<SuperGraphNode> nodes = new LinkedHashSet<SuperGraphNode>();
+        private List<Region> children = new ArrayList<Region>();
+        private int height = 0;
+        private int size = 0;
+
+        private Region(SuperGraphNode root) {
+            this.root = root;
+        }
+
+        /**
+         * @return the node the region is entered at
+         */
+        public SuperGraphNode getRoot() {
+            return root;
+        }
+
+        /**
+         * @return the nodes of the region which are not part of a subregion
+         */
+        public Set<SuperGraphNode> getNodes() {
+            return nodes;
+        }
+
+        /**
+         * @return the subregions cut off from this region
+         */
+        public List<Region> getChildren() {
+            return children;
+        }
+
+        /**
+         * @return 0 for regions without subregions, 1 + the maximal height of the subregions otherwise
+         */
+        public int getHeight() {
+            return height;
+        }
+
+        /**
+         * @return the number of flow graph edges of the nodes in {@link #getNodes()}
+         */
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return "Region[" + root.getCfg().getMethodInfo().getFQMethodName() + "," + root.getCallString() + "]";
+        }
+    }
+
+    private SuperGraph superGraph;
+    private int limit;
+
+    private List<SuperGraphNode> nodes;
+    private Map<SuperGraphNode, Integer> index;
+    /* nodes reachable from a node (including the node itself) */
+    private BitSet[] reachable;
+    private int[] nodeSize;
+    private int[] regionSize;
+    private boolean[] closed;
+
+    private Region rootRegion;
+    private int regionCount;
+
+    /**
+     * Partition the given supergraph
+     *
+     * @param sg    the supergraph
+     * @param limit the maximal number of flow graph edges of one region (if possible)
+     */
+    public SuperGraphPartition(SuperGraph sg, int limit) {
+        this.superGraph = sg;
+        this.limit = limit;
+        this.nodes = new ArrayList<SuperGraphNode>(sg.getSuperGraphNodes());
+        this.index = new HashMap<SuperGraphNode, Integer>();
+        for (int i = 0; i < nodes.size(); i++) {
+            index.put(nodes.get(i), i);
+        }
+        computeRegions();
+        rootRegion = buildRegion(sg.getRootNode());
+    }
+
+    /**
+     * @return the region entered at the root of the supergraph
+     */
+    public Region getRootRegion() {
+        return rootRegion;
+    }
+
+    /**
+     * @return the total number of regions
+     */
+    public int getRegionCount() {
+        return regionCount;
+    }
+
+    /**
+     * @return the regions, grouped by height (subregions before their parents)
+     */
+    public List<List<Region>> getRegionsByHeight() {
+        List<List<Region>> levels = new ArrayList<List<Region>>();
+        for (int i = 0; i <= rootRegion.getHeight(); i++) {
+            levels.add(new ArrayList<Region>());
+        }
+        collect(rootRegion, levels);
+        return levels;
+    }
+
+    private void collect(Region r, List<List<Region>> levels) {
+        levels.get(r.getHeight()).add(r);
+        for (Region child : r.getChildren()) {
+            collect(child, levels);
+        }
+    }
+
+    /**
+     * @param sg the supergraph
+     * @param e  an invoke or return edge of the supergraph
+     * @return the supergraph node invoking the method of the given super edge
+     */
+    public static SuperGraphNode getInvoker(SuperGraph sg, SuperGraphEdge e) {
+        if (e instanceof SuperInvokeEdge) return sg.getGraph().getEdgeSource(e);
+        else return sg.getGraph().getEdgeTarget(e);
+    }
+
+    /* compute reachable sets, sizes and closed regions */
+    private void computeRegions() {
+        int n = nodes.size();
+        reachable = new BitSet[n];
+        nodeSize = new int[n];
+        regionSize = new int[n];
+        closed = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            nodeSize[i] = nodes.get(i).getCfg().getGraph().edgeSet().size();
+        }
+        for (int i = 0; i < n; i++) {
+            computeReachable(i);
+        }
+        for (int i = 0; i < n; i++) {
+            BitSet region = reachable[i];
+            boolean isClosed = true;
+            for (int j = region.nextSetBit(0); j >= 0; j = region.nextSetBit(j + 1)) {
+                regionSize[i] += nodeSize[j];
+                if (j == i) continue;
+                for (SuperInvokeEdge e : superGraph.incomingInvokeEdgesOf(nodes.get(j))) {
+                    if (!region.get(index.get(superGraph.getGraph().getEdgeSource(e)))) {
+                        isClosed = false;
+                    }
+                }
+            }
+            closed[i] = isClosed;
+        }
+    }
+
+    /* the call graph is acyclic, and so are the invoke edges of the supergraph */
+    private BitSet computeReachable(int i) {
+        if (reachable[i] != null) return reachable[i];
+        BitSet r = new BitSet(nodes.size());
+        r.set(i);
+        for (SuperGraphEdge e : superGraph.getGraph().outgoingEdgesOf(nodes.get(i))) {
+            if (!(e instanceof SuperInvokeEdge)) continue;
+            r.or(computeReachable(index.get(superGraph.getTargetNode(e))));
+        }
+        reachable[i] = r;
+        return r;
+    }
+
+    private Region buildRegion(SuperGraphNode rootNode) {
+        Region region = new Region(rootNode);
+        regionCount++;
+        int rootIndex = index.get(rootNode);
+        BitSet remaining = (BitSet) reachable[rootIndex].clone();
+        int size = regionSize[rootIndex];
+
+        if (size > limit) {
+            /* cut off the largest closed subregions, until the rest fits */
+            List<Integer> candidates = new ArrayList<Integer>();
+            for (int j = remaining.nextSetBit(0); j >= 0; j = remaining.nextSetBit(j + 1)) {
+                if (j != rootIndex && closed[j]) candidates.add(j);
+            }
+            Collections.sort(candidates, new Comparator<Integer>() {
+                public int compare(Integer a, Integer b) {
+                    return regionSize[b] - regionSize[a];
+                }
+            });
+            for (int j : candidates) {
+                if (size <= limit) break;
+                /* already part of a larger subregion */
+                if (!remaining.get(j)) continue;
+                Region child = buildRegion(nodes.get(j));
+                region.children.add(child);
+                region.height = Math.max(region.height, child.height + 1);
+                remaining.andNot(reachable[j]);
+                size -= regionSize[j];
+            }
+        }
+        for (int j = remaining.nextSetBit(0); j >= 0; j = remaining.nextSetBit(j + 1)) {
+            region.nodes.add(nodes.get(j));
+        }
+        region.size = size;
+        return region;
+    }
+}
@@ -30,6 +30,7 @@ import com.jopdesign.wcet.uppaal.Translator;
 import com.jopdesign.wcet.uppaal.UppAalConfig;
 import com.jopdesign.wcet.uppaal.UppAalConfig.UppaalCacheApproximation;
 import com.jopdesign.wcet.uppaal.WcetSearch;
+import com.jopdesign.wcet.uppaal.explorer.ModelExplorer;
 import com.jopdesign.wcet.uppaal.model.DuplicateKeyException;
 import com.jopdesign.wcet.uppaal.model.XmlSerializationException;
 import org.apache.log4j.Logger;
@@ -86,7 +87,18 @@ public class UppaalAnalysis {
         translator.writeOutput();
         logger.info("model and query can be found in " + uppaalConfig.outDir);
         logger.info("model file: " + translator.getModelFile());
-        if (uppaalConfig.hasVerifier()) {
+        if (uppaalConfig.useBuiltinChecker()) {
+            logger.info("Starting exploration");
+            long start = System.nanoTime();
+            ModelExplorer explorer = new ModelExplorer(translator.getSystem().getNTASystem());
+            long wcet = explorer.computeMaxTime("M0", "E");
+            long end = System.nanoTime();
+            if (wcet < 0) throw new IOException("End of " + m.getFQMethodName() + " is unreachable in the model");
+            double time = ((double) (end - start)) / 1E9;
+            searchtime += time;
+            solvertimemax = Math.max(solvertimemax, time);
+            return WcetCost.totalCost(wcet);
+        } else if (uppaalConfig.hasVerifier()) {
             logger.info("Starting verification");
             WcetSearch search = new WcetSearch(project.getConfig(), translator.getModelFile());
             long start = System.nanoTime();
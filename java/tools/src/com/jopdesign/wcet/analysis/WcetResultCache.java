@@ -0,0 +1,316 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ * see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jopdesign.wcet.analysis;
+
+import com.jopdesign.common.MethodInfo;
+import com.jopdesign.common.code.CallString;
+import com.jopdesign.common.code.ControlFlowGraph;
+import com.jopdesign.common.code.ControlFlowGraph.CFGNode;
+import com.jopdesign.common.code.LoopBound;
+import com.jopdesign.common.code.SymbolicMarker;
+import com.jopdesign.common.config.Config;
+import com.jopdesign.common.config.Option;
+import com.jopdesign.common.config.OptionGroup;
+import com.jopdesign.common.processormodel.JOPConfig;
+import com.jopdesign.wcet.WCETTool;
+import com.jopdesign.wcet.annotations.LoopBoundExpr;
+import com.jopdesign.wcet.ipet.IPETConfig;
+import org.apache.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * Persistent cache of the WCET of methods, reused across runs of the WCET tool.
+ * <p>
+ * The results are stored in the cache directory, one file per result. The name of
+ * the file is a SHA-1 digest of everything the result depends on:
+ * </p>
+ * <ul>
+ * <li/> the processor model and its configuration (timing, method and object cache)
+ * <li/> the IPET configuration (cache approximation, partitioning, solver)
+ * <li/> the recursive strategy and the analysis context (cache approximation, call string)
+ * <li/> the bytecode and loop bounds (annotations and DFA) of the method and of all
+ *       methods it may invoke, transitively
+ * </ul>
+ * <p>
+ * Therefore a changed method only invalidates the results of the methods
+ * which (transitively) invoke it.
+ * </p>
+ * <p>
+ * Context sensitive DFA results (DFA with call strings) are not part of the
+ * digest, the cache is disabled in this configuration.
+ * </p>
+ *
+ * @author agent (agent@local)
+ */
+public class WcetResultCache {
+
+    private static final Logger logger = Logger.getLogger(WCETTool.LOG_WCET_ANALYSIS + ".WcetResultCache");
+
+    private WCETTool project;
+    private File cacheDir;
+    private byte[] configDigest;
+
+    private Map<MethodInfo, byte[]> methodDigests = new HashMap<MethodInfo, byte[]>();
+
+    private int hits = 0;
+    private int misses = 0;
+
+    /**
+     * @param project  the WCET tool
+     * @param cacheDir the directory holding the cached results
+     */
+    public WcetResultCache(WCETTool project, File cacheDir) {
+        this.project = project;
+        this.cacheDir = cacheDir;
+        this.configDigest = computeConfigDigest();
+    }
+
+    /**
+     * @return true if the results of the current configuration can be cached
+     */
+    public boolean isEnabled() {
+        return !(project.doDataflowAnalysis() && project.getProjectConfig().callstringLength() > 0);
+    }
+
+    /**
+     * Look up the cost of the method in the given context
+     *
+     * @param strategy   the recursive strategy computing the cost
+     * @param ipetConfig the IPET configuration of the analysis
+     * @return the cost, or null if it is not in the cache
+     */
+    public synchronized WcetCost lookup(Object strategy, IPETConfig ipetConfig,
+                                        MethodInfo m, AnalysisContext ctx) {
+        File file = getCacheFile(strategy, ipetConfig, m, ctx);
+        if (file == null || !file.exists()) {
+            misses++;
+            return null;
+        }
+        ObjectInputStream in = null;
+        try {
+            in = new ObjectInputStream(new FileInputStream(file));
+            WcetCost cost = (WcetCost) in.readObject();
+            hits++;
+            return cost;
+        } catch (IOException e) {
+            logger.error("Failed to read cached WCET " + file + ": " + e);
+        } catch (ClassNotFoundException e) {
+            logger.error("Failed to read cached WCET " + file + ": " + e);
+        } finally {
+            close(in);
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Store the cost of the method in the given context
+     */
+    public synchronized void store(Object strategy, IPETConfig ipetConfig,
+                                   MethodInfo m, AnalysisContext ctx, WcetCost cost) {
+        File file = getCacheFile(strategy, ipetConfig, m, ctx);
+        if (file == null) return;
+        /* write to a temporary file first, a concurrent run must not see partial results */
+        ObjectOutputStream out = null;
+        try {
+            cacheDir.mkdirs();
+            File tmp = File.createTempFile("wcet", ".tmp", cacheDir);
+            out = new ObjectOutputStream(new FileOutputStream(tmp));
+            out.writeObject(cost);
+            out.close();
+            out = null;
+            if (!tmp.renameTo(file)) {
+                tmp.delete();
+            }
+        } catch (IOException e) {
+            logger.error("Failed to write cached WCET " + file + ": " + e);
+        } finally {
+            close(out);
+        }
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    private File getCacheFile(Object strategy, IPETConfig ipetConfig, MethodInfo m, AnalysisContext ctx) {
+        if (!(ctx instanceof AnalysisContextLocal) || !m.hasCode()) return null;
+        AnalysisContextLocal ctxLocal = (AnalysisContextLocal) ctx;
+        MessageDigest md = newDigest();
+        md.update(configDigest);
+        update(md, strategy.getClass().getName());
+        /* the IPET configuration of the analysis may differ from the options, see computeConfigDigest() */
+        update(md, String.valueOf(ipetConfig.doAssumeMissOnceOnInvoke()));
+        update(md, String.valueOf(ipetConfig.getPartitionSize()));
+        update(md, ipetConfig.getSolverType().name());
+        update(md, ctxLocal.getCacheApproxMode().name());
+        update(md, ctxLocal.getCallString().toStringVerbose(false));
+        md.update(getMethodDigest(m));
+        return new File(cacheDir, "wcet-" + toHex(md.digest()) + ".dat");
+    }
+
+    /**
+     * Digest of the code and the loop bounds of the method and its callees
+     */
+    private byte[] getMethodDigest(MethodInfo m) {
+        byte[] digest = methodDigests.get(m);
+        if (digest != null) return digest;
+
+        MessageDigest md = newDigest();
+        update(md, m.getFQMethodName());
+        md.update(m.getCode().getInstructionList(false, false).getByteCode());
+
+        ControlFlowGraph cfg = project.getFlowGraph(m);
+        /* loop bounds, sorted by the position of the loop header */
+        Map<Integer, String> bounds = new TreeMap<Integer, String>();
+        for (CFGNode hol : cfg.getLoopColoring().getHeadOfLoops()) {
+            if (hol.getBasicBlock() == null) continue;
+            LoopBound lb = project.getLoopBound(hol, CallString.EMPTY);
+            bounds.put(hol.getBasicBlock().getFirstInstruction().getPosition(), loopBoundString(lb));
+        }
+        for (Entry<Integer, String> e : bounds.entrySet()) {
+            update(md, e.getKey() + ":" + e.getValue());
+        }
+        /* the (resolved) callees */
+        Map<String, MethodInfo> callees = new TreeMap<String, MethodInfo>();
+        List<String> invokes = new ArrayList<String>();
+        for (CFGNode n : cfg.getGraph().vertexSet()) {
+            if (!(n instanceof ControlFlowGraph.InvokeNode)) continue;
+            MethodInfo impl = ((ControlFlowGraph.InvokeNode) n).getImplementedMethod();
+            if (impl == null) continue;
+            callees.put(impl.getFQMethodName(), impl);
+            invokes.add(n.getBasicBlock().getLastInstruction().getPosition() + ":" + impl.getFQMethodName());
+        }
+        Collections.sort(invokes);
+        for (String s : invokes) update(md, s);
+        for (MethodInfo callee : callees.values()) {
+            if (callee.hasCode()) md.update(getMethodDigest(callee));
+        }
+
+        digest = md.digest();
+        methodDigests.put(m, digest);
+        return digest;
+    }
+
+    private static String loopBoundString(LoopBound lb) {
+        if (lb == null) return "none";
+        List<String> entries = new ArrayList<String>();
+        for (Entry<SymbolicMarker, LoopBoundExpr> e : lb.getLoopBounds()) {
+            entries.add(e.getKey() + "=" + e.getValue());
+        }
+        Collections.sort(entries);
+        return entries.toString();
+    }
+
+    /**
+     * Digest of the configuration of the processor model and of the analysis
+     */
+    private byte[] computeConfigDigest() {
+        MessageDigest md = newDigest();
+        Config config = project.getConfig();
+        update(md, WCETTool.VERSION);
+        /* not the name of the model, it contains the hash code of the method cache object */
+        update(md, project.getWCETProcessorModel().getClass().getName());
+        update(md, project.getWCETProcessorModel().getMethodCache().getClass().getName());
+        update(md, String.valueOf(project.getProjectConfig().callstringLength()));
+        update(md, String.valueOf(project.doDataflowAnalysis()));
+        OptionGroup jopOptions = JOPConfig.getOptions(config);
+        for (Option<?> option : jopOptions.availableOptions()) {
+            update(md, option.getKey() + "=" + jopOptions.tryGetOption(option));
+        }
+        /* all IPET options except the ones only controlling the output and the number of threads */
+        for (Option<?> option : IPETConfig.ipetOptions) {
+            if (option == IPETConfig.DUMP_ILP || option == IPETConfig.ILP_OUTDIR
+                    || option == IPETConfig.SOLVER_THREADS) continue;
+            update(md, option.getKey() + "=" + config.tryGetOption(option));
+        }
+        /* the microcode timing */
+        File asm = new File(jopOptions.getOption(JOPConfig.ASM_FILE));
+        FileInputStream in = null;
+        try {
+            in = new FileInputStream(asm);
+            byte[] buf = new byte[4096];
+            int n;
+            while ((n = in.read(buf)) > 0) md.update(buf, 0, n);
+        } catch (IOException e) {
+            update(md, asm.getPath());
+        } finally {
+            close(in);
+        }
+        return md.digest();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError("SHA1 not available: " + e);
+        }
+    }
+
+    private static void update(MessageDigest md, String s) {
+        try {
+            md.update(s.getBytes("UTF-8"));
+            md.update((byte) 0);
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static final char[] digits = "0123456789abcdef".toCharArray();
+
+    private static String toHex(byte[] digest) {
+        StringBuffer sb = new StringBuffer();
+        for (byte b : digest) {
+            sb.append(digits[(b >> 4) & 0xF]);
+            sb.append(digits[b & 0xF]);
+        }
+        return sb.toString();
+    }
+
+    private static void close(Closeable c) {
+        if (c == null) return;
+        try {
+            c.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+  This file is part of JOP, the Java Optimized Processor
+    see <http://www.jopdesign.com/>
+
+  Copyright (C) 2026, agent (agent@local)
+
+  This program is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  This program is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public License
+  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.jopdesign.wcet.ipet;
+
+import lpsolve.LpSolveException;
+
+import java.io.File;
+
+/**
+ * Backend solving the integer linear programs of the IPET analysis.
+ * All variables are integral and non-negative.
+ * Implemented by {@link LpSolveWrapper} (lp_solve, native library) and
+ * {@link JavaILPSolver} (in-process, pure Java).
+ *
+ * @author agent (agent@local)
+ *
+ * @param <T> type of variables
+ */
+public interface ILPSolver<T> {
+
+	/**
+	 * add a linear constraint to the the problem
+	 */
+	void addConstraint(LinearConstraint<? extends T> linearConstraint) throws LpSolveException;
+
+	/**
+	 * Set the objective of the ILP problem.
+	 * @param objVector the objective vector
+	 * @param doMax whether to maximize (if false, minimize)
+	 */
+	void setObjective(LinearVector<? extends T> objVector, boolean doMax) throws LpSolveException;
+
+	/**
+	 * Solve the ILP
+	 * @param objVec if non-null, write the solution into this array
+	 * @return the objective value
+	 * @throws LpSolveException if the problem has no optimal solution
+	 */
+	double solve(double[] objVec) throws LpSolveException;
+
+	/**
+	 * Dump the ILP problem to the given file (lp_solve LP format)
+	 */
+	void dumpToFile(File outFile) throws LpSolveException;
+}
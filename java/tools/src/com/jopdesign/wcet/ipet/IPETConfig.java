@@ -22,8 +22,11 @@ package com.jopdesign.wcet.ipet;
 import com.jopdesign.common.config.BooleanOption;
 import com.jopdesign.common.config.Config;
 import com.jopdesign.common.config.EnumOption;
+import com.jopdesign.common.config.IntegerOption;
 import com.jopdesign.common.config.Option;
 import com.jopdesign.common.config.StringOption;
+import com.jopdesign.common.graphutils.IDProvider;
+import lpsolve.LpSolveException;
 
 import java.io.File;
 
@@ -53,6 +56,15 @@ public class IPETConfig {
         }
     }
 
+    /**
+     * ILP solvers:
+     * <ul>
+     * <li/> LPSOLVE: lp_solve (native library)
+     * <li/> JAVA: in-process solver written in Java ({@link JavaILPSolver})
+     * </ul>
+     */
+    public enum ILPSolverType { LPSOLVE, JAVA }
+
     public static final EnumOption<StaticCacheApproximation> STATIC_CACHE_APPROX =
             new EnumOption<StaticCacheApproximation>(
                     "ipet-cache-approx",
@@ -70,13 +82,29 @@ public class IPETConfig {
     public static final StringOption ILP_OUTDIR =
             new StringOption("ipet-out", "the output directory for the solver", "${outdir}/ilps");
 
+    /* the WCET does not depend on the number of threads, see RecursiveAnalysis */
+    public static final IntegerOption SOLVER_THREADS =
+            new IntegerOption("ipet-threads",
+                    "number of threads solving the ILPs of independent methods (1: sequential)", 1);
+
+    public static final EnumOption<ILPSolverType> ILP_SOLVER =
+            new EnumOption<ILPSolverType>("ipet-solver", "the ILP solver", ILPSolverType.LPSOLVE);
+
+    public static final IntegerOption PARTITION_SIZE =
+            new IntegerOption("ipet-partition-size",
+                    "split global IPET problems larger than this number of flow graph edges into call regions solved separately (0: no splitting)", 0);
+
     public static final Option<?>[] ipetOptions = {
-            STATIC_CACHE_APPROX, ASSUME_MISS_ONCE_ON_INVOKE, DUMP_ILP, ILP_OUTDIR
+            STATIC_CACHE_APPROX, ASSUME_MISS_ONCE_ON_INVOKE, DUMP_ILP, ILP_OUTDIR, SOLVER_THREADS,
+            ILP_SOLVER, PARTITION_SIZE
     };
 
     private boolean assumeMissOnceOnInvoke;
     private boolean dumpIlp;
     private File outDir;
+    private int solverThreads = 1;
+    private ILPSolverType solverType = ILPSolverType.LPSOLVE;
+    private int partitionSize = 0;
 
     private IPETConfig() {
     }
@@ -85,6 +113,9 @@ public class IPETConfig {
         this.outDir = new File(c.getOption(ILP_OUTDIR));
         this.assumeMissOnceOnInvoke = c.getOption(ASSUME_MISS_ONCE_ON_INVOKE);
         this.dumpIlp = c.getOption(DUMP_ILP);
+        this.solverThreads = (int) Math.max(1, c.getOption(SOLVER_THREADS));
+        this.solverType = c.getOption(ILP_SOLVER);
+        this.partitionSize = (int) Math.max(0, c.getOption(PARTITION_SIZE));
     }
 
     public void setAssumeMissOnceOnInvoke(boolean assumeMissOnceOnInvoke) {
@@ -103,6 +134,39 @@ public class IPETConfig {
         return outDir;
     }
 
+    public void setSolverThreads(int solverThreads) {
+        this.solverThreads = Math.max(1, solverThreads);
+    }
+
+    public int getSolverThreads() {
+        return solverThreads;
+    }
+
+    /**
+     * @return the maximal size (number of flow graph edges) of a global IPET problem solved
+     *         in one piece, or 0 if global problems are not split
+     */
+    public int getPartitionSize() {
+        return partitionSize;
+    }
+
+    public ILPSolverType getSolverType() {
+        return solverType;
+    }
+
+    /**
+     * Create a new ILP problem for the configured solver
+     *
+     * @param numVars    number of (integral, non-negative) variables
+     * @param idProvider mapping variables to ids in the range [1..numVars]
+     */
+    public <T> ILPSolver<T> createSolver(int numVars, IDProvider<T> idProvider) throws LpSolveException {
+        if (solverType == ILPSolverType.JAVA) {
+            return new JavaILPSolver<T>(numVars, idProvider);
+        }
+        return new LpSolveWrapper<T>(numVars, true, idProvider);
+    }
+
     @SuppressWarnings({"AccessingNonPublicFieldOfAnotherObject"})
     @Override
     public IPETConfig clone() {
@@ -110,6 +174,9 @@ public class IPETConfig {
         ipc.assumeMissOnceOnInvoke = this.assumeMissOnceOnInvoke;
         ipc.dumpIlp = this.dumpIlp;
         ipc.outDir = this.outDir;
+        ipc.solverThreads = this.solverThreads;
+        ipc.solverType = this.solverType;
+        ipc.partitionSize = this.partitionSize;
         return ipc;
     }
 
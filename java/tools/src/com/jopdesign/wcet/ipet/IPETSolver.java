@@ -66,6 +66,8 @@ public class IPETSolver {
 
     private String problemName;
 
+    private IPETConfig config;
+
 
     /**
      * @param problemName A name for the IPET Problem (for debugging/logging purposes)
@@ -73,6 +75,7 @@ public class IPETSolver {
      */
     public IPETSolver(String problemName, IPETConfig config) {
         this.problemName = problemName;
+        this.config = config;
         outDir = config.doDumpIlp() ? config.getOutDir() : null;
     }
 
@@ -110,7 +113,7 @@ public class IPETSolver {
     }
 
     /**
-     * Solve the max cost network flow problem using {@link LpSolveWrapper}.
+     * Solve the max cost network flow problem using the ILP solver selected in the configuration.
      *
      * @param flowMapOut if not null, write solution into this map, assigning a flow to each edge
      * @return the cost of the solution
@@ -119,7 +122,7 @@ public class IPETSolver {
     public double solve(Map<ExecutionEdge, Long> flowMapOut) throws Exception {
 
         IDProvider<Object> idProvider = this.generateMapping();
-        LpSolveWrapper<Object> wrapper = new LpSolveWrapper<Object>(edgeSet.size(), true, idProvider);
+        ILPSolver<Object> wrapper = config.createSolver(edgeSet.size(), idProvider);
 
         /* Add Constraints */
         for (LinearConstraint<ExecutionEdge> lc : edgeConstraints) {
@@ -136,7 +139,6 @@ public class IPETSolver {
 
         wrapper.setObjective(costVec, true);
         double[] objVec = new double[edgeSet.size()];
-        wrapper.freeze();
 
         if (this.outDir != null) {
             dumpILP(wrapper);
@@ -151,7 +153,7 @@ public class IPETSolver {
         return sol;
     }
 
-    private void dumpILP(LpSolveWrapper<?> wrapper) throws LpSolveException, IOException {
+    private void dumpILP(ILPSolver<?> wrapper) throws LpSolveException, IOException {
         outDir.mkdirs();
         File outFile = File.createTempFile(MiscUtils.sanitizeFileName(this.problemName), ".lp", outDir);
         wrapper.dumpToFile(outFile);
@@ -0,0 +1,703 @@
+/*
+  This file is part of JOP, the Java Optimized Processor
+    see <http://www.jopdesign.com/>
+
+  Copyright (C) 2026, agent (agent@local)
+
+  This program is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  This program is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public License
+  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.jopdesign.wcet.ipet;
+
+import com.jopdesign.common.graphutils.IDProvider;
+import lpsolve.LpSolveException;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * In-process ILP solver for IPET problems, written in Java.
+ * <ul>
+ * <li/> Problems which are a unit flow in an acyclic network (flow conservation,
+ *       entry and exit flow one, possibly some edges fixed to zero) are solved
+ *       as longest path problem.
+ * <li/> Otherwise, the LP relaxation is solved using a two-phase simplex on a
+ *       dense tableau, followed by depth-first branch and bound if the solution
+ *       is not integral (which is rare for IPET problems).
+ * <li/> The optimal basis of each problem is remembered. If a problem with the same
+ *       constraints (but different costs) is solved later, the simplex starts
+ *       from that basis, which is still feasible.
+ * </ul>
+ * The integral solution is checked against the constraints using exact
+ * integer arithmetic.
+ *
+ * @author agent (agent@local)
+ *
+ * @param <T> type of variables
+ */
+public class JavaILPSolver<T> implements ILPSolver<T> {
+
+	private static final double EPS = 1.0E-9;
+	private static final double INT_EPS = 1.0E-6;
+	private static final int MAX_BB_NODES = 10000;
+	private static final int WARM_START_ENTRIES = 512;
+
+	private static final int LE = -1, EQ = 0, GE = 1;
+
+	/* optimal bases of earlier problems, by constraint signature */
+	private static Map<Long, int[]> warmStarts =
+		new LinkedHashMap<Long, int[]>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, int[]> eldest) {
+				return size() > WARM_START_ENTRIES;
+			}
+		};
+
+	private static int warmStartHits = 0;
+
+	/**
+	 * @return the number of problems solved starting from a remembered basis
+	 */
+	public static synchronized int getWarmStartHits() {
+		return warmStartHits;
+	}
+
+	private static synchronized int[] getWarmStart(long signature) {
+		return warmStarts.get(signature);
+	}
+
+	private static synchronized void putWarmStart(long signature, int[] basis, boolean used) {
+		warmStarts.put(signature, basis);
+		if(used) warmStartHits++;
+	}
+
+	/** Constraint sum(coeffs[k] * x[idx[k]]) type rhs */
+	private static class Row {
+		int[] idx;
+		double[] coeffs;
+		long[] exact;
+		int type;
+		double rhs;
+		Row(int[] idx, double[] coeffs, long[] exact, int type, double rhs) {
+			this.idx = idx; this.coeffs = coeffs; this.exact = exact;
+			this.type = type; this.rhs = rhs;
+		}
+	}
+
+	private int numVars;
+	private IDProvider<T> idProvider;
+	private List<Row> rows = new ArrayList<Row>();
+	private double[] cost;
+	private boolean doMax = true;
+
+	/**
+	 * Create a new ILP problem with the given number of (integral, non-negative) variables.
+	 * @param numVars     number of variables
+	 * @param idProvider  mapping variables to ids. The id of a variable has to be in the range
+	 * 					  [1..numVars].
+	 */
+	public JavaILPSolver(int numVars, IDProvider<T> idProvider) {
+		this.numVars = numVars;
+		this.idProvider = idProvider;
+		this.cost = new double[numVars];
+	}
+
+	public void addConstraint(LinearConstraint<? extends T> linearConstraint) throws LpSolveException {
+		Map<? extends T, Long> coeffs = linearConstraint.getLinearVectorOnLHS().getCoeffs();
+		int[] idx = new int[coeffs.size()];
+		double[] a = new double[coeffs.size()];
+		long[] exact = new long[coeffs.size()];
+		int i = 0;
+		for(Entry<? extends T, Long> e : coeffs.entrySet()) {
+			idx[i] = varIndex(e.getKey(), e);
+			exact[i] = e.getValue();
+			a[i] = LpSolveWrapper.coefficient(e.getValue());
+			i++;
+		}
+		int type;
+		switch(linearConstraint.getConstraintType()) {
+			case LessEqual : type = LE; break;
+			case Equal : type = EQ; break;
+			case GreaterEqual : type = GE; break;
+			default: throw new AssertionError("unexpected constraint type: "+linearConstraint.getConstraintType());
+		}
+		rows.add(new Row(idx, a, exact, type, linearConstraint.getInhomogenousTermOnRHS()));
+	}
+
+	public void setObjective(LinearVector<? extends T> objVector, boolean doMax) throws LpSolveException {
+		Arrays.fill(cost, 0);
+		for(Entry<? extends T, Long> e : objVector.getCoeffs().entrySet()) {
+			cost[varIndex(e.getKey(), e)] += LpSolveWrapper.coefficient(e.getValue());
+		}
+		this.doMax = doMax;
+	}
+
+	private int varIndex(T var, Object entry) throws LpSolveException {
+		int objId = idProvider.getID(var);
+		if(objId < 1 || objId > numVars) {
+			throw new LpSolveException("Bad id: "+entry+"has id "+objId+" not in [1.."+numVars+"]");
+		}
+		return objId - 1;
+	}
+
+	public double solve(double[] objVec) throws LpSolveException {
+		long start = System.nanoTime();
+		try {
+			double[] c = cost.clone();
+			if(! doMax) {
+				for(int j = 0; j < numVars; j++) c[j] = -c[j];
+			}
+			long[] x = solveNetwork(c);
+			if(x == null) x = solveILP(c);
+			checkSolution(x);
+			double obj = 0;
+			for(int j = 0; j < numVars; j++) {
+				obj += cost[j] * x[j];
+				if(objVec != null) objVec[j] = x[j];
+			}
+			return obj;
+		} finally {
+			LpSolveWrapper.addSolverTime(System.nanoTime() - start);
+		}
+	}
+
+	/* Exact check of the integral solution */
+	private void checkSolution(long[] x) throws LpSolveException {
+		for(Row r : rows) {
+			long lhs = 0;
+			boolean bigM = false;
+			for(int k = 0; k < r.idx.length; k++) {
+				long a = r.exact[k];
+				if(a == Long.MAX_VALUE || a == Long.MIN_VALUE) {
+					bigM = true;
+					lhs += (a > 0 ? 1 : -1) * x[r.idx[k]] * (long) LpSolveWrapper.coefficient(Long.MAX_VALUE);
+				} else {
+					lhs += a * x[r.idx[k]];
+				}
+			}
+			long rhs = (long) r.rhs;
+			boolean ok = (r.type == LE && lhs <= rhs) || (r.type == EQ && lhs == rhs) || (r.type == GE && lhs >= rhs);
+			if(! ok && ! bigM) {
+				throw new LpSolveException("Failed to solve LP problem: NUMFAILURE (solution violates a constraint)");
+			}
+		}
+	}
+
+	/* Network problems
+	 * ---------------- */
+
+	/**
+	 * Solve the problem as longest path problem, if it is a unit flow from entry
+	 * to exit in an acyclic network.
+	 * @return the solution, or null if the problem is not of this form
+	 */
+	private long[] solveNetwork(double[] c) {
+		int n = numVars;
+		int[] head = new int[n], tail = new int[n];
+		Arrays.fill(head, -1);
+		Arrays.fill(tail, -1);
+		boolean[] removed = new boolean[n];
+		int nodes = rows.size();
+		int source = -1, sink = -1;
+		for(int r = 0; r < nodes; r++) {
+			Row row = rows.get(r);
+			if(row.idx.length == 1 && (row.type != EQ || row.rhs == 0)) {
+				/* bound on a single variable */
+				double a = row.coeffs[0];
+				double bound = row.rhs / a;
+				int type = a > 0 ? row.type : -row.type;
+				if(type == LE && bound >= 1 - INT_EPS) continue;
+				if(type == GE && bound <= INT_EPS) continue;
+				if((type == LE || type == EQ) && bound > -INT_EPS && bound < 1 - INT_EPS) {
+					removed[row.idx[0]] = true;
+					continue;
+				}
+				return null;
+			}
+			if(row.type != EQ) return null;
+			for(int k = 0; k < row.idx.length; k++) {
+				int j = row.idx[k];
+				if(row.coeffs[k] == 1) {
+					if(head[j] >= 0) return null;
+					head[j] = r;
+				} else if(row.coeffs[k] == -1) {
+					if(tail[j] >= 0) return null;
+					tail[j] = r;
+				} else {
+					return null;
+				}
+			}
+			/* in - out = rhs */
+			if(row.rhs == -1) {
+				if(source >= 0) return null;
+				source = r;
+			} else if(row.rhs == 1) {
+				if(sink >= 0) return null;
+				sink = r;
+			} else if(row.rhs != 0) {
+				return null;
+			}
+		}
+		if(source < 0 || sink < 0) return null;
+		/* build adjacency lists */
+		int[] outDegree = new int[nodes];
+		int[] inDegree = new int[nodes];
+		for(int j = 0; j < n; j++) {
+			if(removed[j]) continue;
+			if(head[j] < 0 || tail[j] < 0) {
+				/* free variable, or a flow from/to outside */
+				if(head[j] < 0 && tail[j] < 0 && c[j] <= 0) {
+					removed[j] = true;
+					continue;
+				}
+				return null;
+			}
+			outDegree[tail[j]]++;
+			inDegree[head[j]]++;
+		}
+		int[][] out = new int[nodes][];
+		for(int v = 0; v < nodes; v++) out[v] = new int[outDegree[v]];
+		int[] fill = new int[nodes];
+		for(int j = 0; j < n; j++) {
+			if(removed[j]) continue;
+			out[tail[j]][fill[tail[j]]++] = j;
+		}
+		/* topological order (Kahn), fails if the network is cyclic */
+		int[] order = new int[nodes];
+		int qh = 0, qt = 0;
+		for(int v = 0; v < nodes; v++) if(inDegree[v] == 0) order[qt++] = v;
+		while(qh < qt) {
+			int v = order[qh++];
+			for(int j : out[v]) {
+				if(--inDegree[head[j]] == 0) order[qt++] = head[j];
+			}
+		}
+		if(qt < nodes) return null;
+		/* longest path from the source */
+		double[] dist = new double[nodes];
+		int[] pred = new int[nodes];
+		boolean[] reached = new boolean[nodes];
+		Arrays.fill(pred, -1);
+		reached[source] = true;
+		for(int i = 0; i < nodes; i++) {
+			int v = order[i];
+			if(! reached[v]) continue;
+			for(int j : out[v]) {
+				int w = head[j];
+				double d = dist[v] + c[j];
+				if(! reached[w] || d > dist[w]) {
+					reached[w] = true;
+					dist[w] = d;
+					pred[w] = j;
+				}
+			}
+		}
+		if(! reached[sink]) return null;
+		long[] x = new long[n];
+		for(int v = sink; v != source; v = tail[pred[v]]) {
+			x[pred[v]] = 1;
+		}
+		return x;
+	}
+
+	/* Simplex and branch and bound
+	 * ---------------------------- */
+
+	private long[] solveILP(double[] c) throws LpSolveException {
+		long signature = signature();
+		int[] warm = getWarmStart(signature);
+		LPResult root = null;
+		if(warm != null) root = new Simplex(rows, null, c).solve(warm);
+		/* no warm start, or the basis is not feasible for this problem */
+		if(root == null) root = new Simplex(rows, null, c).solve(null);
+		if(root.status != LPResult.OPTIMAL) {
+			throw new LpSolveException("Failed to solve LP problem: "+
+				(root.status == LPResult.INFEASIBLE ? "INFEASIBLE" : "UNBOUNDED"));
+		}
+		putWarmStart(signature, root.basis, root.warmStarted);
+		if(fractionalVar(root.x) < 0) return round(root.x);
+
+		/* depth first branch and bound */
+		BranchAndBound bb = new BranchAndBound(c);
+		bb.branch(root, new ArrayList<Row>());
+		if(bb.nodes > MAX_BB_NODES) {
+			throw new LpSolveException("Failed to solve LP problem: SUBOPTIMAL (branch and bound node limit)");
+		}
+		if(bb.best == null) {
+			throw new LpSolveException("Failed to solve LP problem: INFEASIBLE");
+		}
+		return bb.best;
+	}
+
+	private class BranchAndBound {
+		double[] c;
+		long[] best = null;
+		double bestObj = Double.NEGATIVE_INFINITY;
+		int nodes = 0;
+		BranchAndBound(double[] c) {
+			this.c = c;
+		}
+		void branch(LPResult lp, List<Row> bounds) throws LpSolveException {
+			if(++nodes > MAX_BB_NODES) return;
+			if(lp.status != LPResult.OPTIMAL) return;
+			if(lp.obj <= bestObj + INT_EPS) return;
+			int j = fractionalVar(lp.x);
+			if(j < 0) {
+				best = round(lp.x);
+				bestObj = lp.obj;
+				return;
+			}
+			double v = lp.x[j];
+			/* explore the nearer branch first */
+			boolean upFirst = v - Math.floor(v) >= 0.5;
+			for(int i = 0; i < 2; i++) {
+				boolean up = (i == 0) == upFirst;
+				List<Row> sub = new ArrayList<Row>(bounds);
+				double b = up ? Math.ceil(v) : Math.floor(v);
+				sub.add(new Row(new int[] { j }, new double[] { 1 }, new long[] { 1 }, up ? GE : LE, b));
+				branch(new Simplex(rows, sub, c).solve(null), sub);
+			}
+		}
+	}
+
+	private static int fractionalVar(double[] x) {
+		int best = -1;
+		double bestFrac = INT_EPS;
+		for(int j = 0; j < x.length; j++) {
+			double frac = Math.abs(x[j] - Math.rint(x[j]));
+			if(frac > bestFrac) {
+				best = j;
+				bestFrac = frac;
+			}
+		}
+		return best;
+	}
+
+	private static long[] round(double[] x) {
+		long[] r = new long[x.length];
+		for(int j = 0; j < x.length; j++) r[j] = Math.round(x[j]);
+		return r;
+	}
+
+	/* signature of the constraints, independent of the costs */
+	private long signature() {
+		long h = numVars;
+		for(Row r : rows) {
+			h = h * 31 + r.type;
+			h = h * 31 + Double.doubleToLongBits(r.rhs);
+			for(int k = 0; k < r.idx.length; k++) {
+				h = h * 31 + r.idx[k];
+				h = h * 31 + Double.doubleToLongBits(r.coeffs[k]);
+			}
+		}
+		return h;
+	}
+
+	private static class LPResult {
+		static final int OPTIMAL = 0, INFEASIBLE = 1, UNBOUNDED = 2;
+		int status;
+		double[] x;
+		double obj;
+		int[] basis;
+		boolean warmStarted;
+		LPResult(int status) {
+			this.status = status;
+		}
+	}
+
+	/**
+	 * Two phase simplex on a dense tableau. Columns are the structural variables,
+	 * followed by one slack (LE) or surplus (GE) variable per inequality.
+	 * Artificial variables are not stored: a basic artificial is marked by
+	 * a negative basis entry, and artificials never reenter the basis.
+	 */
+	private static class Simplex {
+		final int n;
+		final int cols;
+		int m;
+		double[][] t;
+		int[] basis;
+		double[] c;
+		double[] d;
+		boolean bland = false;
+
+		Simplex(List<Row> rows, List<Row> extra, double[] c) {
+			List<Row> all = new ArrayList<Row>(rows);
+			if(extra != null) all.addAll(extra);
+			this.n = c.length;
+			this.c = c;
+			this.m = all.size();
+			int slacks = 0;
+			for(Row r : all) if(r.type != EQ) slacks++;
+			this.cols = n + slacks;
+			this.t = new double[m][cols + 1];
+			this.basis = new int[m];
+			int s = n;
+			for(int i = 0; i < m; i++) {
+				Row r = all.get(i);
+				double sign = r.rhs < 0 ? -1 : 1;
+				double[] row = t[i];
+				for(int k = 0; k < r.idx.length; k++) row[r.idx[k]] += sign * r.coeffs[k];
+				row[cols] = sign * r.rhs;
+				if(r.type != EQ) {
+					/* slack for LE, surplus for GE */
+					row[s] = sign * (r.type == LE ? 1 : -1);
+					basis[i] = row[s] > 0 ? s : -1;
+					s++;
+				} else {
+					basis[i] = -1;
+				}
+			}
+		}
+
+		/* solve the LP, starting from the given basis if non-null (null if this basis is not feasible) */
+		LPResult solve(int[] warm) {
+			boolean warmStarted = warm != null;
+			if(warmStarted) {
+				if(! warmStart(warm)) return null;
+			} else {
+				if(! phase1()) return new LPResult(LPResult.INFEASIBLE);
+			}
+			/* phase 2 */
+			d = new double[cols + 1];
+			System.arraycopy(c, 0, d, 0, n);
+			for(int i = 0; i < m; i++) {
+				if(basis[i] < n && c[basis[i]] != 0) axpy(d, -c[basis[i]], t[i]);
+			}
+			if(! iterate()) return new LPResult(LPResult.UNBOUNDED);
+			LPResult res = new LPResult(LPResult.OPTIMAL);
+			res.x = new double[n];
+			for(int i = 0; i < m; i++) {
+				if(basis[i] < n) res.x[basis[i]] = Math.max(0, t[i][cols]);
+			}
+			res.obj = -d[cols];
+			res.basis = Arrays.copyOf(basis, m);
+			res.warmStarted = warmStarted;
+			return res;
+		}
+
+		/* maximize -sum(artificials), then drive the artificials out of the basis */
+		private boolean phase1() {
+			d = new double[cols + 1];
+			boolean hasArtificials = false;
+			for(int i = 0; i < m; i++) {
+				if(basis[i] < 0) {
+					axpy(d, 1, t[i]);
+					hasArtificials = true;
+				}
+			}
+			if(hasArtificials) {
+				if(! iterate()) throw new AssertionError("phase 1 of the simplex is unbounded");
+				if(d[cols] > EPS * Math.max(1, maxRhs())) return false;
+			}
+			for(int i = m - 1; i >= 0; i--) {
+				if(basis[i] >= 0) continue;
+				int col = -1;
+				double best = 1.0E-7;
+				for(int j = 0; j < cols; j++) {
+					if(Math.abs(t[i][j]) > best) {
+						best = Math.abs(t[i][j]);
+						col = j;
+					}
+				}
+				if(col >= 0) pivot(i, col);
+				else removeRow(i);
+			}
+			return true;
+		}
+
+		/* pivot the given basis in, false if this fails */
+		private boolean warmStart(int[] warm) {
+			boolean[] inWarm = new boolean[cols];
+			for(int col : warm) {
+				if(col < 0 || col >= cols) return false;
+				inWarm[col] = true;
+			}
+			for(int col : warm) {
+				int row = -1;
+				double best = 1.0E-7;
+				for(int i = 0; i < m; i++) {
+					if(basis[i] == col) { row = -2; break; }
+					/* the leaving variable must not be part of the basis to restore */
+					if(basis[i] >= 0 && inWarm[basis[i]]) continue;
+					if(Math.abs(t[i][col]) > best) {
+						best = Math.abs(t[i][col]);
+						row = i;
+					}
+				}
+				if(row == -2) continue;
+				if(row < 0) return false;
+				pivot(row, col);
+			}
+			for(int i = m - 1; i >= 0; i--) {
+				if(basis[i] >= 0) continue;
+				for(int j = 0; j <= cols; j++) {
+					if(Math.abs(t[i][j]) > 1.0E-7) return false;
+				}
+				removeRow(i);
+			}
+			for(int i = 0; i < m; i++) {
+				if(t[i][cols] < -1.0E-7) return false;
+			}
+			return true;
+		}
+
+		private double maxRhs() {
+			double max = 0;
+			for(int i = 0; i < m; i++) max = Math.max(max, Math.abs(t[i][cols]));
+			return max;
+		}
+
+		private void removeRow(int i) {
+			m--;
+			t[i] = t[m];
+			basis[i] = basis[m];
+		}
+
+		/* run the simplex on the objective row d, false if unbounded */
+		private boolean iterate() {
+			double dEps = EPS * Math.max(1, maxAbs(d, cols));
+			int degenerate = 0;
+			long maxIter = 50L * (m + cols) + 1000;
+			for(long iter = 0; ; iter++) {
+				if(iter > maxIter) {
+					if(bland) throw new AssertionError("simplex does not terminate");
+					bland = true;
+					iter = 0;
+				}
+				int col = -1;
+				double best = dEps;
+				for(int j = 0; j < cols; j++) {
+					if(d[j] > best) {
+						col = j;
+						if(bland) break;
+						best = d[j];
+					}
+				}
+				if(col < 0) return true;
+				int row = -1;
+				double ratio = Double.POSITIVE_INFINITY;
+				double pivotVal = 0;
+				for(int i = 0; i < m; i++) {
+					double a = t[i][col];
+					if(a <= EPS) continue;
+					double r = t[i][cols] / a;
+					if(r < ratio - EPS ||
+					   (r <= ratio + EPS && (bland ? basisIndex(i) < basisIndex(row) : a > pivotVal))) {
+						row = i;
+						ratio = Math.min(r, ratio);
+						pivotVal = a;
+					}
+				}
+				if(row < 0) return false;
+				if(ratio <= EPS) {
+					if(++degenerate > 50) bland = true;
+				} else {
+					degenerate = 0;
+				}
+				pivot(row, col);
+			}
+		}
+
+		/* artificials first, as they should leave the basis */
+		private int basisIndex(int row) {
+			return basis[row] < 0 ? -1 : basis[row];
+		}
+
+		private void pivot(int row, int col) {
+			double[] pr = t[row];
+			double p = pr[col];
+			for(int j = 0; j <= cols; j++) pr[j] /= p;
+			pr[col] = 1;
+			for(int i = 0; i < m; i++) {
+				if(i == row) continue;
+				double f = t[i][col];
+				if(f == 0) continue;
+				axpy(t[i], -f, pr);
+				t[i][col] = 0;
+				if(t[i][cols] < 0 && t[i][cols] > -EPS) t[i][cols] = 0;
+			}
+			if(d != null && d[col] != 0) {
+				axpy(d, -d[col], pr);
+				d[col] = 0;
+			}
+			basis[row] = col;
+		}
+
+		private static void axpy(double[] y, double a, double[] x) {
+			for(int j = 0; j < x.length; j++) {
+				if(x[j] != 0) y[j] += a * x[j];
+			}
+		}
+
+		private static double maxAbs(double[] v, int len) {
+			double max = 0;
+			for(int j = 0; j < len; j++) max = Math.max(max, Math.abs(v[j]));
+			return max;
+		}
+	}
+
+	/* Dump
+	 * ---- */
+
+	public void dumpToFile(File outFile) throws LpSolveException {
+		outFile.delete();
+		FileWriter fw = null;
+		try {
+			fw = new FileWriter(outFile);
+			fw.append("/* Objective function */\n");
+			fw.append(doMax ? "max:" : "min:");
+			for(int j = 0; j < numVars; j++) {
+				if(cost[j] != 0) fw.append(" " + term(cost[j], j));
+			}
+			fw.append(";\n\n/* Constraints */\n");
+			for(int r = 0; r < rows.size(); r++) {
+				Row row = rows.get(r);
+				fw.append("R" + (r + 1) + ":");
+				for(int k = 0; k < row.idx.length; k++) fw.append(" " + term(row.coeffs[k], row.idx[k]));
+				fw.append(row.type == LE ? " <= " : (row.type == EQ ? " = " : " >= "));
+				fw.append(number(row.rhs) + ";\n");
+			}
+			fw.append("\nint ");
+			for(int j = 0; j < numVars; j++) fw.append((j > 0 ? "," : "") + "C" + (j + 1));
+			fw.append(";\n");
+		} catch(IOException e) {
+			throw new LpSolveException("Failed to write ILP file "+outFile+": "+e.getMessage());
+		} finally {
+			if(fw != null) {
+				try {
+					fw.close();
+				} catch (IOException e) {
+					throw new LpSolveException("Failed to close ILP file: "+e.getMessage());
+				}
+			}
+		}
+	}
+
+	private static String term(double coeff, int j) {
+		return (coeff < 0 ? "-" : "+") + number(Math.abs(coeff)) + " C" + (j + 1);
+	}
+
+	private static String number(double v) {
+		if(v == Math.rint(v) && Math.abs(v) < 1.0E15) return Long.toString((long) v);
+		return Double.toString(v);
+	}
+}
@@ -32,13 +32,13 @@ import java.util.Map.Entry;
 import java.util.TreeMap;
 
 /**
- * Simple, typed API for invoking LpSolve.
+ * Simple, typed API for invoking LpSolve (native library).
  *
  * @param <T> type of variables. If you don't want typed variables, use {@link java.lang.Object}
  *
  * @author Benedikt Huber <benedikt.huber@gmail.com>
  */
-public class LpSolveWrapper<T> {
+public class LpSolveWrapper<T> implements ILPSolver<T> {
 	/**
 	 * Status of the lp solver (typed copy of basic LP solve status numbers)
 	 */
@@ -56,15 +56,18 @@ public class LpSolveWrapper<T> {
 	private static long solverTime = 0;
 
 	/**
-	 * Get time spend in the solver since the last call to {@link #resetSolverTime()}
+	 * Get time spend in the solver since the last call to {@link #resetSolverTime()},
+	 * summed over all threads
 	 * @return the time spend in the solver in seconds
 	 */
-	public static double getSolverTime() { return ((double)solverTime)/1.0E9; }
+	public static synchronized double getSolverTime() { return ((double)solverTime)/1.0E9; }
 
 	/**
 	 * Reset the cummulative solver time to 0.
 	 */
-	public static void resetSolverTime() { solverTime = 0; }
+	public static synchronized void resetSolverTime() { solverTime = 0; }
+
+	static synchronized void addSolverTime(long t) { solverTime += t; }
 
 	private static Map<Integer,SolverStatus> readMap = null;
 
@@ -73,7 +76,7 @@ public class LpSolveWrapper<T> {
 	 * @param code the code returned by the solver
 	 * @return
 	 */
-	public static SolverStatus getSolverStatus(int code) {
+	public static synchronized SolverStatus getSolverStatus(int code) {
 		if(readMap == null) {
 			readMap = new TreeMap<Integer,SolverStatus>();
 			for(SolverStatus ss : SolverStatus.values()) {
@@ -85,6 +88,24 @@ public class LpSolveWrapper<T> {
 		else return status;
 	}
 
+	/**
+	 * Map an integral coefficient to a double, with {@link IPETSolver#BIGM}
+	 * (<code>Long.MAX_VALUE</code>) replaced by a large constant
+	 */
+	static double coefficient(long val) {
+		// FIXME: The Big M method is extremely sensitive to numeric instabilities
+		// 1E7 works fine in practice, but may fail on arbitrary problems
+		// Should do some research to find whether there are solutions to this problem,
+		// but in general better avoid Big M and use statically derived constants
+		if(val == Long.MAX_VALUE) {
+			return 1.0E7;
+		} else if (val == Long.MIN_VALUE) {
+			return - (1.0E7);
+		} else {
+			return (double)val;
+		}
+	}
+
 	private class RawVector {
 		int count;
 		int[] ixs;
@@ -104,18 +125,7 @@ public class LpSolveWrapper<T> {
 			}
 			vec.ixs[i] = objId;
 			long val = e.getValue();
-			double dval;
-			// FIXME: The Big M method is extremely sensitive to numeric instabilities
-			// 1E7 works fine in practice, but may fail on arbitrary problems
-			// Should do some research to find whether there are solutions to this problem,
-			// but in general better avoid Big M and use statically derived constants
-			if(val == Long.MAX_VALUE) {
-				dval = 1.0E7;
-			} else if (val == Long.MIN_VALUE) {
-				dval = - (1.0E7);
-			} else {
-				dval = (double)val;
-			}
+			double dval = coefficient(val);
 			vec.coeffs[i] = dval;
 			i++;
 		}
@@ -232,7 +242,7 @@ public class LpSolveWrapper<T> {
 		    	System.err.println("LP Solve: Hard Problem, calculating ("+(cnt++)+"s)");
 		    }
 	    }
-		LpSolveWrapper.solverTime += (thr.solverTime);
+		addSolverTime(thr.solverTime);
 		SolverStatus st = getSolverStatus(thr.result);
 		if(objVec != null) this.lpsolve.getVariables(objVec);
 		if(st != SolverStatus.OPTIMAL) {
@@ -263,6 +273,7 @@ public class LpSolveWrapper<T> {
 	 * @throws LpSolveException
 	 */
 	public void dumpToFile(File outFile) throws LpSolveException {
+		freeze();
 		outFile.delete();
 		try {
 			this.lpsolve.writeLp(outFile.getPath());
@@ -272,6 +272,22 @@ public class Report {
         this.addPage("input", "input_overview.html");
     }
 
+    /**
+     * Generate the comparison of measured and analyzed execution times
+     *
+     * @param entries the rows of the comparison, see {@link com.jopdesign.wcet.MeasurementComparison}
+     */
+    public void generateMeasurementPage(List<?> entries) {
+        HashMap<String, Object> ctx = new HashMap<String, Object>();
+        ctx.put("entries", entries);
+        try {
+            this.generateFile("measured.vm", config.getReportFile("measured.html"), ctx);
+        } catch (Exception e) {
+            logger.error(e);
+        }
+        this.addPage("measured", "measured.html");
+    }
+
     void recordDot(File cgdot, File cgimg) {
         this.dotJobs.put(cgdot, cgimg);
     }
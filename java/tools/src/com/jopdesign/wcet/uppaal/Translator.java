@@ -84,6 +84,10 @@ public class Translator {
 		outStreamQ.close();
 	}
 
+	public SystemBuilder getSystem() {
+		return sys;
+	}
+
 	public File getModelFile() {
 		return config.getOutFile(project.getTargetName()+".xml");
 	}
@@ -25,6 +25,7 @@ import com.jopdesign.common.config.EnumOption;
 import com.jopdesign.common.config.IntegerOption;
 import com.jopdesign.common.config.Option;
 import com.jopdesign.common.config.StringOption;
+import com.jopdesign.wcet.uppaal.explorer.ModelExplorer;
 
 import java.io.File;
 
@@ -49,6 +50,15 @@ public class UppAalConfig {
 		CACHE_SIM
 	}
 
+	/**
+	 * Model checkers:
+	 * <ul>
+	 *   <li/> VERIFYTA: binary search using UPPAAL's verifier ({@link WcetSearch})
+	 *   <li/> BUILTIN: in-process explorer ({@link ModelExplorer})
+	 * </ul>
+	 */
+	public enum UppaalChecker { VERIFYTA, BUILTIN }
+
 	public static final EnumOption<UppaalCacheApproximation> UPPAAL_CACHE_APPROX =
 		new EnumOption<UppaalCacheApproximation>(
 				"uppaal-cache-approx",
@@ -60,6 +70,11 @@ public class UppAalConfig {
 			"binary of the uppaal model-checker (verifyta)",
 			"verifyta");		
 
+	public static final EnumOption<UppaalChecker> UPPAAL_CHECKER =
+		new EnumOption<UppaalChecker>("uppaal-checker",
+			"model checker used to compute the WCET of the UPPAAL model",
+			UppaalChecker.VERIFYTA);
+
 	public static final BooleanOption UPPAAL_COLLAPSE_LEAVES =
 		new BooleanOption("uppaal-collapse-leaves",
 				"collapse leaf methods to speed up simulation", 
@@ -94,7 +109,7 @@ public class UppAalConfig {
 		new IntegerOption("uppaal-treshold","limit UPPAAL to methods below the given expanded cyclomatic complexity",true);
 	public static final Option<?>[] uppaalOptions = {
 		UPPAAL_CACHE_APPROX, UPPAAL_COMPLEXITY_TRESHOLD,
-		UPPAAL_VERIFYTA_BINARY, UPPAAL_EMPTY_INITIAL_CACHE,
+		UPPAAL_VERIFYTA_BINARY, UPPAAL_CHECKER, UPPAAL_EMPTY_INITIAL_CACHE,
 		UPPAAL_TIGHT_BOUNDS, UPPAAL_COLLAPSE_LEAVES, UPPAAL_CONVEX_HULL,
 		UPPAAL_SUPERGRAPH_TEMPLATE, UPPAAL_PROGRESS_MEASURE,
 	};
@@ -105,6 +120,9 @@ public class UppAalConfig {
 	public boolean hasVerifier() {
 		return verifyBinary != null;
 	}
+	public boolean useBuiltinChecker() {
+		return checker == UppaalChecker.BUILTIN;
+	}
 	public String getVerifier() {
 		return verifyBinary;
 	}
@@ -118,6 +136,7 @@ public class UppAalConfig {
 	public boolean superGraphTemplate;
 	public boolean useProgressMeasure;
 	public UppaalCacheApproximation cacheApprox;
+	public UppaalChecker checker;
 	public UppaalCacheApproximation getCacheApproximation() {
 		return this.cacheApprox;
 	}
@@ -138,6 +157,7 @@ public class UppAalConfig {
 			this.verifyBinary = c.getOption(UPPAAL_VERIFYTA_BINARY);
 		}
 		this.cacheApprox = c.getOption(UPPAAL_CACHE_APPROX);
+		this.checker = c.getOption(UPPAAL_CHECKER);
 		if(c.hasOption(UPPAAL_COMPLEXITY_TRESHOLD)) {
 			this.complexityTreshold = c.getOption(UPPAAL_COMPLEXITY_TRESHOLD);
 		} else {
@@ -0,0 +1,367 @@
+/*
+  This file is part of JOP, the Java Optimized Processor
+    see <http://www.jopdesign.com/>
+
+  Copyright (C) 2026, agent (agent@local)
+
+  This program is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  This program is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public License
+  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.jopdesign.wcet.uppaal.explorer;
+
+/**
+ * Executable form of the guards, updates and functions of an UPPAAL model.
+ * Variables are slots in the state vector, local variables of functions are
+ * slots in the frame of the call. Booleans are represented as 0 and 1.
+ *
+ * @author agent (agent@local)
+ */
+class Code {
+
+	/** range of UPPAAL's {@code int} */
+	static final int INT_MIN = -32768;
+	static final int INT_MAX = 32767;
+
+	/** Runtime error: assignment out of range, bad array index */
+	static class EvalError extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+		EvalError(String msg) { super(msg); }
+	}
+
+	static class Env {
+		final int[] state;
+		int[] frame;
+		int retVal;
+		Env(int[] state) {
+			this.state = state;
+		}
+	}
+
+	/* Expressions */
+
+	static abstract class Expr {
+		abstract int eval(Env env);
+		boolean isConstant() { return false; }
+	}
+
+	static class Const extends Expr {
+		final int value;
+		Const(int value) { this.value = value; }
+		int eval(Env env) { return value; }
+		boolean isConstant() { return true; }
+	}
+
+	static abstract class LValue extends Expr {
+		final String name;
+		final int lo, hi;
+		LValue(String name, int lo, int hi) {
+			this.name = name;
+			this.lo = lo;
+			this.hi = hi;
+		}
+		abstract void set(Env env, int v);
+		int check(int v) {
+			if(v < lo || v > hi) {
+				throw new EvalError("Value "+v+" assigned to "+name+" is out of range ["+lo+","+hi+"]");
+			}
+			return v;
+		}
+	}
+
+	static class Var extends LValue {
+		final int slot;
+		Var(String name, int slot, int lo, int hi) {
+			super(name, lo, hi);
+			this.slot = slot;
+		}
+		int eval(Env env) { return env.state[slot]; }
+		void set(Env env, int v) { env.state[slot] = check(v); }
+	}
+
+	static class ArrayElem extends LValue {
+		final int base, size;
+		final Expr index;
+		ArrayElem(String name, int base, int size, int lo, int hi, Expr index) {
+			super(name, lo, hi);
+			this.base = base;
+			this.size = size;
+			this.index = index;
+		}
+		private int slot(Env env) {
+			int i = index.eval(env);
+			if(i < 0 || i >= size) throw new EvalError("Index "+i+" out of bounds for "+name+"["+size+"]");
+			return base + i;
+		}
+		int eval(Env env) { return env.state[slot(env)]; }
+		void set(Env env, int v) { env.state[slot(env)] = check(v); }
+	}
+
+	static class ConstArrayElem extends Expr {
+		final String name;
+		final int[] values;
+		final Expr index;
+		ConstArrayElem(String name, int[] values, Expr index) {
+			this.name = name;
+			this.values = values;
+			this.index = index;
+		}
+		int eval(Env env) {
+			int i = index.eval(env);
+			if(i < 0 || i >= values.length) {
+				throw new EvalError("Index "+i+" out of bounds for "+name+"["+values.length+"]");
+			}
+			return values[i];
+		}
+	}
+
+	static class Local extends LValue {
+		final int index;
+		Local(String name, int index, int lo, int hi) {
+			super(name, lo, hi);
+			this.index = index;
+		}
+		int eval(Env env) { return env.frame[index]; }
+		void set(Env env, int v) { env.frame[index] = check(v); }
+	}
+
+	static class Assign extends Expr {
+		final LValue lhs;
+		final char op;
+		final Expr rhs;
+		/** @param op one of '=', '+', '-', '*' */
+		Assign(LValue lhs, char op, Expr rhs) {
+			this.lhs = lhs;
+			this.op = op;
+			this.rhs = rhs;
+		}
+		int eval(Env env) {
+			int v = rhs.eval(env);
+			switch(op) {
+			case '+': v = lhs.eval(env) + v; break;
+			case '-': v = lhs.eval(env) - v; break;
+			case '*': v = lhs.eval(env) * v; break;
+			}
+			lhs.set(env, v);
+			return v;
+		}
+	}
+
+	static class IncDec extends Expr {
+		final LValue lhs;
+		final int delta;
+		final boolean prefix;
+		IncDec(LValue lhs, int delta, boolean prefix) {
+			this.lhs = lhs;
+			this.delta = delta;
+			this.prefix = prefix;
+		}
+		int eval(Env env) {
+			int old = lhs.eval(env);
+			lhs.set(env, old + delta);
+			return prefix ? old + delta : old;
+		}
+	}
+
+	static final int OR = 0, AND = 1, EQ = 2, NE = 3, LT = 4, LE = 5, GT = 6, GE = 7,
+	                 ADD = 8, SUB = 9, MUL = 10, DIV = 11, MOD = 12;
+
+	static class Binary extends Expr {
+		final int op;
+		final Expr l, r;
+		Binary(int op, Expr l, Expr r) {
+			this.op = op;
+			this.l = l;
+			this.r = r;
+		}
+		int eval(Env env) {
+			int a = l.eval(env);
+			switch(op) {
+			case OR:  return (a != 0 || r.eval(env) != 0) ? 1 : 0;
+			case AND: return (a != 0 && r.eval(env) != 0) ? 1 : 0;
+			}
+			int b = r.eval(env);
+			switch(op) {
+			case EQ:  return a == b ? 1 : 0;
+			case NE:  return a != b ? 1 : 0;
+			case LT:  return a <  b ? 1 : 0;
+			case LE:  return a <= b ? 1 : 0;
+			case GT:  return a >  b ? 1 : 0;
+			case GE:  return a >= b ? 1 : 0;
+			case ADD: return a + b;
+			case SUB: return a - b;
+			case MUL: return a * b;
+			case DIV:
+				if(b == 0) throw new EvalError("Division by zero");
+				return a / b;
+			case MOD:
+				if(b == 0) throw new EvalError("Division by zero");
+				return a % b;
+			default: throw new AssertionError("Unknown operator: "+op);
+			}
+		}
+		boolean isConstant() { return l.isConstant() && r.isConstant(); }
+	}
+
+	static class Not extends Expr {
+		final Expr e;
+		Not(Expr e) { this.e = e; }
+		int eval(Env env) { return e.eval(env) == 0 ? 1 : 0; }
+		boolean isConstant() { return e.isConstant(); }
+	}
+
+	static class Neg extends Expr {
+		final Expr e;
+		Neg(Expr e) { this.e = e; }
+		int eval(Env env) { return - e.eval(env); }
+		boolean isConstant() { return e.isConstant(); }
+	}
+
+	static class Cond extends Expr {
+		final Expr c, a, b;
+		Cond(Expr c, Expr a, Expr b) {
+			this.c = c;
+			this.a = a;
+			this.b = b;
+		}
+		int eval(Env env) { return c.eval(env) != 0 ? a.eval(env) : b.eval(env); }
+		boolean isConstant() { return c.isConstant() && a.isConstant() && b.isConstant(); }
+	}
+
+	static class Call extends Expr {
+		final Function f;
+		final Expr[] args;
+		Call(Function f, Expr[] args) {
+			this.f = f;
+			this.args = args;
+		}
+		int eval(Env env) {
+			int[] frame = new int[f.frameSize];
+			for(int i = 0; i < args.length; i++) {
+				frame[i] = f.params[i].check(args[i].eval(env));
+			}
+			int[] saved = env.frame;
+			env.frame = frame;
+			env.retVal = 0;
+			f.body.exec(env);
+			env.frame = saved;
+			return env.retVal;
+		}
+	}
+
+	/** Clock resets are handled by the explorer; evaluating them does nothing */
+	static class ClockReset extends Expr {
+		final int clock;
+		ClockReset(int clock) { this.clock = clock; }
+		int eval(Env env) { return 0; }
+	}
+
+	/* Functions and statements */
+
+	static class Function {
+		final String name;
+		Local[] params;
+		int frameSize;
+		Stmt body;
+		Function(String name) { this.name = name; }
+	}
+
+	static abstract class Stmt {
+		/** @return true if a return statement has been executed */
+		abstract boolean exec(Env env);
+	}
+
+	static class ExprStmt extends Stmt {
+		final Expr e;
+		ExprStmt(Expr e) { this.e = e; }
+		boolean exec(Env env) {
+			if(e != null) e.eval(env);
+			return false;
+		}
+	}
+
+	static class Block extends Stmt {
+		final Stmt[] stmts;
+		Block(Stmt[] stmts) { this.stmts = stmts; }
+		boolean exec(Env env) {
+			for(Stmt s : stmts) {
+				if(s.exec(env)) return true;
+			}
+			return false;
+		}
+	}
+
+	static class LocalDecl extends Stmt {
+		final Local var;
+		final Expr init;
+		LocalDecl(Local var, Expr init) {
+			this.var = var;
+			this.init = init;
+		}
+		boolean exec(Env env) {
+			if(init != null) var.set(env, init.eval(env));
+			else             env.frame[var.index] = initialValue(var.lo, var.hi);
+			return false;
+		}
+	}
+
+	static class If extends Stmt {
+		final Expr c;
+		final Stmt then, otherwise;
+		If(Expr c, Stmt then, Stmt otherwise) {
+			this.c = c;
+			this.then = then;
+			this.otherwise = otherwise;
+		}
+		boolean exec(Env env) {
+			if(c.eval(env) != 0) return then.exec(env);
+			else if(otherwise != null) return otherwise.exec(env);
+			return false;
+		}
+	}
+
+	/** for and while loops */
+	static class Loop extends Stmt {
+		final Expr init, c, step;
+		final Stmt body;
+		Loop(Expr init, Expr c, Expr step, Stmt body) {
+			this.init = init;
+			this.c = c;
+			this.step = step;
+			this.body = body;
+		}
+		boolean exec(Env env) {
+			if(init != null) init.eval(env);
+			while(c == null || c.eval(env) != 0) {
+				if(body.exec(env)) return true;
+				if(step != null) step.eval(env);
+			}
+			return false;
+		}
+	}
+
+	static class Return extends Stmt {
+		final Expr e;
+		Return(Expr e) { this.e = e; }
+		boolean exec(Env env) {
+			if(e != null) env.retVal = e.eval(env);
+			return true;
+		}
+	}
+
+	/** The initial value of an uninitialized variable of the given range */
+	static int initialValue(int lo, int hi) {
+		if(lo > 0) return lo;
+		if(hi < 0) return hi;
+		return 0;
+	}
+}
@@ -0,0 +1,660 @@
+/*
+  This file is part of JOP, the Java Optimized Processor
+    see <http://www.jopdesign.com/>
+
+  Copyright (C) 2026, agent (agent@local)
+
+  This program is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  This program is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public License
+  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.jopdesign.wcet.uppaal.explorer;
+
+import com.jopdesign.wcet.uppaal.explorer.Code.Expr;
+import com.jopdesign.wcet.uppaal.explorer.Code.Function;
+import com.jopdesign.wcet.uppaal.explorer.Code.LValue;
+import com.jopdesign.wcet.uppaal.explorer.Code.Local;
+import com.jopdesign.wcet.uppaal.explorer.Code.Stmt;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parser for the part of UPPAAL's declaration and expression language
+ * which is generated by the UPPAAL translators: integer, boolean, clock and channel
+ * declarations, constants (and constant arrays), functions with {@code for},
+ * {@code while}, {@code if} and {@code return} statements, and C expressions.
+ * Identifiers are resolved while parsing, so the result can be executed directly.
+ *
+ * @author agent (agent@local)
+ */
+class CodeParser {
+
+	/* Symbols */
+
+	static abstract class Symbol { }
+
+	static class ConstSym extends Symbol {
+		final int value;
+		ConstSym(int value) { this.value = value; }
+	}
+
+	static class ConstArraySym extends Symbol {
+		final int[] values;
+		ConstArraySym(int[] values) { this.values = values; }
+	}
+
+	static class VarSym extends Symbol {
+		final int slot, size, lo, hi;
+		/** @param size the size of the array, or -1 for scalars */
+		VarSym(int slot, int size, int lo, int hi) {
+			this.slot = slot;
+			this.size = size;
+			this.lo = lo;
+			this.hi = hi;
+		}
+	}
+
+	static class LocalSym extends Symbol {
+		final Local local;
+		LocalSym(Local local) { this.local = local; }
+	}
+
+	static class ClockSym extends Symbol {
+		final int id;
+		ClockSym(int id) { this.id = id; }
+	}
+
+	static class ChanSym extends Symbol {
+		final int id;
+		ChanSym(int id) { this.id = id; }
+	}
+
+	static class FunSym extends Symbol {
+		final Function f;
+		FunSym(Function f) { this.f = f; }
+	}
+
+	static class Scope {
+		private final Scope parent;
+		private final Map<String, Symbol> symbols = new HashMap<String, Symbol>();
+		Scope(Scope parent) {
+			this.parent = parent;
+		}
+		Symbol lookup(String name) {
+			Symbol s = symbols.get(name);
+			if(s == null && parent != null) return parent.lookup(name);
+			return s;
+		}
+		void define(String name, Symbol s) throws UnsupportedModelException {
+			if(symbols.containsKey(name)) {
+				throw new UnsupportedModelException("Duplicate declaration of "+name);
+			}
+			symbols.put(name, s);
+		}
+	}
+
+	/** The variables of the state vector, and the clocks and channels of a system */
+	static class Layout {
+		final List<String> names = new ArrayList<String>();
+		final List<int[]> slots = new ArrayList<int[]>(); /* lo, hi, initial value */
+		final List<String> clocks = new ArrayList<String>();
+		final List<String> chans = new ArrayList<String>();
+		int allocate(String name, int lo, int hi, int init) {
+			names.add(name);
+			slots.add(new int[] { lo, hi, init });
+			return slots.size() - 1;
+		}
+		int size() {
+			return slots.size();
+		}
+	}
+
+	/* Lexer */
+
+	private static final int ID = 0, NUM = 1, OP = 2, EOF = 3;
+
+	private static final String[] OPERATORS = {
+		":=", "==", "!=", "<=", ">=", "&&", "||", "++", "--", "+=", "-=", "*=",
+		"+", "-", "*", "/", "%", "<", ">", "!", "=", "(", ")", "[", "]", "{", "}",
+		",", ";", "?", ":"
+	};
+
+	private final String text;
+	private final List<Integer> kinds = new ArrayList<Integer>();
+	private final List<String> tokens = new ArrayList<String>();
+	private int pos = 0;
+
+	private Scope scope;
+	private final Layout layout;
+
+	/* function being parsed */
+	private Function function;
+	/* clocks reset by the parsed updates */
+	private final Set<Integer> resetClocks = new HashSet<Integer>();
+	private int unresolvedClocks = 0;
+
+	CodeParser(String text, Scope scope, Layout layout) throws UnsupportedModelException {
+		this.text = text;
+		this.scope = scope;
+		this.layout = layout;
+		tokenize();
+	}
+
+	private void tokenize() throws UnsupportedModelException {
+		int i = 0, n = text.length();
+		while(i < n) {
+			char c = text.charAt(i);
+			if(Character.isWhitespace(c)) {
+				i++;
+			} else if(text.startsWith("//", i)) {
+				while(i < n && text.charAt(i) != '\n') i++;
+			} else if(text.startsWith("/*", i)) {
+				int end = text.indexOf("*/", i + 2);
+				if(end < 0) throw error("Unterminated comment");
+				i = end + 2;
+			} else if(Character.isLetter(c) || c == '_' || c == '$') {
+				int start = i;
+				while(i < n && (Character.isLetterOrDigit(text.charAt(i)) ||
+				                text.charAt(i) == '_' || text.charAt(i) == '$')) i++;
+				add(ID, text.substring(start, i));
+			} else if(Character.isDigit(c)) {
+				int start = i;
+				while(i < n && Character.isDigit(text.charAt(i))) i++;
+				add(NUM, text.substring(start, i));
+			} else {
+				String op = null;
+				for(String o : OPERATORS) {
+					if(text.startsWith(o, i)) { op = o; break; }
+				}
+				if(op == null) throw error("Unexpected character '"+c+"'");
+				add(OP, op);
+				i += op.length();
+			}
+		}
+		add(EOF, "<end>");
+	}
+
+	private void add(int kind, String token) {
+		kinds.add(kind);
+		tokens.add(token);
+	}
+
+	private boolean atEnd() {
+		return kinds.get(pos) == EOF;
+	}
+
+	private boolean at(String token) {
+		return kinds.get(pos) != EOF && tokens.get(pos).equals(token);
+	}
+
+	private boolean accept(String token) {
+		if(at(token)) { pos++; return true; }
+		return false;
+	}
+
+	private void expect(String token) throws UnsupportedModelException {
+		if(! accept(token)) throw error("Expected '"+token+"'");
+	}
+
+	private String identifier() throws UnsupportedModelException {
+		if(kinds.get(pos) != ID) throw error("Expected identifier");
+		return tokens.get(pos++);
+	}
+
+	private UnsupportedModelException error(String msg) {
+		String where = pos < tokens.size() ? " at '"+tokens.get(pos)+"'" : "";
+		return new UnsupportedModelException(msg + where + " in: " + text);
+	}
+
+	/** @return the clocks reset by the expressions parsed so far */
+	Set<Integer> getResetClocks() {
+		return resetClocks;
+	}
+
+	/* Entry points */
+
+	/** Parse a list of declarations */
+	void parseDeclarations() throws UnsupportedModelException {
+		while(! atEnd()) {
+			parseDeclaration();
+		}
+	}
+
+	/** Parse a single expression, e.g. a guard */
+	Expr parseExpression() throws UnsupportedModelException {
+		Expr e = expression();
+		if(! atEnd()) throw error("Unexpected token");
+		checkClocks();
+		return e;
+	}
+
+	/** Parse a comma separated list of expressions, e.g. an update */
+	List<Expr> parseExpressionList() throws UnsupportedModelException {
+		List<Expr> es = new ArrayList<Expr>();
+		if(atEnd()) return es;
+		do {
+			es.add(expression());
+		} while(accept(","));
+		if(! atEnd()) throw error("Unexpected token");
+		checkClocks();
+		return es;
+	}
+
+	/**
+	 * Parse an invariant of the form {@code clock <= bound}.
+	 * @return the clock and the bound, or null if the invariant is empty
+	 */
+	int[] parseInvariant() throws UnsupportedModelException {
+		if(atEnd()) return null;
+		Symbol s = scope.lookup(identifier());
+		if(! (s instanceof ClockSym)) throw error("Only clock upper bounds are supported as invariants");
+		if(! accept("<=") && ! accept("<")) throw error("Only clock upper bounds are supported as invariants");
+		int bound = constant(expression());
+		if(! atEnd()) throw error("Only clock upper bounds are supported as invariants");
+		return new int[] { ((ClockSym) s).id, bound };
+	}
+
+	/** Parse a channel reference {@code chan!} or {@code chan?} */
+	int parseSync(boolean[] isSend) throws UnsupportedModelException {
+		Symbol s = scope.lookup(identifier());
+		if(! (s instanceof ChanSym)) throw error("Not a channel");
+		if(accept("!")) isSend[0] = true;
+		else if(accept("?")) isSend[0] = false;
+		else throw error("Expected '!' or '?'");
+		if(! atEnd()) throw error("Unexpected token");
+		return ((ChanSym) s).id;
+	}
+
+	private void checkClocks() throws UnsupportedModelException {
+		if(unresolvedClocks > 0) {
+			throw error("Clocks are only supported in invariants and resets");
+		}
+	}
+
+	/* Declarations */
+
+	private static final int T_INT = 0, T_BOOL = 1, T_VOID = 2, T_CLOCK = 3, T_CHAN = 4;
+
+	private boolean atType() {
+		return at("int") || at("bool") || at("void") || at("clock") || at("chan") || at("const")
+		       || at("urgent") || at("broadcast") || at("meta");
+	}
+
+	/** @return kind, lo, hi */
+	private int[] type() throws UnsupportedModelException {
+		if(at("urgent") || at("broadcast") || at("meta")) throw error("Unsupported type qualifier");
+		String t = identifier();
+		if(t.equals("int")) {
+			if(accept("[")) {
+				int lo = constant(expression());
+				expect(",");
+				int hi = constant(expression());
+				expect("]");
+				return new int[] { T_INT, lo, hi };
+			}
+			return new int[] { T_INT, Code.INT_MIN, Code.INT_MAX };
+		}
+		else if(t.equals("bool"))  return new int[] { T_BOOL, 0, 1 };
+		else if(t.equals("void"))  return new int[] { T_VOID, 0, 0 };
+		else if(t.equals("clock")) return new int[] { T_CLOCK, 0, 0 };
+		else if(t.equals("chan"))  return new int[] { T_CHAN, 0, 0 };
+		pos--;
+		throw error("Unsupported type");
+	}
+
+	private void parseDeclaration() throws UnsupportedModelException {
+		if(accept(";")) return;
+		boolean isConst = accept("const");
+		int[] ty = type();
+		String name = identifier();
+		if(at("(")) {
+			if(isConst) throw error("Unexpected function");
+			parseFunction(name);
+			return;
+		}
+		while(true) {
+			declareGlobal(name, isConst, ty);
+			if(! accept(",")) break;
+			name = identifier();
+		}
+		expect(";");
+	}
+
+	private void declareGlobal(String name, boolean isConst, int[] ty) throws UnsupportedModelException {
+		int size = -1;
+		if(accept("[")) {
+			size = constant(expression());
+			expect("]");
+			if(at("[")) throw error("Multidimensional arrays are not supported");
+		}
+		List<Integer> init = null;
+		if(accept("=") || accept(":=")) {
+			init = initializer();
+		}
+		int kind = ty[0];
+		if(kind == T_CLOCK || kind == T_CHAN) {
+			if(size >= 0 || init != null || isConst) throw error("Unsupported clock or channel declaration");
+			if(kind == T_CLOCK) {
+				layout.clocks.add(name);
+				scope.define(name, new ClockSym(layout.clocks.size() - 1));
+			} else {
+				layout.chans.add(name);
+				scope.define(name, new ChanSym(layout.chans.size() - 1));
+			}
+			return;
+		}
+		if(kind == T_VOID) throw error("Variable of type void");
+		int n = size < 0 ? 1 : size;
+		if(init != null && init.size() != n) throw error("Bad initializer for "+name);
+		if(isConst) {
+			if(init == null) throw error("Constant without initializer");
+			if(size < 0) {
+				scope.define(name, new ConstSym(init.get(0)));
+			} else {
+				int[] values = new int[n];
+				for(int i = 0; i < n; i++) values[i] = init.get(i);
+				scope.define(name, new ConstArraySym(values));
+			}
+			return;
+		}
+		int base = -1;
+		for(int i = 0; i < n; i++) {
+			int v = init == null ? Code.initialValue(ty[1], ty[2]) : init.get(i);
+			if(v < ty[1] || v > ty[2]) throw error("Initial value "+v+" of "+name+" is out of range");
+			int slot = layout.allocate(size < 0 ? name : name+"["+i+"]", ty[1], ty[2], v);
+			if(i == 0) base = slot;
+		}
+		scope.define(name, new VarSym(base, size, ty[1], ty[2]));
+	}
+
+	private List<Integer> initializer() throws UnsupportedModelException {
+		List<Integer> values = new ArrayList<Integer>();
+		if(accept("{")) {
+			do {
+				values.add(constant(expression()));
+			} while(accept(","));
+			expect("}");
+		} else {
+			values.add(constant(expression()));
+		}
+		return values;
+	}
+
+	private int constant(Expr e) throws UnsupportedModelException {
+		if(! e.isConstant()) throw error("Expected a constant expression");
+		return e.eval(null);
+	}
+
+	private void parseFunction(String name) throws UnsupportedModelException {
+		Function f = new Function(name);
+		scope.define(name, new FunSym(f));
+		Scope outer = scope;
+		scope = new Scope(outer);
+		function = f;
+		expect("(");
+		List<Local> params = new ArrayList<Local>();
+		if(! accept(")")) {
+			do {
+				int[] ty = type();
+				if(ty[0] != T_INT && ty[0] != T_BOOL) throw error("Unsupported parameter type");
+				params.add(declareLocal(identifier(), ty));
+			} while(accept(","));
+			expect(")");
+		}
+		f.params = params.toArray(new Local[params.size()]);
+		if(! at("{")) throw error("Expected function body");
+		f.body = statement();
+		function = null;
+		scope = outer;
+	}
+
+	private Local declareLocal(String name, int[] ty) throws UnsupportedModelException {
+		Local l = new Local(name, function.frameSize++, ty[1], ty[2]);
+		scope.define(name, new LocalSym(l));
+		return l;
+	}
+
+	/* Statements */
+
+	private Stmt statement() throws UnsupportedModelException {
+		if(accept("{")) {
+			Scope outer = scope;
+			scope = new Scope(outer);
+			List<Stmt> stmts = new ArrayList<Stmt>();
+			while(! accept("}")) {
+				if(atEnd()) throw error("Expected '}'");
+				stmts.add(statement());
+			}
+			scope = outer;
+			return new Code.Block(stmts.toArray(new Stmt[stmts.size()]));
+		} else if(accept(";")) {
+			return new Code.ExprStmt(null);
+		} else if(accept("for")) {
+			expect("(");
+			Expr init = at(";") ? null : expression();
+			expect(";");
+			Expr cond = at(";") ? null : expression();
+			expect(";");
+			Expr step = at(")") ? null : expression();
+			expect(")");
+			return new Code.Loop(init, cond, step, statement());
+		} else if(accept("while")) {
+			expect("(");
+			Expr cond = expression();
+			expect(")");
+			return new Code.Loop(null, cond, null, statement());
+		} else if(accept("if")) {
+			expect("(");
+			Expr cond = expression();
+			expect(")");
+			Stmt then = statement();
+			Stmt otherwise = accept("else") ? statement() : null;
+			return new Code.If(cond, then, otherwise);
+		} else if(accept("return")) {
+			Expr e = at(";") ? null : expression();
+			expect(";");
+			return new Code.Return(e);
+		} else if(atType()) {
+			if(at("const")) throw error("Local constants are not supported");
+			int[] ty = type();
+			if(ty[0] != T_INT && ty[0] != T_BOOL) throw error("Unsupported local variable");
+			List<Stmt> decls = new ArrayList<Stmt>();
+			do {
+				String name = identifier();
+				if(at("[")) throw error("Local arrays are not supported");
+				Expr init = null;
+				if(accept("=") || accept(":=")) init = expression();
+				decls.add(new Code.LocalDecl(declareLocal(name, ty), init));
+			} while(accept(","));
+			expect(";");
+			if(decls.size() == 1) return decls.get(0);
+			return new Code.Block(decls.toArray(new Stmt[decls.size()]));
+		} else {
+			Expr e = expression();
+			expect(";");
+			return new Code.ExprStmt(e);
+		}
+	}
+
+	/* Expressions */
+
+	/** A reference to a clock, which is only valid as target of a reset */
+	private static class ClockRef extends LValue {
+		final int clock;
+		ClockRef(String name, int clock) {
+			super(name, 0, 0);
+			this.clock = clock;
+		}
+		int eval(Code.Env env) { throw new Code.EvalError("Unexpected clock reference: "+name); }
+		void set(Code.Env env, int v) { throw new Code.EvalError("Unexpected clock reference: "+name); }
+	}
+
+	private Expr expression() throws UnsupportedModelException {
+		Expr lhs = conditional();
+		char op;
+		if(accept("=") || accept(":=")) op = '=';
+		else if(accept("+=")) op = '+';
+		else if(accept("-=")) op = '-';
+		else if(accept("*=")) op = '*';
+		else return lhs;
+		if(! (lhs instanceof LValue)) throw error("Assignment to non-variable");
+		Expr rhs = expression();
+		if(lhs instanceof ClockRef) {
+			if(op != '=' || ! rhs.isConstant() || rhs.eval(null) != 0) {
+				throw error("Clocks may only be reset to 0");
+			}
+			unresolvedClocks--;
+			resetClocks.add(((ClockRef) lhs).clock);
+			return new Code.ClockReset(((ClockRef) lhs).clock);
+		}
+		return new Code.Assign((LValue) lhs, op, rhs);
+	}
+
+	private Expr conditional() throws UnsupportedModelException {
+		Expr c = binary(0);
+		if(! accept("?")) return c;
+		Expr a = expression();
+		expect(":");
+		Expr b = conditional();
+		return fold(new Code.Cond(c, a, b));
+	}
+
+	/* binary operators by precedence level */
+	private static final String[][] LEVELS = {
+		{ "||", "or" }, { "&&", "and" }, { "==", "!=" }, { "<", "<=", ">", ">=" }, { "+", "-" }, { "*", "/", "%" }
+	};
+	private static final int[][] LEVEL_OPS = {
+		{ Code.OR, Code.OR }, { Code.AND, Code.AND }, { Code.EQ, Code.NE },
+		{ Code.LT, Code.LE, Code.GT, Code.GE }, { Code.ADD, Code.SUB }, { Code.MUL, Code.DIV, Code.MOD }
+	};
+
+	private Expr binary(int level) throws UnsupportedModelException {
+		if(level == LEVELS.length) return unary();
+		Expr e = binary(level + 1);
+		outer: while(true) {
+			for(int i = 0; i < LEVELS[level].length; i++) {
+				if(accept(LEVELS[level][i])) {
+					e = fold(new Code.Binary(LEVEL_OPS[level][i], e, binary(level + 1)));
+					continue outer;
+				}
+			}
+			return e;
+		}
+	}
+
+	private Expr unary() throws UnsupportedModelException {
+		if(accept("!") || accept("not")) return fold(new Code.Not(unary()));
+		if(accept("-")) return fold(new Code.Neg(unary()));
+		if(accept("+")) return unary();
+		if(accept("++")) return new Code.IncDec(lvalue(unary()), 1, true);
+		if(accept("--")) return new Code.IncDec(lvalue(unary()), -1, true);
+		Expr e = primary();
+		if(accept("++")) return new Code.IncDec(lvalue(e), 1, false);
+		if(accept("--")) return new Code.IncDec(lvalue(e), -1, false);
+		return e;
+	}
+
+	private LValue lvalue(Expr e) throws UnsupportedModelException {
+		if(! (e instanceof LValue) || e instanceof ClockRef) throw error("Expected a variable");
+		return (LValue) e;
+	}
+
+	private Expr primary() throws UnsupportedModelException {
+		if(accept("(")) {
+			Expr e = expression();
+			expect(")");
+			return e;
+		}
+		if(kinds.get(pos) == NUM) {
+			try {
+				return new Code.Const(Integer.parseInt(tokens.get(pos++)));
+			} catch(NumberFormatException e) {
+				pos--;
+				throw error("Bad number");
+			}
+		}
+		String name = identifier();
+		if(name.equals("true"))  return new Code.Const(1);
+		if(name.equals("false")) return new Code.Const(0);
+		Symbol s = scope.lookup(name);
+		if(s == null) {
+			pos--;
+			throw error("Undeclared identifier");
+		}
+		if(s instanceof ConstSym) {
+			return new Code.Const(((ConstSym) s).value);
+		} else if(s instanceof LocalSym) {
+			return ((LocalSym) s).local;
+		} else if(s instanceof ClockSym) {
+			unresolvedClocks++;
+			return new ClockRef(name, ((ClockSym) s).id);
+		} else if(s instanceof VarSym) {
+			VarSym v = (VarSym) s;
+			if(v.size < 0) return new Code.Var(name, v.slot, v.lo, v.hi);
+			expect("[");
+			Expr index = expression();
+			expect("]");
+			if(index.isConstant()) {
+				int i = index.eval(null);
+				if(i < 0 || i >= v.size) throw error("Index out of bounds");
+				return new Code.Var(name+"["+i+"]", v.slot + i, v.lo, v.hi);
+			}
+			return new Code.ArrayElem(name, v.slot, v.size, v.lo, v.hi, index);
+		} else if(s instanceof ConstArraySym) {
+			expect("[");
+			Expr index = expression();
+			expect("]");
+			return fold(new Code.ConstArrayElem(name, ((ConstArraySym) s).values, index));
+		} else if(s instanceof FunSym) {
+			Function f = ((FunSym) s).f;
+			if(f == function) throw error("Recursive functions are not supported");
+			expect("(");
+			List<Expr> args = new ArrayList<Expr>();
+			if(! accept(")")) {
+				do {
+					args.add(expression());
+				} while(accept(","));
+				expect(")");
+			}
+			if(args.size() != f.params.length) throw error("Wrong number of arguments for "+name);
+			return new Code.Call(f, args.toArray(new Expr[args.size()]));
+		} else {
+			pos--;
+			throw error("Unexpected channel");
+		}
+	}
+
+	/** Evaluate constant expressions at parse time */
+	private Expr fold(Expr e) {
+		if(e instanceof Code.ConstArrayElem) {
+			Code.ConstArrayElem ca = (Code.ConstArrayElem) e;
+			if(ca.index.isConstant()) {
+				int i = ca.index.eval(null);
+				if(i >= 0 && i < ca.values.length) return new Code.Const(ca.values[i]);
+			}
+			return e;
+		}
+		if(e.isConstant()) {
+			try {
+				return new Code.Const(e.eval(null));
+			} catch(Code.EvalError ex) {
+				return e;
+			}
+		}
+		return e;
+	}
+}
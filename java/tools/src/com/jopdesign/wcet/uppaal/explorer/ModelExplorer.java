@@ -0,0 +1,517 @@
+/*
+  This file is part of JOP, the Java Optimized Processor
+    see <http://www.jopdesign.com/>
+
+  Copyright (C) 2026, agent (agent@local)
+
+  This program is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  This program is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public License
+  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.jopdesign.wcet.uppaal.explorer;
+
+import com.jopdesign.common.misc.MiscUtils;
+import com.jopdesign.wcet.WCETTool;
+import com.jopdesign.wcet.uppaal.explorer.Code.Env;
+import com.jopdesign.wcet.uppaal.explorer.Code.Expr;
+import com.jopdesign.wcet.uppaal.explorer.CodeParser.Layout;
+import com.jopdesign.wcet.uppaal.explorer.CodeParser.Scope;
+import com.jopdesign.wcet.uppaal.model.Location;
+import com.jopdesign.wcet.uppaal.model.NTASystem;
+import com.jopdesign.wcet.uppaal.model.Template;
+import com.jopdesign.wcet.uppaal.model.Transition;
+import com.jopdesign.wcet.uppaal.model.TransitionAttributes;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Explicit-state explorer computing the WCET of the timed automata built by the
+ * UPPAAL translators, without running the external verifier.
+ * <p>
+ * The supported subset: processes instantiated from templates without parameters,
+ * binary channels, committed locations, bounded integer and boolean variables,
+ * and functions. Clocks may only be reset to 0 and used in invariants {@code c <= w}.
+ * Every transition entering a location with such an invariant resets {@code c}, and
+ * {@code c} is not reset elsewhere. At most one process is in a location with an
+ * invariant at a time. Under these restrictions, which hold for the translated models,
+ * the longest delay possible in a location is {@code w}, and the clocks need not be
+ * part of the state: the maximal time when reaching a location is the longest path
+ * in the graph of discrete states, where entering a location with an invariant
+ * costs {@code w}.
+ * </p><p>
+ * This longest path is computed in one depth-first pass, memoizing the result for
+ * each (bit-packed) state. Variables listed as progress measures do not influence
+ * the behavior, so they are not updated.
+ * </p>
+ *
+ * @author agent (agent@local)
+ */
+public class ModelExplorer {
+
+	private static final Logger logger = Logger.getLogger(WCETTool.LOG_WCET_UPPAAL+".ModelExplorer");
+
+	private static final long UNREACHABLE = Long.MIN_VALUE;
+
+	private static class Edge {
+		Expr[] guards;
+		Expr[] updates;
+		int target;
+		int chan = -1;
+		boolean send;
+	}
+
+	private static class Loc {
+		String name;
+		boolean committed, urgent;
+		/* clock and bound of the invariant, or -1 */
+		int invClock = -1;
+		long bound;
+		List<Edge> out = new ArrayList<Edge>();
+	}
+
+	private static class Proc {
+		String name;
+		Loc[] locs;
+	}
+
+	private static class Successor {
+		final int[] state;
+		final long weight;
+		Successor(int[] state, long weight) {
+			this.state = state;
+			this.weight = weight;
+		}
+	}
+
+	private Proc[] procs;
+	private Layout layout;
+	private int[] initialState;
+	private StatePacker packer;
+	private long statesExplored = 0;
+
+	/**
+	 * Compile the given system.
+	 * @param system the system, as built by the translators
+	 * @throws UnsupportedModelException if the system is not in the supported subset
+	 */
+	public ModelExplorer(NTASystem system) throws UnsupportedModelException {
+		String sys = system.getSystem();
+		Set<String> progressVars = new HashSet<String>();
+		Matcher pm = Pattern.compile("progress\\s*\\{([^}]*)\\}").matcher(sys);
+		if(pm.find()) {
+			for(String v : pm.group(1).split(";")) {
+				if(v.trim().length() > 0) progressVars.add(v.trim());
+			}
+			sys = sys.substring(0, pm.start()) + sys.substring(pm.end());
+		}
+		Map<String, Template> instances = new LinkedHashMap<String, Template>();
+		Matcher inst = Pattern.compile("([\\w$]+)\\s*=\\s*([\\w$]+)\\s*\\(\\s*\\)\\s*;").matcher(sys);
+		while(inst.find()) {
+			instances.put(inst.group(1), getTemplate(system, inst.group(2)));
+		}
+		Matcher sm = Pattern.compile("system\\s+([^;]*);").matcher(sys);
+		if(! sm.find()) throw new UnsupportedModelException("No system declaration: "+sys);
+		List<String> procNames = new ArrayList<String>();
+		for(String p : sm.group(1).split("[,<]")) {
+			procNames.add(p.trim());
+		}
+
+		layout = new Layout();
+		procs = new Proc[procNames.size()];
+		List<Template> templates = new ArrayList<Template>();
+		for(int i = 0; i < procs.length; i++) {
+			String name = procNames.get(i);
+			Template t = instances.get(name);
+			if(t == null) t = getTemplate(system, name);
+			if(! t.getParameters().isEmpty()) {
+				throw new UnsupportedModelException("Templates with parameters are not supported: "+t.getId());
+			}
+			templates.add(t);
+			procs[i] = new Proc();
+			procs[i].name = name;
+			/* location slots come first in the state vector */
+			layout.allocate(name, 0, t.getLocations().size() - 1, 0);
+		}
+		Scope global = new Scope(null);
+		new CodeParser(MiscUtils.joinStrings(system.getDeclarations(), "\n"), global, layout).parseDeclarations();
+		for(int i = 0; i < procs.length; i++) {
+			compileProcess(i, templates.get(i), global, progressVars);
+		}
+		checkClocks();
+
+		initialState = new int[layout.size()];
+		for(int i = 0; i < initialState.length; i++) {
+			initialState[i] = layout.slots.get(i)[2];
+		}
+		for(int i = 0; i < procs.length; i++) {
+			initialState[i] = indexOf(templates.get(i), templates.get(i).getInitial());
+		}
+		packer = new StatePacker(layout);
+	}
+
+	private static Template getTemplate(NTASystem system, String name) throws UnsupportedModelException {
+		Template t = system.getTemplate(name);
+		if(t == null) throw new UnsupportedModelException("No template or process named "+name);
+		return t;
+	}
+
+	private static List<Location> sortedLocations(Template t) {
+		List<Location> locs = new ArrayList<Location>(t.getLocations());
+		Collections.sort(locs);
+		return locs;
+	}
+
+	private static int indexOf(Template t, Location l) {
+		return sortedLocations(t).indexOf(l);
+	}
+
+	/* per location: the clocks reset by all incoming transitions; per clock: the locations entered on a reset */
+	private Map<Loc, Set<Integer>> resetOnEntry = new HashMap<Loc, Set<Integer>>();
+	private Map<Integer, Set<Loc>> resetTargets = new HashMap<Integer, Set<Loc>>();
+
+	private void compileProcess(int pid, Template t, Scope global, Set<String> progressVars)
+			throws UnsupportedModelException {
+
+		Proc proc = procs[pid];
+		Scope local = new Scope(global);
+		new CodeParser(MiscUtils.joinStrings(t.getDeclarations(), "\n"), local, layout).parseDeclarations();
+		List<Location> locations = sortedLocations(t);
+		Map<Location, Integer> index = new HashMap<Location, Integer>();
+		proc.locs = new Loc[locations.size()];
+		for(int i = 0; i < proc.locs.length; i++) {
+			Location l = locations.get(i);
+			index.put(l, i);
+			Loc loc = new Loc();
+			loc.name = l.getName();
+			loc.committed = l.isCommitted();
+			loc.urgent = l.isUrgent();
+			int[] inv = new CodeParser(l.getInvariant(), local, layout).parseInvariant();
+			if(inv != null) {
+				loc.invClock = inv[0];
+				loc.bound = inv[1];
+			}
+			proc.locs[i] = loc;
+		}
+		for(Transition tr : t.getTransitions()) {
+			TransitionAttributes attrs = tr.getAttrs();
+			if(! attrs.getSelects().isEmpty()) {
+				throw new UnsupportedModelException("Select labels are not supported: "+attrs.getSelects());
+			}
+			Edge e = new Edge();
+			e.target = index.get(tr.getTarget());
+			List<Expr> guards = new ArrayList<Expr>();
+			for(String g : attrs.getGuards()) {
+				guards.add(new CodeParser(g, local, layout).parseExpression());
+			}
+			e.guards = guards.toArray(new Expr[guards.size()]);
+			if(attrs.getSync().length() > 0) {
+				boolean[] isSend = new boolean[1];
+				e.chan = new CodeParser(attrs.getSync(), local, layout).parseSync(isSend);
+				e.send = isSend[0];
+			}
+			List<Expr> updates = new ArrayList<Expr>();
+			Set<Integer> resets = new HashSet<Integer>();
+			for(String u : attrs.getUpdates()) {
+				CodeParser parser = new CodeParser(u, local, layout);
+				for(Expr up : parser.parseExpressionList()) {
+					if(up instanceof Code.Assign && progressVars.contains(((Code.Assign) up).lhs.name)) continue;
+					if(up instanceof Code.ClockReset) continue;
+					updates.add(up);
+				}
+				resets.addAll(parser.getResetClocks());
+			}
+			e.updates = updates.toArray(new Expr[updates.size()]);
+			Loc target = proc.locs[e.target];
+			Set<Integer> onEntry = resetOnEntry.get(target);
+			if(onEntry == null) resetOnEntry.put(target, new HashSet<Integer>(resets));
+			else                onEntry.retainAll(resets);
+			for(Integer c : resets) {
+				Set<Loc> targets = resetTargets.get(c);
+				if(targets == null) resetTargets.put(c, targets = new HashSet<Loc>());
+				targets.add(target);
+			}
+			proc.locs[index.get(tr.getSource())].out.add(e);
+		}
+	}
+
+	/* clocks in invariants are reset on entry, and only on entry */
+	private void checkClocks() throws UnsupportedModelException {
+		Set<Integer> invClocks = new HashSet<Integer>();
+		for(Proc p : procs) {
+			for(Loc l : p.locs) {
+				if(l.invClock < 0) continue;
+				invClocks.add(l.invClock);
+				/* no incoming transitions: initial location, all clocks are zero */
+				Set<Integer> onEntry = resetOnEntry.get(l);
+				if(onEntry != null && ! onEntry.contains(l.invClock)) {
+					throw new UnsupportedModelException("Clock "+layout.clocks.get(l.invClock)+
+							" is not reset when entering "+p.name+"."+l.name);
+				}
+			}
+		}
+		for(Integer c : invClocks) {
+			for(Loc l : resetTargets.get(c)) {
+				if(l.invClock != c) {
+					throw new UnsupportedModelException("Clock "+layout.clocks.get(c)+
+							" is reset when entering "+l.name+", which has no invariant on it");
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the number of states explored by {@link #computeMaxTime}
+	 */
+	public long getStatesExplored() {
+		return statesExplored;
+	}
+
+	/**
+	 * Compute the maximal time which may have elapsed when the given location is reached,
+	 * which corresponds to the smallest {@code bound} satisfying
+	 * {@code A[] (process.location imply t <= bound)} for a clock {@code t} which is never reset.
+	 * @param process the process (e.g., {@code M0})
+	 * @param location the location (e.g., {@code E})
+	 * @return the maximal time, or -1 if the location is unreachable
+	 * @throws UnsupportedModelException if time may diverge before the location is reached,
+	 *         or the model uses unsupported features
+	 */
+	public long computeMaxTime(String process, String location) throws UnsupportedModelException {
+		int pid = -1;
+		for(int i = 0; i < procs.length; i++) {
+			if(procs[i].name.equals(process)) pid = i;
+		}
+		if(pid < 0) throw new UnsupportedModelException("No process named "+process);
+		int loc = -1;
+		for(int i = 0; i < procs[pid].locs.length; i++) {
+			if(procs[pid].locs[i].name.equals(location)) {
+				if(loc >= 0) throw new UnsupportedModelException("Location name is not unique: "+location);
+				loc = i;
+			}
+		}
+		if(loc < 0) throw new UnsupportedModelException("No location named "+location+" in "+process);
+		try {
+			long wcet = longestPath(pid, loc);
+			if(wcet != UNREACHABLE) {
+				for(int p = 0; p < procs.length; p++) wcet += weight(p, initialState[p]);
+			}
+			logger.info("Explored "+statesExplored+" states, maximal time at "+process+"."+location+": "+wcet);
+			return wcet == UNREACHABLE ? -1 : wcet;
+		} catch(Code.EvalError e) {
+			throw new UnsupportedModelException("Error while exploring the model: "+e.getMessage());
+		}
+	}
+
+	private static class Frame {
+		final int[] state;
+		final StateKey key;
+		final List<Successor> succs;
+		int next = 0;
+		long best;
+		long pendingWeight;
+		Frame(int[] state, StateKey key, List<Successor> succs, long best) {
+			this.state = state;
+			this.key = key;
+			this.succs = succs;
+			this.best = best;
+		}
+	}
+
+	private long longestPath(int targetProc, int targetLoc) throws UnsupportedModelException {
+		Map<StateKey, Long> done = new HashMap<StateKey, Long>();
+		Set<StateKey> onStack = new HashSet<StateKey>();
+		List<Frame> stack = new ArrayList<Frame>();
+		statesExplored = 0;
+		stack.add(newFrame(initialState, packer.pack(initialState), targetProc, targetLoc));
+		onStack.add(stack.get(0).key);
+		long result = UNREACHABLE;
+		while(! stack.isEmpty()) {
+			Frame f = stack.get(stack.size() - 1);
+			if(f.next < f.succs.size()) {
+				Successor s = f.succs.get(f.next++);
+				StateKey key = packer.pack(s.state);
+				Long cost = done.get(key);
+				if(cost != null) {
+					f.best = combine(f.best, s.weight, cost);
+				} else if(onStack.contains(key)) {
+					throw new UnsupportedModelException("Cycle in the state space: the WCET is unbounded");
+				} else {
+					f.pendingWeight = s.weight;
+					stack.add(newFrame(s.state, key, targetProc, targetLoc));
+					onStack.add(key);
+				}
+				continue;
+			}
+			if(f.best != UNREACHABLE && f.state[targetProc] != targetLoc && mayDiverge(f.state)) {
+				throw new UnsupportedModelException("Time may diverge before reaching the target location");
+			}
+			stack.remove(stack.size() - 1);
+			onStack.remove(f.key);
+			done.put(f.key, f.best);
+			if(stack.isEmpty()) {
+				result = f.best;
+			} else {
+				Frame parent = stack.get(stack.size() - 1);
+				parent.best = combine(parent.best, parent.pendingWeight, f.best);
+			}
+		}
+		return result;
+	}
+
+	private static long combine(long best, long weight, long cost) {
+		if(cost == UNREACHABLE) return best;
+		return Math.max(best, weight + cost);
+	}
+
+	private Frame newFrame(int[] state, StateKey key, int targetProc, int targetLoc) throws UnsupportedModelException {
+		statesExplored++;
+		int inInvariant = 0;
+		for(int p = 0; p < procs.length; p++) {
+			if(procs[p].locs[state[p]].invClock >= 0) inInvariant++;
+		}
+		if(inInvariant > 1) {
+			throw new UnsupportedModelException("More than one process in a location with an invariant");
+		}
+		long best = state[targetProc] == targetLoc ? 0 : UNREACHABLE;
+		return new Frame(state, key, successors(state), best);
+	}
+
+	/* no process is committed, urgent or restricted by an invariant */
+	private boolean mayDiverge(int[] state) {
+		for(int p = 0; p < procs.length; p++) {
+			Loc l = procs[p].locs[state[p]];
+			if(l.committed || l.urgent || l.invClock >= 0) return false;
+		}
+		return true;
+	}
+
+	private List<Successor> successors(int[] state) {
+		List<Successor> succs = new ArrayList<Successor>();
+		boolean anyCommitted = false;
+		for(int p = 0; p < procs.length; p++) {
+			if(procs[p].locs[state[p]].committed) anyCommitted = true;
+		}
+		Env env = new Env(state);
+		for(int p = 0; p < procs.length; p++) {
+			Loc l = procs[p].locs[state[p]];
+			for(Edge e : l.out) {
+				if(e.chan >= 0 && ! e.send) continue;
+				if(! enabled(e, env)) continue;
+				if(e.chan < 0) {
+					if(anyCommitted && ! l.committed) continue;
+					int[] next = state.clone();
+					apply(e, next);
+					next[p] = e.target;
+					succs.add(new Successor(next, weight(p, e.target)));
+					continue;
+				}
+				for(int q = 0; q < procs.length; q++) {
+					if(q == p) continue;
+					Loc lq = procs[q].locs[state[q]];
+					if(anyCommitted && ! l.committed && ! lq.committed) continue;
+					for(Edge r : lq.out) {
+						if(r.chan != e.chan || r.send || ! enabled(r, env)) continue;
+						int[] next = state.clone();
+						apply(e, next);
+						apply(r, next);
+						next[p] = e.target;
+						next[q] = r.target;
+						succs.add(new Successor(next, weight(p, e.target) + weight(q, r.target)));
+					}
+				}
+			}
+		}
+		return succs;
+	}
+
+	private static boolean enabled(Edge e, Env env) {
+		for(Expr g : e.guards) {
+			if(g.eval(env) == 0) return false;
+		}
+		return true;
+	}
+
+	private static void apply(Edge e, int[] state) {
+		Env env = new Env(state);
+		for(Expr u : e.updates) {
+			u.eval(env);
+		}
+	}
+
+	private long weight(int proc, int loc) {
+		Loc l = procs[proc].locs[loc];
+		return l.invClock >= 0 ? l.bound : 0;
+	}
+
+	/* State compression */
+
+	/** Packs the state vector into as few bits as the ranges of its slots permit */
+	private static class StatePacker {
+		private final int[] lo, word, shift;
+		private final long[] mask;
+		private final int words;
+
+		StatePacker(Layout layout) {
+			int n = layout.size();
+			lo = new int[n]; word = new int[n]; shift = new int[n]; mask = new long[n];
+			int w = 0, bit = 0;
+			for(int i = 0; i < n; i++) {
+				int[] slot = layout.slots.get(i);
+				long range = (long) slot[1] - slot[0];
+				int bits = 64 - Long.numberOfLeadingZeros(range);
+				if(bit + bits > 64) { w++; bit = 0; }
+				lo[i] = slot[0];
+				word[i] = w;
+				shift[i] = bit;
+				mask[i] = bits == 0 ? 0 : (-1L >>> (64 - bits));
+				bit += bits;
+			}
+			words = w + 1;
+		}
+
+		StateKey pack(int[] state) {
+			long[] packed = new long[words];
+			for(int i = 0; i < state.length; i++) {
+				packed[word[i]] |= (((long) state[i] - lo[i]) & mask[i]) << shift[i];
+			}
+			return new StateKey(packed);
+		}
+	}
+
+	private static class StateKey {
+		private final long[] bits;
+		private final int hash;
+		StateKey(long[] bits) {
+			this.bits = bits;
+			this.hash = Arrays.hashCode(bits);
+		}
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof StateKey && Arrays.equals(bits, ((StateKey) o).bits);
+		}
+	}
+}
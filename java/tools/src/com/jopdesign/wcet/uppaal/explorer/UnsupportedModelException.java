@@ -0,0 +1,39 @@
+/*
+  This file is part of JOP, the Java Optimized Processor
+    see <http://www.jopdesign.com/>
+
+  Copyright (C) 2026, agent (agent@local)
+
+  This program is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  This program is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public License
+  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.jopdesign.wcet.uppaal.explorer;
+
+import java.io.IOException;
+
+/**
+ * Thrown if a model is not in the subset supported by {@link ModelExplorer},
+ * or if the model is erroneous (e.g., a variable exceeds its range).
+ * It is an {@link IOException}, as failures of the external verifier are.
+ *
+ * @author agent (agent@local)
+ */
+public class UnsupportedModelException extends IOException {
+
+	private static final long serialVersionUID = 1L;
+
+	public UnsupportedModelException(String message) {
+		super(message);
+	}
+
+}
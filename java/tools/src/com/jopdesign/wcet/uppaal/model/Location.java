@@ -80,6 +80,9 @@ public class Location implements Comparable<Location> {
 	public String getName() {
 		return name;
 	}
+	public String getInvariant() {
+		return invariant;
+	}
 	public boolean isUrgent() {
 		return this.attr == LocationAttribute.urgent;
 	}
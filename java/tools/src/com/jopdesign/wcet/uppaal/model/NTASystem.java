@@ -61,6 +61,12 @@ public class NTASystem {
 	public String getName() {
 		return name;
 	}
+	public String getSystem() {
+		return system;
+	}
+	public Template getTemplate(String id) {
+		return templates.get(id);
+	}
 	public void setSystem(String sys) {
 		this.system = sys;
 	}
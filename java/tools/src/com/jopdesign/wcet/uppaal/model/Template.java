@@ -68,6 +68,10 @@ public class Template {
 		return this;
 	}
 
+	public List<String> getParameters() {
+		return parameters;
+	}
+
 	public Location getInitial() {
 		return initial;
 	}
@@ -56,6 +56,18 @@ public class TransitionAttributes {
 		this.sync = s;
 		return this;
 	}
+	public String getSync() {
+		return sync;
+	}
+	public List<String> getGuards() {
+		return guard;
+	}
+	public List<String> getSelects() {
+		return select;
+	}
+	public List<String> getUpdates() {
+		return updates;
+	}
 	public void addLabels(XmlBuilder b, Element tElem) {
 		if(select.size() > 0) b.addLabel(tElem, "select", XmlBuilder.joinStrings(select, ", "));
 		if(guard.size() > 0) b.addLabel(tElem, "guard", XmlBuilder.joinStrings(guard, " && "));
@@ -27,9 +27,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.StringTokenizer;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
@@ -41,7 +44,7 @@ import java.util.zip.ZipFile;
  * <p>
  * Modifications to the original BCEL class:
  * <ul><li>MS FIXED: don't lookup first in current JVM class loader.</li>
- *
+ * <li>Optional index of all files in the class path, see {@link #ClassPath(String, boolean)}.</li>
  * </ul>
  * </p>
  *
@@ -54,6 +57,8 @@ public class ClassPath implements Serializable {
     public static final ClassPath SYSTEM_CLASS_PATH = new ClassPath();
     private PathEntry[] paths;
     private String class_path;
+    /* file name -> ClassFile, null if not indexed */
+    private transient Map<String, ClassFile> index;
 
 
     /**
@@ -85,6 +90,37 @@ public class ClassPath implements Serializable {
     }
 
 
+    /**
+     * Search for classes in given path.
+     * <p>
+     * If an index is used, all directories and ZIP files are scanned once when the class path is
+     * created, and lookups do not need to access the file system anymore. Files added to the
+     * class path afterwards are not found.
+     * </p>
+     *
+     * @param class_path the class path
+     * @param useIndex if true, build an index of all files in the class path.
+     */
+    public ClassPath(String class_path, boolean useIndex) {
+        this(class_path);
+        if (useIndex) {
+            index = new HashMap<String, ClassFile>();
+            // the first entry for a file wins, so add the entries in reverse order
+            for (int i = paths.length - 1; i >= 0; i--) {
+                paths[i].addToIndex(index);
+            }
+        }
+    }
+
+
+    /**
+     * @return true if this class path uses an index for lookups.
+     */
+    public boolean isIndexed() {
+        return index != null;
+    }
+
+
     /**
      * Search for classes in CLASSPATH.
      * @deprecated Use SYSTEM_CLASS_PATH constant
@@ -205,6 +241,13 @@ public class ClassPath implements Serializable {
      * @return class file for the java class
      */
     public ClassFile getClassFile( String name, String suffix ) throws IOException {
+        if (index != null) {
+            ClassFile cf = index.get(name.replace('.', '/') + suffix);
+            if (cf != null) {
+                return cf;
+            }
+            throw new IOException("Couldn't find: " + name + suffix);
+        }
         for (int i = 0; i < paths.length; i++) {
             ClassFile cf;
             if ((cf = paths[i].getClassFile(name, suffix)) != null) {
@@ -283,6 +326,9 @@ public class ClassPath implements Serializable {
     private static abstract class PathEntry implements Serializable {
 
         abstract ClassFile getClassFile( String name, String suffix ) throws IOException;
+
+        /** Add all files of this entry to the index, with '/' as separator in the keys */
+        abstract void addToIndex( Map<String, ClassFile> index );
     }
 
     /** Contains information about file/ZIP entry of the Java class.
@@ -328,7 +374,33 @@ public class ClassPath implements Serializable {
         ClassFile getClassFile( String name, String suffix ) throws IOException {
             final File file = new File(dir + File.separatorChar
                     + name.replace('.', File.separatorChar) + suffix);
-            return file.exists() ? new ClassFile() {
+            return file.exists() ? createClassFile(file) : null;
+        }
+
+
+        void addToIndex( Map<String, ClassFile> index ) {
+            addToIndex(index, new File(dir), "");
+        }
+
+
+        private void addToIndex( Map<String, ClassFile> index, File directory, String prefix ) {
+            File[] files = directory.listFiles();
+            if (files == null) {
+                return;
+            }
+            for (int i = 0; i < files.length; i++) {
+                String name = prefix + files[i].getName();
+                if (files[i].isDirectory()) {
+                    addToIndex(index, files[i], name + "/");
+                } else {
+                    index.put(name, createClassFile(files[i]));
+                }
+            }
+        }
+
+
+        private ClassFile createClassFile( final File file ) {
+            return new ClassFile() {
 
                 public InputStream getInputStream() throws IOException {
                     return new FileInputStream(file);
@@ -357,7 +429,7 @@ public class ClassPath implements Serializable {
                 public String getBase() {
                     return dir;
                 }
-            } : null;
+            };
         }
 
 
@@ -378,7 +450,22 @@ public class ClassPath implements Serializable {
 
         ClassFile getClassFile( String name, String suffix ) throws IOException {
             final ZipEntry entry = zip.getEntry(name.replace('.', '/') + suffix);
-            return (entry != null) ? new ClassFile() {
+            return (entry != null) ? createClassFile(entry) : null;
+        }
+
+
+        void addToIndex( Map<String, ClassFile> index ) {
+            for (Enumeration<? extends ZipEntry> e = zip.entries(); e.hasMoreElements();) {
+                ZipEntry entry = e.nextElement();
+                if (!entry.isDirectory()) {
+                    index.put(entry.getName(), createClassFile(entry));
+                }
+            }
+        }
+
+
+        private ClassFile createClassFile( final ZipEntry entry ) {
+            return new ClassFile() {
 
                 public InputStream getInputStream() throws IOException {
                     return zip.getInputStream(entry);
@@ -403,7 +490,7 @@ public class ClassPath implements Serializable {
                 public String getBase() {
                     return zip.getName();
                 }
-            } : null;
+            };
         }
     }
 }
\ No newline at end of file
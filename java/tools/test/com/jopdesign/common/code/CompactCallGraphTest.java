@@ -0,0 +1,130 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ *   see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.common.code;
+
+import com.jopdesign.common.MethodInfo;
+import com.jopdesign.wcet.WCETTool;
+import com.jopdesign.wcet.WcetTestFramework;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs every query of {@link CallGraph} which is delegated to the {@link CompactCallGraph} on a
+ * callgraph with and without the compact snapshot, and compares the results.
+ *
+ * @author agent (agent@local)
+ */
+public class CompactCallGraphTest {
+
+    /*
+     * run() is invoked virtually with two receivers, twice() is invoked by several methods, so its
+     * contexts depend on the callstring length
+     */
+    private static final String MAIN_SOURCE =
+            "package cgtest;\n" +
+            "public class Main {\n" +
+            "    static abstract class Task { abstract int run(int n); }\n" +
+            "    static class Square extends Task { int run(int n) { return twice(n) * n; } }\n" +
+            "    static class Sum extends Task {\n" +
+            "        int run(int n) {\n" +
+            "            int s = 0;\n" +
+            "            for (int i = 0; i < n; i++) { // @WCA loop<=10\n" +
+            "                s += leaf(i);\n" +
+            "            }\n" +
+            "            return s;\n" +
+            "        }\n" +
+            "    }\n" +
+            "    static int leaf(int n) { return n + 1; }\n" +
+            "    static int twice(int n) { return leaf(n) + leaf(n + 1); }\n" +
+            "    static int a(Task t) { return t.run(3) + twice(2); }\n" +
+            "    static int b() { return twice(4) + leaf(5); }\n" +
+            "    static Task square = new Square();\n" +
+            "    static Task sum = new Sum();\n" +
+            "    public static void measure() { a(square); a(sum); b(); }\n" +
+            "    public static void main(String[] args) { measure(); }\n" +
+            "}\n";
+
+    private static WcetTestFramework framework;
+
+    @BeforeClass
+    public static void compileApplication() throws Exception {
+        framework = new WcetTestFramework(Collections.singletonMap("cgtest.Main", MAIN_SOURCE));
+    }
+
+    @AfterClass
+    public static void deleteApplication() {
+        if (framework != null) {
+            framework.delete();
+        }
+    }
+
+    @Test
+    public void testDelegatedQueries() throws Exception {
+        WCETTool wcetTool = framework.setupWCETTool("cgtest.Main");
+        MethodInfo target = wcetTool.getTargetMethod();
+        for (int callstringLength = 0; callstringLength <= 2; callstringLength++) {
+            CallGraph graph = CallGraph.buildCallGraph(target, new DefaultCallgraphBuilder(callstringLength));
+            CallGraph compact = CallGraph.buildCallGraph(target, new DefaultCallgraphBuilder(callstringLength));
+            compact.getCompactGraph();
+
+            assertEquals(graph.getMethodInfos(), compact.getMethodInfos());
+            assertTrue(graph.getMethodInfos().size() > 5);
+            for (MethodInfo m : graph.getMethodInfos()) {
+                String msg = m + ", callstring length " + callstringLength;
+                assertEquals(msg, graph.getNodes(m), compact.getNodes(m));
+                assertEquals(msg, graph.getReachableImplementations(m), compact.getReachableImplementations(m));
+                assertEquals(msg, graph.getReachableImplementationsSet(m), compact.getReachableImplementationsSet(m));
+                // the order of the contexts of a method is not defined
+                assertEquals(msg, count(graph.getReferencedMethods(m)), count(compact.getReferencedMethods(m)));
+                assertEquals(msg, graph.isLeafMethod(m), compact.isLeafMethod(m));
+
+                for (ExecutionContext node : graph.getNodes(m)) {
+                    msg = node + ", callstring length " + callstringLength;
+                    CallString cs = node.getCallString();
+                    assertEquals(msg, graph.getChildren(node), compact.getChildren(node));
+                    assertEquals(msg, graph.isLeafNode(node), compact.isLeafNode(node));
+                    assertEquals(msg, graph.getReachableImplementations(m, cs),
+                                 compact.getReachableImplementations(m, cs));
+                    assertEquals(msg, graph.getReachableImplementationsSet(m, cs),
+                                 compact.getReachableImplementationsSet(m, cs));
+                }
+            }
+        }
+    }
+
+    private static Map<ExecutionContext, Integer> count(List<ExecutionContext> nodes) {
+        Map<ExecutionContext, Integer> counts = new HashMap<ExecutionContext, Integer>();
+        for (ExecutionContext node : nodes) {
+            Integer c = counts.get(node);
+            counts.put(node, c == null ? 1 : c + 1);
+        }
+        return counts;
+    }
+}
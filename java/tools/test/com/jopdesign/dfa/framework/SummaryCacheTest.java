@@ -0,0 +1,271 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ * see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.dfa.framework;
+
+import com.jopdesign.common.AppInfo;
+import com.jopdesign.common.AppSetup;
+import com.jopdesign.common.MethodInfo;
+import com.jopdesign.common.code.CallString;
+import com.jopdesign.common.graphutils.Pair;
+import com.jopdesign.dfa.DFATool;
+import com.jopdesign.dfa.analyses.Interval;
+import com.jopdesign.dfa.analyses.LoopBounds;
+import com.jopdesign.dfa.analyses.ValueMapping;
+import org.apache.bcel.generic.BIPUSH;
+import org.apache.bcel.generic.InstructionHandle;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the loop bound analysis on a small application with and without stored method summaries,
+ * and after an edit of one method. The application is compiled by the test.
+ *
+ * @author agent (agent@local)
+ */
+public class SummaryCacheTest {
+
+    /* the JOP system classes loaded by AppSetup and invoked by the DFA prologue */
+    private static final String[][] SYS_SOURCES = {
+            {"GC", "public static void init(int mem, int addr) { }"},
+            {"JVM", ""},
+            {"Native", ""},
+            {"Startup", ""}
+    };
+
+    /*
+     * sum() is invoked by a() and b() with different arguments, init() is invoked by a() and d() with
+     * the same entry state, c() is edited by the tests
+     */
+    private static final String MAIN_SOURCE =
+            "package dfatest;\n" +
+            "public class Main {\n" +
+            "    static int sum(int n) { int s = 0; for (int i = 0; i < n; i++) s += i; return s; }\n" +
+            "    static int init() { return 4; }\n" +
+            "    static int a() { return sum(10) + init(); }\n" +
+            "    static int b() { return sum(20); }\n" +
+            "    static int c() { int s = 0; for (int i = 0; i < 8; i++) s += i; return s; }\n" +
+            "    static int d() { return init() + 1; }\n" +
+            "    public static void main(String[] args) { a(); b(); c(); d(); }\n" +
+            "}\n";
+
+    private static File tempDir;
+    private static DFATool dfaTool;
+
+    @BeforeClass
+    public static void compileApplication() throws IOException {
+        tempDir = createTempDir("dfatest");
+        File src = new File(tempDir, "src");
+        File classes = new File(tempDir, "classes");
+        classes.mkdirs();
+        List<String> args = new ArrayList<String>(Arrays.asList("-source", "1.5", "-target", "1.5", "-nowarn",
+                                                                "-d", classes.getPath()));
+        for (String[] sys : SYS_SOURCES) {
+            args.add(writeSource(src, "com/jopdesign/sys/" + sys[0] + ".java",
+                    "package com.jopdesign.sys;\npublic class " + sys[0] + " {\n    " + sys[1] + "\n}\n").getPath());
+        }
+        args.add(writeSource(src, "dfatest/Main.java", MAIN_SOURCE).getPath());
+
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        assertNotNull("no Java compiler available", javac);
+        assertEquals(0, javac.run(null, null, null, args.toArray(new String[args.size()])));
+
+        // remove the classes loaded by other tests, they would be part of the analysed application
+        AppInfo.getSingleton().clear(true);
+        AppSetup setup = new AppSetup();
+        dfaTool = new DFATool();
+        setup.registerTool("dfa", dfaTool, true, false);
+        // the JDK classes are not loaded
+        setup.initAndLoad(new String[]{"--classpath", classes.getPath(), "--libraries", "java",
+                                         "--exclude-libs", "--roots", "com.jopdesign.sys.GC",
+                                         "--use-dfa", "yes", "-q", "dfatest.Main"},
+                          false, true, false);
+        dfaTool.load();
+    }
+
+    @AfterClass
+    public static void deleteApplication() {
+        if (tempDir != null) {
+            delete(tempDir);
+        }
+    }
+
+    /**
+     * The results with loaded summaries must be identical to the results of interpreting the methods.
+     */
+    @Test
+    public void testReuseSummaries() throws IOException {
+        File dir = createTempDir("summaries");
+        try {
+            String full = runLoopBounds(0, null);
+
+            SummaryCache cache = new SummaryCache(dfaTool, dir);
+            assertEquals(full, runLoopBounds(0, cache));
+            assertEquals(0, cache.getLoaded());
+            assertTrue(cache.getStored() > 0);
+
+            cache = new SummaryCache(dfaTool, dir);
+            assertEquals(full, runLoopBounds(0, cache));
+            assertTrue(cache.getLoaded() > 0);
+            assertEquals(0, cache.getStored());
+        } finally {
+            delete(dir);
+        }
+    }
+
+    /**
+     * After an edit of c(), the summaries of a(), b() and d() are loaded if sum() and init() have their
+     * own callstring for each invoker. With callstring length 0, b() modifies the states of sum(), so its
+     * summary is not stored. d() does not modify the states of init(), they are a precondition of its summary.
+     */
+    @Test
+    public void testEdit() throws IOException {
+        // the summaries of GC.init(), a(), b() and d()
+        assertEquals(4, runEdit(1));
+        // the summaries of GC.init(), a() and d()
+        assertEquals(3, runEdit(0));
+    }
+
+    /* store the summaries, edit c() and reload them, returns the number of loaded summaries */
+    private long runEdit(int callstringLength) throws IOException {
+        File dir = createTempDir("summaries");
+        try {
+            runLoopBounds(callstringLength, new SummaryCache(dfaTool, dir));
+
+            setLoopLimit(9);
+            String full = runLoopBounds(callstringLength, null);
+            SummaryCache cache = new SummaryCache(dfaTool, dir);
+            assertEquals(full, runLoopBounds(callstringLength, cache));
+            return cache.getLoaded();
+        } finally {
+            setLoopLimit(8);
+            delete(dir);
+        }
+    }
+
+    private static void setLoopLimit(int limit) {
+        MethodInfo c = dfaTool.getAppInfo().getClassInfo("dfatest.Main").getMethodInfo("c()I");
+        for (InstructionHandle ih : c.getCode().getInstructionList(false, false).getInstructionHandles()) {
+            if (ih.getInstruction() instanceof BIPUSH) {
+                ih.setInstruction(new BIPUSH((byte) limit));
+            }
+        }
+    }
+
+    private static String runLoopBounds(int callstringLength, SummaryCache cache) {
+        dfaTool.setSummaryCache(null);
+        dfaTool.runReceiverAnalysis(callstringLength);
+        dfaTool.setSummaryCache(cache);
+        dfaTool.runLoopboundAnalysis(callstringLength);
+        return dumpResults(dfaTool);
+    }
+
+    /* the results of the loop bound analysis for all statements, by statement index */
+    private static String dumpResults(DFATool dfaTool) {
+        LoopBounds lb = dfaTool.getLoopBounds();
+        Map<InstructionHandle, ContextMap<CallString, Pair<ValueMapping, ValueMapping>>> bounds = lb.getResult();
+
+        Set<CallString> callStrings = new HashSet<CallString>();
+        callStrings.add(CallString.EMPTY);
+        for (ContextMap<CallString, Pair<ValueMapping, ValueMapping>> b : bounds.values()) {
+            callStrings.addAll(b.keySet());
+        }
+
+        StringBuilder sb = new StringBuilder();
+        int index = 0;
+        for (InstructionHandle stmt : dfaTool.getStatements()) {
+            List<String> lines = new ArrayList<String>();
+            ContextMap<CallString, Pair<ValueMapping, ValueMapping>> b = bounds.get(stmt);
+            for (CallString cs : callStrings) {
+                if (b != null && b.containsKey(cs)) {
+                    lines.add(cs + ": " + b.get(cs) + " bound " + lb.getBound(stmt, cs));
+                }
+                List<String> edges = new ArrayList<String>();
+                for (FlowEdge e : lb.getInfeasibleEdges(stmt, cs)) {
+                    edges.add(e.toString());
+                }
+                if (!edges.isEmpty()) {
+                    Collections.sort(edges);
+                    lines.add(cs + ": infeasible " + edges);
+                }
+                Interval[] sizes = lb.getArraySizes(stmt, cs);
+                if (sizes != null) {
+                    lines.add(cs + ": sizes " + Arrays.toString(sizes));
+                }
+                Interval indices = lb.getArrayIndices(stmt, cs);
+                if (indices != null) {
+                    lines.add(cs + ": indices " + indices);
+                }
+            }
+            if (!lines.isEmpty()) {
+                Collections.sort(lines);
+                sb.append(index).append(' ').append(lines).append('\n');
+            }
+            index++;
+        }
+        return sb.toString();
+    }
+
+    private static File writeSource(File dir, String name, String source) throws IOException {
+        File file = new File(dir, name);
+        file.getParentFile().mkdirs();
+        Writer w = new FileWriter(file);
+        try {
+            w.write(source);
+        } finally {
+            w.close();
+        }
+        return file;
+    }
+
+    private static File createTempDir(String prefix) throws IOException {
+        File dir = File.createTempFile(prefix, "");
+        dir.delete();
+        dir.mkdirs();
+        return dir;
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File f : files) delete(f);
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ *   see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.jcopter.inline;
+
+import com.jopdesign.build.JOPizer;
+import com.jopdesign.common.MethodInfo;
+import com.jopdesign.common.config.Config;
+import com.jopdesign.common.config.OptionGroup;
+import com.jopdesign.common.misc.NamingConflictException;
+import org.apache.bcel.generic.BIPUSH;
+import org.apache.bcel.generic.BranchInstruction;
+import org.apache.bcel.generic.CodeExceptionGen;
+import org.apache.bcel.generic.GOTO;
+import org.apache.bcel.generic.IDIV;
+import org.apache.bcel.generic.IFGE;
+import org.apache.bcel.generic.ILOAD;
+import org.apache.bcel.generic.INVOKESTATIC;
+import org.apache.bcel.generic.ISTORE;
+import org.apache.bcel.generic.InstructionConstants;
+import org.apache.bcel.generic.InstructionHandle;
+import org.apache.bcel.generic.InstructionList;
+import org.apache.bcel.generic.InvokeInstruction;
+import org.apache.bcel.generic.ObjectType;
+import org.apache.bcel.generic.ReturnInstruction;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static com.jopdesign.jcopter.optimizer.OptimizerTestFramework.assertVerifies;
+import static com.jopdesign.jcopter.optimizer.OptimizerTestFramework.count;
+import static com.jopdesign.jcopter.optimizer.OptimizerTestFramework.createMethod;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the code transformation and the local variable limit of the {@link GreedyInliner}.
+ *
+ * @author agent (agent@local)
+ */
+public class GreedyInlinerTest {
+
+    private static final ObjectType ARITHMETIC_EXCEPTION = new ObjectType("java.lang.ArithmeticException");
+
+    /**
+     * Replace the placeholder instruction of the invoker with an invokestatic of the invokee.
+     */
+    private static void setInvoke(MethodInfo invoker, InstructionHandle placeholder, MethodInfo invokee) {
+        int index = invoker.getConstantPoolGen().addMethodref(invokee.getClassName(), invokee.getShortName(),
+                                                              invokee.getDescriptor().toString());
+        placeholder.setInstruction(new INVOKESTATIC(index));
+        invoker.getCode().compile();
+    }
+
+    private static InlineHelper createHelper(int maxLocals) {
+        Config config = new Config();
+        OptionGroup options = config.getOptions();
+        InlineConfig.registerOptions(options);
+        options.setOption(InlineConfig.MAX_LOCALS, (long) maxLocals);
+        return new InlineHelper(null, new InlineConfig(options));
+    }
+
+    /**
+     * {@code static int c(int x) { return x * 2; }}
+     */
+    private static MethodInfo createLeaf() throws NamingConflictException {
+        InstructionList il = new InstructionList();
+        il.append(InstructionConstants.ILOAD_0);
+        il.append(InstructionConstants.ICONST_2);
+        il.append(InstructionConstants.IMUL);
+        il.append(InstructionConstants.IRETURN);
+        return createMethod("(I)I", 1, il);
+    }
+
+    /**
+     * {@code static int a(int x) { return b(x) + x; }} with
+     * {@code static int b(int x) { if (x < 0) return 0; return c(x); }}: the return in the middle of b
+     * becomes a jump, c is inlined into the inlined code of b, and every method gets its own locals.
+     */
+    @Test
+    public void testNestedInlining() throws NamingConflictException {
+        MethodInfo c = createLeaf();
+
+        InstructionList il = new InstructionList();
+        il.append(InstructionConstants.ILOAD_0);
+        BranchInstruction ifge = new IFGE(null);
+        il.append(ifge);
+        il.append(InstructionConstants.ICONST_0);
+        il.append(InstructionConstants.IRETURN);
+        ifge.setTarget(il.append(InstructionConstants.ILOAD_0));
+        InstructionHandle invokeC = il.append(InstructionConstants.NOP);
+        il.append(InstructionConstants.IRETURN);
+        MethodInfo b = createMethod("(I)I", 1, il);
+        setInvoke(b, invokeC, c);
+
+        il = new InstructionList();
+        il.append(InstructionConstants.ILOAD_0);
+        InstructionHandle invokeB = il.append(InstructionConstants.NOP);
+        il.append(InstructionConstants.ILOAD_0);
+        il.append(InstructionConstants.IADD);
+        il.append(InstructionConstants.IRETURN);
+        MethodInfo a = createMethod("(I)I", 1, il);
+        setInvoke(a, invokeB, b);
+
+        Map<InstructionHandle,InstructionHandle> map = GreedyInliner.inlineCode(a.getCode(), invokeB, b);
+        GreedyInliner.inlineCode(a.getCode(), map.get(invokeC), c);
+
+        il = a.getCode().getInstructionList();
+        assertEquals(il.toString(), 0, count(il, InvokeInstruction.class));
+        assertEquals(il.toString(), 1, count(il, GOTO.class));
+        assertEquals(il.toString(), 1, count(il, ReturnInstruction.class));
+        // one slot for the parameter of each method
+        assertEquals(3, a.getCode().getMaxLocals());
+        assertVerifies(a);
+    }
+
+    /**
+     * {@code try { return d(x); } catch (ArithmeticException e) { return -1; }} with
+     * {@code static int d(int x) { return 100 / x; }}: the handler range ends at the invoke and must
+     * cover the division after inlining.
+     */
+    @Test
+    public void testExceptionRangeEnd() throws NamingConflictException {
+        InstructionList il = new InstructionList();
+        il.append(new BIPUSH((byte) 100));
+        il.append(InstructionConstants.ILOAD_0);
+        il.append(new IDIV());
+        il.append(InstructionConstants.IRETURN);
+        MethodInfo d = createMethod("(I)I", 1, il);
+
+        il = new InstructionList();
+        InstructionHandle start = il.append(InstructionConstants.ILOAD_0);
+        InstructionHandle invoke = il.append(InstructionConstants.NOP);
+        il.append(InstructionConstants.IRETURN);
+        InstructionHandle handler = il.append(InstructionConstants.POP);
+        il.append(InstructionConstants.ICONST_M1);
+        il.append(InstructionConstants.IRETURN);
+        MethodInfo a = createMethod("(I)I", 1, il);
+        a.getCode().addExceptionHandler(start, invoke, handler, ARITHMETIC_EXCEPTION);
+        setInvoke(a, invoke, d);
+
+        GreedyInliner.inlineCode(a.getCode(), invoke, d);
+
+        il = a.getCode().getInstructionList();
+        CodeExceptionGen[] handlers = a.getCode().getExceptionHandlers();
+        assertEquals(1, handlers.length);
+        assertEquals(il.toString(), start, handlers[0].getStartPC());
+
+        boolean covered = false;
+        for (InstructionHandle ih = start; ih != handlers[0].getEndPC().getNext(); ih = ih.getNext()) {
+            if (ih.getInstruction() instanceof IDIV) covered = true;
+        }
+        assertTrue(il.toString(), covered);
+        assertVerifies(a);
+    }
+
+    /**
+     * Without a configured limit, the inliner must not exceed the local variable limit of JOP,
+     * which does not count the parameters of the invoker.
+     */
+    @Test
+    public void testLocalsLimit() throws NamingConflictException {
+        int limit = JOPizer.METHOD_MAX_LOCALS;
+
+        // one parameter and limit-1 other locals, i.e. one more local can be inlined
+        InstructionList il = new InstructionList();
+        il.append(InstructionConstants.ILOAD_0);
+        il.append(new ISTORE(limit - 1));
+        il.append(new ILOAD(limit - 1));
+        il.append(InstructionConstants.IRETURN);
+        MethodInfo invoker = createMethod("(I)I", 1, il);
+
+        MethodInfo small = createLeaf();
+
+        il = new InstructionList();
+        il.append(InstructionConstants.ILOAD_0);
+        il.append(InstructionConstants.ISTORE_1);
+        il.append(InstructionConstants.ILOAD_1);
+        il.append(InstructionConstants.IRETURN);
+        MethodInfo large = createMethod("(I)I", 1, il);
+
+        int numLocals = invoker.getCode().getMaxLocals();
+
+        InlineHelper helper = createHelper(0);
+        assertTrue(helper.checkConstraints(invoker, null, small, 0, numLocals, 0));
+        assertFalse(helper.checkConstraints(invoker, null, large, 0, numLocals, 0));
+
+        // a configured limit overrides the limit of the processor
+        helper = createHelper(limit + 1);
+        assertTrue(helper.checkConstraints(invoker, null, large, 0, numLocals, 0));
+    }
+}
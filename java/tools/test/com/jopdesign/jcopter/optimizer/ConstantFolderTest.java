@@ -0,0 +1,172 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ *   see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.jcopter.optimizer;
+
+import com.jopdesign.common.MethodInfo;
+import com.jopdesign.common.misc.NamingConflictException;
+import org.apache.bcel.generic.BranchInstruction;
+import org.apache.bcel.generic.CodeExceptionGen;
+import org.apache.bcel.generic.GOTO;
+import org.apache.bcel.generic.IDIV;
+import org.apache.bcel.generic.IFEQ;
+import org.apache.bcel.generic.IFNE;
+import org.apache.bcel.generic.ILOAD;
+import org.apache.bcel.generic.INEG;
+import org.apache.bcel.generic.ISTORE;
+import org.apache.bcel.generic.IfInstruction;
+import org.apache.bcel.generic.InstructionConstants;
+import org.apache.bcel.generic.InstructionHandle;
+import org.apache.bcel.generic.InstructionList;
+import org.apache.bcel.generic.ObjectType;
+import org.junit.Test;
+
+import static com.jopdesign.jcopter.optimizer.OptimizerTestFramework.assertVerifies;
+import static com.jopdesign.jcopter.optimizer.OptimizerTestFramework.count;
+import static com.jopdesign.jcopter.optimizer.OptimizerTestFramework.createMethod;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link ConstantFolder} on generated bytecode.
+ *
+ * @author agent (agent@local)
+ */
+public class ConstantFolderTest {
+
+    private static final ObjectType ARITHMETIC_EXCEPTION = new ObjectType("java.lang.ArithmeticException");
+
+    private static void optimize(MethodInfo method) {
+        ConstantFolder optimizer = new ConstantFolder(null);
+        optimizer.initialize();
+        optimizer.optimizeMethod(method);
+    }
+
+    /**
+     * {@code int c = 1; if (c == 0) return 0; return x;}: the branch and the dead return are removed.
+     */
+    @Test
+    public void testFoldBranch() throws NamingConflictException {
+        InstructionList il = new InstructionList();
+        il.append(InstructionConstants.ICONST_1);
+        il.append(new ISTORE(1));
+        il.append(new ILOAD(1));
+        BranchInstruction ifeq = new IFEQ(null);
+        il.append(ifeq);
+        il.append(InstructionConstants.ILOAD_0);
+        il.append(InstructionConstants.IRETURN);
+        ifeq.setTarget(il.append(InstructionConstants.ICONST_0));
+        il.append(InstructionConstants.IRETURN);
+
+        MethodInfo method = createMethod("(I)I", 1, il);
+        optimize(method);
+
+        il = method.getCode().getInstructionList();
+        assertEquals(il.toString(), 0, count(il, IfInstruction.class));
+        assertEquals(il.toString(), 1, count(il, InstructionConstants.IRETURN.getClass()));
+        assertVerifies(method);
+    }
+
+    /**
+     * {@code if (0 == 0) return 1; try { return x / 2; } catch (ArithmeticException e) { return -1; }}:
+     * the branch becomes a goto, and the try block and its handler are removed.
+     */
+    @Test
+    public void testRemoveHandler() throws NamingConflictException {
+        InstructionList il = new InstructionList();
+        il.append(InstructionConstants.ICONST_0);
+        BranchInstruction ifeq = new IFEQ(null);
+        il.append(ifeq);
+        InstructionHandle start = il.append(InstructionConstants.ILOAD_0);
+        il.append(InstructionConstants.ICONST_2);
+        il.append(new IDIV());
+        InstructionHandle end = il.append(InstructionConstants.IRETURN);
+        ifeq.setTarget(il.append(InstructionConstants.ICONST_1));
+        il.append(InstructionConstants.IRETURN);
+        InstructionHandle handler = il.append(InstructionConstants.POP);
+        il.append(InstructionConstants.ICONST_M1);
+        il.append(InstructionConstants.IRETURN);
+
+        MethodInfo method = createMethod("(I)I", 1, il);
+        method.getCode().addExceptionHandler(start, end, handler, ARITHMETIC_EXCEPTION);
+        optimize(method);
+
+        il = method.getCode().getInstructionList();
+        assertEquals(0, method.getCode().getExceptionHandlers().length);
+        assertEquals(il.toString(), 0, count(il, IDIV.class));
+        assertVerifies(method);
+    }
+
+    /**
+     * A try block ending with unreachable code: the handler range is shrunk to the reachable part.
+     */
+    @Test
+    public void testTrimHandler() throws NamingConflictException {
+        InstructionList il = new InstructionList();
+        il.append(InstructionConstants.ILOAD_0);
+        il.append(InstructionConstants.ICONST_2);
+        InstructionHandle start = il.append(new IDIV());
+        il.append(new ISTORE(1));
+        BranchInstruction jump = new GOTO(null);
+        InstructionHandle last = il.append(jump);
+        il.append(new ILOAD(1));
+        InstructionHandle end = il.append(new INEG());
+        jump.setTarget(il.append(new ILOAD(1)));
+        il.append(InstructionConstants.IRETURN);
+        InstructionHandle handler = il.append(InstructionConstants.POP);
+        il.append(InstructionConstants.ICONST_M1);
+        il.append(InstructionConstants.IRETURN);
+
+        MethodInfo method = createMethod("(I)I", 1, il);
+        method.getCode().addExceptionHandler(start, end, handler, ARITHMETIC_EXCEPTION);
+        optimize(method);
+
+        il = method.getCode().getInstructionList();
+        CodeExceptionGen[] handlers = method.getCode().getExceptionHandlers();
+        assertEquals(1, handlers.length);
+        assertTrue(il.toString(), handlers[0].getStartPC().getInstruction() instanceof IDIV);
+        assertEquals(il.toString(), last, handlers[0].getEndPC());
+        assertEquals(il.toString(), 0, count(il, INEG.class));
+        assertVerifies(method);
+    }
+
+    /**
+     * {@code return x != 0 ? 2 : 1;}: branches on unknown values are kept.
+     */
+    @Test
+    public void testKeepUnknownBranch() throws NamingConflictException {
+        InstructionList il = new InstructionList();
+        il.append(InstructionConstants.ILOAD_0);
+        BranchInstruction ifne = new IFNE(null);
+        il.append(ifne);
+        il.append(InstructionConstants.ICONST_1);
+        il.append(InstructionConstants.IRETURN);
+        ifne.setTarget(il.append(InstructionConstants.ICONST_2));
+        il.append(InstructionConstants.IRETURN);
+
+        MethodInfo method = createMethod("(I)I", 1, il);
+        optimize(method);
+
+        il = method.getCode().getInstructionList();
+        assertEquals(il.toString(), 1, count(il, IfInstruction.class));
+        assertEquals(il.toString(), 6, il.getLength());
+        assertVerifies(method);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ *   see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.jcopter.optimizer;
+
+import com.jopdesign.common.ClassInfo;
+import com.jopdesign.common.MethodInfo;
+import com.jopdesign.common.config.Config;
+import com.jopdesign.common.config.OptionGroup;
+import com.jopdesign.common.misc.NamingConflictException;
+import com.jopdesign.common.type.MemberID;
+import com.jopdesign.jcopter.inline.InlineConfig;
+import org.apache.bcel.Constants;
+import org.apache.bcel.generic.CodeExceptionGen;
+import org.apache.bcel.generic.INVOKESTATIC;
+import org.apache.bcel.generic.INVOKEVIRTUAL;
+import org.apache.bcel.generic.InstructionConstants;
+import org.apache.bcel.generic.InstructionFactory;
+import org.apache.bcel.generic.InstructionHandle;
+import org.apache.bcel.generic.InstructionList;
+import org.apache.bcel.generic.ObjectType;
+import org.apache.bcel.generic.POP;
+import org.apache.bcel.generic.Type;
+import org.junit.Test;
+
+import static com.jopdesign.jcopter.optimizer.OptimizerTestFramework.addMethod;
+import static com.jopdesign.jcopter.optimizer.OptimizerTestFramework.assertVerifies;
+import static com.jopdesign.jcopter.optimizer.OptimizerTestFramework.count;
+import static com.jopdesign.jcopter.optimizer.OptimizerTestFramework.createClass;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the code transformation of the {@link Devirtualizer}.
+ *
+ * @author agent (agent@local)
+ */
+public class DevirtualizerTest {
+
+    /**
+     * <pre>
+     * final int get(int x) {
+     *     try { return this.inc(x); } catch (Throwable e) { return 0; }
+     * }
+     * int inc(int x) { return x + 1; }
+     * static int test(Test t, int x) { return t.get(x); }
+     * </pre>
+     * The invoke of {@code get} is replaced by an invoke of a static copy which takes the receiver as
+     * first parameter, so {@code this} is still in slot 0 and the exception handler must be copied.
+     */
+    @Test
+    public void testStaticMethod() throws NamingConflictException {
+        ClassInfo cls = createClass();
+        String className = cls.getClassName();
+        InstructionFactory factory = new InstructionFactory(cls.getConstantPoolGen());
+
+        InstructionList il = new InstructionList();
+        il.append(InstructionConstants.ILOAD_1);
+        il.append(InstructionConstants.ICONST_1);
+        il.append(InstructionConstants.IADD);
+        il.append(InstructionConstants.IRETURN);
+        createInstanceMethod(cls, "inc", il);
+
+        il = new InstructionList();
+        InstructionHandle start = il.append(InstructionConstants.ALOAD_0);
+        il.append(InstructionConstants.ILOAD_1);
+        InstructionHandle end = il.append(factory.createInvoke(className, "inc", Type.INT, new Type[]{Type.INT},
+                                                               Constants.INVOKEVIRTUAL));
+        il.append(InstructionConstants.IRETURN);
+        InstructionHandle handler = il.append(InstructionConstants.POP);
+        il.append(InstructionConstants.ICONST_0);
+        il.append(InstructionConstants.IRETURN);
+        MethodInfo get = createInstanceMethod(cls, "get", il);
+        get.setFinal(true);
+        get.getCode().addExceptionHandler(start, end, handler, null);
+        get.getCode().compile();
+
+        il = new InstructionList();
+        il.append(InstructionConstants.ALOAD_0);
+        il.append(InstructionConstants.ILOAD_1);
+        il.append(factory.createInvoke(className, "get", Type.INT, new Type[]{Type.INT}, Constants.INVOKEVIRTUAL));
+        il.append(InstructionConstants.IRETURN);
+        MethodInfo test = addMethod(cls, "test", "(L" + className.replace('.', '/') + ";I)I", 2, il);
+
+        Config config = new Config();
+        OptionGroup options = config.getOptions();
+        options.addOptions(Devirtualizer.optionList);
+        OptionGroup inline = options.getGroup("inline");
+        InlineConfig.registerOptions(inline);
+        // with an exception handler, the code of the invokee is not checked for a null pointer exception
+        inline.setOption(InlineConfig.SKIP_NP_CHECKS, true);
+
+        Devirtualizer devirtualizer = new Devirtualizer(null, options, new InlineConfig(inline));
+        devirtualizer.initialize();
+        devirtualizer.optimizeMethod(test);
+
+        il = test.getCode().getInstructionList();
+        assertEquals(il.toString(), 0, count(il, INVOKEVIRTUAL.class));
+        assertEquals(il.toString(), 1, count(il, INVOKESTATIC.class));
+
+        MethodInfo staticGet = cls.getMethodInfo("get$static0(L" + className.replace('.', '/') + ";I)I");
+        assertNotNull(staticGet);
+        assertTrue(staticGet.isStatic());
+        assertTrue(staticGet.isPrivate());
+
+        // the invoke of inc still uses the receiver in slot 0, the handler covers the same code
+        CodeExceptionGen[] handlers = staticGet.getCode().getExceptionHandlers();
+        assertEquals(1, handlers.length);
+        assertEquals(InstructionConstants.ALOAD_0, handlers[0].getStartPC().getInstruction());
+        assertTrue(handlers[0].getEndPC().getInstruction() instanceof INVOKEVIRTUAL);
+        assertTrue(handlers[0].getHandlerPC().getInstruction() instanceof POP);
+        assertEquals(null, handlers[0].getCatchType());
+        assertEquals(new ObjectType(className), staticGet.getArgumentTypes()[0]);
+
+        assertVerifies(test);
+    }
+
+    /* create a non-static method with a single int parameter */
+    private static MethodInfo createInstanceMethod(ClassInfo cls, String name, InstructionList il) {
+        MethodInfo method = cls.createMethod(new MemberID(name, "(I)I"), new String[]{"x"}, il);
+        method.getCode().removeLocalVariables();
+        method.getCode().compile();
+        return method;
+    }
+}
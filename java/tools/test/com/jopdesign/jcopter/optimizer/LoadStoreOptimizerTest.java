@@ -0,0 +1,147 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ *   see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.jcopter.optimizer;
+
+import com.jopdesign.common.MethodInfo;
+import com.jopdesign.common.misc.NamingConflictException;
+import org.apache.bcel.generic.BranchInstruction;
+import org.apache.bcel.generic.GOTO;
+import org.apache.bcel.generic.IFEQ;
+import org.apache.bcel.generic.ILOAD;
+import org.apache.bcel.generic.ISTORE;
+import org.apache.bcel.generic.InstructionConstants;
+import org.apache.bcel.generic.InstructionHandle;
+import org.apache.bcel.generic.InstructionList;
+import org.apache.bcel.generic.LoadInstruction;
+import org.apache.bcel.generic.StoreInstruction;
+import org.junit.Test;
+
+import static com.jopdesign.jcopter.optimizer.OptimizerTestFramework.assertVerifies;
+import static com.jopdesign.jcopter.optimizer.OptimizerTestFramework.count;
+import static com.jopdesign.jcopter.optimizer.OptimizerTestFramework.createMethod;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link LoadStoreOptimizer} on generated bytecode.
+ *
+ * @author agent (agent@local)
+ */
+public class LoadStoreOptimizerTest {
+
+    private static void optimize(MethodInfo method) {
+        LoadStoreOptimizer optimizer = new LoadStoreOptimizer(null);
+        optimizer.initialize();
+        optimizer.optimizeMethod(method);
+    }
+
+    /**
+     * {@code int y = x; return x;}: the store and the load pushing its value are removed.
+     */
+    @Test
+    public void testDeadStore() throws NamingConflictException {
+        InstructionList il = new InstructionList();
+        il.append(InstructionConstants.ILOAD_0);
+        il.append(new ISTORE(1));
+        il.append(InstructionConstants.ILOAD_0);
+        il.append(InstructionConstants.IRETURN);
+
+        MethodInfo method = createMethod("(I)I", 1, il);
+        optimize(method);
+
+        il = method.getCode().getInstructionList();
+        assertEquals(il.toString(), 0, count(il, StoreInstruction.class));
+        assertEquals(il.toString(), 2, il.getLength());
+        assertVerifies(method);
+    }
+
+    /**
+     * {@code int y = x + 1; return y;}: the value is passed on the stack.
+     */
+    @Test
+    public void testStoreLoad() throws NamingConflictException {
+        InstructionList il = new InstructionList();
+        il.append(InstructionConstants.ILOAD_0);
+        il.append(InstructionConstants.ICONST_1);
+        il.append(InstructionConstants.IADD);
+        il.append(new ISTORE(1));
+        il.append(new ILOAD(1));
+        il.append(InstructionConstants.IRETURN);
+
+        MethodInfo method = createMethod("(I)I", 1, il);
+        optimize(method);
+
+        il = method.getCode().getInstructionList();
+        assertEquals(il.toString(), 0, count(il, StoreInstruction.class));
+        assertEquals(il.toString(), 1, count(il, LoadInstruction.class));
+        assertVerifies(method);
+    }
+
+    /**
+     * {@code int y = x + 1; return x;}: the store is replaced by a pop.
+     */
+    @Test
+    public void testDeadStoreOfResult() throws NamingConflictException {
+        InstructionList il = new InstructionList();
+        il.append(InstructionConstants.ILOAD_0);
+        il.append(InstructionConstants.ICONST_1);
+        il.append(InstructionConstants.IADD);
+        il.append(new ISTORE(1));
+        il.append(InstructionConstants.ILOAD_0);
+        il.append(InstructionConstants.IRETURN);
+
+        MethodInfo method = createMethod("(I)I", 1, il);
+        optimize(method);
+
+        il = method.getCode().getInstructionList();
+        assertEquals(il.toString(), 0, count(il, StoreInstruction.class));
+        assertEquals(il.toString(), 1, count(il, InstructionConstants.POP.getClass()));
+        assertVerifies(method);
+    }
+
+    /**
+     * {@code return z = a[i] = c ? 1 : 2;} where the stored value is duplicated in a new basic block.
+     */
+    @Test
+    public void testDupX2AtBlockStart() throws NamingConflictException {
+        InstructionList il = new InstructionList();
+        il.append(InstructionConstants.ALOAD_0);
+        il.append(InstructionConstants.ILOAD_1);
+        il.append(InstructionConstants.ILOAD_2);
+        BranchInstruction ifeq = new IFEQ(null);
+        il.append(ifeq);
+        il.append(InstructionConstants.ICONST_1);
+        BranchInstruction jump = new GOTO(null);
+        il.append(jump);
+        InstructionHandle l1 = il.append(InstructionConstants.ICONST_2);
+        InstructionHandle l2 = il.append(InstructionConstants.DUP_X2);
+        il.append(InstructionConstants.IASTORE);
+        il.append(new ISTORE(3));
+        il.append(new ILOAD(3));
+        il.append(InstructionConstants.IRETURN);
+        ifeq.setTarget(l1);
+        jump.setTarget(l2);
+
+        MethodInfo method = createMethod("([III)I", 3, il);
+        optimize(method);
+
+        assertVerifies(method);
+    }
+}
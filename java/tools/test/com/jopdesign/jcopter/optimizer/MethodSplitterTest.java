@@ -0,0 +1,271 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ *   see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.jcopter.optimizer;
+
+import com.jopdesign.common.MethodInfo;
+import com.jopdesign.common.config.Config;
+import com.jopdesign.common.config.OptionGroup;
+import com.jopdesign.common.misc.NamingConflictException;
+import org.apache.bcel.generic.ATHROW;
+import org.apache.bcel.generic.BIPUSH;
+import org.apache.bcel.generic.BranchInstruction;
+import org.apache.bcel.generic.GOTO;
+import org.apache.bcel.generic.IFGE;
+import org.apache.bcel.generic.IF_ICMPLT;
+import org.apache.bcel.generic.ILOAD;
+import org.apache.bcel.generic.INVOKESTATIC;
+import org.apache.bcel.generic.ISTORE;
+import org.apache.bcel.generic.InstructionConstants;
+import org.apache.bcel.generic.InstructionHandle;
+import org.apache.bcel.generic.InstructionList;
+import org.apache.bcel.generic.InvokeInstruction;
+import org.apache.bcel.generic.LocalVariableInstruction;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.jopdesign.jcopter.optimizer.OptimizerTestFramework.addMethod;
+import static com.jopdesign.jcopter.optimizer.OptimizerTestFramework.assertVerifies;
+import static com.jopdesign.jcopter.optimizer.OptimizerTestFramework.count;
+import static com.jopdesign.jcopter.optimizer.OptimizerTestFramework.createMethod;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the code transformation of the {@link MethodSplitter}.
+ *
+ * @author agent (agent@local)
+ */
+public class MethodSplitterTest {
+
+    /**
+     * Split the cold code of the method, using a profile in which only the method itself has been executed.
+     */
+    private static void split(MethodInfo method) throws IOException {
+        File profile = File.createTempFile("profile", ".csv");
+        try {
+            Writer w = new FileWriter(profile);
+            try {
+                w.write("type,name,calls\n");
+                w.write("method,\"" + method.getFQMethodName() + "\",1\n");
+            } finally {
+                w.close();
+            }
+
+            Config config = new Config();
+            OptionGroup options = config.getOptions();
+            options.addOptions(MethodSplitter.optionList);
+            options.setOption(MethodSplitter.SPLIT_MIN_SIZE, 1L);
+            options.setOption(MethodSplitter.SPLIT_PROFILE, profile.getPath());
+
+            MethodSplitter splitter = new MethodSplitter(null, options);
+            splitter.initialize();
+            splitter.optimizeMethod(method);
+        } finally {
+            profile.delete();
+        }
+    }
+
+    /**
+     * Add {@code static int never(int x) { return x; }}, which is not executed in the profile, to the class
+     * of the method and replace the placeholder with an invoke of it.
+     */
+    private static void addNeverInvoke(MethodInfo method, InstructionHandle placeholder) {
+        InstructionList il = new InstructionList();
+        il.append(InstructionConstants.ILOAD_0);
+        il.append(InstructionConstants.IRETURN);
+        MethodInfo never = addMethod(method.getClassInfo(), "never", "(I)I", 1, il);
+
+        int index = method.getConstantPoolGen().addMethodref(never.getClassName(), never.getShortName(),
+                                                             never.getDescriptor().toString());
+        placeholder.setInstruction(new INVOKESTATIC(index));
+        method.getCode().compile();
+    }
+
+    /* the methods created by the splitter */
+    private static List<MethodInfo> getColdMethods(MethodInfo method) {
+        List<MethodInfo> cold = new ArrayList<MethodInfo>();
+        for (MethodInfo m : method.getClassInfo().getMethods()) {
+            if (m.getShortName().startsWith("test$cold")) cold.add(m);
+        }
+        return cold;
+    }
+
+    /* the invoke of the only cold method created by the splitter */
+    private static InstructionHandle findColdInvoke(MethodInfo method, MethodInfo cold) {
+        InstructionHandle found = null;
+        for (InstructionHandle ih : method.getCode().getInstructionList().getInstructionHandles()) {
+            if (!(ih.getInstruction() instanceof InvokeInstruction)) continue;
+            if (!cold.getShortName().equals(((InvokeInstruction) ih.getInstruction())
+                                                 .getMethodName(method.getConstantPoolGen()))) continue;
+            found = ih;
+        }
+        assertNotNull(method.getCode().getInstructionList().toString(), found);
+        return found;
+    }
+
+    /**
+     * <pre>
+     * static int test(int x) {
+     *     int y = x; int z;
+     *     if (x &lt; 0) { z = never(y); z = z + y; } else { z = 5; }
+     *     return z;
+     * }
+     * </pre>
+     * The cold branch is moved to {@code static int test$cold0(int y)}: y becomes the parameter in slot 0,
+     * z is mapped to slot 1 and returned, since it is the only modified local which is live at the exit.
+     */
+    @Test
+    public void testReturnSlot() throws NamingConflictException, IOException {
+        InstructionList il = new InstructionList();
+        il.append(InstructionConstants.ILOAD_0);
+        il.append(InstructionConstants.ISTORE_1);
+        il.append(InstructionConstants.ILOAD_0);
+        BranchInstruction ifge = new IFGE(null);
+        il.append(ifge);
+        il.append(InstructionConstants.ILOAD_1);
+        InstructionHandle invoke = il.append(InstructionConstants.NOP);
+        il.append(InstructionConstants.ISTORE_2);
+        il.append(InstructionConstants.ILOAD_2);
+        il.append(InstructionConstants.ILOAD_1);
+        il.append(InstructionConstants.IADD);
+        il.append(InstructionConstants.ISTORE_2);
+        BranchInstruction gotoJoin = new GOTO(null);
+        il.append(gotoJoin);
+        ifge.setTarget(il.append(InstructionConstants.ICONST_5));
+        il.append(InstructionConstants.ISTORE_2);
+        InstructionHandle join = il.append(InstructionConstants.ILOAD_2);
+        gotoJoin.setTarget(join);
+        il.append(InstructionConstants.IRETURN);
+
+        MethodInfo method = createMethod("(I)I", 1, il);
+        addNeverInvoke(method, invoke);
+        split(method);
+
+        List<MethodInfo> cold = getColdMethods(method);
+        assertEquals(1, cold.size());
+        MethodInfo coldMethod = cold.get(0);
+        assertEquals("(I)I", coldMethod.getDescriptor().toString());
+
+        // y is passed in slot 0, z is local 1 and returned
+        il = coldMethod.getCode().getInstructionList();
+        for (InstructionHandle ih : il.getInstructionHandles()) {
+            if (ih.getInstruction() instanceof LocalVariableInstruction) {
+                assertTrue(il.toString(), ((LocalVariableInstruction) ih.getInstruction()).getIndex() <= 1);
+            }
+        }
+        InstructionHandle[] handles = il.getInstructionHandles();
+        assertEquals(il.toString(), 1, ((ILOAD) handles[handles.length - 2].getInstruction()).getIndex());
+
+        // the invoker passes y, stores the result to z and continues at the join
+        InstructionHandle call = findColdInvoke(method, coldMethod);
+        assertEquals(1, ((ILOAD) call.getPrev().getInstruction()).getIndex());
+        assertEquals(2, ((ISTORE) call.getNext().getInstruction()).getIndex());
+        assertEquals(join, ((GOTO) call.getNext().getNext().getInstruction()).getTarget());
+
+        assertVerifies(method);
+    }
+
+    /**
+     * <pre>
+     * static int test(int x) {
+     *     if (x &gt;= 0) {
+     *         if (x &lt; 10) return x;
+     *         z = never(x); z = z * z;      // region A
+     *     }
+     *     y = x * x; y = y + x; throw null; // region B
+     * }
+     * </pre>
+     * Region B comes first in the code, it has no exit and is replaced by a call followed by
+     * {@code aconst_null; athrow}. Region A exits to the entry of region B, which has already been replaced
+     * when A is split, so the call of A must jump to the replacement of B.
+     */
+    @Test
+    public void testAdjacentRegions() throws NamingConflictException, IOException {
+        InstructionList il = new InstructionList();
+        il.append(InstructionConstants.ILOAD_0);
+        BranchInstruction ifge = new IFGE(null);
+        il.append(ifge);
+        // region B
+        InstructionHandle entryB = il.append(InstructionConstants.ILOAD_0);
+        il.append(InstructionConstants.ILOAD_0);
+        il.append(InstructionConstants.IMUL);
+        il.append(InstructionConstants.ISTORE_1);
+        il.append(InstructionConstants.ILOAD_1);
+        il.append(InstructionConstants.ILOAD_0);
+        il.append(InstructionConstants.IADD);
+        il.append(InstructionConstants.ISTORE_1);
+        il.append(InstructionConstants.ACONST_NULL);
+        il.append(InstructionConstants.ATHROW);
+        // the hot path
+        ifge.setTarget(il.append(InstructionConstants.ILOAD_0));
+        il.append(new BIPUSH((byte) 10));
+        BranchInstruction ifLess = new IF_ICMPLT(null);
+        il.append(ifLess);
+        // region A
+        il.append(InstructionConstants.ILOAD_0);
+        InstructionHandle invoke = il.append(InstructionConstants.NOP);
+        il.append(InstructionConstants.ISTORE_2);
+        il.append(InstructionConstants.ILOAD_2);
+        il.append(InstructionConstants.ILOAD_2);
+        il.append(InstructionConstants.IMUL);
+        il.append(InstructionConstants.ISTORE_2);
+        il.append(new GOTO(entryB));
+        ifLess.setTarget(il.append(InstructionConstants.ILOAD_0));
+        il.append(InstructionConstants.IRETURN);
+
+        MethodInfo method = createMethod("(I)I", 1, il);
+        addNeverInvoke(method, invoke);
+        split(method);
+
+        List<MethodInfo> cold = getColdMethods(method);
+        assertEquals(2, cold.size());
+        MethodInfo coldB = null, coldA = null;
+        for (MethodInfo m : cold) {
+            if (count(m.getCode().getInstructionList(), InvokeInstruction.class) == 0) coldB = m;
+            else coldA = m;
+        }
+        assertNotNull(coldA);
+        assertNotNull(coldB);
+        assertEquals("(I)V", coldB.getDescriptor().toString());
+        assertEquals("(I)V", coldA.getDescriptor().toString());
+
+        // the call of region B is followed by aconst_null; athrow
+        InstructionHandle callB = findColdInvoke(method, coldB);
+        assertEquals(InstructionConstants.ACONST_NULL, callB.getNext().getInstruction());
+        assertTrue(callB.getNext().getNext().getInstruction() instanceof ATHROW);
+
+        // the call of region A jumps to the load of the argument of the call of B
+        InstructionHandle callA = findColdInvoke(method, coldA);
+        assertEquals(callB.getPrev(), ((GOTO) callA.getNext().getInstruction()).getTarget());
+
+        // the hot code is kept
+        il = method.getCode().getInstructionList();
+        assertEquals(il.toString(), 1, count(il, IF_ICMPLT.class));
+        assertVerifies(method);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ *   see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.jcopter.optimizer;
+
+import com.jopdesign.common.AppInfo;
+import com.jopdesign.common.ClassInfo;
+import com.jopdesign.common.MethodInfo;
+import com.jopdesign.common.config.Config;
+import com.jopdesign.common.misc.NamingConflictException;
+import com.jopdesign.common.processormodel.JOPConfig;
+import com.jopdesign.common.processormodel.JOPModel;
+import com.jopdesign.common.type.MemberID;
+import org.apache.bcel.Repository;
+import org.apache.bcel.classfile.JavaClass;
+import org.apache.bcel.classfile.Method;
+import org.apache.bcel.generic.Instruction;
+import org.apache.bcel.generic.InstructionHandle;
+import org.apache.bcel.generic.InstructionList;
+import org.apache.bcel.util.ClassPath;
+import org.apache.bcel.util.SyntheticRepository;
+import org.apache.bcel.verifier.VerificationResult;
+import org.apache.bcel.verifier.Verifier;
+import org.apache.bcel.verifier.VerifierFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Helper methods to create methods from bytecode and to verify the optimized code.
+ *
+ * @author agent (agent@local)
+ */
+public class OptimizerTestFramework {
+
+    private static int classCount = 0;
+
+    /**
+     * Create a static method in a new class.
+     *
+     * @param descriptor the descriptor of the method
+     * @param argCount the number of arguments
+     * @param il the code of the method
+     * @return the new method.
+     * @throws NamingConflictException if the class cannot be created.
+     */
+    public static MethodInfo createMethod(String descriptor, int argCount, InstructionList il)
+            throws NamingConflictException
+    {
+        return addMethod(createClass(), "test", descriptor, argCount, il);
+    }
+
+    /**
+     * Create a new empty class.
+     *
+     * @return the new class.
+     * @throws NamingConflictException if the class cannot be created.
+     */
+    public static ClassInfo createClass() throws NamingConflictException {
+        // the generated classes only need java.lang.Object from the JDK
+        AppInfo appInfo = AppInfo.getSingleton();
+        appInfo.setClassPath(new ClassPath(ClassPath.getClassPath()));
+        appInfo.loadClass("java.lang.Object");
+        if (appInfo.getProcessorModel() == null) {
+            Config config = new Config();
+            JOPConfig.registerOptions(config);
+            appInfo.setProcessorModel(new JOPModel(config));
+        }
+        return appInfo.createClass("jcopter.test.Test"+(classCount++), null, false);
+    }
+
+    /**
+     * Create another static method in a class created by {@link #createClass()}.
+     *
+     * @param cls the class of the method
+     * @param name the name of the method
+     * @param descriptor the descriptor of the method
+     * @param argCount the number of arguments
+     * @param il the code of the method
+     * @return the new method.
+     */
+    public static MethodInfo addMethod(ClassInfo cls, String name, String descriptor, int argCount,
+                                       InstructionList il)
+    {
+        String[] argNames = new String[argCount];
+        for (int i = 0; i < argCount; i++) {
+            argNames[i] = "arg"+i;
+        }
+        MethodInfo method = cls.createMethod(new MemberID(name, descriptor), argNames, il);
+        method.setStatic(true);
+        // the local variable table has been created for a virtual method
+        method.getCode().removeLocalVariables();
+        method.getCode().compile();
+        return method;
+    }
+
+    /**
+     * Run the BCEL verifier on all methods of the class of the method. The methods may only invoke
+     * methods of the same class.
+     *
+     * @param method the method to verify
+     */
+    public static void assertVerifies(MethodInfo method) {
+        ClassInfo cls = method.getClassInfo();
+        for (MethodInfo m : cls.getMethods()) {
+            m.getCode().compile();
+        }
+
+        // the verifier compares classes by identity, so we cannot use the AppInfo repository
+        org.apache.bcel.util.Repository appRepository = Repository.getRepository();
+        Repository.setRepository(SyntheticRepository.getInstance(appRepository.getClassPath()));
+        try {
+            JavaClass javaClass = cls.compile();
+            Repository.addClass(javaClass);
+            Verifier verifier = VerifierFactory.getVerifier(cls.getClassName());
+            Method[] methods = javaClass.getMethods();
+            for (int i = 0; i < methods.length; i++) {
+                VerificationResult result = verifier.doPass3b(i);
+                MethodInfo m = cls.getMethodInfo(methods[i].getName() + methods[i].getSignature());
+                assertEquals(m+"\n"+m.getCode().getInstructionList()+"\n"+result.getMessage(),
+                             VerificationResult.VERIFIED_OK, result.getStatus());
+            }
+        } finally {
+            Repository.setRepository(appRepository);
+        }
+    }
+
+    /**
+     * @param il the code to search
+     * @param type the instruction class to look for
+     * @return the number of instructions of the given type in the code.
+     */
+    public static int count(InstructionList il, Class<? extends Instruction> type) {
+        int count = 0;
+        for (InstructionHandle ih : il.getInstructionHandles()) {
+            if (type.isInstance(ih.getInstruction())) count++;
+        }
+        return count;
+    }
+}
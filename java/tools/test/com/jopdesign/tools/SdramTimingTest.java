@@ -0,0 +1,73 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ *   see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.tools;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the row and refresh timing of the {@link SdramTiming}.
+ *
+ * @author agent (agent@local)
+ */
+public class SdramTimingTest {
+
+    /* rows of 256 words, a row miss costs 4 cycles, a refresh 7 cycles every 100 cycles */
+    private static SdramTiming createTiming() {
+        SdramTiming timing = new SdramTiming(1, 2);
+        timing.rowShift = 8;
+        timing.rowMiss = 4;
+        timing.refreshInterval = 100;
+        timing.refreshCycles = 7;
+        timing.nextRefresh = 100;
+        return timing;
+    }
+
+    @Test
+    public void testOpenRow() {
+        SdramTiming timing = createTiming();
+        assertEquals(1 + 4, timing.waitStates(10, 0x100, false));
+        assertEquals(1, timing.waitStates(20, 0x1ff, false));
+        assertEquals(2 + 4, timing.waitStates(30, 0x200, true));
+    }
+
+    /**
+     * The refresh due on the first access closes the row before the access, so the access opens it
+     * again and the second access to the row hits.
+     */
+    @Test
+    public void testRefresh() {
+        SdramTiming timing = createTiming();
+        assertEquals(1 + 4, timing.waitStates(10, 0x100, false));
+        int first = timing.waitStates(100, 0x100, false);
+        int second = timing.waitStates(110, 0x100, false);
+        assertEquals(1 + 7 + 4, first);
+        assertEquals(1, second);
+        assertEquals(200, timing.nextRefresh);
+
+        // a refresh due on an access to a new row costs a single row miss as well
+        timing = createTiming();
+        assertEquals(1 + 7 + 4, timing.waitStates(250, 0x300, false));
+        assertEquals(1, timing.waitStates(260, 0x300, false));
+        assertEquals(300, timing.nextRefresh);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ *   see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.wcet;
+
+import com.jopdesign.common.AppInfo;
+import com.jopdesign.common.AppSetup;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Compiles a small application in a temporary directory and sets up a {@link WCETTool} for it.
+ * The JOP system classes are replaced by empty stubs, the JDK classes are not loaded.
+ *
+ * @author agent (agent@local)
+ */
+public class WcetTestFramework {
+
+    /* the JOP system classes loaded by AppSetup and the JOP processor model */
+    private static final String[][] SYS_SOURCES = {
+            {"GC", "public static void init(int mem, int addr) { }"},
+            {"JVM", ""},
+            {"Native", ""},
+            {"Startup", ""}
+    };
+
+    /* the tool of the last setup, of any application */
+    private static WCETTool lastTool;
+
+    private File dir;
+    private File sourceDir;
+    private File classDir;
+
+    /**
+     * Compile the sources of the application into a new temporary directory.
+     *
+     * @param sources the source code of each class of the application, by fully qualified class name
+     */
+    public WcetTestFramework(Map<String, String> sources) throws IOException {
+        dir = createTempDir("wcettest");
+        sourceDir = new File(dir, "src");
+        classDir = new File(dir, "classes");
+        classDir.mkdirs();
+
+        List<String> args = new ArrayList<String>(Arrays.asList("-source", "1.5", "-target", "1.5", "-nowarn",
+                                                                "-d", classDir.getPath()));
+        for (String[] sys : SYS_SOURCES) {
+            args.add(writeSource("com.jopdesign.sys." + sys[0],
+                    "package com.jopdesign.sys;\npublic class " + sys[0] + " {\n    " + sys[1] + "\n}\n").getPath());
+        }
+        for (Map.Entry<String, String> e : sources.entrySet()) {
+            args.add(writeSource(e.getKey(), e.getValue()).getPath());
+        }
+
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        assertNotNull("no Java compiler available", javac);
+        assertEquals(0, javac.run(null, null, null, args.toArray(new String[args.size()])));
+
+        // JOPizer is not run, the link info is empty
+        new File(dir, "bin").mkdirs();
+    }
+
+    /**
+     * Load the application and initialize a new WCET tool. The classes loaded before, e.g. by other tests,
+     * are removed.
+     *
+     * @param mainClass the main class of the application
+     * @param options additional options, e.g. the target method
+     * @return the initialized WCET tool
+     */
+    public WCETTool setupWCETTool(String mainClass, String... options) throws Exception {
+        String binName = mainClass.substring(mainClass.lastIndexOf('.') + 1) + ".jop.link.txt";
+        new FileWriter(new File(dir, "bin/" + binName)).close();
+
+        List<String> args = new ArrayList<String>(Arrays.asList(
+                "--classpath", classDir.getPath(), "--sp", sourceDir.getPath(),
+                "--linkinfo-path", new File(dir, "bin").getPath(),
+                "--outdir", new File(dir, "out").getPath(),
+                "--libraries", "java", "--exclude-libs", "--roots", "com.jopdesign.sys.GC",
+                "--report-generation", "false", "--ipet-dump-ilp", "false", "-q"));
+        args.addAll(Arrays.asList(options));
+        args.add(mainClass);
+
+        // the tool of the previous setup would load annotations of the new classes from its own sources
+        AppInfo appInfo = AppInfo.getSingleton();
+        if (lastTool != null) {
+            appInfo.removeEventHandler(lastTool.getEventHandler());
+        }
+        appInfo.clear(true);
+        AppSetup setup = new AppSetup();
+        WCETTool wcetTool = new WCETTool();
+        setup.registerTool("wcet", wcetTool);
+        setup.initAndLoad(args.toArray(new String[args.size()]), false, true, false);
+        wcetTool.initialize();
+        lastTool = wcetTool;
+        return wcetTool;
+    }
+
+    /**
+     * @return the temporary directory of the application, for files of the tests
+     */
+    public File getDirectory() {
+        return dir;
+    }
+
+    /**
+     * Delete the temporary directory of the application.
+     */
+    public void delete() {
+        delete(dir);
+    }
+
+    private File writeSource(String className, String source) throws IOException {
+        File file = new File(sourceDir, className.replace('.', '/') + ".java");
+        file.getParentFile().mkdirs();
+        Writer w = new FileWriter(file);
+        try {
+            w.write(source);
+        } finally {
+            w.close();
+        }
+        return file;
+    }
+
+    public static File createTempDir(String prefix) throws IOException {
+        File dir = File.createTempFile(prefix, "");
+        dir.delete();
+        dir.mkdirs();
+        return dir;
+    }
+
+    public static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File f : files) delete(f);
+        }
+        file.delete();
+    }
+}
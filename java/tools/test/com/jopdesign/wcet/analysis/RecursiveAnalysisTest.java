@@ -0,0 +1,117 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ *   see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.wcet.analysis;
+
+import com.jopdesign.wcet.WCETTool;
+import com.jopdesign.wcet.WcetTestFramework;
+import com.jopdesign.wcet.ipet.IPETConfig;
+import com.jopdesign.wcet.ipet.IPETConfig.StaticCacheApproximation;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the WCET computed with one and with several IPET solver threads, using the Java ILP solver.
+ *
+ * @author agent (agent@local)
+ */
+public class RecursiveAnalysisTest {
+
+    /* sum() is invoked in different contexts by independent callers, which are solved concurrently */
+    private static final String MAIN_SOURCE =
+            "package wcettest;\n" +
+            "public class Main {\n" +
+            "    static int x;\n" +
+            "    static int sum(int n) {\n" +
+            "        int s = 0;\n" +
+            "        for (int i = 0; i < n; i++) { // @WCA loop<=20\n" +
+            "            s += i;\n" +
+            "        }\n" +
+            "        return s;\n" +
+            "    }\n" +
+            "    static int twice(int n) { return sum(n) + sum(n + 1); }\n" +
+            "    static int a() { return twice(3); }\n" +
+            "    static int b() {\n" +
+            "        int s = 0;\n" +
+            "        for (int i = 0; i < 5; i++) { // @WCA loop=5\n" +
+            "            s += twice(i);\n" +
+            "        }\n" +
+            "        return s;\n" +
+            "    }\n" +
+            "    static int c() { if (x > 0) return a(); return b() + sum(x); }\n" +
+            "    public static void measure() { x = a() + b() + c(); }\n" +
+            "    public static void main(String[] args) { measure(); }\n" +
+            "}\n";
+
+    private static WcetTestFramework framework;
+
+    @BeforeClass
+    public static void compileApplication() throws Exception {
+        framework = new WcetTestFramework(Collections.singletonMap("wcettest.Main", MAIN_SOURCE));
+    }
+
+    @AfterClass
+    public static void deleteApplication() {
+        if (framework != null) {
+            framework.delete();
+        }
+    }
+
+    @Test
+    public void testSolverThreads() throws Exception {
+        for (int callstringLength = 0; callstringLength <= 1; callstringLength++) {
+            WCETTool wcetTool = framework.setupWCETTool("wcettest.Main", "--ipet-solver", "JAVA",
+                    "--callstring-length", String.valueOf(callstringLength));
+            for (StaticCacheApproximation approx : StaticCacheApproximation.values()) {
+                if (approx == StaticCacheApproximation.GLOBAL_ALL_FIT) continue;
+                // LocalAnalysis checks ALL_FIT_SIMPLE with the callstring of the invoker, which is only
+                // a node of the call graph without callstrings
+                if (approx == StaticCacheApproximation.ALL_FIT_SIMPLE && callstringLength > 0) continue;
+                String sequential = computeWCET(wcetTool, approx, 1);
+                assertTrue(sequential, !sequential.contains("cost: 0,"));
+                for (int threads = 2; threads <= 4; threads++) {
+                    assertEquals(approx + ", callstring length " + callstringLength + ", " + threads + " threads",
+                                 sequential, computeWCET(wcetTool, approx, threads));
+                }
+            }
+        }
+    }
+
+    /* the WCET of the target method with a new analysis, as in WCETAnalysis */
+    private static String computeWCET(WCETTool wcetTool, StaticCacheApproximation approx, int threads) {
+        IPETConfig ipetConfig = new IPETConfig(wcetTool.getConfig());
+        ipetConfig.setSolverThreads(threads);
+        RecursiveAnalysis.RecursiveStrategy<AnalysisContextLocal, WcetCost> strategy;
+        if (approx == StaticCacheApproximation.ALL_FIT_REGIONS) {
+            strategy = new GlobalAnalysis.GlobalIPETStrategy(ipetConfig);
+        } else {
+            strategy = new LocalAnalysis(wcetTool, ipetConfig);
+        }
+        RecursiveWcetAnalysis<AnalysisContextLocal> analysis =
+                new RecursiveWcetAnalysis<AnalysisContextLocal>(wcetTool, ipetConfig, strategy);
+        return analysis.computeCost(wcetTool.getTargetMethod(), new AnalysisContextLocal(approx)).toString();
+    }
+}
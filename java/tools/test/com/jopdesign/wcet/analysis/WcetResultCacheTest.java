@@ -0,0 +1,175 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ *   see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.wcet.analysis;
+
+import com.jopdesign.common.MethodInfo;
+import com.jopdesign.wcet.WCETTool;
+import com.jopdesign.wcet.WcetTestFramework;
+import com.jopdesign.wcet.ipet.IPETConfig;
+import com.jopdesign.wcet.ipet.IPETConfig.StaticCacheApproximation;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Stores WCETs in the {@link WcetResultCache}, reloads them in a new run of the WCET tool and checks that
+ * changes of the code and of the IPET options invalidate them.
+ *
+ * @author agent (agent@local)
+ */
+public class WcetResultCacheTest {
+
+    /* sq() is invoked by sum(), other() does not depend on it */
+    private static final String MAIN_SOURCE =
+            "package cachetest;\n" +
+            "public class Main {\n" +
+            "    static int x;\n" +
+            "    static int sq(int n) { return n * n; }\n" +
+            "    static int sum(int n) {\n" +
+            "        int s = 0;\n" +
+            "        for (int i = 0; i < n; i++) { // @WCA loop<=4\n" +
+            "            s += sq(i);\n" +
+            "        }\n" +
+            "        return s;\n" +
+            "    }\n" +
+            "    static int other(int n) { return n + 1; }\n" +
+            "    public static void measure() { x = sum(x) + other(x); }\n" +
+            "    public static void main(String[] args) { measure(); }\n" +
+            "}\n";
+
+    private static WcetTestFramework framework;
+    private static WcetTestFramework changedFramework;
+
+    private File cacheDir;
+
+    @BeforeClass
+    public static void compileApplication() throws Exception {
+        framework = new WcetTestFramework(Collections.singletonMap("cachetest.Main", MAIN_SOURCE));
+        changedFramework = new WcetTestFramework(Collections.singletonMap("cachetest.Main",
+                MAIN_SOURCE.replace("return n * n;", "return n * n + n;")));
+    }
+
+    @AfterClass
+    public static void deleteApplication() {
+        if (framework != null) {
+            framework.delete();
+        }
+        if (changedFramework != null) {
+            changedFramework.delete();
+        }
+    }
+
+    @Before
+    public void createCacheDir() throws Exception {
+        cacheDir = WcetTestFramework.createTempDir("wcetcache");
+    }
+
+    @After
+    public void deleteCacheDir() {
+        WcetTestFramework.delete(cacheDir);
+    }
+
+    @Test
+    public void testReload() throws Exception {
+        WCETTool wcetTool = framework.setupWCETTool("cachetest.Main", "--ipet-solver", "JAVA");
+        WcetResultCache cache = new WcetResultCache(wcetTool, cacheDir);
+        String wcet = computeWCET(wcetTool, cache, StaticCacheApproximation.ALWAYS_MISS);
+        assertEquals(0, cache.getHits());
+        // measure, sum, sq and other
+        assertEquals(4, cache.getMisses());
+
+        // a new run with the same code and options only needs the result of the target method
+        wcetTool = framework.setupWCETTool("cachetest.Main", "--ipet-solver", "JAVA", "--ipet-threads", "2");
+        cache = new WcetResultCache(wcetTool, cacheDir);
+        assertEquals(wcet, computeWCET(wcetTool, cache, StaticCacheApproximation.ALWAYS_MISS));
+        assertEquals(1, cache.getHits());
+        assertEquals(0, cache.getMisses());
+
+        // the results depend on the analysis context
+        assertFalse(wcet.equals(computeWCET(wcetTool, cache, StaticCacheApproximation.ALWAYS_HIT)));
+        assertEquals(1, cache.getHits());
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    public void testCodeChange() throws Exception {
+        WCETTool wcetTool = framework.setupWCETTool("cachetest.Main", "--ipet-solver", "JAVA");
+        String wcet = computeWCET(wcetTool, new WcetResultCache(wcetTool, cacheDir),
+                                  StaticCacheApproximation.ALWAYS_MISS);
+
+        // the methods invoking the changed method are invalidated
+        wcetTool = changedFramework.setupWCETTool("cachetest.Main", "--ipet-solver", "JAVA");
+        WcetResultCache cache = new WcetResultCache(wcetTool, cacheDir);
+        assertNull(lookup(wcetTool, cache, "sq"));
+        assertNull(lookup(wcetTool, cache, "sum"));
+        assertNull(lookup(wcetTool, cache, "measure"));
+        assertNotNull(lookup(wcetTool, cache, "other"));
+
+        String changedWcet = computeWCET(wcetTool, cache, StaticCacheApproximation.ALWAYS_MISS);
+        assertFalse(wcet.equals(changedWcet));
+        assertEquals(changedWcet,
+                     computeWCET(wcetTool, null, StaticCacheApproximation.ALWAYS_MISS));
+    }
+
+    @Test
+    public void testOptionChange() throws Exception {
+        WCETTool wcetTool = framework.setupWCETTool("cachetest.Main", "--ipet-solver", "JAVA");
+        computeWCET(wcetTool, new WcetResultCache(wcetTool, cacheDir), StaticCacheApproximation.ALWAYS_MISS);
+        assertNotNull(lookup(wcetTool, new WcetResultCache(wcetTool, cacheDir), "measure"));
+
+        wcetTool = framework.setupWCETTool("cachetest.Main", "--ipet-solver", "JAVA",
+                                           "--ipet-assume-miss-once-on-invoke", "true");
+        WcetResultCache cache = new WcetResultCache(wcetTool, cacheDir);
+        for (String method : new String[]{"measure", "sum", "sq", "other"}) {
+            assertNull(method, lookup(wcetTool, cache, method));
+        }
+    }
+
+    /* the WCET of the target method with a new analysis, as in WCETAnalysis, without a cache if it is null */
+    private static String computeWCET(WCETTool wcetTool, WcetResultCache cache, StaticCacheApproximation approx) {
+        IPETConfig ipetConfig = new IPETConfig(wcetTool.getConfig());
+        RecursiveWcetAnalysis<AnalysisContextLocal> analysis = new RecursiveWcetAnalysis<AnalysisContextLocal>(
+                wcetTool, ipetConfig, new LocalAnalysis(wcetTool, ipetConfig));
+        analysis.setResultCache(cache);
+        return analysis.computeCost(wcetTool.getTargetMethod(), new AnalysisContextLocal(approx)).toString();
+    }
+
+    private static WcetCost lookup(WCETTool wcetTool, WcetResultCache cache, String methodName) {
+        MethodInfo method = null;
+        for (MethodInfo m : wcetTool.getAppInfo().getClassInfo("cachetest.Main").getMethods()) {
+            if (m.getShortName().equals(methodName)) method = m;
+        }
+        assertNotNull(methodName, method);
+        IPETConfig ipetConfig = new IPETConfig(wcetTool.getConfig());
+        return cache.lookup(new LocalAnalysis(wcetTool, ipetConfig), ipetConfig, method,
+                            new AnalysisContextLocal(StaticCacheApproximation.ALWAYS_MISS));
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ * see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.wcet.ipet;
+
+import com.jopdesign.common.graphutils.IDProvider;
+import com.jopdesign.wcet.ipet.LinearConstraint.ConstraintType;
+import lpsolve.LpSolveException;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link JavaILPSolver}. Variables are the integers 1..n.
+ *
+ * @author agent (agent@local)
+ */
+public class JavaILPSolverTest {
+
+	private static final double EPS = 1.0E-6;
+
+	private static final IDProvider<Integer> ids = new IDProvider<Integer>() {
+		public int getID(Integer t) { return t; }
+		public Integer fromID(int id) { return id; }
+	};
+
+	private static JavaILPSolver<Integer> solver(int numVars) {
+		return new JavaILPSolver<Integer>(numVars, ids);
+	}
+
+	/* sum(coeffs[i] * x_(i+1)) op rhs */
+	private static void constraint(JavaILPSolver<Integer> s, long[] coeffs, ConstraintType op, long rhs)
+			throws LpSolveException {
+		LinearConstraint<Integer> c = new LinearConstraint<Integer>(op);
+		for(int i = 0; i < coeffs.length; i++) {
+			if(coeffs[i] != 0) c.addLHS(i + 1, coeffs[i]);
+		}
+		c.addRHS(rhs);
+		s.addConstraint(c);
+	}
+
+	private static void objective(JavaILPSolver<Integer> s, long[] coeffs, boolean doMax)
+			throws LpSolveException {
+		LinearVector<Integer> v = new LinearVector<Integer>();
+		for(int i = 0; i < coeffs.length; i++) {
+			if(coeffs[i] != 0) v.add(i + 1, coeffs[i]);
+		}
+		s.setObjective(v, doMax);
+	}
+
+	private static void assertSolution(long[] expected, double[] actual) {
+		for(int i = 0; i < expected.length; i++) {
+			assertEquals("x" + (i + 1), expected[i], actual[i], EPS);
+		}
+	}
+
+	/**
+	 * Unit flow from s to t in the acyclic network s->a->t, s->b->t
+	 * (x1 = s->a, x2 = s->b, x3 = a->t, x4 = b->t), solved as longest path.
+	 */
+	@Test
+	public void testFlow() throws LpSolveException {
+		JavaILPSolver<Integer> s = solver(4);
+		constraint(s, new long[] { -1, -1, 0, 0 }, ConstraintType.Equal, -1);
+		constraint(s, new long[] { 1, 0, -1, 0 }, ConstraintType.Equal, 0);
+		constraint(s, new long[] { 0, 1, 0, -1 }, ConstraintType.Equal, 0);
+		constraint(s, new long[] { 0, 0, 1, 1 }, ConstraintType.Equal, 1);
+		objective(s, new long[] { 5, 3, 1, 4 }, true);
+		double[] x = new double[4];
+		assertEquals(7, s.solve(x), EPS);
+		assertSolution(new long[] { 0, 1, 0, 1 }, x);
+
+		/* an edge fixed to zero */
+		constraint(s, new long[] { 0, 1, 0, 0 }, ConstraintType.LessEqual, 0);
+		assertEquals(6, s.solve(x), EPS);
+		assertSolution(new long[] { 1, 0, 1, 0 }, x);
+	}
+
+	/**
+	 * Loop with a bound of 10 iterations per entry
+	 * (x1 = entry, x2 = back edge, x3 = exit, x4 = loop body).
+	 */
+	@Test
+	public void testLoop() throws LpSolveException {
+		JavaILPSolver<Integer> s = solver(4);
+		constraint(s, new long[] { 1, 0, 0, 0 }, ConstraintType.Equal, 1);
+		constraint(s, new long[] { 1, 1, -1, -1 }, ConstraintType.Equal, 0);
+		constraint(s, new long[] { 0, -1, 0, 1 }, ConstraintType.Equal, 0);
+		constraint(s, new long[] { -10, 1, 0, 0 }, ConstraintType.LessEqual, 0);
+		objective(s, new long[] { 2, 1, 3, 7 }, true);
+		double[] x = new double[4];
+		assertEquals(2 + 10 + 3 + 70, s.solve(x), EPS);
+		assertSolution(new long[] { 1, 10, 1, 10 }, x);
+	}
+
+	/**
+	 * max 5 x1 + 4 x2 with 6 x1 + 4 x2 <= 24, x1 + 2 x2 <= 6:
+	 * the LP optimum (3, 1.5) is fractional, the ILP optimum is (4, 0).
+	 */
+	@Test
+	public void testBranchAndBound() throws LpSolveException {
+		JavaILPSolver<Integer> s = solver(2);
+		constraint(s, new long[] { 6, 4 }, ConstraintType.LessEqual, 24);
+		constraint(s, new long[] { 1, 2 }, ConstraintType.LessEqual, 6);
+		objective(s, new long[] { 5, 4 }, true);
+		double[] x = new double[2];
+		assertEquals(20, s.solve(x), EPS);
+		assertSolution(new long[] { 4, 0 }, x);
+	}
+
+	@Test
+	public void testMinimize() throws LpSolveException {
+		JavaILPSolver<Integer> s = solver(2);
+		constraint(s, new long[] { 1, 1 }, ConstraintType.GreaterEqual, 3);
+		constraint(s, new long[] { 1, 0 }, ConstraintType.LessEqual, 2);
+		objective(s, new long[] { 2, 3 }, false);
+		double[] x = new double[2];
+		assertEquals(7, s.solve(x), EPS);
+		assertSolution(new long[] { 2, 1 }, x);
+	}
+
+	@Test
+	public void testInfeasible() throws LpSolveException {
+		JavaILPSolver<Integer> s = solver(2);
+		constraint(s, new long[] { 1, 1 }, ConstraintType.GreaterEqual, 2);
+		constraint(s, new long[] { 1, 1 }, ConstraintType.LessEqual, 1);
+		objective(s, new long[] { 1, 1 }, true);
+		assertFails(s, "INFEASIBLE");
+	}
+
+	/** feasible LP relaxation (x1 = 1/2), but no integral solution */
+	@Test
+	public void testIntegralInfeasible() throws LpSolveException {
+		JavaILPSolver<Integer> s = solver(1);
+		constraint(s, new long[] { 2 }, ConstraintType.Equal, 1);
+		objective(s, new long[] { 1 }, true);
+		assertFails(s, "INFEASIBLE");
+	}
+
+	@Test
+	public void testUnbounded() throws LpSolveException {
+		JavaILPSolver<Integer> s = solver(2);
+		constraint(s, new long[] { 1, -1 }, ConstraintType.LessEqual, 3);
+		objective(s, new long[] { 1, 0 }, true);
+		assertFails(s, "UNBOUNDED");
+	}
+
+	private static void assertFails(JavaILPSolver<Integer> s, String status) {
+		try {
+			s.solve(null);
+			fail("expected " + status);
+		} catch (LpSolveException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains(status));
+		}
+	}
+
+	/**
+	 * A problem with the same constraints but different costs starts from the
+	 * optimal basis of the first one.
+	 */
+	@Test
+	public void testWarmStart() throws LpSolveException {
+		long[][] a = { { 3, 2, 1 }, { 1, 4, 2 }, { 2, 1, 5 } };
+		long[] b = { 19, 23, 29 };
+		long[][] costs = { { 4, 3, 2 }, { 1, 5, 1 }, { 2, 1, 6 } };
+		double[] expected = new double[costs.length];
+		for(int k = 0; k < costs.length; k++) {
+			expected[k] = bruteForce(a, b, costs[k], 10);
+		}
+
+		int hits = JavaILPSolver.getWarmStartHits();
+		for(int k = 0; k < costs.length; k++) {
+			JavaILPSolver<Integer> s = solver(3);
+			for(int i = 0; i < a.length; i++) {
+				constraint(s, a[i], ConstraintType.LessEqual, b[i]);
+			}
+			objective(s, costs[k], true);
+			assertEquals(expected[k], s.solve(null), EPS);
+		}
+		assertTrue(JavaILPSolver.getWarmStartHits() >= hits + costs.length - 1);
+	}
+
+	/**
+	 * Random problems max c x, A x <= b, 0 <= x <= 4, compared with the
+	 * optimum found by enumeration.
+	 */
+	@Test
+	public void testRandom() throws LpSolveException {
+		Random rand = new Random(42);
+		int maxVal = 4;
+		for(int iter = 0; iter < 200; iter++) {
+			int n = 2 + rand.nextInt(3);
+			int m = 1 + rand.nextInt(3);
+			long[][] a = new long[m + n][n];
+			long[] b = new long[m + n];
+			for(int i = 0; i < m; i++) {
+				for(int j = 0; j < n; j++) a[i][j] = rand.nextInt(9) - 3;
+				b[i] = rand.nextInt(13);
+			}
+			for(int j = 0; j < n; j++) {
+				a[m + j][j] = 1;
+				b[m + j] = maxVal;
+			}
+			long[] c = new long[n];
+			for(int j = 0; j < n; j++) c[j] = rand.nextInt(16) - 5;
+
+			JavaILPSolver<Integer> s = solver(n);
+			for(int i = 0; i < a.length; i++) {
+				constraint(s, a[i], ConstraintType.LessEqual, b[i]);
+			}
+			objective(s, c, true);
+			double[] x = new double[n];
+			assertEquals("problem " + iter, bruteForce(a, b, c, maxVal), s.solve(x), EPS);
+			for(int i = 0; i < a.length; i++) {
+				long lhs = 0;
+				for(int j = 0; j < n; j++) lhs += a[i][j] * Math.round(x[j]);
+				assertTrue("problem " + iter + ", row " + i, lhs <= b[i]);
+			}
+		}
+	}
+
+	/* max c x, A x <= b, x in [0..maxVal]^n (x = 0 is feasible if b >= 0) */
+	private static long bruteForce(long[][] a, long[] b, long[] c, int maxVal) {
+		int n = c.length;
+		long[] x = new long[n];
+		long best = Long.MIN_VALUE;
+		while(true) {
+			boolean feasible = true;
+			for(int i = 0; i < a.length && feasible; i++) {
+				long lhs = 0;
+				for(int j = 0; j < n; j++) lhs += a[i][j] * x[j];
+				feasible = lhs <= b[i];
+			}
+			if(feasible) {
+				long obj = 0;
+				for(int j = 0; j < n; j++) obj += c[j] * x[j];
+				best = Math.max(best, obj);
+			}
+			int j = 0;
+			while(j < n && x[j] == maxVal) x[j++] = 0;
+			if(j == n) return best;
+			x[j]++;
+		}
+	}
+}
@@ -0,0 +1,257 @@
+/*
+ * This file is part of JOP, the Java Optimized Processor
+ *   see <http://www.jopdesign.com/>
+ *
+ * Copyright (C) 2026, agent (agent@local)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.jopdesign.wcet.uppaal.explorer;
+
+import com.jopdesign.wcet.WCETTool;
+import com.jopdesign.wcet.WcetTestFramework;
+import com.jopdesign.wcet.analysis.AnalysisContextLocal;
+import com.jopdesign.wcet.analysis.LocalAnalysis;
+import com.jopdesign.wcet.analysis.RecursiveWcetAnalysis;
+import com.jopdesign.wcet.analysis.UppaalAnalysis;
+import com.jopdesign.wcet.ipet.IPETConfig;
+import com.jopdesign.wcet.ipet.IPETConfig.StaticCacheApproximation;
+import com.jopdesign.wcet.uppaal.UppAalConfig;
+import com.jopdesign.wcet.uppaal.UppAalConfig.UppaalCacheApproximation;
+import com.jopdesign.wcet.uppaal.model.Location;
+import com.jopdesign.wcet.uppaal.model.NTASystem;
+import com.jopdesign.wcet.uppaal.model.Template;
+import com.jopdesign.wcet.uppaal.model.Transition;
+import org.apache.log4j.Logger;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Vector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Compares the maximal time computed by the {@link ModelExplorer} with known WCETs.
+ *
+ * @author agent (agent@local)
+ */
+public class ModelExplorerTest {
+
+    /* a cache with two blocks: only the first invoke of M1 misses */
+    private static final String[][] TWO_BLOCK_CACHE = {
+            {"C0", "access1", "false", "C01"},
+            {"C01", "access1", "true", "C01"},
+            {"C0", "access0", "true", "C0"},
+            {"C01", "access0", "true", "C01"}
+    };
+
+    /* a cache with a single block: every invoke and every return misses */
+    private static final String[][] ONE_BLOCK_CACHE = {
+            {"C0", "access1", "false", "C1"},
+            {"C1", "access1", "true", "C1"},
+            {"C1", "access0", "false", "C0"},
+            {"C0", "access0", "true", "C0"}
+    };
+
+    /**
+     * The entry (4 cycles), three iterations of the loop body (3 cycles, invoke of M1 with 5 cycles) and the exit
+     * (2 cycles). A cache miss costs 10 cycles, a hit 1 cycle.
+     */
+    @Test
+    public void testCacheAutomaton() throws Exception {
+        // 4 + (3 + 10 + 5 + 1) + 2 * (3 + 1 + 5 + 1) + 2
+        assertEquals(45, new ModelExplorer(buildSystem(TWO_BLOCK_CACHE, true)).computeMaxTime("M0", "E"));
+        // 4 + 3 * (3 + 10 + 5 + 10) + 2
+        assertEquals(90, new ModelExplorer(buildSystem(ONE_BLOCK_CACHE, true)).computeMaxTime("M0", "E"));
+    }
+
+    @Test
+    public void testUnboundedLoop() throws Exception {
+        ModelExplorer explorer = new ModelExplorer(buildSystem(TWO_BLOCK_CACHE, false));
+        try {
+            explorer.computeMaxTime("M0", "E");
+            fail("The WCET of a loop without bound is unbounded");
+        } catch (UnsupportedModelException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("Cycle"));
+        }
+    }
+
+    /**
+     * Build a model as generated by the translators: the loop counter is checked in the loop header, the
+     * code of a block is executed in a location with an invariant on the clock of the process, which is
+     * reset on entry. The hit or miss is decided by a cache automaton before each invoke and return.
+     *
+     * @param cache the transitions of the cache automaton: source, channel, value of lastHit, target
+     * @param countIterations whether the loop counter is incremented
+     */
+    private static NTASystem buildSystem(String[][] cache, boolean countIterations) throws Exception {
+        NTASystem system = new NTASystem("test");
+        system.appendDeclaration("const int N = 3;");
+        system.appendDeclaration("bool lastHit;");
+        system.appendDeclaration("chan invoke1, return1, access0, access1;");
+
+        Template m0 = new Template("Method0", new Vector<String>());
+        m0.appendDeclaration("clock c0;");
+        m0.appendDeclaration("int[0,N] i;");
+        Location init = new Location("I");
+        init.setInvariant("c0 <= 4");
+        m0.setInitialLocation(init);
+        Location head = committed(m0, "L");
+        Location body = timed(m0, "B", "c0 <= 3");
+        Location accessInvoke = committed(m0, "A");
+        Location hitInvoke = timed(m0, "H", "c0 <= 1");
+        Location missInvoke = timed(m0, "M", "c0 <= 10");
+        Location wait = new Location("W");
+        m0.addLocation(wait);
+        Location returned = committed(m0, "R");
+        Location accessReturn = committed(m0, "RA");
+        Location hitReturn = timed(m0, "RH", "c0 <= 1");
+        Location missReturn = timed(m0, "RM", "c0 <= 10");
+        Location exit = timed(m0, "X", "c0 <= 2");
+        Location end = new Location("E");
+        m0.addLocation(end);
+
+        transition(m0, init, head, null, null, "i := 0");
+        transition(m0, head, body, "i < N", null, (countIterations ? "i := i + 1, " : "") + "c0 := 0");
+        transition(m0, head, exit, "i >= N", null, "c0 := 0");
+        transition(m0, body, accessInvoke, null, "access1!", null);
+        transition(m0, accessInvoke, hitInvoke, "lastHit", null, "c0 := 0");
+        transition(m0, accessInvoke, missInvoke, "! lastHit", null, "c0 := 0");
+        transition(m0, hitInvoke, wait, null, "invoke1!", null);
+        transition(m0, missInvoke, wait, null, "invoke1!", null);
+        transition(m0, wait, returned, null, "return1?", null);
+        transition(m0, returned, accessReturn, null, "access0!", null);
+        transition(m0, accessReturn, hitReturn, "lastHit", null, "c0 := 0");
+        transition(m0, accessReturn, missReturn, "! lastHit", null, "c0 := 0");
+        transition(m0, hitReturn, head, null, null, null);
+        transition(m0, missReturn, head, null, null, null);
+        transition(m0, exit, end, null, null, null);
+        system.addTemplate(m0);
+
+        Template m1 = new Template("Method1", new Vector<String>());
+        m1.appendDeclaration("clock c1;");
+        Location idle = new Location("I");
+        m1.setInitialLocation(idle);
+        Location code = timed(m1, "B", "c1 <= 5");
+        transition(m1, idle, code, null, "invoke1?", "c1 := 0");
+        transition(m1, code, idle, null, "return1!", null);
+        system.addTemplate(m1);
+
+        Template c = new Template("Cache", new Vector<String>());
+        Map<String, Location> blocks = new HashMap<String, Location>();
+        Location initial = new Location("C0");
+        c.setInitialLocation(initial);
+        blocks.put("C0", initial);
+        for (String[] t : cache) {
+            for (String name : new String[]{t[0], t[3]}) {
+                if (!blocks.containsKey(name)) {
+                    Location l = new Location(name);
+                    c.addLocation(l);
+                    blocks.put(name, l);
+                }
+            }
+            transition(c, blocks.get(t[0]), blocks.get(t[3]), null, t[1] + "?", "lastHit := " + t[2]);
+        }
+        system.addTemplate(c);
+
+        system.setSystem("M0 = Method0() ;\nM1 = Method1() ;\nM2 = Cache() ;\nsystem M0, M1, M2;\n");
+        return system;
+    }
+
+    private static Location committed(Template t, String name) {
+        Location l = new Location(name);
+        l.setCommited();
+        t.addLocation(l);
+        return l;
+    }
+
+    private static Location timed(Template t, String name, String invariant) {
+        Location l = new Location(name);
+        l.setInvariant(invariant);
+        t.addLocation(l);
+        return l;
+    }
+
+    private static void transition(Template t, Location src, Location target, String guard, String sync,
+                                   String update) {
+        Transition tr = new Transition(src, target);
+        if (guard != null) tr.getAttrs().appendGuard(guard);
+        if (sync != null) tr.getAttrs().setSync(sync);
+        if (update != null) tr.getAttrs().appendUpdate(update);
+        t.addTransition(tr);
+    }
+
+    /* sq() is invoked in a loop, so the cache simulation finds hits */
+    private static final String MAIN_SOURCE =
+            "package uppaaltest;\n" +
+            "public class Main {\n" +
+            "    static int x;\n" +
+            "    static int sq(int n) { return n * n; }\n" +
+            "    static int sum(int n) {\n" +
+            "        int s = 0;\n" +
+            "        for (int i = 0; i < n; i++) { // @WCA loop<=4\n" +
+            "            s += sq(i);\n" +
+            "        }\n" +
+            "        return s;\n" +
+            "    }\n" +
+            "    public static void measure() { x = sum(x); }\n" +
+            "    public static void main(String[] args) { measure(); }\n" +
+            "}\n";
+
+    /**
+     * Translate a program and compare the WCET of the model with the WCET of the IPET analysis.
+     */
+    @Test
+    public void testTranslatedModel() throws Exception {
+        WcetTestFramework framework =
+                new WcetTestFramework(Collections.singletonMap("uppaaltest.Main", MAIN_SOURCE));
+        try {
+            WCETTool wcetTool = framework.setupWCETTool("uppaaltest.Main", "--ipet-solver", "JAVA",
+                    "--uppaal-checker", "BUILTIN");
+            long alwaysMiss = computeIPET(wcetTool, StaticCacheApproximation.ALWAYS_MISS);
+            long alwaysHit = computeIPET(wcetTool, StaticCacheApproximation.ALWAYS_HIT);
+            assertTrue(alwaysHit < alwaysMiss);
+
+            File outDir = new File(framework.getDirectory(), "uppaal");
+            outDir.mkdirs();
+            wcetTool.getConfig().setOption(UppAalConfig.UPPAAL_CACHE_APPROX, UppaalCacheApproximation.ALWAYS_MISS);
+            assertEquals(alwaysMiss, computeUppaal(wcetTool, outDir));
+
+            wcetTool.getConfig().setOption(UppAalConfig.UPPAAL_CACHE_APPROX, UppaalCacheApproximation.CACHE_SIM);
+            long cacheSim = computeUppaal(wcetTool, outDir);
+            assertTrue(alwaysHit + " <= " + cacheSim, alwaysHit <= cacheSim);
+            assertTrue(cacheSim + " < " + alwaysMiss, cacheSim < alwaysMiss);
+        } finally {
+            framework.delete();
+        }
+    }
+
+    private static long computeIPET(WCETTool wcetTool, StaticCacheApproximation approx) {
+        IPETConfig ipetConfig = new IPETConfig(wcetTool.getConfig());
+        RecursiveWcetAnalysis<AnalysisContextLocal> analysis = new RecursiveWcetAnalysis<AnalysisContextLocal>(
+                wcetTool, ipetConfig, new LocalAnalysis(wcetTool, ipetConfig));
+        return analysis.computeCost(wcetTool.getTargetMethod(), new AnalysisContextLocal(approx)).getCost();
+    }
+
+    private static long computeUppaal(WCETTool wcetTool, File outDir) throws Exception {
+        UppaalAnalysis analysis = new UppaalAnalysis(Logger.getLogger(WCETTool.LOG_WCET_UPPAAL), wcetTool, outDir);
+        return analysis.calculateWCET(wcetTool.getTargetMethod()).getCost();
+    }
+}
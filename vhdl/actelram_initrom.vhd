@@ -0,0 +1,292 @@
+--
+-- actelram_initrom.vhd
+--
+-- Generated by GenAsynROM
+-- Sat Oct 17 03:28:34 UTC 2026
+--
+-- This module will synthesize on ProASIC3 devices.
+--
+
+library IEEE;
+use IEEE.std_logic_1164.all;
+use IEEE.numeric_std.all;
+
+entity actelram_initrom is
+  generic (
+    width : integer := 32;
+    addr_width : integer := 8
+  );
+  port (
+    address : in  std_logic_vector(addr_width-1 downto 0);
+    data : out std_logic_vector(width-1 downto 0)
+  );
+end actelram_initrom;
+
+architecture rtl of actelram_initrom is
+
+  subtype word is std_logic_vector(width-1 downto 0);
+  type initrom_type is array(0 to 2**addr_width-1) of word;
+
+  constant initrom     : initrom_type := (
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00000000000000000000000001000000",
+    "11111111111111111111111110000110",
+    "11111111111111111111111110000111",
+    "00000000000000000000000000000000",
+    "00000000000000000000000000000100",
+    "11111111111111111111111110100000",
+    "00000000000000000000000000000010",
+    "11111111111111111111111110100001",
+    "00000000000000000000000000001000",
+    "00000000000000000000000000000001",
+    "00000000000000000000000011111111",
+    "00000000000000000000000000000110",
+    "00000000000000000000000000000011",
+    "00000000000000000000000000000101",
+    "11111111111111111111111110000100",
+    "00000000000000000000000000011111",
+    "11111111111111111111111111111111",
+    "00000000000000001111111111111111",
+    "11111111111111111111111110000000",
+    "11111111111111111111111110000101",
+    "10000000000000000000000000000000",
+    "00000000000000000000000000111111",
+    "00000000000000000000000000100000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00000001001100101101101100011011",
+    "00000000000000000000000000000000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000",
+    "00010010001101000101011001111000");
+
+begin
+
+  data <= initrom(to_integer(unsigned(address)));
+
+end rtl;
@@ -0,0 +1,238 @@
+--
+--	jtbl.vhd
+--
+--	jump table for java bc to jvm address
+--
+--		DONT edit this file!
+--		generated by Jopa.java
+--
+
+library ieee;
+use ieee.std_logic_1164.all;
+use ieee.std_logic_arith.all;
+use ieee.std_logic_unsigned.all;
+
+entity jtbl is
+port (
+	bcode	: in std_logic_vector(7 downto 0);
+	int_pend	: in  std_logic;
+	exc_pend	: in  std_logic;
+	q		: out std_logic_vector(10 downto 0)
+);
+end jtbl;
+
+--
+--	unregistered rdbcode
+--	unregistered dout
+--
+architecture rtl of jtbl is
+
+	signal	addr	: std_logic_vector(10 downto 0);
+
+begin
+
+process(bcode) begin
+
+	case bcode is
+
+		when "10111011" => addr <= "00001111000";	--	0078	new
+		when "10111101" => addr <= "00001111000";	--	0078	anewarray
+		when "11000000" => addr <= "00001111000";	--	0078	checkcast
+		when "11000001" => addr <= "00001111000";	--	0078	instanceof
+		when "10111100" => addr <= "00010010011";	--	0093	newarray
+		when "11100011" => addr <= "00010101000";	--	00a8	putfield_ref
+		when "11100001" => addr <= "00010111110";	--	00be	putstatic_ref
+		when "10110111" => addr <= "00011110111";	--	00f7	invokespecial
+		when "10111000" => addr <= "00011110111";	--	00f7	invokestatic
+		when "11011110" => addr <= "00011111111";	--	00ff	jopsys_invoke
+		when "10111001" => addr <= "00100000010";	--	0102	invokeinterface
+		when "11101100" => addr <= "00100110100";	--	0134	invokesuper
+		when "10110110" => addr <= "00101101010";	--	016a	invokevirtual
+		when "10110000" => addr <= "00111001101";	--	01cd	areturn
+		when "10101110" => addr <= "00111001101";	--	01cd	freturn
+		when "10101100" => addr <= "00111001101";	--	01cd	ireturn
+		when "10101111" => addr <= "00111100100";	--	01e4	dreturn
+		when "10101101" => addr <= "00111100100";	--	01e4	lreturn
+		when "10110001" => addr <= "00111111101";	--	01fd	return
+		when "00000000" => addr <= "01000010010";	--	0212	nop
+		when "00000010" => addr <= "01000010011";	--	0213	iconst_m1
+		when "00001011" => addr <= "01000010100";	--	0214	fconst_0
+		when "00000001" => addr <= "01000010100";	--	0214	aconst_null
+		when "00000011" => addr <= "01000010100";	--	0214	iconst_0
+		when "00000100" => addr <= "01000010101";	--	0215	iconst_1
+		when "00000101" => addr <= "01000010110";	--	0216	iconst_2
+		when "00000110" => addr <= "01000010111";	--	0217	iconst_3
+		when "00000111" => addr <= "01000011000";	--	0218	iconst_4
+		when "00001000" => addr <= "01000011001";	--	0219	iconst_5
+		when "00010000" => addr <= "01000011010";	--	021a	bipush
+		when "00010001" => addr <= "01000011100";	--	021c	sipush
+		when "00010010" => addr <= "01000011111";	--	021f	ldc
+		when "00010011" => addr <= "01000100110";	--	0226	ldc_w
+		when "00011001" => addr <= "01000101110";	--	022e	aload
+		when "00010111" => addr <= "01000101110";	--	022e	fload
+		when "00010101" => addr <= "01000101110";	--	022e	iload
+		when "00101010" => addr <= "01000110000";	--	0230	aload_0
+		when "00100010" => addr <= "01000110000";	--	0230	fload_0
+		when "00011010" => addr <= "01000110000";	--	0230	iload_0
+		when "00101011" => addr <= "01000110001";	--	0231	aload_1
+		when "00100011" => addr <= "01000110001";	--	0231	fload_1
+		when "00011011" => addr <= "01000110001";	--	0231	iload_1
+		when "00101100" => addr <= "01000110010";	--	0232	aload_2
+		when "00100100" => addr <= "01000110010";	--	0232	fload_2
+		when "00011100" => addr <= "01000110010";	--	0232	iload_2
+		when "00101101" => addr <= "01000110011";	--	0233	aload_3
+		when "00100101" => addr <= "01000110011";	--	0233	fload_3
+		when "00011101" => addr <= "01000110011";	--	0233	iload_3
+		when "00111010" => addr <= "01000110100";	--	0234	astore
+		when "00111000" => addr <= "01000110100";	--	0234	fstore
+		when "00110110" => addr <= "01000110100";	--	0234	istore
+		when "01001011" => addr <= "01000110110";	--	0236	astore_0
+		when "01000011" => addr <= "01000110110";	--	0236	fstore_0
+		when "00111011" => addr <= "01000110110";	--	0236	istore_0
+		when "01001100" => addr <= "01000110111";	--	0237	astore_1
+		when "01000100" => addr <= "01000110111";	--	0237	fstore_1
+		when "00111100" => addr <= "01000110111";	--	0237	istore_1
+		when "01001101" => addr <= "01000111000";	--	0238	astore_2
+		when "01000101" => addr <= "01000111000";	--	0238	fstore_2
+		when "00111101" => addr <= "01000111000";	--	0238	istore_2
+		when "01001110" => addr <= "01000111001";	--	0239	astore_3
+		when "01000110" => addr <= "01000111001";	--	0239	fstore_3
+		when "00111110" => addr <= "01000111001";	--	0239	istore_3
+		when "01010111" => addr <= "01000111010";	--	023a	pop
+		when "01011000" => addr <= "01000111011";	--	023b	pop2
+		when "01011001" => addr <= "01000111101";	--	023d	dup
+		when "01011010" => addr <= "01000111110";	--	023e	dup_x1
+		when "01011011" => addr <= "01001000011";	--	0243	dup_x2
+		when "01011100" => addr <= "01001001010";	--	024a	dup2
+		when "01011101" => addr <= "01001010000";	--	0250	dup2_x1
+		when "01011110" => addr <= "01001011000";	--	0258	dup2_x2
+		when "01011111" => addr <= "01001100010";	--	0262	swap
+		when "01100000" => addr <= "01001100110";	--	0266	iadd
+		when "01100100" => addr <= "01001100111";	--	0267	isub
+		when "01110100" => addr <= "01001101000";	--	0268	ineg
+		when "01111110" => addr <= "01001101100";	--	026c	iand
+		when "10000000" => addr <= "01001101101";	--	026d	ior
+		when "10000010" => addr <= "01001101110";	--	026e	ixor
+		when "01111000" => addr <= "01001101111";	--	026f	ishl
+		when "01111010" => addr <= "01001110000";	--	0270	ishr
+		when "01111100" => addr <= "01001110001";	--	0271	iushr
+		when "01101000" => addr <= "01001110010";	--	0272	imul
+		when "10000100" => addr <= "01001111110";	--	027e	iinc
+		when "10010010" => addr <= "01010000110";	--	0286	i2c
+		when "11000110" => addr <= "01010001000";	--	0288	ifnull
+		when "11000111" => addr <= "01010001000";	--	0288	ifnonnull
+		when "10011001" => addr <= "01010001000";	--	0288	ifeq
+		when "10011010" => addr <= "01010001000";	--	0288	ifne
+		when "10011011" => addr <= "01010001000";	--	0288	iflt
+		when "10011100" => addr <= "01010001000";	--	0288	ifge
+		when "10011101" => addr <= "01010001000";	--	0288	ifgt
+		when "10011110" => addr <= "01010001000";	--	0288	ifle
+		when "10100101" => addr <= "01010001100";	--	028c	if_acmpeq
+		when "10100110" => addr <= "01010001100";	--	028c	if_acmpne
+		when "10011111" => addr <= "01010001100";	--	028c	if_icmpeq
+		when "10100000" => addr <= "01010001100";	--	028c	if_icmpne
+		when "10100001" => addr <= "01010001100";	--	028c	if_icmplt
+		when "10100010" => addr <= "01010001100";	--	028c	if_icmpge
+		when "10100011" => addr <= "01010001100";	--	028c	if_icmpgt
+		when "10100100" => addr <= "01010001100";	--	028c	if_icmple
+		when "10100111" => addr <= "01010010000";	--	0290	goto
+		when "11100000" => addr <= "01010010100";	--	0294	getstatic_ref
+		when "10110010" => addr <= "01010010100";	--	0294	getstatic
+		when "11101110" => addr <= "01010011001";	--	0299	jopsys_getstatic
+		when "10110011" => addr <= "01010011110";	--	029e	putstatic
+		when "11101111" => addr <= "01010100011";	--	02a3	jopsys_putstatic
+		when "11100010" => addr <= "01010101000";	--	02a8	getfield_ref
+		when "10110100" => addr <= "01010101000";	--	02a8	getfield
+		when "11101001" => addr <= "01010101101";	--	02ad	jopsys_getfield
+		when "10110101" => addr <= "01010110010";	--	02b2	putfield
+		when "11101010" => addr <= "01010111000";	--	02b8	jopsys_putfield
+		when "10111110" => addr <= "01010111111";	--	02bf	arraylength
+		when "01010100" => addr <= "01011000101";	--	02c5	bastore
+		when "01010101" => addr <= "01011000101";	--	02c5	castore
+		when "01010001" => addr <= "01011000101";	--	02c5	fastore
+		when "01001111" => addr <= "01011000101";	--	02c5	iastore
+		when "01010110" => addr <= "01011000101";	--	02c5	sastore
+		when "00110010" => addr <= "01011001011";	--	02cb	aaload
+		when "00110011" => addr <= "01011001011";	--	02cb	baload
+		when "00110100" => addr <= "01011001011";	--	02cb	caload
+		when "00110000" => addr <= "01011001011";	--	02cb	faload
+		when "00101110" => addr <= "01011001011";	--	02cb	iaload
+		when "00110101" => addr <= "01011001011";	--	02cb	saload
+		when "11000010" => addr <= "01011010000";	--	02d0	monitorenter
+		when "11000011" => addr <= "01011100011";	--	02e3	monitorexit
+		when "00010100" => addr <= "01011110111";	--	02f7	ldc2_w
+		when "00001110" => addr <= "01100001000";	--	0308	dconst_0
+		when "00001001" => addr <= "01100001000";	--	0308	lconst_0
+		when "00001010" => addr <= "01100001010";	--	030a	lconst_1
+		when "10001000" => addr <= "01100001100";	--	030c	l2i
+		when "10000101" => addr <= "01100001111";	--	030f	i2l
+		when "00100110" => addr <= "01100010100";	--	0314	dload_0
+		when "00011110" => addr <= "01100010100";	--	0314	lload_0
+		when "00100111" => addr <= "01100010110";	--	0316	dload_1
+		when "00011111" => addr <= "01100010110";	--	0316	lload_1
+		when "00101000" => addr <= "01100011000";	--	0318	dload_2
+		when "00100000" => addr <= "01100011000";	--	0318	lload_2
+		when "00101001" => addr <= "01100011010";	--	031a	dload_3
+		when "00100001" => addr <= "01100011010";	--	031a	lload_3
+		when "00011000" => addr <= "01100100101";	--	0325	dload
+		when "00010110" => addr <= "01100100101";	--	0325	lload
+		when "01000111" => addr <= "01100110000";	--	0330	dstore_0
+		when "00111111" => addr <= "01100110000";	--	0330	lstore_0
+		when "01001000" => addr <= "01100110010";	--	0332	dstore_1
+		when "01000000" => addr <= "01100110010";	--	0332	lstore_1
+		when "01001001" => addr <= "01100110100";	--	0334	dstore_2
+		when "01000001" => addr <= "01100110100";	--	0334	lstore_2
+		when "01001010" => addr <= "01100110110";	--	0336	dstore_3
+		when "01000010" => addr <= "01100110110";	--	0336	lstore_3
+		when "00111001" => addr <= "01101000001";	--	0341	dstore
+		when "00110111" => addr <= "01101000001";	--	0341	lstore
+		when "11100100" => addr <= "01101001100";	--	034c	getstatic_long
+		when "11100101" => addr <= "01101011100";	--	035c	putstatic_long
+		when "11100110" => addr <= "01101101101";	--	036d	getfield_long
+		when "11100111" => addr <= "01110001110";	--	038e	putfield_long
+		when "01010010" => addr <= "01110111011";	--	03bb	dastore
+		when "01010000" => addr <= "01110111011";	--	03bb	lastore
+		when "00110001" => addr <= "01111111011";	--	03fb	daload
+		when "00101111" => addr <= "01111111011";	--	03fb	laload
+		when "01110101" => addr <= "10000100110";	--	0426	lneg
+		when "01100001" => addr <= "10000101110";	--	042e	ladd
+		when "01100101" => addr <= "10001001000";	--	0448	lsub
+		when "10010100" => addr <= "10001101110";	--	046e	lcmp
+		when "01111101" => addr <= "10011000111";	--	04c7	lushr
+		when "01111011" => addr <= "10011101111";	--	04ef	lshr
+		when "01111001" => addr <= "10100010111";	--	0517	lshl
+		when "10000011" => addr <= "10100111111";	--	053f	lxor
+		when "01111111" => addr <= "10101000111";	--	0547	land
+		when "10000001" => addr <= "10101001111";	--	054f	lor
+		when "11010001" => addr <= "10101010111";	--	0557	jopsys_rd
+		when "11010011" => addr <= "10101010111";	--	0557	jopsys_rdmem
+		when "11010010" => addr <= "10101011011";	--	055b	jopsys_wr
+		when "11010100" => addr <= "10101011011";	--	055b	jopsys_wrmem
+		when "11010101" => addr <= "10101100000";	--	0560	jopsys_rdint
+		when "11010110" => addr <= "10101100011";	--	0563	jopsys_wrint
+		when "11010111" => addr <= "10101100110";	--	0566	jopsys_getsp
+		when "11011000" => addr <= "10101101001";	--	0569	jopsys_setsp
+		when "11011001" => addr <= "10101101101";	--	056d	jopsys_getvp
+		when "11011010" => addr <= "10101101110";	--	056e	jopsys_setvp
+		when "11011011" => addr <= "10101110000";	--	0570	jopsys_int2ext
+		when "11011100" => addr <= "10110001011";	--	058b	jopsys_ext2int
+		when "11101000" => addr <= "10110100111";	--	05a7	jopsys_memcpy
+		when "11011101" => addr <= "10110101100";	--	05ac	jopsys_nop
+		when "11011111" => addr <= "10110101101";	--	05ad	jopsys_cond_move
+		when "11001100" => addr <= "10110110011";	--	05b3	jopsys_inval
+
+		when others => addr <= "00011100110";		--	00e6	sys_noim
+	end case;
+end process;
+
+process(int_pend, exc_pend, addr) begin
+
+	q <= addr;
+	if exc_pend='1' then
+		q <= "00011011100";		--	00dc	sys_exc
+	elsif int_pend='1' then
+		q <= "00011010100";		--	00d4	sys_int
+	end if;
+end process;
+
+end rtl;